@@ -2,6 +2,7 @@ package com.elmenus.task.drones;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
@@ -9,14 +10,16 @@ import org.springframework.web.servlet.config.annotation.EnableWebMvc;
  * The main application class for managing drones.
  *
  * <p>This class uses Spring Boot and is responsible for configuring and starting the drone management system.
- * It enables scheduling for background tasks related to drone management.</p>
+ * It enables scheduling and asynchronous execution for background tasks related to drone management.</p>
  *
  * @see SpringApplication
  * @see SpringBootApplication
  * @see EnableScheduling
+ * @see EnableAsync
  */
 @SpringBootApplication
 @EnableScheduling
+@EnableAsync
 @EnableWebMvc
 public class DronesApplication {
 
@@ -1,14 +1,21 @@
 package com.elmenus.task.drones.config;
 
 import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
  * Configuration class for application-wide configurations.
  */
 @Configuration
 public class AppConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(AppConfig.class);
+
     /**
      * Bean definition for ModelMapper, a mapping library.
      *
@@ -18,4 +25,25 @@ public class AppConfig {
     public ModelMapper modelMapper() {
         return new ModelMapper();
     }
+
+    /**
+     * Bean definition for the executor running IDLE transitions queued by low-battery events.
+     * A single worker keeps transitions in detection order; events that do not fit in the queue
+     * are dropped and left to the periodic low-battery sweep.
+     *
+     * @param queueCapacity The maximum number of queued transitions.
+     * @return An instance of ThreadPoolTaskExecutor.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor lowBatteryExecutor(@Value("${drones.low-battery.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("low-battery-");
+        executor.setRejectedExecutionHandler((task, pool) ->
+                log.warn("Low-battery queue is full, leaving the transition to the periodic sweep"));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
 }
@@ -0,0 +1,237 @@
+package com.elmenus.task.drones.config;
+
+import com.elmenus.task.drones.service.IdempotencyStore;
+import com.elmenus.task.drones.shared.utility.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * Filter making the mutating drone endpoints idempotent for requests that carry an {@code Idempotency-Key} header.
+ *
+ * The first request with a key runs as usual and its response is kept in the {@link IdempotencyStore}. Retries
+ * with the same key get the stored response back, marked with an {@code Idempotent-Replayed} header, without
+ * reaching the controller. A retry that arrives while the first request is still running is answered with 409,
+ * and a key reused for a different endpoint or body with 422. Only successful responses and client errors that a
+ * retry cannot change are stored; server errors and transient client errors such as 409 and 429 are not, so those
+ * requests can be retried with the same key.
+ *
+ * The body of a request carrying a key is buffered to be hashed into its fingerprint, so such bodies are limited
+ * in size.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    /**
+     * Header carrying the idempotency key chosen by the client.
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    /**
+     * Header added to replayed responses.
+     */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<Integer> TRANSIENT_CLIENT_ERRORS = Set.of(
+            HttpStatus.REQUEST_TIMEOUT.value(), HttpStatus.CONFLICT.value(), HttpStatus.LOCKED.value(),
+            HttpStatus.TOO_EARLY.value(), HttpStatus.TOO_MANY_REQUESTS.value());
+    private static final String PATH_PREFIX = "/api/drones/";
+    private static final Set<String> MUTATING_METHODS = Set.of(
+            HttpMethod.POST.name(), HttpMethod.PUT.name(), HttpMethod.PATCH.name(), HttpMethod.DELETE.name());
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final int maxBodyBytes;
+
+    /**
+     * Constructor for the IdempotencyFilter class.
+     *
+     * @param idempotencyStore The store of responses by idempotency key.
+     * @param objectMapper     The object mapper used to write error responses.
+     * @param maxBodyBytes     The largest body accepted with an idempotency key, in bytes.
+     */
+    public IdempotencyFilter(IdempotencyStore idempotencyStore, ObjectMapper objectMapper,
+                             @Value("${drones.idempotency.max-body-bytes:10485760}") int maxBodyBytes) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !MUTATING_METHODS.contains(request.getMethod())
+                || !request.getRequestURI().startsWith(PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, IDEMPOTENCY_KEY_HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body.length > maxBodyBytes) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Requests with an " + IDEMPOTENCY_KEY_HEADER + " are limited to " + maxBodyBytes + " bytes");
+            return;
+        }
+        String fingerprint = fingerprintOf(request, body);
+        IdempotencyStore.Claim claim = idempotencyStore.claim(key, fingerprint);
+        switch (claim.outcome()) {
+            case REPLAY -> replay(response, claim.response());
+            case IN_PROGRESS -> writeError(response, HttpStatus.CONFLICT,
+                    "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still being processed");
+            case MISMATCH -> writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+            case ACQUIRED -> process(new BufferedBodyRequest(request, body), response, chain, key, fingerprint);
+        }
+    }
+
+    private void process(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                         String key, String fingerprint) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(request, wrapper);
+            int status = wrapper.getStatus();
+            if (isFinal(status)) {
+                idempotencyStore.complete(key, fingerprint, new IdempotencyStore.StoredResponse(status,
+                        wrapper.getContentType(), wrapper.getHeader(HttpHeaders.LOCATION), wrapper.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                idempotencyStore.release(key);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static boolean isFinal(int status) {
+        HttpStatus.Series series = HttpStatus.Series.resolve(status);
+        return series == HttpStatus.Series.SUCCESSFUL
+                || series == HttpStatus.Series.CLIENT_ERROR && !TRANSIENT_CLIENT_ERRORS.contains(status);
+    }
+
+    private static void replay(HttpServletResponse response, IdempotencyStore.StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(message, status));
+    }
+
+    private static String fingerprintOf(HttpServletRequest request, byte[] body) {
+        String query = request.getQueryString();
+        return request.getMethod() + " " + request.getRequestURI() + (query == null ? "" : "?" + query)
+                + " " + HexFormat.of().formatHex(sha256(body));
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * Request whose body was read by the filter, serving it again from memory.
+     */
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream stream = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return stream.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Buffered request bodies are read synchronously");
+                }
+
+                @Override
+                public int read() {
+                    return stream.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return stream.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
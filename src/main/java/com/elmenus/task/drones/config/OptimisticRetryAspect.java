@@ -0,0 +1,119 @@
+package com.elmenus.task.drones.config;
+
+import com.elmenus.task.drones.shared.utility.RetryOnConflict;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Aspect retrying methods annotated with {@link RetryOnConflict} when they fail on an optimistic locking conflict.
+ *
+ * The aspect runs before the transaction interceptor, so a conflict detected at commit rolls the transaction
+ * back and the next attempt starts a new one. Attempts are separated by an exponential backoff with full jitter,
+ * which spreads out writers that collided on the same drone, and a conflict that outlasts the maximum number of
+ * attempts is rethrown to the caller.
+ *
+ * A method called inside a transaction that is already open is run once: a conflict has then marked that outer
+ * transaction rollback-only and left the stale entity in its persistence context, so only the owner of the outer
+ * transaction can start over.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class OptimisticRetryAspect {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticRetryAspect.class);
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final Counter conflicts;
+    private final Counter retries;
+    private final Counter exhausted;
+
+    /**
+     * Constructor for the OptimisticRetryAspect class.
+     *
+     * @param meterRegistry        The registry to publish the conflict and retry counts to.
+     * @param maxAttempts          The maximum number of attempts, including the first one.
+     * @param initialBackoffMillis The upper bound of the pause before the first retry, in milliseconds.
+     * @param maxBackoffMillis     The upper bound of the pause before any retry, in milliseconds.
+     */
+    public OptimisticRetryAspect(MeterRegistry meterRegistry,
+                                 @Value("${drones.optimistic-retry.max-attempts:10}") int maxAttempts,
+                                 @Value("${drones.optimistic-retry.initial-backoff-ms:5}") long initialBackoffMillis,
+                                 @Value("${drones.optimistic-retry.max-backoff-ms:100}") long maxBackoffMillis) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.conflicts = Counter.builder("drones.optimistic.conflicts")
+                .description("Number of optimistic locking conflicts on retried methods")
+                .register(meterRegistry);
+        this.retries = Counter.builder("drones.optimistic.retries")
+                .description("Number of attempts retried after an optimistic locking conflict")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("drones.optimistic.exhausted")
+                .description("Number of calls that failed after exhausting their retries")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the annotated method, retrying it on optimistic locking conflicts.
+     *
+     * @param joinPoint The invocation of the annotated method.
+     * @return The result of the first successful attempt.
+     * @throws Throwable The exception of the last attempt, or any exception other than a conflict.
+     */
+    @Around("@annotation(com.elmenus.task.drones.shared.utility.RetryOnConflict)")
+    public Object retryOnConflict(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException ex) {
+                conflicts.increment();
+                throw ex;
+            }
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException ex) {
+                conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    log.warn("{} gave up after {} conflicting attempts", joinPoint.getSignature().toShortString(), attempt);
+                    throw ex;
+                }
+                if (!backoff(attempt)) {
+                    throw ex;
+                }
+                retries.increment();
+            }
+        }
+    }
+
+    private boolean backoff(int attempt) {
+        long bound = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        if (bound > 0) {
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,21 +1,51 @@
 package com.elmenus.task.drones.controller;
 
+import com.elmenus.task.drones.dto.AuditLogPageDTO;
+import com.elmenus.task.drones.dto.BatteryHistoryDTO;
+import com.elmenus.task.drones.dto.BatterySampleDTO;
+import com.elmenus.task.drones.dto.BulkRegistrationResultDTO;
+import com.elmenus.task.drones.dto.BulkTransitionRequestDTO;
+import com.elmenus.task.drones.dto.BulkTransitionResultDTO;
+import com.elmenus.task.drones.dto.DroneClaimDTO;
 import com.elmenus.task.drones.dto.DroneDTO;
+import com.elmenus.task.drones.dto.LoadPlanDTO;
+import com.elmenus.task.drones.dto.LoadPlanRequestDTO;
+import com.elmenus.task.drones.dto.LoadRequestDTO;
 import com.elmenus.task.drones.dto.MedicationDTO;
-import com.elmenus.task.drones.entity.AuditLog;
+import com.elmenus.task.drones.dto.UnloadMedicationDTO;
+import com.elmenus.task.drones.service.AuditLogService;
+import com.elmenus.task.drones.service.BulkRegistrationService;
+import com.elmenus.task.drones.service.BulkTransitionService;
+import com.elmenus.task.drones.service.DroneClaimService;
+import com.elmenus.task.drones.service.DroneCommandLanes;
 import com.elmenus.task.drones.service.DroneService;
+import com.elmenus.task.drones.service.LoadPlanner;
+import com.elmenus.task.drones.service.LoadRequestQueue;
+import com.elmenus.task.drones.shared.enums.AuditEventType;
+import com.elmenus.task.drones.shared.enums.AuditLogExportFormat;
 import com.elmenus.task.drones.shared.enums.DroneState;
 import com.elmenus.task.drones.shared.utility.ApiResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 
 /**
  * Controller class for managing drone-related operations.
@@ -26,15 +56,39 @@ import java.util.Set;
 public class DroneController {
 
     private final DroneService droneService;
+    private final BulkRegistrationService bulkRegistrationService;
+    private final LoadPlanner loadPlanner;
+    private final LoadRequestQueue loadRequestQueue;
+    private final AuditLogService auditLogService;
+    private final DroneClaimService droneClaimService;
+    private final DroneCommandLanes droneCommandLanes;
+    private final BulkTransitionService bulkTransitionService;
 
     /**
      * Constructor for DroneController.
      *
-     * @param droneService The service responsible for handling drone-related operations.
+     * @param droneService            The service responsible for handling drone-related operations.
+     * @param bulkRegistrationService The service responsible for registering drones in bulk.
+     * @param loadPlanner             The service responsible for planning orders across loading drones.
+     * @param loadRequestQueue        The service responsible for loading drones asynchronously.
+     * @param auditLogService         The service responsible for querying the audit log.
+     * @param droneClaimService       The service responsible for claiming drones for competing dispatchers.
+     * @param droneCommandLanes       The service running the commands on a drone through its lane.
+     * @param bulkTransitionService   The service responsible for moving many drones to a new state at once.
      */
     @Autowired
-    public DroneController(DroneService droneService) {
+    public DroneController(DroneService droneService, BulkRegistrationService bulkRegistrationService,
+                           LoadPlanner loadPlanner, LoadRequestQueue loadRequestQueue,
+                           AuditLogService auditLogService, DroneClaimService droneClaimService,
+                           DroneCommandLanes droneCommandLanes, BulkTransitionService bulkTransitionService) {
         this.droneService = droneService;
+        this.bulkRegistrationService = bulkRegistrationService;
+        this.loadPlanner = loadPlanner;
+        this.loadRequestQueue = loadRequestQueue;
+        this.auditLogService = auditLogService;
+        this.droneClaimService = droneClaimService;
+        this.droneCommandLanes = droneCommandLanes;
+        this.bulkTransitionService = bulkTransitionService;
     }
 
     /**
@@ -51,23 +105,112 @@ public class DroneController {
                 .orElse(ResponseEntity.badRequest().build());
     }
 
+    /**
+     * Endpoint for registering many drones at once.
+     * Accepts either a JSON array or a newline-delimited JSON stream of drones and reports the outcome of each one.
+     *
+     * @param body The request body containing the drones to be registered.
+     * @return ResponseEntity with the per-item registration results and HTTP status.
+     * @throws IOException If the request body cannot be read.
+     */
+    @PostMapping(value = "/register/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ApiResponse<BulkRegistrationResultDTO>> registerDrones(InputStream body) throws IOException {
+        BulkRegistrationResultDTO result = bulkRegistrationService.registerDrones(body);
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+
     /**
      * Endpoint for loading a drone with medications.
      *
      * @param serialNumber The serial number of the drone.
-     * @param medications  Set of MedicationDTO representing medications to be loaded.
+     * @param medications  List of MedicationDTO lines representing medications to be loaded.
+     * @param claimToken   The token of the lease returned by {@code /claim}, if the drone was claimed.
      * @return ResponseEntity with the loaded drone DTO and HTTP status.
      */
     @PostMapping("/{serialNumber}/load")
     public ResponseEntity<ApiResponse<DroneDTO>> loadDroneWithMedications(
             @PathVariable String serialNumber,
-            @Valid @RequestBody Set<MedicationDTO> medications) {
-        Optional<DroneDTO> loadedDrone = droneService.loadDroneWithMedications(serialNumber, medications);
+            @Valid @RequestBody List<MedicationDTO> medications,
+            @RequestParam(required = false) String claimToken) {
+        Optional<DroneDTO> loadedDrone = droneCommandLanes.execute(serialNumber,
+                () -> droneService.validateLoad(serialNumber, medications, claimToken, false),
+                () -> droneService.loadDroneWithMedications(serialNumber, medications, claimToken));
         return loadedDrone
                 .map(drone -> ResponseEntity.status(HttpStatus.OK).body(ApiResponse.success(drone)))
                 .orElse(ResponseEntity.badRequest().build());
     }
 
+    /**
+     * Endpoint for queueing the load of a drone with medications, selected with {@code async=true}.
+     * The request is answered with 202 and a ticket to poll, or with 429 when the queue is full.
+     *
+     * @param serialNumber The serial number of the drone.
+     * @param medications  List of MedicationDTO lines representing medications to be loaded.
+     * @param claimToken   The token of the lease returned by {@code /claim}, if the drone was claimed.
+     * @return ResponseEntity with the ticket of the queued request and HTTP status.
+     */
+    @PostMapping(value = "/{serialNumber}/load", params = "async=true")
+    public ResponseEntity<ApiResponse<LoadRequestDTO>> queueLoadDroneWithMedications(
+            @PathVariable String serialNumber,
+            @Valid @RequestBody List<MedicationDTO> medications,
+            @RequestParam(required = false) String claimToken) {
+        LoadRequestDTO ticket = loadRequestQueue.submit(serialNumber, medications, claimToken);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/drones/load-requests/" + ticket.getId()))
+                .body(ApiResponse.success(ticket));
+    }
+
+    /**
+     * Endpoint for polling the ticket of a queued load request.
+     *
+     * @param id The identifier of the ticket.
+     * @return ResponseEntity with the ticket and HTTP status.
+     */
+    @GetMapping("/load-requests/{id}")
+    public ResponseEntity<ApiResponse<LoadRequestDTO>> getLoadRequest(@PathVariable String id) {
+        return ResponseEntity.ok(ApiResponse.success(loadRequestQueue.get(id)));
+    }
+
+    /**
+     * Endpoint for appending medications to the load of a drone.
+     *
+     * @param serialNumber The serial number of the drone.
+     * @param medications  List of MedicationDTO lines representing medications to be appended.
+     * @param claimToken   The token of the lease returned by {@code /claim}, if the drone was claimed.
+     * @return ResponseEntity with the loaded drone DTO and HTTP status.
+     */
+    @PostMapping("/{serialNumber}/load/append")
+    public ResponseEntity<ApiResponse<DroneDTO>> appendToLoad(
+            @PathVariable String serialNumber,
+            @Valid @RequestBody List<MedicationDTO> medications,
+            @RequestParam(required = false) String claimToken) {
+        Optional<DroneDTO> loadedDrone = droneCommandLanes.execute(serialNumber,
+                () -> droneService.validateLoad(serialNumber, medications, claimToken, true),
+                () -> droneService.appendToLoad(serialNumber, medications, claimToken));
+        return loadedDrone
+                .map(drone -> ResponseEntity.status(HttpStatus.OK).body(ApiResponse.success(drone)))
+                .orElse(ResponseEntity.badRequest().build());
+    }
+
+    /**
+     * Endpoint for removing medications from the load of a drone.
+     *
+     * @param serialNumber The serial number of the drone.
+     * @param medications  List of UnloadMedicationDTO representing the medication codes and quantities to remove.
+     * @return ResponseEntity with the unloaded drone DTO and HTTP status.
+     */
+    @PostMapping("/{serialNumber}/load/remove")
+    public ResponseEntity<ApiResponse<DroneDTO>> removeFromLoad(
+            @PathVariable String serialNumber,
+            @Valid @RequestBody List<UnloadMedicationDTO> medications) {
+        Optional<DroneDTO> unloadedDrone = droneCommandLanes.execute(serialNumber,
+                () -> droneService.validateUnload(serialNumber),
+                () -> droneService.removeFromLoad(serialNumber, medications));
+        return unloadedDrone
+                .map(drone -> ResponseEntity.status(HttpStatus.OK).body(ApiResponse.success(drone)))
+                .orElse(ResponseEntity.badRequest().build());
+    }
+
     /**
      * Endpoint for retrieving available drones for loading.
      *
@@ -79,6 +222,43 @@ public class DroneController {
         return ResponseEntity.ok(ApiResponse.success(availableDrones));
     }
 
+    /**
+     * Endpoint for claiming a drone in the LOADING state that can carry the given weight.
+     * The drone is leased to the caller until the lease expires or the drone is loaded; 409 is returned when no
+     * drone can be claimed.
+     *
+     * @param weight The weight of the medications to be loaded, in grams.
+     * @return ResponseEntity with the claimed drone and its lease and HTTP status.
+     */
+    @PostMapping("/claim")
+    public ResponseEntity<ApiResponse<DroneClaimDTO>> claimDrone(@RequestParam(defaultValue = "0") int weight) {
+        DroneClaimDTO claim = droneClaimService.claim(weight);
+        return ResponseEntity.ok(ApiResponse.success(claim));
+    }
+
+    /**
+     * Endpoint for planning a batch of medication orders across the drones in the LOADING state.
+     *
+     * @param request The orders to plan and whether to search for an exact plan.
+     * @return ResponseEntity with the planned orders per drone and HTTP status.
+     */
+    @PostMapping("/load-plan")
+    public ResponseEntity<ApiResponse<LoadPlanDTO>> planLoading(@Valid @RequestBody LoadPlanRequestDTO request) {
+        LoadPlanDTO plan = loadPlanner.plan(request);
+        return ResponseEntity.ok(ApiResponse.success(plan));
+    }
+
+    /**
+     * Endpoint for rebuilding the in-memory fleet index from the database.
+     *
+     * @return ResponseEntity with the number of indexed drones per state and HTTP status.
+     */
+    @PostMapping("/index/rebuild")
+    public ResponseEntity<ApiResponse<Map<DroneState, Integer>>> rebuildFleetIndex() {
+        Map<DroneState, Integer> indexedDrones = droneService.rebuildFleetIndex();
+        return ResponseEntity.ok(ApiResponse.success(indexedDrones));
+    }
+
     /**
      * Endpoint for retrieving the battery level of a drone.
      *
@@ -92,14 +272,82 @@ public class DroneController {
     }
 
     /**
-     * Endpoint for retrieving audit log events.
+     * Endpoint for retrieving the recorded battery history of a drone.
      *
-     * @return ResponseEntity with the list of audit log events and HTTP status.
+     * @param serialNumber The serial number of the drone.
+     * @param from         The inclusive start of the range as an ISO-8601 instant, or absent for no lower bound.
+     * @param to           The exclusive end of the range as an ISO-8601 instant, or absent for no upper bound.
+     * @param step         The ISO-8601 bucket width used to downsample the history, or absent for the raw samples.
+     * @return ResponseEntity with the battery history and HTTP status.
+     */
+    @GetMapping("/{serialNumber}/battery/history")
+    public ResponseEntity<ApiResponse<BatteryHistoryDTO>> getDroneBatteryHistory(
+            @PathVariable String serialNumber,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) Duration step
+    ) {
+        BatteryHistoryDTO history = droneService.getBatteryHistory(serialNumber, from, to, step);
+        return ResponseEntity.ok(ApiResponse.success(history));
+    }
+
+    /**
+     * Endpoint for retrieving the archived long-term battery history of a drone.
+     *
+     * @param serialNumber The serial number of the drone.
+     * @param from         The inclusive start of the range as an ISO-8601 instant, or absent for no lower bound.
+     * @param to           The exclusive end of the range as an ISO-8601 instant, or absent for no upper bound.
+     * @param step         The ISO-8601 bucket width used to downsample the history, or absent for the raw samples.
+     * @return ResponseEntity with the archived battery samples and HTTP status.
+     */
+    @GetMapping("/{serialNumber}/battery/archive")
+    public ResponseEntity<ApiResponse<List<BatterySampleDTO>>> getDroneBatteryArchive(
+            @PathVariable String serialNumber,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) Duration step
+    ) {
+        List<BatterySampleDTO> samples = droneService.getBatteryArchive(serialNumber, from, to, step);
+        return ResponseEntity.ok(ApiResponse.success(samples));
+    }
+
+    /**
+     * Endpoint for retrieving audit log events page by page, newest first.
+     *
+     * @param serialNumber The serial number of the drone to filter by, if any.
+     * @param type         The type of the events to filter by, if any.
+     * @param from         The inclusive start of the time range, if any.
+     * @param to           The exclusive end of the time range, if any.
+     * @param cursor       The cursor returned with the previous page, if any.
+     * @param size         The maximum number of events to return.
+     * @return ResponseEntity with the page of audit log events and HTTP status.
      */
     @GetMapping("/events")
-    public ResponseEntity<ApiResponse<List<AuditLog>>> getAuditLogEvents() {
-        List<AuditLog> auditLogEvents = droneService.getAuditLogEvents();
-        return ResponseEntity.ok(ApiResponse.success(auditLogEvents));
+    public ResponseEntity<ApiResponse<AuditLogPageDTO>> getAuditLogEvents(
+            @RequestParam(required = false) String serialNumber,
+            @RequestParam(required = false) AuditEventType type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size) {
+        AuditLogPageDTO page = auditLogService.getAuditLogEvents(serialNumber, type, from, to, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    /**
+     * Endpoint for exporting the whole audit log, oldest first, streamed as it is read from the database.
+     *
+     * @param format The format of the export.
+     * @return ResponseEntity with the streamed export and HTTP status.
+     */
+    @GetMapping("/events/export")
+    public ResponseEntity<StreamingResponseBody> exportAuditLogEvents(
+            @RequestParam(defaultValue = "NDJSON") AuditLogExportFormat format) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("audit-log." + format.getExtension()).build().toString())
+                .body(output -> auditLogService.exportAuditLog(format, output));
     }
 
     /**
@@ -113,12 +361,27 @@ public class DroneController {
     public ResponseEntity<ApiResponse<DroneDTO>> changeDroneState(
             @PathVariable String serialNumber,
             @PathVariable DroneState newState) {
-        Optional<DroneDTO> changedDrone = droneService.changeDroneState(serialNumber, newState);
+        Optional<DroneDTO> changedDrone = droneCommandLanes.execute(serialNumber,
+                () -> droneService.validateStateChange(serialNumber),
+                () -> droneService.changeDroneState(serialNumber, newState));
         return changedDrone
                 .map(drone -> ResponseEntity.status(HttpStatus.OK).body(ApiResponse.success(drone)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Endpoint for moving every drone matching a filter to a new state at once.
+     *
+     * @param request The filter and target state of the transition.
+     * @return ResponseEntity with the serial numbers of the moved drones and HTTP status.
+     */
+    @PostMapping("/change-state")
+    public ResponseEntity<ApiResponse<BulkTransitionResultDTO>> changeDroneStates(
+            @Valid @RequestBody BulkTransitionRequestDTO request) {
+        BulkTransitionResultDTO result = bulkTransitionService.changeDroneStates(request);
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+
     /**
      * Endpoint for changing the battery capacity of a drone.
      *
@@ -134,7 +397,9 @@ public class DroneController {
         if (newBatteryCapacity < 0 || newBatteryCapacity > 100) {
             return ResponseEntity.badRequest().build();
         }
-        Optional<DroneDTO> changedDrone = droneService.changeBatteryCapacity(serialNumber, newBatteryCapacity);
+        Optional<DroneDTO> changedDrone = droneCommandLanes.execute(serialNumber,
+                () -> droneService.validateBatteryCapacityChange(serialNumber, newBatteryCapacity),
+                () -> droneService.changeBatteryCapacity(serialNumber, newBatteryCapacity));
         return changedDrone
                 .map(drone -> ResponseEntity.status(HttpStatus.OK).body(ApiResponse.success(drone)))
                 .orElse(ResponseEntity.notFound().build());
@@ -0,0 +1,51 @@
+package com.elmenus.task.drones.controller;
+
+import com.elmenus.task.drones.dto.TelemetryIngestResultDTO;
+import com.elmenus.task.drones.service.BatteryTelemetryService;
+import com.elmenus.task.drones.shared.utility.ApiResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Controller class for ingesting telemetry reported by drones.
+ */
+@Validated
+@RestController
+@RequestMapping("/api/drones/telemetry")
+public class TelemetryController {
+
+    private final BatteryTelemetryService batteryTelemetryService;
+
+    /**
+     * Constructor for TelemetryController.
+     *
+     * @param batteryTelemetryService The service responsible for ingesting battery telemetry.
+     */
+    @Autowired
+    public TelemetryController(BatteryTelemetryService batteryTelemetryService) {
+        this.batteryTelemetryService = batteryTelemetryService;
+    }
+
+    /**
+     * Endpoint for ingesting a stream of battery readings.
+     * Readings are written to the drones asynchronously, so the response only reports how they were accepted.
+     *
+     * @param body The request body containing newline-delimited battery readings.
+     * @return ResponseEntity with the accepted, coalesced and rejected counts and HTTP status.
+     * @throws IOException If the request body cannot be read.
+     */
+    @PostMapping(value = "/battery", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ApiResponse<TelemetryIngestResultDTO>> ingestBatteryReadings(InputStream body) throws IOException {
+        TelemetryIngestResultDTO result = batteryTelemetryService.ingest(body);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(result));
+    }
+}
@@ -1,5 +1,7 @@
 package com.elmenus.task.drones.dto;
 
+import com.elmenus.task.drones.shared.enums.AuditEventType;
+import com.elmenus.task.drones.shared.enums.DroneState;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -34,7 +36,27 @@ public class AuditLogDTO implements Serializable {
     private String droneSerialNumber;
 
     /**
-     * Description of the event captured in the audit log.
+     * Type of the event captured in the audit log.
+     */
+    private AuditEventType eventType;
+
+    /**
+     * State of the drone before a state change, if known.
+     */
+    private DroneState fromState;
+
+    /**
+     * State of the drone after a state change.
+     */
+    private DroneState toState;
+
+    /**
+     * Battery capacity of the drone when a low battery was detected, if known.
+     */
+    private Integer batteryCapacity;
+
+    /**
+     * Readable description of the event captured in the audit log.
      */
     @NotBlank(message = "Event description is required")
     private String eventDescription;
@@ -0,0 +1,29 @@
+package com.elmenus.task.drones.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) class representing one page of audit log events, newest first.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuditLogPageDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Events of the page.
+     */
+    private List<AuditLogDTO> events;
+
+    /**
+     * Opaque cursor of the next page, or null if this is the last page.
+     */
+    private String nextCursor;
+}
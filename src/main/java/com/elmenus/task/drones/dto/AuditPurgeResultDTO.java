@@ -0,0 +1,28 @@
+package com.elmenus.task.drones.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Data Transfer Object (DTO) class for reporting the outcome of an audit log purge.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuditPurgeResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Number of audit log entries deleted by the purge.
+     */
+    private long purgedRows;
+
+    /**
+     * Time taken by the purge, in milliseconds.
+     */
+    private long durationMillis;
+}
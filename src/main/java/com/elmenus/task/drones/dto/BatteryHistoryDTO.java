@@ -0,0 +1,39 @@
+package com.elmenus.task.drones.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) class representing the recorded battery history of a drone.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatteryHistoryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Serial number of the drone.
+     */
+    private String serialNumber;
+
+    /**
+     * Maximum number of samples kept per drone; older samples are overwritten.
+     */
+    private int capacity;
+
+    /**
+     * Fixed heap footprint of the history of one drone, in bytes.
+     */
+    private long bytesPerDrone;
+
+    /**
+     * Samples within the requested range, oldest first.
+     */
+    private List<BatterySampleDTO> samples;
+}
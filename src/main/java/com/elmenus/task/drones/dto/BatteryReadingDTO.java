@@ -0,0 +1,44 @@
+package com.elmenus.task.drones.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) class for representing a battery reading reported by a drone.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class BatteryReadingDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Serial number of the drone that reported the reading.
+     */
+    @NotBlank(message = "Serial number is required")
+    private String serialNumber;
+
+    /**
+     * Reported battery capacity. Must be a non-negative value and not exceed 100 percent.
+     */
+    @NotNull(message = "Battery capacity is required")
+    @PositiveOrZero(message = "Battery capacity must be a positive or zero value")
+    @Max(value = 100, message = "Battery capacity cannot exceed 100 percent")
+    private Integer batteryCapacity;
+
+    /**
+     * Time at which the reading was taken. Defaults to the time it was received.
+     */
+    private Instant timestamp;
+}
@@ -0,0 +1,29 @@
+package com.elmenus.task.drones.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) class representing one battery sample of a drone.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatterySampleDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Time of the sample, or start of the bucket when the history is downsampled.
+     */
+    private Instant timestamp;
+
+    /**
+     * Battery level of the drone, averaged over the bucket when the history is downsampled.
+     */
+    private int batteryCapacity;
+}
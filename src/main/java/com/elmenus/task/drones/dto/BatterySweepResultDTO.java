@@ -0,0 +1,28 @@
+package com.elmenus.task.drones.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Data Transfer Object (DTO) class for reporting the outcome of a low-battery sweep.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatterySweepResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Number of drones moved to the IDLE state by the sweep.
+     */
+    private int affectedDrones;
+
+    /**
+     * Time taken by the sweep, in milliseconds.
+     */
+    private long durationMillis;
+}
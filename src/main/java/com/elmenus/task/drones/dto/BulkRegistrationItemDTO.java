@@ -0,0 +1,39 @@
+package com.elmenus.task.drones.dto;
+
+import com.elmenus.task.drones.shared.enums.RegistrationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Data Transfer Object (DTO) class for representing the outcome of one item of a bulk drone registration.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkRegistrationItemDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Zero-based position of the item in the request body.
+     */
+    private int index;
+
+    /**
+     * Serial number of the drone, as sent in the request.
+     */
+    private String serialNumber;
+
+    /**
+     * Outcome of the registration.
+     */
+    private RegistrationStatus status;
+
+    /**
+     * Reason for the rejection, or null when the drone was registered.
+     */
+    private String message;
+}
@@ -0,0 +1,34 @@
+package com.elmenus.task.drones.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) class for representing the outcome of a bulk drone registration.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkRegistrationResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Number of drones that were registered.
+     */
+    private int registered;
+
+    /**
+     * Number of drones that were rejected.
+     */
+    private int rejected;
+
+    /**
+     * Per-item outcomes, in request order.
+     */
+    private List<BulkRegistrationItemDTO> items;
+}
@@ -0,0 +1,62 @@
+package com.elmenus.task.drones.dto;
+
+import com.elmenus.task.drones.shared.enums.DroneModel;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) class representing a state transition applied to every drone matching a filter.
+ * Filter attributes left empty match any drone, but at least one of them must be set.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class BulkTransitionRequestDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * State the drones must be in.
+     */
+    private DroneState fromState;
+
+    /**
+     * Serial numbers the drones must have.
+     */
+    private List<String> serialNumbers;
+
+    /**
+     * Model the drones must be of.
+     */
+    private DroneModel model;
+
+    /**
+     * Minimum battery capacity of the drones, inclusive.
+     */
+    @Min(value = 0, message = "Minimum battery capacity must be between 0 and 100")
+    @Max(value = 100, message = "Minimum battery capacity must be between 0 and 100")
+    private Integer minBatteryCapacity;
+
+    /**
+     * Maximum battery capacity of the drones, inclusive.
+     */
+    @Min(value = 0, message = "Maximum battery capacity must be between 0 and 100")
+    @Max(value = 100, message = "Maximum battery capacity must be between 0 and 100")
+    private Integer maxBatteryCapacity;
+
+    /**
+     * State to move the matching drones to.
+     */
+    @NotNull(message = "Target state is required")
+    private DroneState targetState;
+}
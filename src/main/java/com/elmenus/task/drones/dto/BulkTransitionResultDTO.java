@@ -0,0 +1,35 @@
+package com.elmenus.task.drones.dto;
+
+import com.elmenus.task.drones.shared.enums.DroneState;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) class for reporting the outcome of a bulk state transition.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkTransitionResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * State the drones were moved to.
+     */
+    private DroneState targetState;
+
+    /**
+     * Serial numbers of the drones moved to the target state.
+     */
+    private List<String> serialNumbers;
+
+    /**
+     * Time taken by the transition, in milliseconds.
+     */
+    private long durationMillis;
+}
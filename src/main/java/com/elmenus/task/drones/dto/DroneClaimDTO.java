@@ -0,0 +1,34 @@
+package com.elmenus.task.drones.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) class for the lease a dispatcher holds on a claimed drone.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DroneClaimDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Serial number of the claimed drone.
+     */
+    private String serialNumber;
+
+    /**
+     * Token identifying the lease.
+     */
+    private String claimToken;
+
+    /**
+     * Time at which the lease expires unless the drone is loaded before.
+     */
+    private LocalDateTime expiresAt;
+}
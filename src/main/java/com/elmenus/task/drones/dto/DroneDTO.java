@@ -51,4 +51,9 @@ public class DroneDTO implements Serializable {
     @Max(value = 100, message = "Battery capacity cannot exceed 100 percent")
     private Integer batteryCapacity;
 
+    /**
+     * Weight currently loaded onto the drone. Maintained by the service and ignored on registration.
+     */
+    private Integer currentLoadWeight;
+
 }
\ No newline at end of file
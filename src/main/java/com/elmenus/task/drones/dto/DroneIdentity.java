@@ -0,0 +1,38 @@
+package com.elmenus.task.drones.dto;
+
+import com.elmenus.task.drones.shared.enums.DroneState;
+
+/**
+ * Projection exposing the identifying attributes of a drone along with the state and battery capacity audited
+ * by set-based operations.
+ */
+public interface DroneIdentity {
+
+    /**
+     * Retrieves the unique identifier of the drone.
+     *
+     * @return The drone ID.
+     */
+    Integer getId();
+
+    /**
+     * Retrieves the serial number of the drone.
+     *
+     * @return The drone serial number.
+     */
+    String getSerialNumber();
+
+    /**
+     * Retrieves the state of the drone.
+     *
+     * @return The drone state.
+     */
+    DroneState getState();
+
+    /**
+     * Retrieves the battery capacity of the drone.
+     *
+     * @return The drone battery capacity.
+     */
+    Integer getBatteryCapacity();
+}
@@ -0,0 +1,44 @@
+package com.elmenus.task.drones.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) class representing the orders planned onto one drone.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DroneLoadPlanDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Serial number of the drone.
+     */
+    private String serialNumber;
+
+    /**
+     * Weight the drone can carry.
+     */
+    private int weightLimit;
+
+    /**
+     * Battery capacity of the drone when the plan was made.
+     */
+    private int batteryCapacity;
+
+    /**
+     * Total weight of the orders planned onto the drone.
+     */
+    private int totalWeight;
+
+    /**
+     * Zero-based positions of the planned orders in the request.
+     */
+    private List<Integer> orders;
+}
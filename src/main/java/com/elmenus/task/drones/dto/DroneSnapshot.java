@@ -0,0 +1,75 @@
+package com.elmenus.task.drones.dto;
+
+import com.elmenus.task.drones.entity.Drone;
+import com.elmenus.task.drones.shared.enums.DroneModel;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import lombok.Builder;
+import lombok.Value;
+import lombok.With;
+
+import java.io.Serializable;
+
+/**
+ * Immutable snapshot of the persisted attributes of a drone, used by in-memory lookups.
+ */
+@Value
+@Builder
+public class DroneSnapshot implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Unique identifier of the drone.
+     */
+    Integer id;
+
+    /**
+     * Serial number of the drone.
+     */
+    String serialNumber;
+
+    /**
+     * Model of the drone.
+     */
+    DroneModel model;
+
+    /**
+     * Weight limit of the drone.
+     */
+    Integer weightLimit;
+
+    /**
+     * Battery capacity of the drone.
+     */
+    @With
+    Integer batteryCapacity;
+
+    /**
+     * State of the drone.
+     */
+    DroneState state;
+
+    /**
+     * Version of the drone row the snapshot was taken from, or null if unknown.
+     */
+    @With
+    Long version;
+
+    /**
+     * Creates a snapshot of the given drone entity.
+     *
+     * @param drone The drone entity.
+     * @return A {@link DroneSnapshot} holding the current attributes of the drone.
+     */
+    public static DroneSnapshot of(Drone drone) {
+        return DroneSnapshot.builder()
+                .id(drone.getId())
+                .serialNumber(drone.getSerialNumber())
+                .model(drone.getModel())
+                .weightLimit(drone.getWeightLimit())
+                .batteryCapacity(drone.getBatteryCapacity())
+                .state(drone.getState())
+                .version(drone.getVersion())
+                .build();
+    }
+}
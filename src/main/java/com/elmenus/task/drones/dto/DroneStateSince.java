@@ -0,0 +1,32 @@
+package com.elmenus.task.drones.dto;
+
+import com.elmenus.task.drones.shared.enums.DroneState;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection exposing the state of a drone along with the time it entered that state, used to arm state timeouts.
+ */
+public interface DroneStateSince {
+
+    /**
+     * Retrieves the serial number of the drone.
+     *
+     * @return The drone serial number.
+     */
+    String getSerialNumber();
+
+    /**
+     * Retrieves the state of the drone.
+     *
+     * @return The drone state.
+     */
+    DroneState getState();
+
+    /**
+     * Retrieves the time at which the drone entered its state.
+     *
+     * @return The time of the last state change, or null if it is not known.
+     */
+    LocalDateTime getStateChangedAt();
+}
@@ -0,0 +1,37 @@
+package com.elmenus.task.drones.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Data Transfer Object (DTO) class representing a medication order to be loaded onto a single drone.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class LoadOrderDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Medication ordered.
+     */
+    @NotNull(message = "Medication is required")
+    @Valid
+    private MedicationDTO medication;
+
+    /**
+     * Number of units ordered. An order is never split across drones.
+     */
+    @NotNull(message = "Quantity is required")
+    @Positive(message = "Quantity must be a positive value")
+    private Integer quantity;
+}
@@ -0,0 +1,34 @@
+package com.elmenus.task.drones.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) class representing the assignment of a batch of orders to loading drones.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoadPlanDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Drones used by the plan, with the orders planned onto each.
+     */
+    private List<DroneLoadPlanDTO> drones;
+
+    /**
+     * Zero-based positions of the orders in the request that no drone can carry.
+     */
+    private List<Integer> unassignedOrders;
+
+    /**
+     * Whether the plan is proven to use the fewest possible drones.
+     */
+    private boolean optimal;
+}
@@ -0,0 +1,34 @@
+package com.elmenus.task.drones.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) class representing a batch of medication orders to plan across the loading drones.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class LoadPlanRequestDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Orders to assign to drones.
+     */
+    @NotEmpty(message = "Orders cannot be empty")
+    private List<@Valid LoadOrderDTO> orders;
+
+    /**
+     * Whether to search for a plan using the fewest drones when the batch is small enough.
+     */
+    private boolean exact;
+}
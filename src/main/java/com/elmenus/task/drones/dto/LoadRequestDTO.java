@@ -0,0 +1,57 @@
+package com.elmenus.task.drones.dto;
+
+import com.elmenus.task.drones.shared.enums.LoadRequestStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) class representing the ticket of a load request processed asynchronously.
+ */
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class LoadRequestDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Identifier of the ticket, used to poll for the result.
+     */
+    private String id;
+
+    /**
+     * Serial number of the drone to be loaded.
+     */
+    private String serialNumber;
+
+    /**
+     * Progress of the request.
+     */
+    private LoadRequestStatus status;
+
+    /**
+     * Time at which the request was queued.
+     */
+    private Instant submittedAt;
+
+    /**
+     * Time at which the request completed or failed.
+     */
+    private Instant completedAt;
+
+    /**
+     * The loaded drone, once the request completed.
+     */
+    private DroneDTO drone;
+
+    /**
+     * Reason the request failed.
+     */
+    private String error;
+}
@@ -51,4 +51,10 @@ public class MedicationDTO implements Serializable {
     @Column(name = "image")
     @NotEmpty(message = "Image cannot be empty")
     private String image;
+
+    /**
+     * Quantity of the medication to load. Defaults to one when omitted.
+     */
+    @Positive(message = "Quantity must be a positive value")
+    private Integer quantity;
 }
@@ -0,0 +1,33 @@
+package com.elmenus.task.drones.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Data Transfer Object (DTO) class for reporting the outcome of a telemetry ingest request.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TelemetryIngestResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Number of valid readings accepted into the current flush window.
+     */
+    private int accepted;
+
+    /**
+     * Number of accepted readings superseded by a newer reading for the same drone before being flushed.
+     */
+    private int coalesced;
+
+    /**
+     * Number of readings rejected because they were invalid or referenced an unknown drone.
+     */
+    private int rejected;
+}
@@ -0,0 +1,38 @@
+package com.elmenus.task.drones.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Data Transfer Object (DTO) class representing units of a medication to be removed from a drone's load.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class UnloadMedicationDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Code of the loaded medication.
+     */
+    @NotEmpty(message = "Code cannot be empty")
+    @Pattern(regexp = "^[A-Z0-9_]*$", message = "Code must contain only upper case letters, numbers, and '_'")
+    @Size(max = 50, message = "Code cannot exceed 50 characters")
+    private String code;
+
+    /**
+     * Number of units to remove. Defaults to one when omitted.
+     */
+    @Positive(message = "Quantity must be a positive value")
+    private Integer quantity;
+}
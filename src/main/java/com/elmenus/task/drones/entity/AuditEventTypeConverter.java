@@ -0,0 +1,22 @@
+package com.elmenus.task.drones.entity;
+
+import com.elmenus.task.drones.shared.enums.AuditEventType;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Converter storing an {@link AuditEventType} as its code.
+ */
+@Converter
+public class AuditEventTypeConverter implements AttributeConverter<AuditEventType, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(AuditEventType type) {
+        return type == null ? null : type.getCode();
+    }
+
+    @Override
+    public AuditEventType convertToEntityAttribute(Byte code) {
+        return code == null ? null : AuditEventType.fromCode(code);
+    }
+}
@@ -1,20 +1,30 @@
 package com.elmenus.task.drones.entity;
 
+import com.elmenus.task.drones.shared.enums.AuditEventType;
+import com.elmenus.task.drones.shared.enums.DroneState;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 
 /**
  * Entity class representing an audit log entry.
+ *
+ * Events are stored as a type code with the attributes of that type in compact columns, and their readable
+ * description is rendered on the way out by {@link #describe()}.
  */
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "audit_log")
+@Table(name = "audit_log", indexes = {
+        @Index(name = "idx_audit_log_timestamp_id", columnList = "event_timestamp, id"),
+        @Index(name = "idx_audit_log_serial_timestamp_id", columnList = "drone_serial_number, event_timestamp, id"),
+        @Index(name = "idx_audit_log_type_timestamp_id", columnList = "event_type, event_timestamp, id")})
 public class AuditLog {
     /**
      * Unique identifier for the audit log entry.
@@ -36,14 +46,109 @@ public class AuditLog {
     private String droneSerialNumber;
 
     /**
-     * Description of the event recorded in the audit log.
+     * Type of the event, stored as its code. Null only for entries written before events were typed, until
+     * they are migrated.
      */
-    @Column(name = "event_description", nullable = false)
-    private String eventDescription;
+    @Convert(converter = AuditEventTypeConverter.class)
+    @JdbcTypeCode(SqlTypes.TINYINT)
+    @Column(name = "event_type")
+    private AuditEventType eventType;
+
+    /**
+     * State of the drone before a state change, if known, or the state a drone timed out in.
+     */
+    @Enumerated(EnumType.ORDINAL)
+    @JdbcTypeCode(SqlTypes.TINYINT)
+    @Column(name = "from_state")
+    private DroneState fromState;
+
+    /**
+     * State of the drone after a state change.
+     */
+    @Enumerated(EnumType.ORDINAL)
+    @JdbcTypeCode(SqlTypes.TINYINT)
+    @Column(name = "to_state")
+    private DroneState toState;
+
+    /**
+     * Battery capacity of the drone when a low battery was detected, if known.
+     */
+    @JdbcTypeCode(SqlTypes.TINYINT)
+    @Column(name = "battery_capacity")
+    private Integer batteryCapacity;
+
+    /**
+     * Free-text description of a {@link AuditEventType#LEGACY} event; null for typed events.
+     */
+    @Column(name = "event_description")
+    private String legacyDescription;
 
     /**
      * Timestamp when the audit log event occurred.
      */
     @Column(name = "event_timestamp", nullable = false)
     private LocalDateTime eventTimestamp;
+
+    /**
+     * Creates an audit log entry recording a state change.
+     *
+     * @param droneId           The ID of the drone.
+     * @param droneSerialNumber The serial number of the drone.
+     * @param fromState         The previous state of the drone, or null if unknown.
+     * @param toState           The new state of the drone.
+     * @param eventTimestamp    The timestamp of the change.
+     * @return The new {@link AuditLog} entry.
+     */
+    public static AuditLog stateChanged(Integer droneId, String droneSerialNumber, DroneState fromState,
+                                        DroneState toState, LocalDateTime eventTimestamp) {
+        return new AuditLog(null, droneId, droneSerialNumber, AuditEventType.STATE_CHANGED, fromState, toState,
+                null, null, eventTimestamp);
+    }
+
+    /**
+     * Creates an audit log entry recording a low battery.
+     *
+     * @param droneId           The ID of the drone.
+     * @param droneSerialNumber The serial number of the drone.
+     * @param batteryCapacity   The battery capacity of the drone, or null if unknown.
+     * @param eventTimestamp    The timestamp of the detection.
+     * @return The new {@link AuditLog} entry.
+     */
+    public static AuditLog lowBattery(Integer droneId, String droneSerialNumber, Integer batteryCapacity,
+                                      LocalDateTime eventTimestamp) {
+        return new AuditLog(null, droneId, droneSerialNumber, AuditEventType.LOW_BATTERY, null, null,
+                batteryCapacity, null, eventTimestamp);
+    }
+
+    /**
+     * Creates an audit log entry recording a drone that stayed in a state for longer than its timeout.
+     *
+     * @param droneId           The ID of the drone.
+     * @param droneSerialNumber The serial number of the drone.
+     * @param state             The state the drone timed out in.
+     * @param eventTimestamp    The timestamp of the timeout.
+     * @return The new {@link AuditLog} entry.
+     */
+    public static AuditLog stateTimedOut(Integer droneId, String droneSerialNumber, DroneState state,
+                                         LocalDateTime eventTimestamp) {
+        return new AuditLog(null, droneId, droneSerialNumber, AuditEventType.STATE_TIMED_OUT, state, null,
+                null, null, eventTimestamp);
+    }
+
+    /**
+     * Renders the readable description of the event.
+     *
+     * @return The description of the event.
+     */
+    public String describe() {
+        if (eventType == null) {
+            return legacyDescription;
+        }
+        return switch (eventType) {
+            case STATE_CHANGED -> "Changed state to " + toState;
+            case LOW_BATTERY -> "Low Battery";
+            case STATE_TIMED_OUT -> "Timed out in state " + fromState;
+            case LEGACY -> legacyDescription;
+        };
+    }
 }
@@ -10,6 +10,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
+import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.Set;
 
@@ -21,23 +22,24 @@ import java.util.Set;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "drone")
+@Table(name = "drone", indexes = @Index(name = "idx_drone_state_claim_expires_at", columnList = "state, claim_expires_at"))
 public class Drone implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     /**
-     * Unique identifier for the drone.
+     * Unique identifier for the drone, drawn from a pooled sequence so that inserts can be batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "drone_seq")
+    @SequenceGenerator(name = "drone_seq", sequenceName = "drone_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Integer id;
 
     /**
      * Serial number of the drone.
      */
-    @Column(name = "serial_number", nullable = false, length = 100)
+    @Column(name = "serial_number", nullable = false, unique = true, length = 100)
     private String serialNumber;
 
     /**
@@ -66,6 +68,42 @@ public class Drone implements Serializable {
     @Column(name = "state", nullable = false)
     private DroneState state;
 
+    /**
+     * Time at which the drone entered its current state, or null for drones that have not changed state since
+     * the time was first recorded. State timeouts are measured from it.
+     */
+    @Column(name = "state_changed_at")
+    private LocalDateTime stateChangedAt;
+
+    /**
+     * Total weight of the medications loaded onto the drone. It only changes through conditional updates that
+     * compare it with the weight limit, so it never exceeds the limit and never needs a scan of the load.
+     */
+    @Builder.Default
+    @Column(name = "current_load_weight", nullable = false)
+    private Integer currentLoadWeight = 0;
+
+    /**
+     * Version of the drone row, raised by every update. Saving a drone loaded at an older version fails, so
+     * concurrent read-modify-write updates cannot overwrite each other.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * Token of the dispatcher holding the lease on the drone, or null if the drone was never claimed.
+     */
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    /**
+     * Time at which the lease on the drone expires, or null if the drone is not claimed. A claimed drone can be
+     * claimed again once its lease expired, and loading the drone ends the lease.
+     */
+    @Column(name = "claim_expires_at")
+    private LocalDateTime claimExpiresAt;
+
     /**
      * Set of drone medications associated with the drone.
      */
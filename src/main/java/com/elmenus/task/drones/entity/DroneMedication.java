@@ -14,7 +14,7 @@ import java.util.Objects;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "drone_medication")
+@Table(name = "drone_medication", uniqueConstraints = @UniqueConstraint(columnNames = {"drone_id", "medication_id"}))
 public class DroneMedication {
 
     /**
@@ -32,9 +32,10 @@ public class DroneMedication {
     private Drone drone;
 
     /**
-     * The medication associated with the drone.
+     * The medication associated with the drone. Medications are catalog entries managed by
+     * {@link com.elmenus.task.drones.service.MedicationCatalog}, so they are never cascaded from a load.
      */
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne
     @JoinColumn(name = "medication_id", nullable = false)
     private Medication medication;
 
@@ -57,20 +58,6 @@ public class DroneMedication {
         this.quantity = quantity;
     }
 
-    /**
-     * Calculates the total quantity of a specific medication loaded onto all drones.
-     *
-     * @param drone      The drone associated with the medication.
-     * @param medication The medication for which to calculate the total quantity.
-     * @return The total quantity of the specified medication loaded onto all drones.
-     */
-    public static Integer calculateTotalQuantity(Drone drone, Medication medication) {
-        return drone.getDroneMedications().stream()
-                .filter(dm -> dm.getMedication().equals(medication))
-                .mapToInt(DroneMedication::getQuantity)
-                .sum();
-    }
-
     /**
      * Indicates whether some other object is "equal to" this one.
      *
@@ -87,11 +74,12 @@ public class DroneMedication {
 
     /**
      * Returns a hash code value for the object.
+     * The medication contributes only its identifier, so hashing never initializes a lazy medication reference.
      *
      * @return A hash code value for this object.
      */
     @Override
     public int hashCode() {
-        return Objects.hash(id, drone, medication, quantity);
+        return Objects.hash(id, drone, medication == null ? null : medication.getId(), quantity);
     }
 }
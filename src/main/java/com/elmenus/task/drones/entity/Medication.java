@@ -47,7 +47,7 @@ public class Medication implements Serializable {
     /**
      * The code associated with the medication.
      */
-    @Column(name = "code", nullable = false, length = 50)
+    @Column(name = "code", nullable = false, length = 50, unique = true)
     private String code;
 
     /**
@@ -59,7 +59,7 @@ public class Medication implements Serializable {
     /**
      * Set of associations between this medication and drones, specifying the quantity loaded onto each drone.
      */
-    @OneToMany(mappedBy = "medication", cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "medication")
     @JsonBackReference
     private Set<DroneMedication> droneMedications;
 
@@ -0,0 +1,37 @@
+package com.elmenus.task.drones.event;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event published when the battery of a drone drops below the minimum capacity required for loading.
+ */
+@Value
+public class LowBatteryEvent {
+
+    /**
+     * ID of the drone whose battery crossed the threshold.
+     */
+    Integer droneId;
+
+    /**
+     * Serial number of the drone whose battery crossed the threshold.
+     */
+    String serialNumber;
+
+    /**
+     * Battery capacity before the reading that crossed the threshold.
+     */
+    int previousBatteryCapacity;
+
+    /**
+     * Battery capacity reported by the reading that crossed the threshold.
+     */
+    int batteryCapacity;
+
+    /**
+     * Timestamp when the crossing was detected.
+     */
+    LocalDateTime detectedAt;
+}
@@ -0,0 +1,16 @@
+package com.elmenus.task.drones.exception;
+
+/**
+ * Exception thrown when a drone is loaded while another dispatcher holds an unexpired lease on it.
+ */
+public class DroneClaimedException extends RuntimeException {
+
+    /**
+     * Constructs a new DroneClaimedException with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public DroneClaimedException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,8 @@
 package com.elmenus.task.drones.exception;
 
 import com.elmenus.task.drones.shared.utility.ApiResponse;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -27,6 +29,74 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles the exception when a load request ticket is unknown or has expired.
+     *
+     * @param ex The exception indicating that a load request was not found.
+     * @return ResponseEntity containing an error response with the exception message and HTTP status.
+     */
+    @ExceptionHandler(LoadRequestNotFoundException.class)
+    public ResponseEntity<ApiResponse<Void>> handleLoadRequestNotFoundException(LoadRequestNotFoundException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handles the exception when the load request queue is full, asking the client to retry a second later.
+     *
+     * @param ex The exception indicating that the load request queue is full.
+     * @return ResponseEntity containing an error response with the exception message and HTTP status.
+     */
+    @ExceptionHandler(LoadQueueFullException.class)
+    public ResponseEntity<ApiResponse<Void>> handleLoadQueueFullException(LoadQueueFullException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS));
+    }
+
+    /**
+     * Handles the exception when no drone can be claimed for loading.
+     *
+     * @param ex The exception indicating that no drone is available.
+     * @return ResponseEntity containing an error response with the exception message and HTTP status.
+     */
+    @ExceptionHandler(NoDroneAvailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleNoDroneAvailableException(NoDroneAvailableException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles the exception when a drone is leased to another dispatcher.
+     *
+     * @param ex The exception indicating that the drone is claimed.
+     * @return ResponseEntity containing an error response with the exception message and HTTP status.
+     */
+    @ExceptionHandler(DroneClaimedException.class)
+    public ResponseEntity<ApiResponse<Void>> handleDroneClaimedException(DroneClaimedException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles the exception when an ordered medication differs from its catalog entry.
+     *
+     * @param ex The exception indicating a conflicting medication definition.
+     * @return ResponseEntity containing an error response with the exception message and HTTP status.
+     */
+    @ExceptionHandler(MedicationConflictException.class)
+    public ResponseEntity<ApiResponse<Void>> handleMedicationConflictException(MedicationConflictException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles the exception when a drone kept being updated concurrently until the retries ran out.
+     *
+     * @param ex The exception indicating an optimistic locking conflict.
+     * @return ResponseEntity containing an error response with the exception message and HTTP status.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Void>> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        return buildErrorResponse("Drone was updated concurrently, please retry", HttpStatus.CONFLICT);
+    }
+
     /**
      * Handles custom exceptions related to battery, weight, and drone state.
      *
@@ -38,7 +108,10 @@ public class GlobalExceptionHandler {
             BatteryHighException.class,
             BatteryEqualException.class,
             WeightExceededException.class,
-            DroneStateException.class})
+            DroneStateException.class,
+            MedicationNotLoadedException.class,
+            InvalidAuditLogQueryException.class,
+            InvalidTransitionFilterException.class})
     public ResponseEntity<ApiResponse<Void>> handleCustomExceptions(RuntimeException ex) {
         return buildErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
@@ -0,0 +1,16 @@
+package com.elmenus.task.drones.exception;
+
+/**
+ * Exception thrown when an audit log query has an invalid cursor, page size or time range.
+ */
+public class InvalidAuditLogQueryException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidAuditLogQueryException with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public InvalidAuditLogQueryException(String message) {
+        super(message);
+    }
+}
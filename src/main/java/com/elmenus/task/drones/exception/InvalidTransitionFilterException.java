@@ -0,0 +1,16 @@
+package com.elmenus.task.drones.exception;
+
+/**
+ * Exception thrown when a bulk state transition has no filter or an invalid battery range.
+ */
+public class InvalidTransitionFilterException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidTransitionFilterException with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public InvalidTransitionFilterException(String message) {
+        super(message);
+    }
+}
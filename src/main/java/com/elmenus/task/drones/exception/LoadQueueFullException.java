@@ -0,0 +1,16 @@
+package com.elmenus.task.drones.exception;
+
+/**
+ * Exception thrown when the load request queue cannot accept more requests.
+ */
+public class LoadQueueFullException extends RuntimeException {
+
+    /**
+     * Constructs a new LoadQueueFullException with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public LoadQueueFullException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
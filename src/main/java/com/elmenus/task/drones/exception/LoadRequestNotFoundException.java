@@ -0,0 +1,16 @@
+package com.elmenus.task.drones.exception;
+
+/**
+ * Exception thrown when a load request ticket is unknown or has expired.
+ */
+public class LoadRequestNotFoundException extends RuntimeException {
+
+    /**
+     * Constructs a new LoadRequestNotFoundException with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public LoadRequestNotFoundException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.elmenus.task.drones.exception;
+
+/**
+ * Exception thrown when an ordered medication differs from the catalog entry with the same code.
+ */
+public class MedicationConflictException extends RuntimeException {
+
+    /**
+     * Constructs a new MedicationConflictException with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public MedicationConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.elmenus.task.drones.exception;
+
+/**
+ * Exception thrown when more of a medication is unloaded than a drone carries.
+ */
+public class MedicationNotLoadedException extends RuntimeException {
+
+    /**
+     * Constructs a new MedicationNotLoadedException with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public MedicationNotLoadedException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.elmenus.task.drones.exception;
+
+/**
+ * Exception thrown when no drone can be claimed for loading.
+ */
+public class NoDroneAvailableException extends RuntimeException {
+
+    /**
+     * Constructs a new NoDroneAvailableException with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public NoDroneAvailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,72 @@
+package com.elmenus.task.drones.repository;
+
+import com.elmenus.task.drones.entity.AuditLog;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Repository for writing {@link AuditLog} entries in JDBC batches.
+ *
+ * The {@link AuditLog} entity uses identity generation, which stops Hibernate from batching inserts,
+ * so bulk writers go through plain JDBC instead. Inserts join the surrounding transaction.
+ */
+@Repository
+public class AuditLogBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO audit_log (drone_id, drone_serial_number, event_type, " +
+            "from_state, to_state, battery_capacity, event_description, event_timestamp) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for the AuditLogBatchRepository class.
+     *
+     * @param jdbcTemplate The JDBC template used to run the batched inserts.
+     */
+    public AuditLogBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the given audit log entries as a single JDBC batch.
+     *
+     * @param auditLogs The audit log entries to insert.
+     * @return The number of inserted entries.
+     */
+    public int insertAll(List<AuditLog> auditLogs) {
+        if (auditLogs.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, auditLogs, auditLogs.size(), (statement, auditLog) -> {
+            statement.setInt(1, auditLog.getDroneId());
+            statement.setString(2, auditLog.getDroneSerialNumber());
+            statement.setByte(3, auditLog.getEventType().getCode());
+            setState(statement, 4, auditLog.getFromState());
+            setState(statement, 5, auditLog.getToState());
+            if (auditLog.getBatteryCapacity() == null) {
+                statement.setNull(6, Types.TINYINT);
+            } else {
+                statement.setByte(6, auditLog.getBatteryCapacity().byteValue());
+            }
+            statement.setString(7, auditLog.getLegacyDescription());
+            statement.setTimestamp(8, Timestamp.valueOf(auditLog.getEventTimestamp()));
+        });
+        return auditLogs.size();
+    }
+
+    private static void setState(PreparedStatement statement, int index, DroneState state) throws SQLException {
+        if (state == null) {
+            statement.setNull(index, Types.TINYINT);
+        } else {
+            statement.setByte(index, (byte) state.ordinal());
+        }
+    }
+}
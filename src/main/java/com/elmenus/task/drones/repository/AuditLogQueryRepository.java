@@ -0,0 +1,131 @@
+package com.elmenus.task.drones.repository;
+
+import com.elmenus.task.drones.entity.AuditLog;
+import com.elmenus.task.drones.shared.enums.AuditEventType;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import com.elmenus.task.drones.shared.utility.AuditLogCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Repository for reading {@link AuditLog} entries page by page.
+ *
+ * Pages are ordered by {@code (event_timestamp, id)}, newest first, and continue after the position of the
+ * previous page rather than skipping an offset, so every page is a range scan of the
+ * {@code (event_timestamp, id)}, {@code (drone_serial_number, event_timestamp, id)} or
+ * {@code (event_type, event_timestamp, id)} index no matter how deep it is. Only the filters that are set are
+ * added to the query.
+ *
+ * Full exports read the table through a forward-only cursor with a bounded fetch size and hand each row to the
+ * caller as it arrives, so nothing accumulates in memory regardless of the size of the table.
+ */
+@Repository
+public class AuditLogQueryRepository {
+
+    private static final String COLUMNS = "id, drone_id, drone_serial_number, event_type, from_state, to_state, " +
+            "battery_capacity, event_description, event_timestamp";
+
+    private static final String SELECT_SQL = "SELECT " + COLUMNS + " FROM audit_log WHERE 1 = 1";
+
+    private static final String EXPORT_SQL = "SELECT " + COLUMNS + " FROM audit_log ORDER BY id";
+
+    private static final DroneState[] STATES = DroneState.values();
+
+    private static final RowMapper<AuditLog> ROW_MAPPER = (resultSet, rowNum) -> new AuditLog(
+            resultSet.getLong("id"),
+            resultSet.getInt("drone_id"),
+            resultSet.getString("drone_serial_number"),
+            AuditEventType.fromCode(resultSet.getByte("event_type")),
+            state(resultSet, "from_state"),
+            state(resultSet, "to_state"),
+            resultSet.getObject("battery_capacity", Integer.class),
+            resultSet.getString("event_description"),
+            resultSet.getTimestamp("event_timestamp").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate exportJdbcTemplate;
+
+    /**
+     * Constructor for the AuditLogQueryRepository class.
+     *
+     * @param jdbcTemplate    The JDBC template used to run the queries.
+     * @param exportFetchSize The number of rows fetched from the database at a time during exports.
+     */
+    public AuditLogQueryRepository(JdbcTemplate jdbcTemplate,
+                                   @Value("${drones.audit-log.export-fetch-size:1000}") int exportFetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.exportJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.exportJdbcTemplate.setFetchSize(exportFetchSize);
+    }
+
+    /**
+     * Finds the audit log entries matching the filters that come after the given position, newest first.
+     *
+     * @param serialNumber The serial number of the drone, or null for all drones.
+     * @param eventType    The type of the events, or null for all events.
+     * @param from         The inclusive lower bound of the event timestamp, or null for no bound.
+     * @param to           The exclusive upper bound of the event timestamp, or null for no bound.
+     * @param after        The position of the last entry of the previous page, or null for the first page.
+     * @param limit        The maximum number of entries to return.
+     * @return The matching {@link AuditLog} entries.
+     */
+    public List<AuditLog> findPage(String serialNumber, AuditEventType eventType, LocalDateTime from, LocalDateTime to,
+                                   AuditLogCursor after, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> args = new ArrayList<>();
+        if (serialNumber != null) {
+            sql.append(" AND drone_serial_number = ?");
+            args.add(serialNumber);
+        }
+        if (eventType != null) {
+            sql.append(" AND event_type = ?");
+            args.add(eventType.getCode());
+        }
+        if (from != null) {
+            sql.append(" AND event_timestamp >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND event_timestamp < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        if (after != null) {
+            Timestamp timestamp = Timestamp.valueOf(after.eventTimestamp());
+            sql.append(" AND (event_timestamp < ? OR (event_timestamp = ? AND id < ?))");
+            args.add(timestamp);
+            args.add(timestamp);
+            args.add(after.id());
+        }
+        sql.append(" ORDER BY event_timestamp DESC, id DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    /**
+     * Streams every audit log entry, oldest first, to the given consumer.
+     *
+     * Each entry is a fresh, unmanaged {@link AuditLog} that is unreachable once the consumer returns.
+     *
+     * @param consumer The consumer receiving the entries one by one.
+     */
+    public void streamAll(Consumer<AuditLog> consumer) {
+        exportJdbcTemplate.query(EXPORT_SQL, resultSet -> {
+            consumer.accept(ROW_MAPPER.mapRow(resultSet, resultSet.getRow()));
+        });
+    }
+
+    private static DroneState state(ResultSet resultSet, String column) throws SQLException {
+        byte ordinal = resultSet.getByte(column);
+        return resultSet.wasNull() ? null : STATES[ordinal];
+    }
+}
@@ -0,0 +1,54 @@
+package com.elmenus.task.drones.repository;
+
+import com.elmenus.task.drones.shared.enums.AuditEventType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Repository for deleting expired {@link com.elmenus.task.drones.entity.AuditLog} entries in small batches.
+ *
+ * The entries of one event type older than a cutoff form a contiguous range of the
+ * {@code (event_type, event_timestamp, id)} index, so each batch is found by a short index range scan and
+ * deleted by primary key. Every statement runs in its own short transaction, so row locks are held only for the
+ * duration of one batch and concurrent inserts of new entries are not blocked.
+ */
+@Repository
+public class AuditLogRetentionRepository {
+
+    private static final String SELECT_EXPIRED_SQL = "SELECT id FROM audit_log " +
+            "WHERE event_type = ? AND event_timestamp < ? ORDER BY event_timestamp, id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for the AuditLogRetentionRepository class.
+     *
+     * @param jdbcTemplate The JDBC template used to run the deletes.
+     */
+    public AuditLogRetentionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Deletes up to {@code limit} of the oldest entries of the given type that are older than the cutoff.
+     *
+     * @param eventType The type of the entries.
+     * @param cutoff    The exclusive upper bound of the event timestamp of the deleted entries.
+     * @param limit     The maximum number of entries to delete.
+     * @return The number of deleted entries.
+     */
+    public int deleteExpired(AuditEventType eventType, LocalDateTime cutoff, int limit) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_EXPIRED_SQL, Long.class,
+                eventType.getCode(), Timestamp.valueOf(cutoff), limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return jdbcTemplate.update("DELETE FROM audit_log WHERE id IN (" + placeholders + ")", ids.toArray());
+    }
+}
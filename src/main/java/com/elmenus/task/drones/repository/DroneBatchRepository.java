@@ -0,0 +1,96 @@
+package com.elmenus.task.drones.repository;
+
+import com.elmenus.task.drones.dto.DroneSnapshot;
+import com.elmenus.task.drones.entity.Drone;
+import com.elmenus.task.drones.shared.enums.DroneModel;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Repository for locking and updating {@link Drone} rows in JDBC batches.
+ * Statements join the surrounding transaction.
+ */
+@Repository
+public class DroneBatchRepository {
+
+    private static final int LOCK_CHUNK_SIZE = 100;
+
+    private static final String LOCK_SQL = "SELECT id, serial_number, model, weight_limit, battery_capacity, state, " +
+            "version FROM drone WHERE serial_number = ANY(?) FOR UPDATE";
+
+    private static final String UPDATE_BATTERY_SQL = "UPDATE drone SET battery_capacity = ?, version = version + 1 " +
+            "WHERE id = ? AND version = ?";
+
+    private static final RowMapper<DroneSnapshot> ROW_MAPPER = (resultSet, rowNum) -> DroneSnapshot.builder()
+            .id(resultSet.getInt("id"))
+            .serialNumber(resultSet.getString("serial_number"))
+            .model(DroneModel.valueOf(resultSet.getString("model")))
+            .weightLimit(resultSet.getInt("weight_limit"))
+            .batteryCapacity(resultSet.getInt("battery_capacity"))
+            .state(DroneState.valueOf(resultSet.getString("state")))
+            .version(resultSet.getLong("version"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for the DroneBatchRepository class.
+     *
+     * @param jdbcTemplate The JDBC template used to run the batched updates.
+     */
+    public DroneBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Locks and retrieves the drones with the given serial numbers for the rest of the transaction.
+     * Serial numbers are bound as array parameters of at most {@link #LOCK_CHUNK_SIZE} elements, as H2 checks
+     * every locked row against the whole array again.
+     *
+     * @param serialNumbers The serial numbers of the drones.
+     * @return The {@link DroneSnapshot} of each existing drone, as stored.
+     */
+    public List<DroneSnapshot> lockBySerialNumbers(List<String> serialNumbers) {
+        List<DroneSnapshot> drones = new ArrayList<>(serialNumbers.size());
+        for (int from = 0; from < serialNumbers.size(); from += LOCK_CHUNK_SIZE) {
+            Object chunk = serialNumbers.subList(from, Math.min(from + LOCK_CHUNK_SIZE, serialNumbers.size()))
+                    .toArray(new String[0]);
+            drones.addAll(jdbcTemplate.query(LOCK_SQL, ROW_MAPPER, chunk));
+        }
+        return drones;
+    }
+
+    /**
+     * Writes the battery capacity of each given snapshot to its drone row, in JDBC batches. A row is only written
+     * if it is still at the version of its snapshot.
+     *
+     * @param drones    The snapshots holding the new battery capacity and the current version of each drone.
+     * @param batchSize The number of updates sent per JDBC batch.
+     * @return The snapshots whose row was written, with their version raised.
+     */
+    public List<DroneSnapshot> updateBatteryCapacities(List<DroneSnapshot> drones, int batchSize) {
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_BATTERY_SQL, drones, batchSize, (statement, drone) -> {
+            statement.setInt(1, drone.getBatteryCapacity());
+            statement.setInt(2, drone.getId());
+            statement.setLong(3, drone.getVersion());
+        });
+        List<DroneSnapshot> updated = new ArrayList<>(drones.size());
+        Iterator<DroneSnapshot> iterator = drones.iterator();
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                DroneSnapshot drone = iterator.next();
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                    updated.add(drone.withVersion(drone.getVersion() + 1));
+                }
+            }
+        }
+        return updated;
+    }
+}
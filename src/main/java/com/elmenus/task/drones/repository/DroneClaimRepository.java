@@ -0,0 +1,88 @@
+package com.elmenus.task.drones.repository;
+
+import com.elmenus.task.drones.dto.DroneSnapshot;
+import com.elmenus.task.drones.shared.enums.DroneModel;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for leasing {@link com.elmenus.task.drones.entity.Drone} rows to competing dispatchers.
+ *
+ * Claimable drones are read without locks, and a lease is only taken by a conditional update that checks the
+ * eligibility of the drone and its current lease in the statement itself, so at most one of the concurrent claimers
+ * of a drone wins. Every statement runs in its own short transaction, and a claimer waits for another one only when
+ * both update the same drone at the same moment.
+ */
+@Repository
+public class DroneClaimRepository {
+
+    private static final String ELIGIBLE_SQL = "state = ? AND battery_capacity >= ? " +
+            "AND current_load_weight + ? <= weight_limit AND (claim_expires_at IS NULL OR claim_expires_at <= ?)";
+
+    private static final String SELECT_CANDIDATES_SQL = "SELECT id, serial_number, model, weight_limit, " +
+            "battery_capacity, state FROM drone WHERE " + ELIGIBLE_SQL + " LIMIT ?";
+
+    private static final String CLAIM_SQL = "UPDATE drone SET claim_token = ?, claim_expires_at = ?, " +
+            "version = version + 1 WHERE id = ? AND " + ELIGIBLE_SQL;
+
+    private static final RowMapper<DroneSnapshot> ROW_MAPPER = (resultSet, rowNum) -> DroneSnapshot.builder()
+            .id(resultSet.getInt("id"))
+            .serialNumber(resultSet.getString("serial_number"))
+            .model(DroneModel.valueOf(resultSet.getString("model")))
+            .weightLimit(resultSet.getInt("weight_limit"))
+            .batteryCapacity(resultSet.getInt("battery_capacity"))
+            .state(DroneState.valueOf(resultSet.getString("state")))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for the DroneClaimRepository class.
+     *
+     * @param jdbcTemplate The JDBC template used to run the queries and updates.
+     */
+    public DroneClaimRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Retrieves up to {@code limit} drones that can be claimed to load the given weight: drones in the given state,
+     * with at least the given battery capacity and free weight, and without a lease that is still running.
+     *
+     * @param state              The state the drones must be in.
+     * @param minBatteryCapacity The minimum battery capacity of the drones.
+     * @param weight             The weight the drones must still be able to carry.
+     * @param now                The time leases are checked against.
+     * @param limit              The maximum number of drones to retrieve.
+     * @return The {@link DroneSnapshot} of each claimable drone.
+     */
+    public List<DroneSnapshot> findCandidates(DroneState state, int minBatteryCapacity, int weight,
+                                              LocalDateTime now, int limit) {
+        return jdbcTemplate.query(SELECT_CANDIDATES_SQL, ROW_MAPPER,
+                state.name(), minBatteryCapacity, weight, Timestamp.valueOf(now), limit);
+    }
+
+    /**
+     * Leases a drone if it can still be claimed to load the given weight.
+     *
+     * @param id                 The ID of the drone.
+     * @param claimToken         The token identifying the lease.
+     * @param expiresAt          The time at which the lease expires.
+     * @param state              The state the drone must be in.
+     * @param minBatteryCapacity The minimum battery capacity of the drone.
+     * @param weight             The weight the drone must still be able to carry.
+     * @param now                The time the current lease is checked against.
+     * @return True if the drone was leased, false if it is no longer claimable.
+     */
+    public boolean claim(int id, String claimToken, LocalDateTime expiresAt, DroneState state,
+                         int minBatteryCapacity, int weight, LocalDateTime now) {
+        return jdbcTemplate.update(CLAIM_SQL, claimToken, Timestamp.valueOf(expiresAt), id,
+                state.name(), minBatteryCapacity, weight, Timestamp.valueOf(now)) == 1;
+    }
+}
@@ -0,0 +1,65 @@
+package com.elmenus.task.drones.repository;
+
+import com.elmenus.task.drones.entity.DroneMedication;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for managing {@link DroneMedication} entities.
+ */
+@Repository
+public interface DroneMedicationRepository extends JpaRepository<DroneMedication, Long> {
+
+    /**
+     * Adds to the quantity of a medication already loaded onto a drone.
+     *
+     * @param droneId      The ID of the drone.
+     * @param medicationId The ID of the medication.
+     * @param quantity     The quantity to add.
+     * @return The number of updated rows, either 0 if the medication is not loaded yet or 1.
+     */
+    @Modifying
+    @Query("UPDATE DroneMedication dm SET dm.quantity = dm.quantity + :quantity " +
+            "WHERE dm.drone.id = :droneId AND dm.medication.id = :medicationId")
+    int addQuantity(@Param("droneId") Integer droneId,
+                    @Param("medicationId") Integer medicationId,
+                    @Param("quantity") Integer quantity);
+
+    /**
+     * Subtracts from the quantity of a medication loaded onto a drone if the drone carries at least that quantity.
+     *
+     * @param droneId      The ID of the drone.
+     * @param medicationId The ID of the medication.
+     * @param quantity     The quantity to subtract.
+     * @return The number of updated rows, either 0 or 1.
+     */
+    @Modifying
+    @Query("UPDATE DroneMedication dm SET dm.quantity = dm.quantity - :quantity " +
+            "WHERE dm.drone.id = :droneId AND dm.medication.id = :medicationId AND dm.quantity >= :quantity")
+    int subtractQuantity(@Param("droneId") Integer droneId,
+                         @Param("medicationId") Integer medicationId,
+                         @Param("quantity") Integer quantity);
+
+    /**
+     * Deletes the medications of a drone whose quantity dropped to zero.
+     *
+     * @param droneId The ID of the drone.
+     * @return The number of deleted rows.
+     */
+    @Modifying
+    @Query("DELETE FROM DroneMedication dm WHERE dm.drone.id = :droneId AND dm.quantity = 0")
+    int deleteEmptyByDroneId(@Param("droneId") Integer droneId);
+
+    /**
+     * Deletes every medication loaded onto a drone.
+     *
+     * @param droneId The ID of the drone.
+     * @return The number of deleted rows.
+     */
+    @Modifying
+    @Query("DELETE FROM DroneMedication dm WHERE dm.drone.id = :droneId")
+    int deleteByDroneId(@Param("droneId") Integer droneId);
+}
@@ -1,14 +1,26 @@
 package com.elmenus.task.drones.repository;
 
+import com.elmenus.task.drones.dto.DroneIdentity;
+import com.elmenus.task.drones.dto.DroneStateSince;
 import com.elmenus.task.drones.entity.Drone;
 import com.elmenus.task.drones.shared.enums.DroneState;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Repository interface for managing {@link Drone} entities.
+ * Bulk updates raise the version of every drone they change, so they conflict with concurrent entity saves.
  */
 @Repository
 public interface DroneRepository extends JpaRepository<Drone, Integer> {
@@ -30,11 +42,154 @@ public interface DroneRepository extends JpaRepository<Drone, Integer> {
     Drone findBySerialNumber(String serialNumber);
 
     /**
-     * Retrieves a list of drones with battery capacity less than the specified value and not in the specified state.
+     * Retrieves which of the given serial numbers are already registered.
      *
+     * @param serialNumbers The serial numbers to check.
+     * @return The subset of the given serial numbers that belong to existing drones.
+     */
+    @Query("SELECT d.serialNumber FROM Drone d WHERE d.serialNumber IN :serialNumbers")
+    Set<String> findExistingSerialNumbers(@Param("serialNumbers") Collection<String> serialNumbers);
+
+    /**
+     * Locks and retrieves the identities of drones with battery capacity less than the specified value
+     * and not in any of the specified states.
+     *
+     * @param batteryCapacity The battery capacity.
+     * @param excludedStates  The states of drones to exclude.
+     * @return A list of {@link DroneIdentity} projections of the matching drones.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d.id AS id, d.serialNumber AS serialNumber, d.state AS state, " +
+            "d.batteryCapacity AS batteryCapacity FROM Drone d " +
+            "WHERE d.batteryCapacity < :batteryCapacity AND d.state NOT IN :excludedStates")
+    List<DroneIdentity> lockByBatteryCapacityLessThanAndStateNotIn(@Param("batteryCapacity") Integer batteryCapacity,
+                                                                    @Param("excludedStates") Collection<DroneState> excludedStates);
+
+    /**
+     * Locks and retrieves the identity of a single drone if its battery capacity is less than the specified value
+     * and it is not in any of the specified states.
+     *
+     * @param id              The ID of the drone.
      * @param batteryCapacity The battery capacity.
-     * @param droneState      The state of drones to exclude.
-     * @return A list of drones with battery capacity less than the specified value and not in the specified state.
+     * @param excludedStates  The states of drones to exclude.
+     * @return An optional {@link DroneIdentity} projection of the drone, empty if it does not match.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d.id AS id, d.serialNumber AS serialNumber, d.state AS state, " +
+            "d.batteryCapacity AS batteryCapacity FROM Drone d " +
+            "WHERE d.id = :id AND d.batteryCapacity < :batteryCapacity AND d.state NOT IN :excludedStates")
+    Optional<DroneIdentity> lockByIdAndBatteryCapacityLessThanAndStateNotIn(@Param("id") Integer id,
+                                                                           @Param("batteryCapacity") Integer batteryCapacity,
+                                                                           @Param("excludedStates") Collection<DroneState> excludedStates);
+
+    /**
+     * Retrieves the state of every drone in one of the given states along with the time it entered that state.
+     *
+     * @param states The states of the drones to retrieve.
+     * @return A list of {@link DroneStateSince} projections of the matching drones.
+     */
+    @Query("SELECT d.serialNumber AS serialNumber, d.state AS state, d.stateChangedAt AS stateChangedAt " +
+            "FROM Drone d WHERE d.state IN :states")
+    List<DroneStateSince> findStateSinceByStateIn(@Param("states") Collection<DroneState> states);
+
+    /**
+     * Locks and retrieves the identities of the given drones that are still in the given state and entered it
+     * no later than the given time, or at an unknown time.
+     *
+     * @param serialNumbers The serial numbers of the drones.
+     * @param state         The state the drones must be in.
+     * @param enteredBefore The latest time the drones may have entered the state.
+     * @return A list of {@link DroneIdentity} projections of the matching drones.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d.id AS id, d.serialNumber AS serialNumber, d.state AS state, " +
+            "d.batteryCapacity AS batteryCapacity FROM Drone d " +
+            "WHERE d.serialNumber IN :serialNumbers AND d.state = :state " +
+            "AND (d.stateChangedAt IS NULL OR d.stateChangedAt <= :enteredBefore)")
+    List<DroneIdentity> lockBySerialNumberInAndStateEnteredBefore(@Param("serialNumbers") Collection<String> serialNumbers,
+                                                                 @Param("state") DroneState state,
+                                                                 @Param("enteredBefore") LocalDateTime enteredBefore);
+
+    /**
+     * Moves the given drones to a new state in a single statement.
+     *
+     * @param ids      The IDs of the drones.
+     * @param newState The state to set.
+     * @param now      The time the drones enter the new state.
+     * @return The number of updated drones.
+     */
+    @Modifying
+    @Query("UPDATE Drone d SET d.state = :newState, d.stateChangedAt = :now, d.version = d.version + 1 " +
+            "WHERE d.id IN :ids")
+    int updateStateByIdIn(@Param("ids") Collection<Integer> ids,
+                          @Param("newState") DroneState newState,
+                          @Param("now") LocalDateTime now);
+
+    /**
+     * Sets the load weight of a drone if the drone is in the given state, has at least the given battery capacity,
+     * the weight fits within its weight limit and the drone is not leased under another token, ending any lease on
+     * the drone. The persistence context is cleared afterwards, so the drone is read again with its new load weight.
+     *
+     * @param id                 The ID of the drone.
+     * @param weight             The new load weight.
+     * @param state              The state the drone must be in.
+     * @param minBatteryCapacity The minimum battery capacity of the drone.
+     * @param claimToken         The token of the lease held by the caller, or null if it holds none.
+     * @param now                The time leases are checked against.
+     * @return The number of updated drones, either 0 or 1.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Drone d SET d.currentLoadWeight = :weight, d.claimToken = NULL, d.claimExpiresAt = NULL, " +
+            "d.version = d.version + 1 " +
+            "WHERE d.id = :id AND d.state = :state AND d.batteryCapacity >= :minBatteryCapacity " +
+            "AND :weight <= d.weightLimit " +
+            "AND (d.claimToken = :claimToken OR d.claimExpiresAt IS NULL OR d.claimExpiresAt <= :now)")
+    int updateLoadWeightIfFits(@Param("id") Integer id,
+                               @Param("weight") Integer weight,
+                               @Param("state") DroneState state,
+                               @Param("minBatteryCapacity") Integer minBatteryCapacity,
+                               @Param("claimToken") String claimToken,
+                               @Param("now") LocalDateTime now);
+
+    /**
+     * Adds to the load weight of a drone if the drone is in the given state, has at least the given battery capacity,
+     * the new load weight fits within its weight limit and the drone is not leased under another token, ending any
+     * lease on the drone.
+     *
+     * @param id                 The ID of the drone.
+     * @param weight             The weight to add.
+     * @param state              The state the drone must be in.
+     * @param minBatteryCapacity The minimum battery capacity of the drone.
+     * @param claimToken         The token of the lease held by the caller, or null if it holds none.
+     * @param now                The time leases are checked against.
+     * @return The number of updated drones, either 0 or 1.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Drone d SET d.currentLoadWeight = d.currentLoadWeight + :weight, d.claimToken = NULL, " +
+            "d.claimExpiresAt = NULL, d.version = d.version + 1 " +
+            "WHERE d.id = :id AND d.state = :state AND d.batteryCapacity >= :minBatteryCapacity " +
+            "AND d.currentLoadWeight + :weight <= d.weightLimit " +
+            "AND (d.claimToken = :claimToken OR d.claimExpiresAt IS NULL OR d.claimExpiresAt <= :now)")
+    int addLoadWeightIfFits(@Param("id") Integer id,
+                            @Param("weight") Integer weight,
+                            @Param("state") DroneState state,
+                            @Param("minBatteryCapacity") Integer minBatteryCapacity,
+                            @Param("claimToken") String claimToken,
+                            @Param("now") LocalDateTime now);
+
+    /**
+     * Subtracts from the load weight of a drone if the drone is in one of the given states and carries at least
+     * the given weight.
+     *
+     * @param id     The ID of the drone.
+     * @param weight The weight to subtract.
+     * @param states The states the drone may be in.
+     * @return The number of updated drones, either 0 or 1.
      */
-    List<Drone> findByBatteryCapacityLessThanAndStateNot(Integer batteryCapacity, DroneState droneState);
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Drone d SET d.currentLoadWeight = d.currentLoadWeight - :weight, d.version = d.version + 1 " +
+            "WHERE d.id = :id AND d.state IN :states AND d.currentLoadWeight >= :weight")
+    int subtractLoadWeight(@Param("id") Integer id,
+                           @Param("weight") Integer weight,
+                           @Param("states") Collection<DroneState> states);
 }
@@ -0,0 +1,127 @@
+package com.elmenus.task.drones.repository;
+
+import com.elmenus.task.drones.dto.BulkTransitionRequestDTO;
+import com.elmenus.task.drones.dto.DroneSnapshot;
+import com.elmenus.task.drones.shared.enums.DroneModel;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Repository for moving every {@link com.elmenus.task.drones.entity.Drone} row matching a filter to a new state.
+ *
+ * The filter is built into the statement, so the matching drones are locked and updated by set-based statements
+ * instead of one read and one write per drone. Lists of serial numbers and IDs are bound as array parameters of at
+ * most {@link #ARRAY_CHUNK_SIZE} elements: the statement text stays the same whatever their length, so H2 parses it
+ * only once, and H2 checks every locked row against the whole array again, a cost growing with the square of its
+ * length. All the statements join the surrounding transaction.
+ */
+@Repository
+public class DroneTransitionRepository {
+
+    private static final int ARRAY_CHUNK_SIZE = 100;
+
+    private static final String SELECT_SQL = "SELECT id, serial_number, model, weight_limit, battery_capacity, state " +
+            "FROM drone WHERE ";
+
+    private static final String UPDATE_SQL = "UPDATE drone SET state = ?, state_changed_at = ?, " +
+            "version = version + 1 WHERE id = ANY(?)";
+
+    private static final RowMapper<DroneSnapshot> ROW_MAPPER = (resultSet, rowNum) -> DroneSnapshot.builder()
+            .id(resultSet.getInt("id"))
+            .serialNumber(resultSet.getString("serial_number"))
+            .model(DroneModel.valueOf(resultSet.getString("model")))
+            .weightLimit(resultSet.getInt("weight_limit"))
+            .batteryCapacity(resultSet.getInt("battery_capacity"))
+            .state(DroneState.valueOf(resultSet.getString("state")))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for the DroneTransitionRepository class.
+     *
+     * @param jdbcTemplate The JDBC template used to run the queries and updates.
+     */
+    public DroneTransitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Locks and retrieves the drones matching the filter of a transition that are not yet in its target state and
+     * have at least the given battery capacity.
+     *
+     * @param filter             The transition whose filter the drones must match.
+     * @param minBatteryCapacity The minimum battery capacity of the drones.
+     * @return The {@link DroneSnapshot} of each matching drone.
+     */
+    public List<DroneSnapshot> lockMatching(BulkTransitionRequestDTO filter, int minBatteryCapacity) {
+        List<Object> args = new ArrayList<>();
+        String sql = SELECT_SQL + where(filter, minBatteryCapacity, args) + " FOR UPDATE";
+        if (filter.getSerialNumbers() == null || filter.getSerialNumbers().isEmpty()) {
+            return jdbcTemplate.query(sql, ROW_MAPPER, args.toArray());
+        }
+        List<String> serialNumbers = new ArrayList<>(new LinkedHashSet<>(filter.getSerialNumbers()));
+        List<DroneSnapshot> drones = new ArrayList<>();
+        int last = args.size() - 1;
+        for (int from = 0; from < serialNumbers.size(); from += ARRAY_CHUNK_SIZE) {
+            args.set(last, serialNumbers.subList(from, Math.min(from + ARRAY_CHUNK_SIZE, serialNumbers.size()))
+                    .toArray(new String[0]));
+            drones.addAll(jdbcTemplate.query(sql, ROW_MAPPER, args.toArray()));
+        }
+        return drones;
+    }
+
+    /**
+     * Moves the given drones to a new state, one statement per chunk of IDs. The drones are expected to be locked by
+     * {@link #lockMatching}, so the filter is not evaluated a second time.
+     *
+     * @param ids   The IDs of the drones to move.
+     * @param state The new state of the drones.
+     * @param now   The time the drones enter the new state.
+     * @return The number of updated drones.
+     */
+    public int updateStates(List<Integer> ids, DroneState state, LocalDateTime now) {
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += ARRAY_CHUNK_SIZE) {
+            updated += jdbcTemplate.update(UPDATE_SQL, state.name(), Timestamp.valueOf(now),
+                    ids.subList(from, Math.min(from + ARRAY_CHUNK_SIZE, ids.size())).toArray(new Integer[0]));
+        }
+        return updated;
+    }
+
+    private static String where(BulkTransitionRequestDTO filter, int minBatteryCapacity, List<Object> args) {
+        StringBuilder where = new StringBuilder("state <> ? AND battery_capacity >= ?");
+        args.add(filter.getTargetState().name());
+        args.add(minBatteryCapacity);
+        if (filter.getFromState() != null) {
+            where.append(" AND state = ?");
+            args.add(filter.getFromState().name());
+        }
+        if (filter.getModel() != null) {
+            where.append(" AND model = ?");
+            args.add(filter.getModel().name());
+        }
+        if (filter.getMinBatteryCapacity() != null) {
+            where.append(" AND battery_capacity >= ?");
+            args.add(filter.getMinBatteryCapacity());
+        }
+        if (filter.getMaxBatteryCapacity() != null) {
+            where.append(" AND battery_capacity <= ?");
+            args.add(filter.getMaxBatteryCapacity());
+        }
+        if (filter.getSerialNumbers() != null && !filter.getSerialNumbers().isEmpty()) {
+            // Bound to each chunk of serial numbers by lockMatching.
+            where.append(" AND serial_number = ANY(?)");
+            args.add(null);
+        }
+        return where.toString();
+    }
+}
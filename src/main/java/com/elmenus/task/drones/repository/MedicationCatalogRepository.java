@@ -0,0 +1,81 @@
+package com.elmenus.task.drones.repository;
+
+import com.elmenus.task.drones.dto.MedicationDTO;
+import com.elmenus.task.drones.entity.Medication;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.Optional;
+
+/**
+ * Repository for reading and inserting {@link Medication} catalog entries with plain JDBC statements.
+ *
+ * The statements join the surrounding transaction. A failed insert only fails its own statement, so the
+ * transaction of a load can go on after losing the race for a new code to a concurrent load.
+ */
+@Repository
+public class MedicationCatalogRepository {
+
+    private static final String SELECT_SQL = "SELECT id, name, weight, code, image FROM medication WHERE code = ?";
+
+    private static final String INSERT_SQL = "INSERT INTO medication (name, weight, code, image) VALUES (?, ?, ?, ?)";
+
+    private static final RowMapper<Medication> ROW_MAPPER = (resultSet, rowNum) -> Medication.builder()
+            .id(resultSet.getInt("id"))
+            .name(resultSet.getString("name"))
+            .weight(resultSet.getInt("weight"))
+            .code(resultSet.getString("code"))
+            .image(resultSet.getString("image"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for the MedicationCatalogRepository class.
+     *
+     * @param jdbcTemplate The JDBC template used to run the queries and inserts.
+     */
+    public MedicationCatalogRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Retrieves the catalog entry of a medication by its code.
+     *
+     * @param code The code of the medication.
+     * @return An optional detached {@link Medication}, or empty if no medication has this code.
+     */
+    public Optional<Medication> findByCode(String code) {
+        return jdbcTemplate.query(SELECT_SQL, ROW_MAPPER, code).stream().findFirst();
+    }
+
+    /**
+     * Inserts a catalog entry for an ordered medication.
+     *
+     * @param medicationDTO The ordered medication.
+     * @return The inserted {@link Medication}, detached.
+     * @throws org.springframework.dao.DuplicateKeyException If a medication with the same code already exists.
+     */
+    public Medication insert(MedicationDTO medicationDTO) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_SQL, new String[]{"id"});
+            statement.setString(1, medicationDTO.getName());
+            statement.setInt(2, medicationDTO.getWeight());
+            statement.setString(3, medicationDTO.getCode());
+            statement.setString(4, medicationDTO.getImage());
+            return statement;
+        }, keyHolder);
+        return Medication.builder()
+                .id(keyHolder.getKeyAs(Integer.class))
+                .name(medicationDTO.getName())
+                .weight(medicationDTO.getWeight())
+                .code(medicationDTO.getCode())
+                .image(medicationDTO.getImage())
+                .build();
+    }
+}
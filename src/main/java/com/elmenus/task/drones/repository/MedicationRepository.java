@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for managing {@link Medication} entities.
@@ -24,4 +25,12 @@ public interface MedicationRepository extends JpaRepository<Medication, Integer>
             "JOIN m.droneMedications dm " +
             "WHERE dm.drone.serialNumber = :serialNumber")
     List<Medication> findLoadedMedicationsForDrone(@Param("serialNumber") String serialNumber);
+
+    /**
+     * Retrieves the catalog entry of a medication by its code.
+     *
+     * @param code The code of the medication.
+     * @return An optional containing the medication, or empty if no medication has this code.
+     */
+    Optional<Medication> findByCode(String code);
 }
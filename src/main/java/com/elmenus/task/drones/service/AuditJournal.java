@@ -0,0 +1,405 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.entity.AuditLog;
+import com.elmenus.task.drones.repository.AuditLogBatchRepository;
+import com.elmenus.task.drones.shared.enums.AuditEventType;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of audit log events backed by memory-mapped segment files.
+ *
+ * When enabled, events are appended to the journal instead of being inserted into the database, so recording an
+ * event costs a memory copy. Every record takes a fixed-size slot holding its length, a CRC32C checksum and the
+ * encoded event; a segment holds a fixed number of slots and is named after the index of its first record, so
+ * the position of any record follows from its index. Once a segment is full the journal moves on to the next
+ * one.
+ *
+ * A replayer copies the records into the {@code audit_log} table in batches and stores the index of the next
+ * record to replay in a checkpoint file after each batch, which makes the table an eventually consistent view of
+ * the journal. Records are replayed at least once: a crash between a batch and its checkpoint replays the batch
+ * again. Fully replayed segments are deleted once the journal has moved on to a later segment.
+ *
+ * On startup the last segment is scanned up to the first slot that is empty or fails its checksum, which drops a
+ * record torn by a crash; the next append overwrites it.
+ */
+@Component
+public class AuditJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditJournal.class);
+
+    /**
+     * Size of a record slot in bytes.
+     */
+    static final int RECORD_BYTES = 1024;
+
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int MAX_PAYLOAD_BYTES = RECORD_BYTES - HEADER_BYTES;
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final byte NONE = -1;
+    private static final DroneState[] STATES = DroneState.values();
+
+    private final AuditLogBatchRepository auditLogBatchRepository;
+    private final boolean enabled;
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final int batchSize;
+    private final Object replayLock = new Object();
+
+    private MappedByteBuffer writeSegment;
+    private long writeSegmentBase = -1;
+    private volatile long appended;
+
+    private MappedByteBuffer readSegment;
+    private long readSegmentBase = -1;
+    private long oldestSegmentBase;
+    private volatile long replayed;
+
+    /**
+     * Constructor for the AuditJournal class.
+     * When the journal is enabled, existing segments and the checkpoint in the directory are recovered.
+     *
+     * @param auditLogBatchRepository The repository for writing AuditLog entities in JDBC batches.
+     * @param meterRegistry           The registry to publish the replay lag to.
+     * @param enabled                 Whether events are journaled instead of inserted directly.
+     * @param directory               The directory holding the segment files and the checkpoint.
+     * @param segmentBytes            The size of a segment file in bytes, rounded down to whole record slots.
+     * @param batchSize               The maximum number of records replayed in one batch.
+     * @throws UncheckedIOException If the directory cannot be created or read.
+     */
+    public AuditJournal(AuditLogBatchRepository auditLogBatchRepository, MeterRegistry meterRegistry,
+                        @Value("${drones.audit-journal.enabled:false}") boolean enabled,
+                        @Value("${drones.audit-journal.directory:${drones.data-directory:data}/audit-journal}") Path directory,
+                        @Value("${drones.audit-journal.segment-bytes:67108864}") int segmentBytes,
+                        @Value("${drones.audit-journal.batch-size:500}") int batchSize) {
+        this.auditLogBatchRepository = auditLogBatchRepository;
+        this.enabled = enabled;
+        this.directory = directory;
+        this.recordsPerSegment = Math.max(1, segmentBytes / RECORD_BYTES);
+        this.batchSize = batchSize;
+        if (enabled) {
+            recover();
+        }
+        Gauge.builder("drones.audit.journal.lag", this, AuditJournal::lag)
+                .description("Number of journaled audit events not yet replayed into the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Tells whether events are journaled.
+     *
+     * @return True if the journal is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Appends an event to the journal.
+     *
+     * @param auditLog The audit event.
+     * @return True if the event was journaled, false if the journal is disabled or the event does not fit in a
+     * record, in which case the caller must write it some other way.
+     * @throws UncheckedIOException If a new segment cannot be created.
+     */
+    public boolean append(AuditLog auditLog) {
+        if (!enabled) {
+            return false;
+        }
+        byte[] serialNumber = auditLog.getDroneSerialNumber().getBytes(StandardCharsets.UTF_8);
+        byte[] description = auditLog.getLegacyDescription() == null
+                ? null : auditLog.getLegacyDescription().getBytes(StandardCharsets.UTF_8);
+        int length = Integer.BYTES + Long.BYTES + Integer.BYTES + 4 * Byte.BYTES
+                + Short.BYTES + serialNumber.length + Short.BYTES + (description == null ? 0 : description.length);
+        if (length > MAX_PAYLOAD_BYTES) {
+            return false;
+        }
+        LocalDateTime timestamp = auditLog.getEventTimestamp();
+        synchronized (this) {
+            long index = appended;
+            MappedByteBuffer segment = writeSegmentFor(index);
+            int offset = slotOffset(index);
+            ByteBuffer payload = segment.slice(offset + HEADER_BYTES, length);
+            payload.putInt(auditLog.getDroneId())
+                    .putLong(timestamp.toEpochSecond(ZoneOffset.UTC))
+                    .putInt(timestamp.getNano())
+                    .put(auditLog.getEventType().getCode())
+                    .put(stateCode(auditLog.getFromState()))
+                    .put(stateCode(auditLog.getToState()))
+                    .put(auditLog.getBatteryCapacity() == null ? NONE : auditLog.getBatteryCapacity().byteValue())
+                    .putShort((short) serialNumber.length)
+                    .put(serialNumber);
+            if (description == null) {
+                payload.putShort(NONE);
+            } else {
+                payload.putShort((short) description.length).put(description);
+            }
+            segment.putInt(offset + Integer.BYTES, checksum(segment, offset + HEADER_BYTES, length));
+            segment.putInt(offset, length);
+            appended = index + 1;
+        }
+        return true;
+    }
+
+    /**
+     * Replays the journaled events that are not in the database yet, in batches.
+     *
+     * @return The number of replayed events.
+     * @throws UncheckedIOException If a segment or the checkpoint cannot be read or written.
+     */
+    @Scheduled(fixedDelayString = "${drones.audit-journal.replay-interval-ms:200}")
+    public int replay() {
+        if (!enabled) {
+            return 0;
+        }
+        synchronized (replayLock) {
+            int total = 0;
+            long end = appended;
+            while (replayed < end) {
+                long start = replayed;
+                long segmentEnd = segmentBase(start) + recordsPerSegment;
+                int count = (int) Math.min(Math.min(end, segmentEnd) - start, batchSize);
+                List<AuditLog> batch = new ArrayList<>(count);
+                for (long index = start; index < start + count; index++) {
+                    batch.add(read(index));
+                }
+                auditLogBatchRepository.insertAll(batch);
+                replayed = start + count;
+                writeCheckpoint(replayed);
+                total += count;
+            }
+            deleteReplayedSegments();
+            return total;
+        }
+    }
+
+    /**
+     * Retrieves the number of events appended to the journal since it was created.
+     *
+     * @return The index of the next record to append.
+     */
+    public long appended() {
+        return appended;
+    }
+
+    /**
+     * Retrieves the number of events replayed into the database since the journal was created.
+     *
+     * @return The index of the next record to replay.
+     */
+    public long replayed() {
+        return replayed;
+    }
+
+    private long lag() {
+        return appended - replayed;
+    }
+
+    private void recover() {
+        try {
+            Files.createDirectories(directory);
+            List<Long> bases;
+            try (Stream<Path> files = Files.list(directory)) {
+                bases = files.map(path -> path.getFileName().toString())
+                        .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                        .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                        .sorted()
+                        .toList();
+            }
+            Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+            long checkpointIndex = Files.exists(checkpoint) ? ByteBuffer.wrap(Files.readAllBytes(checkpoint)).getLong() : 0;
+            if (bases.isEmpty()) {
+                appended = checkpointIndex;
+                replayed = checkpointIndex;
+                oldestSegmentBase = segmentBase(checkpointIndex);
+                return;
+            }
+            long lastBase = bases.get(bases.size() - 1);
+            MappedByteBuffer segment = writeSegmentFor(lastBase);
+            int slot = 0;
+            while (slot < recordsPerSegment && isValid(segment, slot)) {
+                slot++;
+            }
+            appended = lastBase + slot;
+            replayed = Math.max(checkpointIndex, bases.get(0));
+            oldestSegmentBase = bases.get(0);
+            if (slot < recordsPerSegment && segment.getInt(slot * RECORD_BYTES) != 0) {
+                log.warn("Audit journal dropped a torn record at index {}", appended);
+            }
+            deleteReplayedSegments();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to recover the audit journal in " + directory, ex);
+        }
+    }
+
+    private boolean isValid(MappedByteBuffer segment, int slot) {
+        int offset = slot * RECORD_BYTES;
+        int length = segment.getInt(offset);
+        return length > 0 && length <= MAX_PAYLOAD_BYTES
+                && segment.getInt(offset + Integer.BYTES) == checksum(segment, offset + HEADER_BYTES, length);
+    }
+
+    private AuditLog read(long index) {
+        long base = segmentBase(index);
+        if (base != readSegmentBase) {
+            readSegment = map(base, FileChannel.MapMode.READ_ONLY);
+            readSegmentBase = base;
+        }
+        int offset = slotOffset(index);
+        int length = readSegment.getInt(offset);
+        if (length <= 0 || length > MAX_PAYLOAD_BYTES
+                || readSegment.getInt(offset + Integer.BYTES) != checksum(readSegment, offset + HEADER_BYTES, length)) {
+            throw new IllegalStateException("Corrupt audit journal record at index " + index);
+        }
+        ByteBuffer payload = readSegment.slice(offset + HEADER_BYTES, length);
+        int droneId = payload.getInt();
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(payload.getLong(), payload.getInt(), ZoneOffset.UTC);
+        AuditEventType eventType = AuditEventType.fromCode(payload.get());
+        DroneState fromState = state(payload.get());
+        DroneState toState = state(payload.get());
+        byte batteryCapacity = payload.get();
+        byte[] serialNumber = new byte[payload.getShort()];
+        payload.get(serialNumber);
+        short descriptionLength = payload.getShort();
+        String description = null;
+        if (descriptionLength != NONE) {
+            byte[] bytes = new byte[descriptionLength];
+            payload.get(bytes);
+            description = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new AuditLog(null, droneId, new String(serialNumber, StandardCharsets.UTF_8), eventType, fromState,
+                toState, batteryCapacity == NONE ? null : (int) batteryCapacity, description, timestamp);
+    }
+
+    private static byte stateCode(DroneState state) {
+        return state == null ? NONE : (byte) state.ordinal();
+    }
+
+    private static DroneState state(byte code) {
+        return code == NONE ? null : STATES[code];
+    }
+
+    private MappedByteBuffer writeSegmentFor(long index) {
+        long base = segmentBase(index);
+        if (base != writeSegmentBase) {
+            if (writeSegment != null) {
+                writeSegment.force();
+            }
+            writeSegment = map(base, FileChannel.MapMode.READ_WRITE);
+            writeSegmentBase = base;
+        }
+        return writeSegment;
+    }
+
+    private MappedByteBuffer map(long base, FileChannel.MapMode mode) {
+        try (FileChannel channel = mode == FileChannel.MapMode.READ_ONLY
+                ? FileChannel.open(segmentPath(base), StandardOpenOption.READ)
+                : FileChannel.open(segmentPath(base), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return channel.map(mode, 0, (long) recordsPerSegment * RECORD_BYTES);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to map audit journal segment " + segmentPath(base), ex);
+        }
+    }
+
+    private void writeCheckpoint(long index) {
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        Path temporary = directory.resolve(CHECKPOINT_FILE + TEMPORARY_SUFFIX);
+        try {
+            Files.write(temporary, ByteBuffer.allocate(Long.BYTES).putLong(index).array());
+            Files.move(temporary, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write the audit journal checkpoint", ex);
+        }
+    }
+
+    /**
+     * Deletes the fully replayed segments, oldest first, up to the segment being written. The write segment is kept
+     * even when fully replayed, and deleted by a later call once the journal moved past it.
+     */
+    private void deleteReplayedSegments() {
+        while (oldestSegmentBase + recordsPerSegment <= replayed) {
+            long base = oldestSegmentBase;
+            synchronized (this) {
+                if (base == writeSegmentBase) {
+                    return;
+                }
+            }
+            if (base == readSegmentBase) {
+                readSegment = null;
+                readSegmentBase = -1;
+            }
+            try {
+                Files.deleteIfExists(segmentPath(base));
+            } catch (IOException ex) {
+                log.warn("Failed to delete replayed audit journal segment {}", segmentPath(base), ex);
+                return;
+            }
+            oldestSegmentBase = base + recordsPerSegment;
+        }
+    }
+
+    private long segmentBase(long index) {
+        return index - index % recordsPerSegment;
+    }
+
+    private int slotOffset(long index) {
+        return (int) (index % recordsPerSegment) * RECORD_BYTES;
+    }
+
+    private Path segmentPath(long base) {
+        return directory.resolve(String.format("%020d%s", base, SEGMENT_SUFFIX));
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Replays the remaining events and flushes the current segment to disk.
+     */
+    @PreDestroy
+    public void close() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            replay();
+        } catch (RuntimeException ex) {
+            log.error("Failed to replay the audit journal on shutdown, it will be replayed on the next start", ex);
+        }
+        synchronized (this) {
+            if (writeSegment != null) {
+                writeSegment.force();
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.shared.enums.AuditEventType;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+
+/**
+ * Migration converting audit log entries written as free text into typed events.
+ *
+ * Entries are recognised by the exact descriptions the service used to write, {@code "Low Battery"} and
+ * {@code "Changed state to <state>"}, and rewritten with one set-based update per description; their text is
+ * cleared since the description is rendered from the typed columns. Entries with any other description become
+ * {@link AuditEventType#LEGACY} events and keep their text. The migration only touches entries without a type,
+ * so it is a no-op once it has run.
+ */
+@Component
+public class AuditLogMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogMigration.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for the AuditLogMigration class.
+     *
+     * @param jdbcTemplate The JDBC template used to run the migration.
+     */
+    public AuditLogMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Migrates the audit log entries that have no type yet.
+     *
+     * @return The number of migrated entries.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int migrate() {
+        allowNullDescriptions();
+        int migrated = jdbcTemplate.update("UPDATE audit_log SET event_type = ?, event_description = NULL " +
+                "WHERE event_type IS NULL AND event_description = ?", AuditEventType.LOW_BATTERY.getCode(), "Low Battery");
+        for (DroneState state : DroneState.values()) {
+            migrated += jdbcTemplate.update("UPDATE audit_log SET event_type = ?, to_state = ?, " +
+                            "event_description = NULL WHERE event_type IS NULL AND event_description = ?",
+                    AuditEventType.STATE_CHANGED.getCode(), state.ordinal(), "Changed state to " + state);
+        }
+        migrated += jdbcTemplate.update("UPDATE audit_log SET event_type = ? WHERE event_type IS NULL",
+                AuditEventType.LEGACY.getCode());
+        if (migrated > 0) {
+            log.info("Migrated {} free-text audit log entries to typed events", migrated);
+        }
+        return migrated;
+    }
+
+    /**
+     * Drops the NOT NULL constraint that earlier schemas put on {@code event_description}, which typed events
+     * leave empty.
+     */
+    private void allowNullDescriptions() {
+        String alter = jdbcTemplate.execute((Connection connection) -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            boolean upperCase = metaData.storesUpperCaseIdentifiers();
+            try (ResultSet column = metaData.getColumns(null, null, upperCase ? "AUDIT_LOG" : "audit_log",
+                    upperCase ? "EVENT_DESCRIPTION" : "event_description")) {
+                if (!column.next() || column.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls) {
+                    return null;
+                }
+            }
+            return "MySQL".equalsIgnoreCase(metaData.getDatabaseProductName())
+                    ? "ALTER TABLE audit_log MODIFY event_description VARCHAR(255) NULL"
+                    : "ALTER TABLE audit_log ALTER COLUMN event_description DROP NOT NULL";
+        });
+        if (alter != null) {
+            jdbcTemplate.execute(alter);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.AuditLogDTO;
+import com.elmenus.task.drones.dto.AuditLogPageDTO;
+import com.elmenus.task.drones.entity.AuditLog;
+import com.elmenus.task.drones.exception.InvalidAuditLogQueryException;
+import com.elmenus.task.drones.repository.AuditLogQueryRepository;
+import com.elmenus.task.drones.shared.enums.AuditEventType;
+import com.elmenus.task.drones.shared.enums.AuditLogExportFormat;
+import com.elmenus.task.drones.shared.utility.AuditLogCursor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service class for querying the audit log.
+ *
+ * Events are returned newest first in pages of bounded size. Each page carries an opaque cursor pointing after
+ * its last event, so the next page is read with an index seek instead of an offset scan and stays stable while
+ * new events are written.
+ *
+ * Full exports are written straight from a database cursor to the output stream, one row at a time, so they run
+ * in constant memory whatever the size of the audit log.
+ */
+@Service
+public class AuditLogService {
+
+    private final AuditLogQueryRepository auditLogQueryRepository;
+    private final ObjectWriter exportWriter;
+    private final int maxPageSize;
+
+    /**
+     * Constructor for the AuditLogService class.
+     *
+     * @param auditLogQueryRepository The repository for reading AuditLog entities page by page.
+     * @param objectMapper            The object mapper used to write NDJSON exports.
+     * @param maxPageSize             The maximum number of events returned in one page.
+     */
+    public AuditLogService(AuditLogQueryRepository auditLogQueryRepository, ObjectMapper objectMapper,
+                           @Value("${drones.audit-log.max-page-size:1000}") int maxPageSize) {
+        this.auditLogQueryRepository = auditLogQueryRepository;
+        this.exportWriter = objectMapper.writerFor(AuditLogDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Retrieves one page of audit log events matching the given filters.
+     *
+     * @param serialNumber The serial number of the drone, or null for all drones.
+     * @param eventType    The type of the events, or null for all events.
+     * @param from         The inclusive lower bound of the event timestamp, or null for no bound.
+     * @param to           The exclusive upper bound of the event timestamp, or null for no bound.
+     * @param cursor       The cursor returned with the previous page, or null for the first page.
+     * @param pageSize     The maximum number of events to return.
+     * @return The {@link AuditLogPageDTO} with the events and the cursor of the next page.
+     * @throws InvalidAuditLogQueryException If the cursor is malformed, the page size is out of range or the
+     *                                       time range is empty.
+     */
+    public AuditLogPageDTO getAuditLogEvents(String serialNumber, AuditEventType eventType, LocalDateTime from,
+                                             LocalDateTime to, String cursor, int pageSize) {
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new InvalidAuditLogQueryException("Page size must be between 1 and " + maxPageSize);
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidAuditLogQueryException("Start of the time range must be before its end");
+        }
+        AuditLogCursor after = cursor == null ? null : AuditLogCursor.decode(cursor)
+                .orElseThrow(() -> new InvalidAuditLogQueryException("Invalid cursor: " + cursor));
+        List<AuditLog> auditLogs = auditLogQueryRepository.findPage(
+                serialNumber, eventType, from, to, after, pageSize + 1);
+        boolean hasMore = auditLogs.size() > pageSize;
+        List<AuditLog> page = hasMore ? auditLogs.subList(0, pageSize) : auditLogs;
+        String nextCursor = null;
+        if (hasMore) {
+            AuditLog last = page.get(page.size() - 1);
+            nextCursor = new AuditLogCursor(last.getEventTimestamp(), last.getId()).encode();
+        }
+        return new AuditLogPageDTO(page.stream().map(AuditLogService::toDTO).toList(), nextCursor);
+    }
+
+    /**
+     * Writes every audit log event, oldest first, to the given output stream.
+     *
+     * The stream is flushed but not closed.
+     *
+     * @param format The format of the export.
+     * @param output The stream to write the export to.
+     * @return The number of exported events.
+     * @throws IOException If writing to the stream fails.
+     */
+    public long exportAuditLog(AuditLogExportFormat format, OutputStream output) throws IOException {
+        try {
+            return switch (format) {
+                case NDJSON -> exportNdjson(output);
+                case CSV -> exportCsv(output);
+            };
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private long exportNdjson(OutputStream output) throws IOException {
+        long[] exported = {0};
+        try (JsonGenerator generator = exportWriter.createGenerator(output)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            auditLogQueryRepository.streamAll(auditLog -> {
+                try {
+                    exportWriter.writeValue(generator, toDTO(auditLog));
+                    generator.writeRaw('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                exported[0]++;
+            });
+        }
+        return exported[0];
+    }
+
+    private long exportCsv(OutputStream output) throws IOException {
+        long[] exported = {0};
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write("id,drone_id,drone_serial_number,event_type,from_state,to_state,battery_capacity,"
+                + "event_description,event_timestamp\n");
+        auditLogQueryRepository.streamAll(auditLog -> {
+            try {
+                writer.write(auditLog.getId() + "," + auditLog.getDroneId() + ","
+                        + csvField(auditLog.getDroneSerialNumber()) + ","
+                        + auditLog.getEventType() + ","
+                        + csvField(auditLog.getFromState()) + ","
+                        + csvField(auditLog.getToState()) + ","
+                        + csvField(auditLog.getBatteryCapacity()) + ","
+                        + csvField(auditLog.describe()) + ","
+                        + auditLog.getEventTimestamp() + "\n");
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            exported[0]++;
+        });
+        writer.flush();
+        return exported[0];
+    }
+
+    private static AuditLogDTO toDTO(AuditLog auditLog) {
+        return new AuditLogDTO(auditLog.getId(), auditLog.getDroneId().longValue(), auditLog.getDroneSerialNumber(),
+                auditLog.getEventType(), auditLog.getFromState(), auditLog.getToState(),
+                auditLog.getBatteryCapacity(), auditLog.describe(), auditLog.getEventTimestamp());
+    }
+
+    private static String csvField(Object value) {
+        return value == null ? "" : csvField(value.toString());
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,133 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.AuditPurgeResultDTO;
+import com.elmenus.task.drones.repository.AuditLogRetentionRepository;
+import com.elmenus.task.drones.shared.enums.AuditEventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class deleting audit log events once they are past the retention window of their type.
+ *
+ * Each event type has its own window, falling back to a default one; a window of zero days or less keeps the
+ * events of that type forever. The events of one type are time-ordered in the {@code (event_type,
+ * event_timestamp, id)} index, so the expired part of each type is purged from its oldest end in small batches,
+ * each deleted in its own short transaction with a pause in between. That keeps row locks short and leaves room
+ * for the audit writer, which only ever inserts new events at the other end of the range.
+ */
+@Service
+public class AuditRetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditRetentionService.class);
+
+    private final AuditLogRetentionRepository auditLogRetentionRepository;
+    private final Map<AuditEventType, Duration> windows = new EnumMap<>(AuditEventType.class);
+    private final Map<AuditEventType, Counter> purgedCounters = new EnumMap<>(AuditEventType.class);
+    private final int batchSize;
+    private final long batchPauseMillis;
+    private final Timer purgeDuration;
+
+    /**
+     * Constructor for the AuditRetentionService class.
+     *
+     * @param auditLogRetentionRepository The repository for deleting expired AuditLog entities in batches.
+     * @param meterRegistry               The registry to publish the purge metrics to.
+     * @param defaultDays                 The retention window of event types without their own, in days.
+     * @param daysByType                  The retention windows of individual event types, in days, by type name.
+     * @param batchSize                   The maximum number of events deleted in one batch.
+     * @param batchPauseMillis            The pause between two batches, in milliseconds.
+     * @throws IllegalArgumentException If a retention window names an unknown event type.
+     */
+    public AuditRetentionService(AuditLogRetentionRepository auditLogRetentionRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${drones.audit-retention.default-days:365}") int defaultDays,
+                                 @Value("#{${drones.audit-retention.days-by-type:{:}}}") Map<String, Integer> daysByType,
+                                 @Value("${drones.audit-retention.batch-size:1000}") int batchSize,
+                                 @Value("${drones.audit-retention.batch-pause-ms:10}") long batchPauseMillis) {
+        this.auditLogRetentionRepository = auditLogRetentionRepository;
+        this.batchSize = batchSize;
+        this.batchPauseMillis = batchPauseMillis;
+        for (AuditEventType type : AuditEventType.values()) {
+            windows.put(type, Duration.ofDays(defaultDays));
+            purgedCounters.put(type, Counter.builder("drones.audit.retention.purged")
+                    .description("Number of audit events deleted after their retention window")
+                    .tag("type", type.name())
+                    .register(meterRegistry));
+        }
+        daysByType.forEach((type, days) -> windows.put(AuditEventType.valueOf(type), Duration.ofDays(days)));
+        this.purgeDuration = Timer.builder("drones.audit.retention.duration")
+                .description("Time taken to purge expired audit events")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Scheduled task purging the audit log events that are past their retention window.
+     *
+     * @return An {@link AuditPurgeResultDTO} with the number of purged events and the purge duration.
+     */
+    @Scheduled(fixedDelayString = "${drones.audit-retention.interval-ms:3600000}",
+            initialDelayString = "${drones.audit-retention.interval-ms:3600000}")
+    public AuditPurgeResultDTO purge() {
+        return purge(LocalDateTime.now());
+    }
+
+    /**
+     * Purges the audit log events that are past their retention window at the given time.
+     *
+     * @param now The time the retention windows are measured from.
+     * @return An {@link AuditPurgeResultDTO} with the number of purged events and the purge duration.
+     */
+    public AuditPurgeResultDTO purge(LocalDateTime now) {
+        long startedAt = System.nanoTime();
+        long total = 0;
+        for (Map.Entry<AuditEventType, Duration> window : windows.entrySet()) {
+            if (window.getValue().isZero() || window.getValue().isNegative()) {
+                continue;
+            }
+            long purged = purgeType(window.getKey(), now.minus(window.getValue()));
+            if (purged > 0) {
+                purgedCounters.get(window.getKey()).increment(purged);
+                log.info("Purged {} {} audit events older than {}", purged, window.getKey(), window.getValue());
+            }
+            total += purged;
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        purgeDuration.record(elapsed, TimeUnit.NANOSECONDS);
+        AuditPurgeResultDTO result = new AuditPurgeResultDTO(total, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        log.info("Audit retention purged {} events in {} ms", result.getPurgedRows(), result.getDurationMillis());
+        return result;
+    }
+
+    private long purgeType(AuditEventType type, LocalDateTime cutoff) {
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = auditLogRetentionRepository.deleteExpired(type, cutoff, batchSize);
+            purged += deleted;
+            if (deleted == batchSize && batchPauseMillis > 0) {
+                try {
+                    Thread.sleep(batchPauseMillis);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        } while (deleted == batchSize);
+        return purged;
+    }
+}
@@ -0,0 +1,379 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.entity.AuditLog;
+import com.elmenus.task.drones.repository.AuditLogBatchRepository;
+import com.elmenus.task.drones.shared.enums.AuditBackpressurePolicy;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writer persisting audit log events in the background.
+ *
+ * Callers hand events to a bounded, lock-free queue and return straight away. A single flusher thread drains the
+ * queue and inserts the events in JDBC batches, flushing as soon as a full batch is queued and at least once per
+ * flush interval otherwise. When the queue is full the configured {@link AuditBackpressurePolicy} applies: the
+ * caller waits, the event is dropped, or it is appended to a spill file that the flusher replays once the queue
+ * has drained, including spill files left behind by a previous run. A batch that fails to insert is spilled as well,
+ * whatever the policy, and retried once the flusher has backed off. On shutdown the flusher drains the queue and
+ * the spill file before it stops; events written after that are inserted synchronously.
+ *
+ * When the {@link AuditJournal} is enabled, events are appended to the journal instead and reach the database
+ * through its replayer; events too large for a journal record still go through the queue.
+ */
+@Component
+public class AuditWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditWriter.class);
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+
+    private final Queue<AuditLog> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final Object spillLock = new Object();
+
+    private final AuditLogBatchRepository auditLogBatchRepository;
+    private final AuditJournal auditJournal;
+    private final ObjectMapper objectMapper;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final AuditBackpressurePolicy policy;
+    private final Path spillFile;
+    private final Path replayFile;
+
+    private final Counter dropped;
+    private final Counter spilled;
+    private final Counter failed;
+    private final DistributionSummary batchSizes;
+    private final Timer flushLatency;
+
+    private BufferedWriter spillWriter;
+    private volatile boolean spillPending;
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private volatile Thread flusher;
+
+    /**
+     * Constructor for the AuditWriter class.
+     *
+     * @param auditLogBatchRepository The repository for writing AuditLog entities in JDBC batches.
+     * @param auditJournal            The journal events are appended to when it is enabled.
+     * @param objectMapper            The object mapper used to write and read spilled events.
+     * @param meterRegistry           The registry to publish the writer metrics to.
+     * @param capacity                The maximum number of queued events.
+     * @param batchSize               The maximum number of events inserted in one batch.
+     * @param flushIntervalMillis     The longest time a queued event waits for a batch to fill, in milliseconds.
+     * @param policy                  What to do with an event when the queue is full.
+     * @param spillFile               The file events are spilled to under the {@code SPILL} policy or when their
+     *                                batch fails to insert.
+     */
+    public AuditWriter(AuditLogBatchRepository auditLogBatchRepository, AuditJournal auditJournal,
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry,
+                       @Value("${drones.audit-writer.capacity:10000}") int capacity,
+                       @Value("${drones.audit-writer.batch-size:500}") int batchSize,
+                       @Value("${drones.audit-writer.flush-interval-ms:50}") long flushIntervalMillis,
+                       @Value("${drones.audit-writer.backpressure:BLOCK}") AuditBackpressurePolicy policy,
+                       @Value("${drones.audit-writer.spill-file:${drones.data-directory:data}/audit-spill.ndjson}") Path spillFile) {
+        this.auditLogBatchRepository = auditLogBatchRepository;
+        this.auditJournal = auditJournal;
+        this.objectMapper = objectMapper;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.policy = policy;
+        this.spillFile = spillFile;
+        this.replayFile = spillFile.resolveSibling(spillFile.getFileName() + ".replay");
+        this.dropped = Counter.builder("drones.audit.dropped")
+                .description("Number of audit events dropped because the queue was full")
+                .register(meterRegistry);
+        this.spilled = Counter.builder("drones.audit.spilled")
+                .description("Number of audit events spilled to disk because the queue was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("drones.audit.failed")
+                .description("Number of audit events that could not be written")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("drones.audit.batch.size")
+                .description("Number of audit events inserted per batch")
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder("drones.audit.flush.latency")
+                .description("Time taken to insert a batch of audit events")
+                .register(meterRegistry);
+        Gauge.builder("drones.audit.queue.depth", depth, AtomicInteger::get)
+                .description("Number of audit events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts the flusher, replaying any spill file left by a previous run.
+     */
+    @PostConstruct
+    public synchronized void start() {
+        if (running || stopped) {
+            return;
+        }
+        spillPending = Files.exists(spillFile) || Files.exists(replayFile);
+        running = true;
+        Thread thread = new Thread(this::flushLoop, "audit-writer");
+        thread.setDaemon(true);
+        thread.start();
+        flusher = thread;
+    }
+
+    /**
+     * Queues an audit event for writing.
+     *
+     * @param auditLog The audit event.
+     */
+    public void write(AuditLog auditLog) {
+        if (auditJournal.append(auditLog)) {
+            return;
+        }
+        if (stopped) {
+            auditLogBatchRepository.insertAll(List.of(auditLog));
+            return;
+        }
+        if (offer(auditLog)) {
+            drainIfStopped();
+            return;
+        }
+        switch (policy) {
+            case BLOCK -> {
+                while (!offer(auditLog)) {
+                    if (stopped) {
+                        auditLogBatchRepository.insertAll(List.of(auditLog));
+                        return;
+                    }
+                    LockSupport.unpark(flusher);
+                    LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+                }
+                drainIfStopped();
+            }
+            case DROP -> dropped.increment();
+            case SPILL -> spill(List.of(auditLog));
+        }
+    }
+
+    /**
+     * Retrieves the number of queued events.
+     *
+     * @return The depth of the queue.
+     */
+    public int depth() {
+        return depth.get();
+    }
+
+    /**
+     * Writes every queued event without waiting for the flusher.
+     *
+     * @return The number of written events.
+     */
+    int drain() {
+        int written = 0;
+        for (List<AuditLog> batch = poll(); !batch.isEmpty(); batch = poll()) {
+            flush(batch);
+            written += batch.size();
+        }
+        return written;
+    }
+
+    /**
+     * Writes the queue if the writer stopped while an event was being queued. {@link #stop()} sets the flag before
+     * its final drain, so an event queued after that drain is seen to be late here and written by its caller.
+     */
+    private void drainIfStopped() {
+        if (stopped) {
+            drain();
+        }
+    }
+
+    private boolean offer(AuditLog auditLog) {
+        int current;
+        do {
+            current = depth.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!depth.compareAndSet(current, current + 1));
+        queue.offer(auditLog);
+        if (current + 1 >= batchSize) {
+            LockSupport.unpark(flusher);
+        }
+        return true;
+    }
+
+    private List<AuditLog> poll() {
+        List<AuditLog> batch = new ArrayList<>(Math.min(batchSize, depth.get()));
+        AuditLog auditLog;
+        while (batch.size() < batchSize && (auditLog = queue.poll()) != null) {
+            depth.decrementAndGet();
+            batch.add(auditLog);
+        }
+        return batch;
+    }
+
+    private void flushLoop() {
+        while (running || !queue.isEmpty() || spillPending) {
+            try {
+                List<AuditLog> batch = poll();
+                boolean written;
+                if (!batch.isEmpty()) {
+                    written = flush(batch);
+                } else if (spillPending) {
+                    written = replaySpill();
+                } else {
+                    if (running) {
+                        LockSupport.parkNanos(this, flushIntervalNanos);
+                    }
+                    continue;
+                }
+                if (!written) {
+                    if (!running) {
+                        return;
+                    }
+                    LockSupport.parkNanos(this, flushIntervalNanos);
+                }
+            } catch (RuntimeException ex) {
+                log.error("Audit writer failed to flush", ex);
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        }
+    }
+
+    /**
+     * Inserts a batch of events, spilling it to be retried later if the insert fails.
+     *
+     * @param batch The events to insert.
+     * @return True if the batch was inserted.
+     */
+    private boolean flush(List<AuditLog> batch) {
+        long startedAt = System.nanoTime();
+        try {
+            auditLogBatchRepository.insertAll(batch);
+            batchSizes.record(batch.size());
+            return true;
+        } catch (RuntimeException ex) {
+            log.error("Failed to write a batch of {} audit events, spilling it to {}", batch.size(), spillFile, ex);
+            spill(batch);
+            return false;
+        } finally {
+            flushLatency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void spill(List<AuditLog> auditLogs) {
+        synchronized (spillLock) {
+            try {
+                if (spillWriter == null) {
+                    Files.createDirectories(spillFile.toAbsolutePath().getParent());
+                    spillWriter = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                for (AuditLog auditLog : auditLogs) {
+                    spillWriter.write(objectMapper.writeValueAsString(auditLog));
+                    spillWriter.newLine();
+                }
+                spillWriter.flush();
+                spillPending = true;
+                spilled.increment(auditLogs.size());
+            } catch (IOException ex) {
+                failed.increment(auditLogs.size());
+                log.error("Failed to spill {} audit events to {}", auditLogs.size(), spillFile, ex);
+            }
+        }
+    }
+
+    /**
+     * Inserts the spilled events in batches. Batches that fail are spilled again to a new spill file.
+     *
+     * @return True if every spilled event was inserted.
+     */
+    private boolean replaySpill() {
+        try {
+            synchronized (spillLock) {
+                if (spillWriter != null) {
+                    spillWriter.close();
+                    spillWriter = null;
+                }
+                if (!Files.exists(replayFile) && Files.exists(spillFile)) {
+                    Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                }
+                spillPending = false;
+            }
+            if (!Files.exists(replayFile)) {
+                return true;
+            }
+            boolean written = true;
+            try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+                List<AuditLog> batch = new ArrayList<>(batchSize);
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    batch.add(objectMapper.readValue(line, AuditLog.class));
+                    if (batch.size() == batchSize) {
+                        written &= flush(batch);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    written &= flush(batch);
+                }
+            }
+            Files.delete(replayFile);
+            return written;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to replay spilled audit events from " + replayFile, ex);
+        }
+    }
+
+    /**
+     * Stops the flusher after it drained the queue and the spill file, waiting a bounded time for it.
+     */
+    @PreDestroy
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = flusher;
+        }
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(SHUTDOWN_TIMEOUT_MILLIS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        stopped = true;
+        int left = drain();
+        if (left > 0) {
+            log.warn("Audit writer wrote {} events left after the flusher stopped", left);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.BatterySampleDTO;
+import com.elmenus.task.drones.shared.utility.BatteryHistoryRing;
+import com.elmenus.task.drones.shared.utility.TransactionCallbacks;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Store of the battery history of every drone.
+ *
+ * The recent history is kept in memory: each drone gets a {@link BatteryHistoryRing} of the configured capacity,
+ * so the memory used per drone is fixed and known up front. The number of tracked drones and the total footprint
+ * are published as the {@code drones.battery.history.*} metrics. Every sample is also appended to the
+ * {@link BatteryTimeSeriesStore}, which keeps the long-term history on disk.
+ */
+@Component
+public class BatteryHistoryStore {
+
+    private final Map<String, BatteryHistoryRing> rings = new ConcurrentHashMap<>();
+    private final int capacity;
+    private final BatteryTimeSeriesStore archive;
+
+    /**
+     * Constructor for the BatteryHistoryStore class.
+     *
+     * @param capacity      The maximum number of samples kept per drone in memory.
+     * @param archive       The on-disk store of the long-term history.
+     * @param meterRegistry The registry to publish the history metrics to.
+     */
+    public BatteryHistoryStore(@Value("${drones.battery-history.capacity:1024}") int capacity,
+                               BatteryTimeSeriesStore archive, MeterRegistry meterRegistry) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Battery history capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.archive = archive;
+        Gauge.builder("drones.battery.history.drones", rings, Map::size)
+                .description("Number of drones with a recorded battery history")
+                .register(meterRegistry);
+        Gauge.builder("drones.battery.history.bytes", this, BatteryHistoryStore::footprintBytes)
+                .description("Heap used by the recorded battery histories")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a battery sample for a drone.
+     * Samples older than the latest one recorded for the drone are archived but left out of the in-memory ring.
+     *
+     * @param serialNumber    The serial number of the drone.
+     * @param timestamp       The time of the sample.
+     * @param batteryCapacity The battery level of the drone.
+     * @return True if the sample was recorded in the in-memory ring.
+     */
+    public boolean record(String serialNumber, Instant timestamp, int batteryCapacity) {
+        archive.append(serialNumber, timestamp, batteryCapacity);
+        return rings.computeIfAbsent(serialNumber, key -> new BatteryHistoryRing(capacity))
+                .append(timestamp.toEpochMilli(), batteryCapacity);
+    }
+
+    /**
+     * Records a battery sample for a drone once the current transaction commits.
+     *
+     * @param serialNumber    The serial number of the drone.
+     * @param batteryCapacity The battery level of the drone.
+     */
+    public void recordAfterCommit(String serialNumber, int batteryCapacity) {
+        TransactionCallbacks.afterCommit(() -> record(serialNumber, Instant.now(), batteryCapacity));
+    }
+
+    /**
+     * Retrieves the battery samples of a drone within a time range from the in-memory history.
+     *
+     * @param serialNumber The serial number of the drone.
+     * @param from         The inclusive start of the range, or null for no lower bound.
+     * @param to           The exclusive end of the range, or null for no upper bound.
+     * @param stepMillis   The bucket width used to downsample the samples, or zero for the raw samples.
+     * @return A list of {@link BatterySampleDTO}s, oldest first; empty if nothing was recorded for the drone.
+     */
+    public List<BatterySampleDTO> query(String serialNumber, Instant from, Instant to, long stepMillis) {
+        BatteryHistoryRing ring = rings.get(serialNumber);
+        if (ring == null) {
+            return List.of();
+        }
+        long fromMillis = from == null ? Long.MIN_VALUE : from.toEpochMilli();
+        long toMillis = to == null ? Long.MAX_VALUE : to.toEpochMilli();
+        List<BatterySampleDTO> samples = new ArrayList<>();
+        ring.query(fromMillis, toMillis, stepMillis,
+                (timestamp, level) -> samples.add(new BatterySampleDTO(Instant.ofEpochMilli(timestamp), level)));
+        return samples;
+    }
+
+    /**
+     * Retrieves the archived battery samples of a drone within a time range.
+     *
+     * @param serialNumber The serial number of the drone.
+     * @param from         The inclusive start of the range, or null for no lower bound.
+     * @param to           The exclusive end of the range, or null for no upper bound.
+     * @param stepMillis   The bucket width used to downsample the samples, or zero for the raw samples.
+     * @return A list of {@link BatterySampleDTO}s, oldest first.
+     */
+    public List<BatterySampleDTO> queryArchive(String serialNumber, Instant from, Instant to, long stepMillis) {
+        return archive.query(serialNumber, from, to, stepMillis);
+    }
+
+    /**
+     * Retrieves the maximum number of samples kept per drone.
+     *
+     * @return The capacity of each ring.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Retrieves the fixed heap footprint of the history of one drone.
+     *
+     * @return The number of bytes used per drone.
+     */
+    public long bytesPerDrone() {
+        return BatteryHistoryRing.footprintBytes(capacity);
+    }
+
+    private double footprintBytes() {
+        return (double) rings.size() * bytesPerDrone();
+    }
+}
@@ -0,0 +1,205 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.BatteryReadingDTO;
+import com.elmenus.task.drones.dto.DroneSnapshot;
+import com.elmenus.task.drones.dto.TelemetryIngestResultDTO;
+import com.elmenus.task.drones.repository.DroneBatchRepository;
+import com.elmenus.task.drones.repository.DroneRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service class for ingesting streamed battery telemetry.
+ *
+ * Readings are coalesced per drone in memory, keeping only the latest one, and the surviving readings are
+ * flushed to the {@code drone} table in JDBC batches once per flush window. The flush locks the drones of the
+ * window and compares every reading with the stored battery capacity, so that unchanged readings are skipped and
+ * threshold crossings are reported to the {@link LowBatteryDetector} as with single updates. Readings of a flush
+ * that fails are put back for the next window. The {@link BatteryHistoryStore} keeps every accepted reading.
+ */
+@Service
+public class BatteryTelemetryService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatteryTelemetryService.class);
+
+    private final Map<String, BatteryReadingDTO> pendingReadings = new ConcurrentHashMap<>();
+
+    private final DroneRepository droneRepository;
+    private final DroneBatchRepository droneBatchRepository;
+    private final DroneLookupCache droneLookupCache;
+    private final FleetStateIndex fleetStateIndex;
+    private final LowBatteryDetector lowBatteryDetector;
+    private final BatteryHistoryStore batteryHistoryStore;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    /**
+     * Constructor for the BatteryTelemetryService class.
+     *
+     * @param droneRepository      The repository for managing Drone entities.
+     * @param droneBatchRepository The repository for updating Drone rows in JDBC batches.
+     * @param droneLookupCache     The cache of drone snapshots by serial number.
+     * @param fleetStateIndex      The in-memory index of drones by state.
+     * @param lowBatteryDetector   The detector publishing low-battery events on battery changes.
+     * @param batteryHistoryStore  The in-memory store of recent battery samples.
+     * @param validator            The bean validator applied to every reading.
+     * @param objectMapper         The object mapper used to read the request body.
+     * @param transactionManager   The transaction manager used for the flush transactions.
+     * @param batchSize            The number of drone updates sent per JDBC batch.
+     */
+    public BatteryTelemetryService(DroneRepository droneRepository, DroneBatchRepository droneBatchRepository,
+                                   DroneLookupCache droneLookupCache, FleetStateIndex fleetStateIndex,
+                                   LowBatteryDetector lowBatteryDetector, BatteryHistoryStore batteryHistoryStore,
+                                   Validator validator, ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${drones.telemetry.batch-size:500}") int batchSize) {
+        this.droneRepository = droneRepository;
+        this.droneBatchRepository = droneBatchRepository;
+        this.droneLookupCache = droneLookupCache;
+        this.fleetStateIndex = fleetStateIndex;
+        this.lowBatteryDetector = lowBatteryDetector;
+        this.batteryHistoryStore = batteryHistoryStore;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Ingests every battery reading read from the given newline-delimited JSON stream or JSON array.
+     * Reading stops at the first malformed document, which is counted as rejected.
+     *
+     * @param body The request body.
+     * @return A {@link TelemetryIngestResultDTO} with the accepted, coalesced and rejected counts.
+     * @throws IOException If the request body cannot be read.
+     */
+    public TelemetryIngestResultDTO ingest(InputStream body) throws IOException {
+        TelemetryIngestResultDTO result = new TelemetryIngestResultDTO();
+        try (MappingIterator<BatteryReadingDTO> readings = objectMapper.readerFor(BatteryReadingDTO.class).readValues(body)) {
+            while (readings.hasNextValue()) {
+                BatteryReadingDTO reading = readings.nextValue();
+                if (!validator.validate(reading).isEmpty() || !isKnownDrone(reading.getSerialNumber())) {
+                    result.setRejected(result.getRejected() + 1);
+                    continue;
+                }
+                result.setAccepted(result.getAccepted() + 1);
+                if (record(reading)) {
+                    result.setCoalesced(result.getCoalesced() + 1);
+                }
+            }
+        } catch (JsonProcessingException ex) {
+            result.setRejected(result.getRejected() + 1);
+        }
+        return result;
+    }
+
+    /**
+     * Adds a reading to the current flush window, keeping only the latest reading per drone.
+     * Every reading is recorded in the battery history, including those that are later coalesced.
+     *
+     * @param reading The validated reading.
+     * @return True if the reading superseded or was superseded by another reading for the same drone.
+     */
+    private boolean record(BatteryReadingDTO reading) {
+        if (reading.getTimestamp() == null) {
+            reading.setTimestamp(Instant.now());
+        }
+        batteryHistoryStore.record(reading.getSerialNumber(), reading.getTimestamp(), reading.getBatteryCapacity());
+        boolean[] coalesced = new boolean[1];
+        pendingReadings.merge(reading.getSerialNumber(), reading, (pending, incoming) -> {
+            coalesced[0] = true;
+            return latest(pending, incoming);
+        });
+        return coalesced[0];
+    }
+
+    private static BatteryReadingDTO latest(BatteryReadingDTO pending, BatteryReadingDTO incoming) {
+        return incoming.getTimestamp().isBefore(pending.getTimestamp()) ? pending : incoming;
+    }
+
+    private boolean isKnownDrone(String serialNumber) {
+        return droneLookupCache.get(serialNumber, droneRepository::findBySerialNumber).isPresent();
+    }
+
+    /**
+     * Flushes the coalesced readings of the current window to the database.
+     * Readings that arrive while the flush runs are kept for the next window, and so are the readings of a flush
+     * that fails, unless a later reading for the same drone arrived in the meantime.
+     *
+     * @return The number of drones whose battery capacity was written.
+     */
+    @Scheduled(fixedDelayString = "${drones.telemetry.flush-interval-ms:500}")
+    public int flush() {
+        List<BatteryReadingDTO> readings = new ArrayList<>(pendingReadings.size());
+        for (String serialNumber : pendingReadings.keySet()) {
+            BatteryReadingDTO reading = pendingReadings.remove(serialNumber);
+            if (reading != null) {
+                readings.add(reading);
+            }
+        }
+        if (readings.isEmpty()) {
+            return 0;
+        }
+        Integer written;
+        try {
+            written = transactionTemplate.execute(status -> write(readings));
+        } catch (RuntimeException ex) {
+            readings.forEach(reading -> pendingReadings.merge(reading.getSerialNumber(), reading,
+                    BatteryTelemetryService::latest));
+            throw ex;
+        }
+        log.debug("Flushed {} coalesced battery readings, {} drones updated", readings.size(), written);
+        return written == null ? 0 : written;
+    }
+
+    private int write(List<BatteryReadingDTO> readings) {
+        Map<String, BatteryReadingDTO> readingsBySerialNumber = new HashMap<>(readings.size());
+        readings.forEach(reading -> readingsBySerialNumber.put(reading.getSerialNumber(), reading));
+        List<DroneSnapshot> stored = droneBatchRepository.lockBySerialNumbers(List.copyOf(readingsBySerialNumber.keySet()));
+        List<DroneSnapshot> changed = new ArrayList<>(stored.size());
+        for (DroneSnapshot drone : stored) {
+            int batteryCapacity = readingsBySerialNumber.get(drone.getSerialNumber()).getBatteryCapacity();
+            if (drone.getBatteryCapacity() != batteryCapacity) {
+                changed.add(drone.withBatteryCapacity(batteryCapacity));
+            }
+        }
+        List<DroneSnapshot> updated = droneBatchRepository.updateBatteryCapacities(changed, batchSize);
+        Map<String, DroneSnapshot> previous = new HashMap<>(stored.size());
+        stored.forEach(drone -> previous.put(drone.getSerialNumber(), drone));
+        for (DroneSnapshot drone : updated) {
+            lowBatteryDetector.onBatteryChanged(previous.get(drone.getSerialNumber()), drone.getBatteryCapacity());
+        }
+        droneLookupCache.updateBatteryCapacities(updated);
+        fleetStateIndex.updateBatteryCapacities(updated);
+        return updated.size();
+    }
+
+    /**
+     * Flushes the pending readings before the application shuts down.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,487 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.BatterySampleDTO;
+import com.elmenus.task.drones.shared.utility.BatterySampleSink;
+import com.elmenus.task.drones.shared.utility.BatterySeriesCodec;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, segment-based file store holding the long-term battery history of every drone.
+ *
+ * Samples are encoded per drone in memory with {@link BatterySeriesCodec} and sealed into an immutable segment
+ * file once per seal interval. A segment is written through a memory-mapped file and holds one block per drone;
+ * range scans read the segments overlapping the range sequentially and skip the blocks of other drones.
+ * Segments are periodically compacted into one segment per UTC day, and segments older than the retention
+ * period are deleted.
+ *
+ * Segment layout: magic, version, block count, min and max timestamp, then per block the serial number, sample
+ * count, min and max timestamp, payload length and encoded payload.
+ */
+@Component
+public class BatteryTimeSeriesStore {
+
+    private static final Logger log = LoggerFactory.getLogger(BatteryTimeSeriesStore.class);
+
+    private static final int MAGIC = 0x42545331;
+    private static final byte VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES + Byte.BYTES + Integer.BYTES + 2 * Long.BYTES;
+    private static final int BLOCK_HEADER_BYTES = Short.BYTES + Integer.BYTES + 2 * Long.BYTES + Integer.BYTES;
+    private static final String SEGMENT_SUFFIX = ".bts";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final long DAY_MILLIS = Duration.ofDays(1).toMillis();
+
+    private final Map<String, PendingSeries> pendingSeries = new ConcurrentHashMap<>();
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final AtomicLong segmentSequence = new AtomicLong();
+    private final ReadWriteLock segmentLock = new ReentrantReadWriteLock();
+    private final Object maintenanceLock = new Object();
+
+    private final Path directory;
+    private final Duration retention;
+
+    /**
+     * Constructor for the BatteryTimeSeriesStore class.
+     * Existing segments in the directory are loaded, and segments left half-written by a crash are removed.
+     *
+     * @param directory     The directory holding the segment files.
+     * @param retentionDays The number of days after which segments are deleted.
+     * @param meterRegistry The registry to publish the store metrics to.
+     * @throws UncheckedIOException If the directory cannot be created or read.
+     */
+    public BatteryTimeSeriesStore(@Value("${drones.battery-series.directory:${drones.data-directory:data}/battery-series}") Path directory,
+                                  @Value("${drones.battery-series.retention-days:180}") int retentionDays,
+                                  MeterRegistry meterRegistry) {
+        this.directory = directory;
+        this.retention = Duration.ofDays(retentionDays);
+        loadSegments();
+        Gauge.builder("drones.battery.series.segments", segments, List::size)
+                .description("Number of battery time-series segment files")
+                .register(meterRegistry);
+        Gauge.builder("drones.battery.series.bytes", this, BatteryTimeSeriesStore::diskBytes)
+                .description("Disk space used by the battery time-series segments")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Appends a battery sample for a drone to the current seal window.
+     *
+     * @param serialNumber    The serial number of the drone.
+     * @param timestamp       The time of the sample.
+     * @param batteryCapacity The battery level of the drone.
+     */
+    public void append(String serialNumber, Instant timestamp, int batteryCapacity) {
+        long millis = timestamp.toEpochMilli();
+        while (true) {
+            PendingSeries series = pendingSeries.computeIfAbsent(serialNumber, key -> new PendingSeries());
+            synchronized (series) {
+                if (!series.sealed) {
+                    series.codec.append(millis, batteryCapacity);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves the battery samples of a drone within a time range, from both the sealed segments and the
+     * current seal window. Samples of a window that is being sealed show up once its segment is written.
+     *
+     * @param serialNumber The serial number of the drone.
+     * @param from         The inclusive start of the range, or null for no lower bound.
+     * @param to           The exclusive end of the range, or null for no upper bound.
+     * @param stepMillis   The bucket width used to downsample the samples, or zero for the raw samples.
+     * @return A list of {@link BatterySampleDTO}s, oldest first.
+     * @throws UncheckedIOException If a segment cannot be read.
+     */
+    public List<BatterySampleDTO> query(String serialNumber, Instant from, Instant to, long stepMillis) {
+        long fromMillis = from == null ? Long.MIN_VALUE : from.toEpochMilli();
+        long toMillis = to == null ? Long.MAX_VALUE : to.toEpochMilli();
+        List<long[]> samples = new ArrayList<>();
+        SampleCollector collector = new SampleCollector(fromMillis, toMillis, samples);
+        segmentLock.readLock().lock();
+        try {
+            for (Segment segment : segments) {
+                if (segment.overlaps(fromMillis, toMillis)) {
+                    scan(segment, serialNumber, fromMillis, toMillis, collector);
+                }
+            }
+        } finally {
+            segmentLock.readLock().unlock();
+        }
+        PendingSeries series = pendingSeries.get(serialNumber);
+        if (series != null) {
+            synchronized (series) {
+                BatterySeriesCodec.decode(series.codec.toByteArray(), series.codec.count(), collector);
+            }
+        }
+        samples.sort(Comparator.comparingLong(sample -> sample[0]));
+        return downsample(samples, stepMillis);
+    }
+
+    /**
+     * Seals the current window into a new segment file.
+     * Samples appended while the segment is written go to the next window.
+     *
+     * @return The number of drones written to the segment.
+     * @throws UncheckedIOException If the segment cannot be written.
+     */
+    @Scheduled(fixedDelayString = "${drones.battery-series.seal-interval-ms:60000}")
+    public int seal() {
+        Map<String, BatterySeriesCodec> blocks = new LinkedHashMap<>();
+        for (String serialNumber : pendingSeries.keySet()) {
+            PendingSeries series = pendingSeries.remove(serialNumber);
+            if (series != null) {
+                synchronized (series) {
+                    series.sealed = true;
+                }
+                blocks.put(serialNumber, series.codec);
+            }
+        }
+        if (blocks.isEmpty()) {
+            return 0;
+        }
+        Segment segment = writeSegment(blocks);
+        replaceSegments(List.of(), segment);
+        return blocks.size();
+    }
+
+    /**
+     * Compacts the segments of every UTC day into a single segment and deletes segments past the retention period.
+     *
+     * @throws UncheckedIOException If a segment cannot be read, written or deleted.
+     */
+    @Scheduled(fixedDelayString = "${drones.battery-series.compaction-interval-ms:3600000}",
+            initialDelayString = "${drones.battery-series.compaction-interval-ms:3600000}")
+    public void compact() {
+        synchronized (maintenanceLock) {
+            applyRetention(Instant.now());
+            Map<Long, List<Segment>> segmentsByDay = segments.stream()
+                    .collect(Collectors.groupingBy(segment -> Math.floorDiv(segment.minTimestamp(), DAY_MILLIS),
+                            LinkedHashMap::new, Collectors.toList()));
+            for (List<Segment> daySegments : segmentsByDay.values()) {
+                if (daySegments.size() > 1) {
+                    merge(daySegments);
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes every segment whose latest sample is older than the retention period.
+     *
+     * @param now The current time.
+     * @return The number of deleted segments.
+     * @throws UncheckedIOException If a segment cannot be deleted.
+     */
+    public int applyRetention(Instant now) {
+        synchronized (maintenanceLock) {
+            long cutoff = now.minus(retention).toEpochMilli();
+            List<Segment> expired = segments.stream()
+                    .filter(segment -> segment.maxTimestamp() < cutoff)
+                    .toList();
+            replaceSegments(expired, null);
+            return expired.size();
+        }
+    }
+
+    /**
+     * Retrieves the number of segment files.
+     *
+     * @return The number of segments.
+     */
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Seals the pending samples before the application shuts down.
+     */
+    @PreDestroy
+    public void sealOnShutdown() {
+        seal();
+    }
+
+    private void merge(List<Segment> daySegments) {
+        Map<String, BatterySeriesCodec> blocks = new LinkedHashMap<>();
+        for (Segment segment : daySegments) {
+            readBlocks(segment, (serialNumber, count, payload) -> {
+                BatterySeriesCodec codec = blocks.computeIfAbsent(serialNumber, key -> new BatterySeriesCodec());
+                BatterySeriesCodec.decode(payload, count, codec::append);
+            });
+        }
+        Segment merged = writeSegment(blocks);
+        replaceSegments(daySegments, merged);
+        log.debug("Compacted {} battery segments into {}", daySegments.size(), merged.path().getFileName());
+    }
+
+    /**
+     * Swaps segments in one step, so that a range scan sees either the old or the new segments but never both,
+     * and deletes the files of the removed segments once no scan can be reading them.
+     */
+    private void replaceSegments(List<Segment> removed, Segment added) {
+        segmentLock.writeLock().lock();
+        try {
+            if (added != null) {
+                segments.add(added);
+            }
+            segments.removeAll(removed);
+            removed.forEach(segment -> delete(segment.path()));
+        } finally {
+            segmentLock.writeLock().unlock();
+        }
+    }
+
+    private Segment writeSegment(Map<String, BatterySeriesCodec> blocks) {
+        long minTimestamp = Long.MAX_VALUE;
+        long maxTimestamp = Long.MIN_VALUE;
+        long size = HEADER_BYTES;
+        Map<String, byte[]> payloads = new LinkedHashMap<>();
+        for (Map.Entry<String, BatterySeriesCodec> block : blocks.entrySet()) {
+            byte[] payload = block.getValue().toByteArray();
+            payloads.put(block.getKey(), payload);
+            size += BLOCK_HEADER_BYTES + block.getKey().getBytes(StandardCharsets.UTF_8).length + payload.length;
+            minTimestamp = Math.min(minTimestamp, block.getValue().minTimestamp());
+            maxTimestamp = Math.max(maxTimestamp, block.getValue().maxTimestamp());
+        }
+        Path path = directory.resolve(String.format("segment-%020d-%06d%s",
+                minTimestamp, segmentSequence.incrementAndGet(), SEGMENT_SUFFIX));
+        Path temporary = path.resolveSibling(path.getFileName() + TEMPORARY_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC).put(VERSION).putInt(blocks.size()).putLong(minTimestamp).putLong(maxTimestamp);
+            for (Map.Entry<String, BatterySeriesCodec> block : blocks.entrySet()) {
+                byte[] serialNumber = block.getKey().getBytes(StandardCharsets.UTF_8);
+                byte[] payload = payloads.get(block.getKey());
+                buffer.putShort((short) serialNumber.length).put(serialNumber)
+                        .putInt(block.getValue().count())
+                        .putLong(block.getValue().minTimestamp())
+                        .putLong(block.getValue().maxTimestamp())
+                        .putInt(payload.length).put(payload);
+            }
+            buffer.force();
+        } catch (IOException ex) {
+            delete(temporary);
+            throw new UncheckedIOException("Cannot write battery segment " + path, ex);
+        }
+        try {
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            delete(temporary);
+            throw new UncheckedIOException("Cannot publish battery segment " + path, ex);
+        }
+        return new Segment(path, minTimestamp, maxTimestamp, size);
+    }
+
+    private void scan(Segment segment, String serialNumber, long from, long to, SampleCollector collector) {
+        try (DataInputStream input = open(segment.path())) {
+            int blockCount = readHeader(input, segment.path());
+            input.skipNBytes(2L * Long.BYTES);
+            for (int i = 0; i < blockCount; i++) {
+                String blockSerialNumber = readSerialNumber(input);
+                int count = input.readInt();
+                long minTimestamp = input.readLong();
+                long maxTimestamp = input.readLong();
+                int payloadLength = input.readInt();
+                if (!blockSerialNumber.equals(serialNumber) || maxTimestamp < from || minTimestamp >= to) {
+                    input.skipNBytes(payloadLength);
+                    continue;
+                }
+                BatterySeriesCodec.decode(input.readNBytes(payloadLength), count, collector);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read battery segment " + segment.path(), ex);
+        }
+    }
+
+    private void readBlocks(Segment segment, BlockConsumer consumer) {
+        try (DataInputStream input = open(segment.path())) {
+            int blockCount = readHeader(input, segment.path());
+            input.skipNBytes(2L * Long.BYTES);
+            for (int i = 0; i < blockCount; i++) {
+                String serialNumber = readSerialNumber(input);
+                int count = input.readInt();
+                input.skipNBytes(2L * Long.BYTES);
+                consumer.accept(serialNumber, count, input.readNBytes(input.readInt()));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read battery segment " + segment.path(), ex);
+        }
+    }
+
+    private void loadSegments() {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path path : files.sorted().toList()) {
+                    String name = path.getFileName().toString();
+                    if (name.endsWith(TEMPORARY_SUFFIX)) {
+                        delete(path);
+                    } else if (name.endsWith(SEGMENT_SUFFIX)) {
+                        loadSegment(path);
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open battery segment directory " + directory, ex);
+        }
+    }
+
+    private void loadSegment(Path path) {
+        String name = path.getFileName().toString();
+        String sequence = name.substring(name.lastIndexOf('-') + 1, name.length() - SEGMENT_SUFFIX.length());
+        try {
+            segmentSequence.accumulateAndGet(Long.parseLong(sequence), Math::max);
+        } catch (NumberFormatException ex) {
+            log.warn("Skipping battery segment with an unexpected name {}", path);
+            return;
+        }
+        try (DataInputStream input = open(path)) {
+            readHeader(input, path);
+            segments.add(new Segment(path, input.readLong(), input.readLong(), Files.size(path)));
+        } catch (IOException ex) {
+            log.warn("Skipping unreadable battery segment {}: {}", path, ex.getMessage());
+        }
+    }
+
+    private static DataInputStream open(Path path) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(path)));
+    }
+
+    /**
+     * Reads the segment header up to the block count, leaving the segment time range unread.
+     */
+    private static int readHeader(DataInputStream input, Path path) throws IOException {
+        if (input.readInt() != MAGIC || input.readByte() != VERSION) {
+            throw new IOException("Not a battery segment: " + path);
+        }
+        return input.readInt();
+    }
+
+    private static String readSerialNumber(DataInputStream input) throws IOException {
+        return new String(input.readNBytes(input.readShort()), StandardCharsets.UTF_8);
+    }
+
+    private static List<BatterySampleDTO> downsample(List<long[]> samples, long stepMillis) {
+        List<BatterySampleDTO> result = new ArrayList<>();
+        long bucketStart = Long.MIN_VALUE;
+        long levelSum = 0;
+        int count = 0;
+        for (long[] sample : samples) {
+            if (stepMillis <= 0) {
+                result.add(new BatterySampleDTO(Instant.ofEpochMilli(sample[0]), (int) sample[1]));
+                continue;
+            }
+            long start = Math.floorDiv(sample[0], stepMillis) * stepMillis;
+            if (start != bucketStart && count > 0) {
+                result.add(new BatterySampleDTO(Instant.ofEpochMilli(bucketStart), (int) Math.round((double) levelSum / count)));
+                levelSum = 0;
+                count = 0;
+            }
+            bucketStart = start;
+            levelSum += sample[1];
+            count++;
+        }
+        if (count > 0) {
+            result.add(new BatterySampleDTO(Instant.ofEpochMilli(bucketStart), (int) Math.round((double) levelSum / count)));
+        }
+        return result;
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot delete battery segment " + path, ex);
+        }
+    }
+
+    private double diskBytes() {
+        return segments.stream().mapToLong(Segment::sizeBytes).sum();
+    }
+
+    /**
+     * Samples of one drone waiting to be sealed into a segment.
+     */
+    private static final class PendingSeries {
+
+        private final BatterySeriesCodec codec = new BatterySeriesCodec();
+        private boolean sealed;
+    }
+
+    /**
+     * A sealed segment file and the time range it covers.
+     *
+     * @param path         The path of the segment file.
+     * @param minTimestamp The earliest sample in the segment, in epoch milliseconds.
+     * @param maxTimestamp The latest sample in the segment, in epoch milliseconds.
+     * @param sizeBytes    The size of the segment file.
+     */
+    private record Segment(Path path, long minTimestamp, long maxTimestamp, long sizeBytes) {
+
+        private boolean overlaps(long from, long to) {
+            return maxTimestamp >= from && minTimestamp < to;
+        }
+    }
+
+    /**
+     * Collector of the decoded samples that fall within the queried range.
+     *
+     * @param from    The inclusive start of the range, in epoch milliseconds.
+     * @param to      The exclusive end of the range, in epoch milliseconds.
+     * @param samples The collected (timestamp, level) pairs.
+     */
+    private record SampleCollector(long from, long to, List<long[]> samples)
+            implements BatterySampleSink {
+
+        @Override
+        public void accept(long timestamp, int level) {
+            if (timestamp >= from && timestamp < to) {
+                samples.add(new long[]{timestamp, level});
+            }
+        }
+    }
+
+    /**
+     * Receiver of the raw blocks of a segment.
+     */
+    @FunctionalInterface
+    private interface BlockConsumer {
+
+        void accept(String serialNumber, int count, byte[] payload) throws IOException;
+    }
+}
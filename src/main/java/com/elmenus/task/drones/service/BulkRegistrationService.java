@@ -0,0 +1,201 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.BulkRegistrationItemDTO;
+import com.elmenus.task.drones.dto.BulkRegistrationResultDTO;
+import com.elmenus.task.drones.dto.DroneDTO;
+import com.elmenus.task.drones.entity.Drone;
+import com.elmenus.task.drones.repository.DroneRepository;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import com.elmenus.task.drones.shared.enums.RegistrationStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for registering large numbers of drones in one request.
+ *
+ * The request body is read as a stream, either as a JSON array or as newline-delimited JSON, and processed in
+ * chunks. Each chunk is validated, checked against existing serial numbers and inserted in JDBC batches in its
+ * own transaction, so memory use does not depend on the size of the request.
+ */
+@Service
+public class BulkRegistrationService {
+
+    private final DroneRepository droneRepository;
+    private final FleetStateIndex fleetStateIndex;
+    private final BatteryHistoryStore batteryHistoryStore;
+    private final DroneStateTimeouts droneStateTimeouts;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    /**
+     * Constructor for the BulkRegistrationService class.
+     *
+     * @param droneRepository     The repository for managing Drone entities.
+     * @param fleetStateIndex     The in-memory index of drones by state.
+     * @param batteryHistoryStore The in-memory store of recent battery samples.
+     * @param droneStateTimeouts  The timers of the drones sitting in a state that has a timeout.
+     * @param validator           The bean validator applied to every drone.
+     * @param objectMapper        The object mapper used to read the request body.
+     * @param transactionManager  The transaction manager used for the per-chunk transactions.
+     * @param chunkSize           The number of drones validated and stored per transaction.
+     */
+    public BulkRegistrationService(DroneRepository droneRepository, FleetStateIndex fleetStateIndex,
+                                   BatteryHistoryStore batteryHistoryStore, DroneStateTimeouts droneStateTimeouts,
+                                   Validator validator, ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${drones.bulk-registration.chunk-size:1000}") int chunkSize) {
+        this.droneRepository = droneRepository;
+        this.fleetStateIndex = fleetStateIndex;
+        this.batteryHistoryStore = batteryHistoryStore;
+        this.droneStateTimeouts = droneStateTimeouts;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Registers every drone read from the given JSON array or newline-delimited JSON stream.
+     * Reading stops at the first malformed document, which is reported as a rejected item;
+     * chunks stored before that point stay registered.
+     *
+     * @param body The request body.
+     * @return A {@link BulkRegistrationResultDTO} with per-item outcomes.
+     * @throws IOException If the request body cannot be read.
+     */
+    public BulkRegistrationResultDTO registerDrones(InputStream body) throws IOException {
+        List<BulkRegistrationItemDTO> items = new ArrayList<>();
+        Set<String> serialNumbersInRequest = new HashSet<>();
+        List<PendingDrone> chunk = new ArrayList<>(chunkSize);
+        try (MappingIterator<DroneDTO> drones = objectMapper.readerFor(DroneDTO.class).readValues(body)) {
+            while (drones.hasNextValue()) {
+                DroneDTO droneDTO = drones.nextValue();
+                BulkRegistrationItemDTO item = new BulkRegistrationItemDTO(items.size(), droneDTO.getSerialNumber(),
+                        RegistrationStatus.REGISTERED, null);
+                items.add(item);
+                String violations = validate(droneDTO);
+                if (violations != null) {
+                    reject(item, violations);
+                } else if (!serialNumbersInRequest.add(droneDTO.getSerialNumber())) {
+                    reject(item, "Serial number appears more than once in the request");
+                } else {
+                    chunk.add(new PendingDrone(item, toEntity(droneDTO)));
+                }
+                if (chunk.size() == chunkSize) {
+                    storeChunk(chunk);
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException ex) {
+            items.add(new BulkRegistrationItemDTO(items.size(), null, RegistrationStatus.REJECTED,
+                    "Malformed drone document: " + ex.getOriginalMessage()));
+        }
+        storeChunk(chunk);
+        int rejected = (int) items.stream().filter(item -> item.getStatus() == RegistrationStatus.REJECTED).count();
+        return new BulkRegistrationResultDTO(items.size() - rejected, rejected, items);
+    }
+
+    /**
+     * Stores a chunk of validated drones in one transaction, skipping serial numbers that are already registered.
+     * If the batch still hits a unique constraint, the drones are retried one by one to isolate the clash.
+     *
+     * @param chunk The validated drones to store.
+     */
+    private void storeChunk(List<PendingDrone> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<String> existing = droneRepository.findExistingSerialNumbers(chunk.stream()
+                .map(pending -> pending.drone().getSerialNumber())
+                .collect(Collectors.toList()));
+        List<PendingDrone> accepted = new ArrayList<>(chunk.size());
+        for (PendingDrone pending : chunk) {
+            if (existing.contains(pending.drone().getSerialNumber())) {
+                reject(pending.item(), "Drone already registered with serial number: " + pending.drone().getSerialNumber());
+            } else {
+                accepted.add(pending);
+            }
+        }
+        try {
+            insert(accepted);
+        } catch (DataIntegrityViolationException ex) {
+            for (PendingDrone pending : accepted) {
+                pending.drone().setId(null);
+                try {
+                    insert(List.of(pending));
+                } catch (DataIntegrityViolationException itemEx) {
+                    reject(pending.item(), "Drone already registered with serial number: " + pending.drone().getSerialNumber());
+                }
+            }
+        }
+    }
+
+    private void insert(List<PendingDrone> drones) {
+        if (drones.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            for (PendingDrone pending : drones) {
+                droneRepository.save(pending.drone());
+                fleetStateIndex.update(pending.drone());
+                droneStateTimeouts.armAfterCommit(pending.drone().getSerialNumber(), DroneState.IDLE);
+                batteryHistoryStore.recordAfterCommit(pending.drone().getSerialNumber(), pending.drone().getBatteryCapacity());
+            }
+        });
+    }
+
+    private String validate(DroneDTO droneDTO) {
+        Set<ConstraintViolation<DroneDTO>> violations = validator.validate(droneDTO);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static void reject(BulkRegistrationItemDTO item, String message) {
+        item.setStatus(RegistrationStatus.REJECTED);
+        item.setMessage(message);
+    }
+
+    private static Drone toEntity(DroneDTO droneDTO) {
+        return Drone.builder()
+                .serialNumber(droneDTO.getSerialNumber())
+                .model(droneDTO.getModel())
+                .weightLimit(droneDTO.getWeightLimit())
+                .batteryCapacity(droneDTO.getBatteryCapacity())
+                .state(DroneState.IDLE)
+                .stateChangedAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * A validated drone waiting to be stored, together with its result item.
+     *
+     * @param item  The result item reported for the drone.
+     * @param drone The drone entity to store.
+     */
+    private record PendingDrone(BulkRegistrationItemDTO item, Drone drone) {
+    }
+}
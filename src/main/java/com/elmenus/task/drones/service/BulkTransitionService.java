@@ -0,0 +1,109 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.BulkTransitionRequestDTO;
+import com.elmenus.task.drones.dto.BulkTransitionResultDTO;
+import com.elmenus.task.drones.dto.DroneSnapshot;
+import com.elmenus.task.drones.entity.AuditLog;
+import com.elmenus.task.drones.exception.InvalidTransitionFilterException;
+import com.elmenus.task.drones.repository.AuditLogBatchRepository;
+import com.elmenus.task.drones.repository.DroneTransitionRepository;
+import com.elmenus.task.drones.shared.utility.RetryOnConflict;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.elmenus.task.drones.service.DroneService.MIN_BATTERY_CAPACITY_FOR_LOADING;
+
+/**
+ * Service class moving every drone matching a filter to a new state in one transaction.
+ *
+ * The matching drones are locked and moved by set-based statements through {@link DroneTransitionRepository}, and
+ * their audit log entries are written as one JDBC batch in the same transaction, so the cost of a transition barely
+ * depends on the number of drones it moves. Like a single state change, a transition leaves out the drones whose
+ * battery is below {@link DroneService#MIN_BATTERY_CAPACITY_FOR_LOADING}.
+ */
+@Service
+public class BulkTransitionService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkTransitionService.class);
+
+    private final DroneTransitionRepository droneTransitionRepository;
+    private final AuditLogBatchRepository auditLogBatchRepository;
+    private final FleetStateIndex fleetStateIndex;
+    private final DroneLookupCache droneLookupCache;
+    private final DroneStateTimeouts droneStateTimeouts;
+
+    /**
+     * Constructor for the BulkTransitionService class.
+     *
+     * @param droneTransitionRepository The repository moving the matching drones.
+     * @param auditLogBatchRepository   The repository for writing AuditLog entities in JDBC batches.
+     * @param fleetStateIndex           The in-memory index of drones by state.
+     * @param droneLookupCache          The cache of drone snapshots by serial number.
+     * @param droneStateTimeouts        The timers of the drones sitting in a state that has a timeout.
+     */
+    public BulkTransitionService(DroneTransitionRepository droneTransitionRepository,
+                                 AuditLogBatchRepository auditLogBatchRepository, FleetStateIndex fleetStateIndex,
+                                 DroneLookupCache droneLookupCache, DroneStateTimeouts droneStateTimeouts) {
+        this.droneTransitionRepository = droneTransitionRepository;
+        this.auditLogBatchRepository = auditLogBatchRepository;
+        this.fleetStateIndex = fleetStateIndex;
+        this.droneLookupCache = droneLookupCache;
+        this.droneStateTimeouts = droneStateTimeouts;
+    }
+
+    /**
+     * Moves every drone matching the filter of a transition to its target state. Drones already in the target state
+     * are left untouched and not reported.
+     *
+     * @param request The filter and target state of the transition.
+     * @return A {@link BulkTransitionResultDTO} with the serial numbers of the moved drones and the duration.
+     * @throws InvalidTransitionFilterException If the filter is empty or its battery range is inverted.
+     */
+    @RetryOnConflict
+    @Transactional
+    public BulkTransitionResultDTO changeDroneStates(BulkTransitionRequestDTO request) {
+        validate(request);
+        long startedAt = System.nanoTime();
+        List<DroneSnapshot> drones = droneTransitionRepository.lockMatching(request, MIN_BATTERY_CAPACITY_FOR_LOADING);
+        List<String> serialNumbers = new ArrayList<>(drones.size());
+        if (!drones.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            List<Integer> ids = new ArrayList<>(drones.size());
+            List<AuditLog> auditLogs = new ArrayList<>(drones.size());
+            for (DroneSnapshot drone : drones) {
+                ids.add(drone.getId());
+                auditLogs.add(AuditLog.stateChanged(drone.getId(), drone.getSerialNumber(), drone.getState(),
+                        request.getTargetState(), now));
+                serialNumbers.add(drone.getSerialNumber());
+            }
+            droneTransitionRepository.updateStates(ids, request.getTargetState(), now);
+            auditLogBatchRepository.insertAll(auditLogs);
+            fleetStateIndex.move(serialNumbers, request.getTargetState());
+            droneLookupCache.invalidateAll(serialNumbers);
+            droneStateTimeouts.armAllAfterCommit(serialNumbers, request.getTargetState());
+        }
+        BulkTransitionResultDTO result = new BulkTransitionResultDTO(request.getTargetState(), serialNumbers,
+                (System.nanoTime() - startedAt) / 1_000_000);
+        log.info("Bulk transition moved {} drones to {} in {} ms", serialNumbers.size(), result.getTargetState(),
+                result.getDurationMillis());
+        return result;
+    }
+
+    private static void validate(BulkTransitionRequestDTO request) {
+        boolean hasSerialNumbers = request.getSerialNumbers() != null && !request.getSerialNumbers().isEmpty();
+        if (request.getFromState() == null && !hasSerialNumbers && request.getModel() == null
+                && request.getMinBatteryCapacity() == null && request.getMaxBatteryCapacity() == null) {
+            throw new InvalidTransitionFilterException("A bulk transition needs at least one filter");
+        }
+        if (request.getMinBatteryCapacity() != null && request.getMaxBatteryCapacity() != null
+                && request.getMinBatteryCapacity() > request.getMaxBatteryCapacity()) {
+            throw new InvalidTransitionFilterException("Minimum battery capacity cannot exceed the maximum battery capacity");
+        }
+    }
+}
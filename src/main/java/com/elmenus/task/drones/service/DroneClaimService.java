@@ -0,0 +1,135 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.DroneClaimDTO;
+import com.elmenus.task.drones.dto.DroneSnapshot;
+import com.elmenus.task.drones.exception.NoDroneAvailableException;
+import com.elmenus.task.drones.exception.WeightExceededException;
+import com.elmenus.task.drones.repository.DroneClaimRepository;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.elmenus.task.drones.service.DroneService.MAX_MEDICATION_WEIGHT;
+import static com.elmenus.task.drones.service.DroneService.MIN_BATTERY_CAPACITY_FOR_LOADING;
+
+/**
+ * Service class letting competing dispatchers claim a drone to load, so that they never pick the same drone.
+ *
+ * A claim reads a window of claimable drones and tries to lease them in random order through
+ * {@link DroneClaimRepository}, whose conditional update lets at most one claimer win each drone. Trying the window
+ * in random order spreads concurrent claimers over different drones instead of queueing them all behind the first
+ * claimable one. Leases are not swept: an expired lease simply stops excluding the drone from claims and loads, and
+ * loading the drone ends the lease. Until then, only a load presenting the claim token is let through.
+ */
+@Service
+public class DroneClaimService {
+
+    private final DroneClaimRepository droneClaimRepository;
+    private final FleetStateIndex fleetStateIndex;
+    private final Duration leaseDuration;
+    private final int candidateWindow;
+    private final Counter claimedCounter;
+    private final Counter lostCounter;
+    private final Counter unavailableCounter;
+    private final Timer claimDuration;
+
+    /**
+     * Constructor for the DroneClaimService class.
+     *
+     * @param droneClaimRepository The repository for leasing drones.
+     * @param fleetStateIndex      The in-memory index recording the leases, so claimed drones are not offered.
+     * @param meterRegistry        The registry to publish the claim metrics to.
+     * @param leaseMillis          The time a claimed drone stays reserved unless it is loaded, in milliseconds.
+     * @param candidateWindow      The number of claimable drones read at once and tried in random order.
+     */
+    public DroneClaimService(DroneClaimRepository droneClaimRepository, FleetStateIndex fleetStateIndex,
+                             MeterRegistry meterRegistry,
+                             @Value("${drones.claim.lease-ms:30000}") long leaseMillis,
+                             @Value("${drones.claim.candidate-window:64}") int candidateWindow) {
+        this.droneClaimRepository = droneClaimRepository;
+        this.fleetStateIndex = fleetStateIndex;
+        this.leaseDuration = Duration.ofMillis(leaseMillis);
+        this.candidateWindow = candidateWindow;
+        this.claimedCounter = Counter.builder("drones.claim.claimed")
+                .description("Number of drones claimed by dispatchers")
+                .register(meterRegistry);
+        this.lostCounter = Counter.builder("drones.claim.lost")
+                .description("Number of claim attempts on drones another dispatcher claimed first")
+                .register(meterRegistry);
+        this.unavailableCounter = Counter.builder("drones.claim.unavailable")
+                .description("Number of claims that found no drone to claim")
+                .register(meterRegistry);
+        this.claimDuration = Timer.builder("drones.claim.duration")
+                .description("Time taken to claim a drone")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Claims a drone in the LOADING state that can carry the given weight.
+     *
+     * @param weight The weight of the medications to be loaded, in grams.
+     * @return A {@link DroneClaimDTO} with the claimed drone and its lease.
+     * @throws WeightExceededException   If the weight is negative or exceeds the maximum weight of a drone.
+     * @throws NoDroneAvailableException If no drone can be claimed.
+     */
+    public DroneClaimDTO claim(int weight) {
+        return claim(weight, LocalDateTime.now());
+    }
+
+    /**
+     * Claims a drone in the LOADING state that can carry the given weight at the given time.
+     *
+     * @param weight The weight of the medications to be loaded, in grams.
+     * @param now    The time leases are checked against and start at.
+     * @return A {@link DroneClaimDTO} with the claimed drone and its lease.
+     * @throws WeightExceededException   If the weight is negative or exceeds the maximum weight of a drone.
+     * @throws NoDroneAvailableException If no drone can be claimed.
+     */
+    public DroneClaimDTO claim(int weight, LocalDateTime now) {
+        if (weight < 0 || weight > MAX_MEDICATION_WEIGHT) {
+            throw new WeightExceededException("Weight to claim a drone for must be between 0 and "
+                    + MAX_MEDICATION_WEIGHT + " grams");
+        }
+        String claimToken = UUID.randomUUID().toString();
+        LocalDateTime expiresAt = now.plus(leaseDuration);
+        DroneClaimDTO claim = claimDuration.record(() -> {
+            List<DroneSnapshot> candidates = findCandidates(weight, now);
+            while (!candidates.isEmpty()) {
+                for (DroneSnapshot candidate : candidates) {
+                    if (droneClaimRepository.claim(candidate.getId(), claimToken, expiresAt, DroneState.LOADING,
+                            MIN_BATTERY_CAPACITY_FOR_LOADING, weight, now)) {
+                        return new DroneClaimDTO(candidate.getSerialNumber(), claimToken, expiresAt);
+                    }
+                    lostCounter.increment();
+                }
+                candidates = findCandidates(weight, now);
+            }
+            return null;
+        });
+        if (claim == null) {
+            unavailableCounter.increment();
+            throw new NoDroneAvailableException("No drone is available to load " + weight + " grams");
+        }
+        fleetStateIndex.claim(claim.getSerialNumber(), claimToken, expiresAt);
+        claimedCounter.increment();
+        return claim;
+    }
+
+    private List<DroneSnapshot> findCandidates(int weight, LocalDateTime now) {
+        List<DroneSnapshot> candidates = new ArrayList<>(droneClaimRepository.findCandidates(DroneState.LOADING,
+                MIN_BATTERY_CAPACITY_FOR_LOADING, weight, now, candidateWindow));
+        Collections.shuffle(candidates, ThreadLocalRandom.current());
+        return candidates;
+    }
+}
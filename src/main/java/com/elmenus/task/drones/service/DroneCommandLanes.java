@@ -0,0 +1,348 @@
+package com.elmenus.task.drones.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Service class running the commands on a drone through ordered lanes.
+ *
+ * Each serial number hashes to one of a fixed number of lanes, each drained by a single thread, so the commands
+ * submitted through the lanes on one drone run one after the other in submission order while drones of different
+ * lanes proceed in parallel. The lanes only order their own commands: queued loads, battery telemetry, state
+ * timeouts, bulk transitions, low battery transitions and claims write drones outside of them, so commands can
+ * still meet optimistic locking conflicts and find a drone changed since they were submitted.
+ *
+ * A lane takes the commands queued since its last round, up to a batch size, and runs them in one transaction,
+ * so their writes are committed as a group. Before a command joins a group, its validation is run against the
+ * stored drone, and a command failing it completes with that failure without touching the group. A group holds at
+ * most one command per drone, so each validation sees the committed outcome of the commands before it.
+ * A command can still fail inside a group when another writer changes its drone in between; the group is then
+ * rolled back and its commands are replayed one by one in their own transactions, so it only fails itself.
+ *
+ * When the lanes are disabled, commands run directly on the calling thread.
+ */
+@Service
+public class DroneCommandLanes {
+
+    private static final Logger log = LoggerFactory.getLogger(DroneCommandLanes.class);
+
+    private static final long POLL_TIMEOUT_MILLIS = 200;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+    private static final Runnable NO_VALIDATION = () -> {
+    };
+
+    private final List<BlockingQueue<Command<?>>> lanes = new ArrayList<>();
+    private final Map<BlockingQueue<Command<?>>, Command<?>> carriedOver = new ConcurrentHashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+
+    private final DroneLookupCache droneLookupCache;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final DistributionSummary groupSize;
+
+    private volatile boolean running;
+
+    /**
+     * Constructor for the DroneCommandLanes class.
+     *
+     * @param droneLookupCache   The cache of drone snapshots by serial number.
+     * @param transactionManager The transaction manager used for the group transactions.
+     * @param meterRegistry      The registry to publish the lane metrics to.
+     * @param enabled            Whether commands run through the lanes rather than on the calling thread.
+     * @param laneCount          The number of lanes, or zero for one lane per available processor.
+     * @param capacity           The maximum number of commands queued in one lane.
+     * @param batchSize          The maximum number of commands committed in one transaction.
+     */
+    public DroneCommandLanes(DroneLookupCache droneLookupCache, PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${drones.command-lanes.enabled:false}") boolean enabled,
+                             @Value("${drones.command-lanes.count:0}") int laneCount,
+                             @Value("${drones.command-lanes.capacity:1000}") int capacity,
+                             @Value("${drones.command-lanes.batch-size:64}") int batchSize) {
+        this.droneLookupCache = droneLookupCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        int count = laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors();
+        for (int i = 0; i < count; i++) {
+            lanes.add(new LinkedBlockingQueue<>(capacity));
+        }
+        this.groupSize = DistributionSummary.builder("drones.command.group.size")
+                .description("Number of drone commands committed in one transaction")
+                .register(meterRegistry);
+        Gauge.builder("drones.command.lanes.depth", lanes, queues -> queues.stream().mapToInt(BlockingQueue::size).sum())
+                .description("Number of drone commands waiting in the lanes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts one worker per lane once the application is ready, if the lanes are enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < lanes.size(); i++) {
+            BlockingQueue<Command<?>> lane = lanes.get(i);
+            Thread worker = new Thread(() -> work(lane), "drone-lane-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Runs a command on a drone without validation and waits for its result.
+     *
+     * @param serialNumber The serial number of the drone the command changes.
+     * @param command      The command.
+     * @param <T>          The type of the result of the command.
+     * @return The result of the command.
+     * @see #execute(String, Runnable, Supplier)
+     */
+    public <T> T execute(String serialNumber, Supplier<T> command) {
+        return execute(serialNumber, NO_VALIDATION, command);
+    }
+
+    /**
+     * Runs a command on a drone and waits for its result. The command runs in the lane of the drone when the lanes
+     * are running, and directly on the calling thread otherwise, where it checks its own rules.
+     *
+     * @param serialNumber The serial number of the drone the command changes.
+     * @param validation   The check run against the stored drone before the command joins a group.
+     * @param command      The command.
+     * @param <T>          The type of the result of the command.
+     * @return The result of the command.
+     */
+    public <T> T execute(String serialNumber, Runnable validation, Supplier<T> command) {
+        if (!running) {
+            return command.get();
+        }
+        try {
+            return submit(serialNumber, validation, command).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Queues a command in the lane of a drone without validation, waiting for room if the lane is full.
+     *
+     * @param serialNumber The serial number of the drone the command changes.
+     * @param command      The command.
+     * @param <T>          The type of the result of the command.
+     * @return A future completed with the result of the command once its group is committed.
+     * @see #submit(String, Runnable, Supplier)
+     */
+    public <T> CompletableFuture<T> submit(String serialNumber, Supplier<T> command) {
+        return submit(serialNumber, NO_VALIDATION, command);
+    }
+
+    /**
+     * Queues a command in the lane of a drone, waiting for room if the lane is full.
+     *
+     * @param serialNumber The serial number of the drone the command changes.
+     * @param validation   The check run against the stored drone before the command joins a group.
+     * @param command      The command.
+     * @param <T>          The type of the result of the command.
+     * @return A future completed with the result of the command once its group is committed, or with the failure
+     * of its validation.
+     */
+    public <T> CompletableFuture<T> submit(String serialNumber, Runnable validation, Supplier<T> command) {
+        Command<T> queued = new Command<>(serialNumber, validation, command, new CompletableFuture<>());
+        try {
+            laneOf(serialNumber).put(queued);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            queued.result().completeExceptionally(ex);
+        }
+        return queued.result();
+    }
+
+    /**
+     * Retrieves the number of lanes.
+     *
+     * @return The number of lanes.
+     */
+    public int laneCount() {
+        return lanes.size();
+    }
+
+    /**
+     * Runs one group of the commands queued in the lane of a drone without waiting for commands to arrive.
+     *
+     * @param serialNumber The serial number of a drone of the lane.
+     * @return The number of processed commands, including those rejected by their validation.
+     */
+    int drain(String serialNumber) {
+        BlockingQueue<Command<?>> lane = laneOf(serialNumber);
+        Command<?> first = next(lane);
+        return first == null ? 0 : process(lane, first);
+    }
+
+    private BlockingQueue<Command<?>> laneOf(String serialNumber) {
+        return lanes.get(Math.floorMod(serialNumber.hashCode(), lanes.size()));
+    }
+
+    private void work(BlockingQueue<Command<?>> lane) {
+        while (running || !lane.isEmpty() || carriedOver.containsKey(lane)) {
+            try {
+                Command<?> first = carriedOver.remove(lane);
+                if (first == null) {
+                    first = lane.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                if (first != null) {
+                    process(lane, first);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Drone command lane failed to process a group", ex);
+            }
+        }
+    }
+
+    private Command<?> next(BlockingQueue<Command<?>> lane) {
+        Command<?> carried = carriedOver.remove(lane);
+        return carried != null ? carried : lane.poll();
+    }
+
+    /**
+     * Runs the commands queued in a lane, up to the batch size, as one group. A command whose drone already has a
+     * command in the group is carried over to start the next group, so that its validation sees the committed
+     * outcome of the earlier one.
+     */
+    private int process(BlockingQueue<Command<?>> lane, Command<?> first) {
+        List<Command<?>> group = new ArrayList<>(batchSize);
+        Set<String> serialNumbers = new HashSet<>();
+        int rejected = 0;
+        Command<?> candidate = first;
+        while (candidate != null) {
+            if (!serialNumbers.add(candidate.serialNumber())) {
+                carriedOver.put(lane, candidate);
+                break;
+            }
+            if (candidate.validate()) {
+                group.add(candidate);
+            } else {
+                serialNumbers.remove(candidate.serialNumber());
+                rejected++;
+            }
+            candidate = group.size() + rejected < batchSize ? lane.poll() : null;
+        }
+        if (group.isEmpty()) {
+            return rejected;
+        }
+        List<Object> results;
+        try {
+            results = transactionTemplate.execute(status -> {
+                List<Object> values = new ArrayList<>(group.size());
+                group.forEach(command -> values.add(command.command().get()));
+                return values;
+            });
+        } catch (RuntimeException ex) {
+            if (group.size() > 1) {
+                log.debug("Group of {} drone commands failed, replaying them one by one", group.size(), ex);
+            }
+            droneLookupCache.invalidateAll(List.copyOf(serialNumbers));
+            group.forEach(this::processAlone);
+            return group.size() + rejected;
+        }
+        groupSize.record(group.size());
+        for (int i = 0; i < group.size(); i++) {
+            group.get(i).complete(results.get(i));
+        }
+        return group.size() + rejected;
+    }
+
+    private void processAlone(Command<?> command) {
+        try {
+            command.complete(command.command().get());
+        } catch (RuntimeException ex) {
+            command.result().completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * Stops the workers after they drained their lanes, waiting a bounded time for them.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(SHUTDOWN_TIMEOUT_MILLIS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        int left = lanes.stream().mapToInt(BlockingQueue::size).sum() + carriedOver.size();
+        if (left > 0) {
+            log.warn("Drone command lanes stopped with {} commands left unprocessed", left);
+        }
+    }
+
+    /**
+     * A queued command on a drone.
+     *
+     * @param serialNumber The serial number of the drone the command changes.
+     * @param validation   The check run against the stored drone before the command joins a group.
+     * @param command      The command.
+     * @param result       The future completed with the result of the command.
+     * @param <T>          The type of the result of the command.
+     */
+    private record Command<T>(String serialNumber, Runnable validation, Supplier<T> command,
+                              CompletableFuture<T> result) {
+
+        /**
+         * Runs the validation of the command, completing the command with its failure if it fails.
+         *
+         * @return Whether the command passed its validation.
+         */
+        boolean validate() {
+            try {
+                validation.run();
+                return true;
+            } catch (RuntimeException ex) {
+                result.completeExceptionally(ex);
+                return false;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void complete(Object value) {
+            result.complete((T) value);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.DroneSnapshot;
+import com.elmenus.task.drones.entity.Drone;
+import com.elmenus.task.drones.shared.utility.TransactionCallbacks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded cache mapping drone serial numbers to {@link DroneSnapshot}s.
+ *
+ * Entries are refreshed by {@link DroneService} after every committed save, and the least valuable entries
+ * are evicted once the configured maximum size is reached. Hit, miss and eviction counts are published
+ * as the {@code cache.*} metrics tagged with {@code cache=droneLookup}.
+ */
+@Component
+public class DroneLookupCache {
+
+    /**
+     * Name under which the cache metrics are published.
+     */
+    public static final String CACHE_NAME = "droneLookup";
+
+    private final Cache<String, DroneSnapshot> cache;
+
+    /**
+     * Constructor for the DroneLookupCache class.
+     *
+     * @param maximumSize   The maximum number of cached snapshots.
+     * @param meterRegistry The registry to publish cache metrics to.
+     */
+    public DroneLookupCache(@Value("${drones.lookup-cache.maximum-size:10000}") long maximumSize,
+                            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Retrieves the snapshot of a drone, loading it on a miss.
+     *
+     * @param serialNumber The serial number of the drone.
+     * @param loader       The function loading the drone entity on a miss, returning null if it does not exist.
+     * @return An optional {@link DroneSnapshot}, empty if the drone does not exist.
+     */
+    public Optional<DroneSnapshot> get(String serialNumber, Function<String, Drone> loader) {
+        return Optional.ofNullable(cache.get(serialNumber, key -> {
+            Drone drone = loader.apply(key);
+            return drone == null ? null : DroneSnapshot.of(drone);
+        }));
+    }
+
+    /**
+     * Refreshes the cached snapshot of the given drone once the current transaction commits.
+     * The cached entry is dropped straight away so that no reader sees it while the transaction is open. The
+     * snapshot is taken after the commit, once the entity holds its committed version, and does not replace a
+     * cached entry of a newer version put by a transaction whose callback ran first.
+     *
+     * @param drone The drone entity that was saved.
+     */
+    public void update(Drone drone) {
+        cache.invalidate(drone.getSerialNumber());
+        TransactionCallbacks.afterCommit(() -> {
+            DroneSnapshot snapshot = DroneSnapshot.of(drone);
+            cache.asMap().compute(snapshot.getSerialNumber(),
+                    (serialNumber, cached) -> isNewer(cached, snapshot) ? cached : snapshot);
+        });
+    }
+
+    private static boolean isNewer(DroneSnapshot cached, DroneSnapshot snapshot) {
+        return cached != null && cached.getVersion() != null && snapshot.getVersion() != null
+                && cached.getVersion() > snapshot.getVersion();
+    }
+
+    /**
+     * Removes the cached snapshot of a drone, now and again once the current transaction commits.
+     *
+     * @param serialNumber The serial number of the drone.
+     */
+    public void invalidate(String serialNumber) {
+        cache.invalidate(serialNumber);
+        TransactionCallbacks.afterCommit(() -> cache.invalidate(serialNumber));
+    }
+
+    /**
+     * Removes the cached snapshots of the given drones, now and again once the current transaction commits.
+     *
+     * @param serialNumbers The serial numbers of the drones.
+     */
+    public void invalidateAll(Collection<String> serialNumbers) {
+        List<String> invalidated = List.copyOf(serialNumbers);
+        cache.invalidateAll(invalidated);
+        TransactionCallbacks.afterCommit(() -> cache.invalidateAll(invalidated));
+    }
+
+    /**
+     * Replaces the cached entries of the given drones once the current transaction commits, unless they hold a newer
+     * version. Drones that are not cached stay uncached.
+     *
+     * @param drones The snapshots of the drones as committed, including their new version.
+     */
+    public void updateBatteryCapacities(Collection<DroneSnapshot> drones) {
+        List<DroneSnapshot> updated = List.copyOf(drones);
+        TransactionCallbacks.afterCommit(() -> updated.forEach(drone -> cache.asMap().computeIfPresent(
+                drone.getSerialNumber(), (serialNumber, cached) -> isNewer(cached, drone) ? cached : drone)));
+    }
+}
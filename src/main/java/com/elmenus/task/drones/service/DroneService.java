@@ -1,22 +1,44 @@
 package com.elmenus.task.drones.service;
 
+import com.elmenus.task.drones.dto.BatteryHistoryDTO;
+import com.elmenus.task.drones.dto.BatterySampleDTO;
+import com.elmenus.task.drones.dto.BatterySweepResultDTO;
 import com.elmenus.task.drones.dto.DroneDTO;
+import com.elmenus.task.drones.dto.DroneIdentity;
+import com.elmenus.task.drones.dto.DroneSnapshot;
 import com.elmenus.task.drones.dto.MedicationDTO;
+import com.elmenus.task.drones.dto.UnloadMedicationDTO;
 import com.elmenus.task.drones.entity.AuditLog;
 import com.elmenus.task.drones.entity.Drone;
 import com.elmenus.task.drones.entity.DroneMedication;
 import com.elmenus.task.drones.entity.Medication;
 import com.elmenus.task.drones.exception.*;
-import com.elmenus.task.drones.repository.AuditLogRepository;
+import com.elmenus.task.drones.repository.AuditLogBatchRepository;
+import com.elmenus.task.drones.repository.DroneMedicationRepository;
 import com.elmenus.task.drones.repository.DroneRepository;
+import com.elmenus.task.drones.shared.enums.AuditEventType;
 import com.elmenus.task.drones.shared.enums.DroneState;
+import com.elmenus.task.drones.shared.utility.MedicationManifest;
+import com.elmenus.task.drones.shared.utility.RetryOnConflict;
+import com.elmenus.task.drones.shared.utility.TransactionCallbacks;
 import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -25,10 +47,14 @@ import java.util.stream.Collectors;
  * Service class for managing drones, including registration, loading medications, state changes, and battery level checks.
  *
  * This service provides functionality to interact with drones, manage their states, and perform various operations.
+ * Drones are versioned, so concurrent updates of the same drone conflict instead of overwriting each other, and
+ * the mutators are run again on a conflict through {@link RetryOnConflict}.
  */
 @Service
 public class DroneService {
 
+    private static final Logger log = LoggerFactory.getLogger(DroneService.class);
+
     /**
      * Constant for the minimum battery capacity required for loading medications.
      */
@@ -44,21 +70,60 @@ public class DroneService {
      */
     public static final int MAX_MEDICATION_WEIGHT = 500;
 
+    /**
+     * States that are left untouched by the low-battery sweep.
+     */
+    private static final Set<DroneState> LOW_BATTERY_EXCLUDED_STATES = EnumSet.of(DroneState.LOADING, DroneState.IDLE);
+
+    /**
+     * States in which medications can be removed from a drone's load.
+     */
+    private static final Set<DroneState> UNLOADABLE_STATES = EnumSet.of(DroneState.LOADING, DroneState.LOADED);
+
     private final DroneRepository droneRepository;
-    private final AuditLogRepository auditLogRepository;
+    private final AuditWriter auditWriter;
+    private final AuditLogBatchRepository auditLogBatchRepository;
     private final ModelMapper mapper;
+    private final FleetStateIndex fleetStateIndex;
+    private final DroneLookupCache droneLookupCache;
+    private final LowBatteryDetector lowBatteryDetector;
+    private final BatteryHistoryStore batteryHistoryStore;
+    private final MedicationCatalog medicationCatalog;
+    private final DroneMedicationRepository droneMedicationRepository;
+    private final DroneStateTimeouts droneStateTimeouts;
 
     /**
      * Constructor for the DroneService class.
      *
-     * @param droneRepository    The repository for managing Drone entities.
-     * @param auditLogRepository The repository for managing AuditLog entities.
-     * @param mapper             The model mapper for DTO-to-entity mapping.
+     * @param droneRepository           The repository for managing Drone entities.
+     * @param auditWriter               The writer persisting audit log events in the background.
+     * @param auditLogBatchRepository   The repository for writing AuditLog entities in JDBC batches.
+     * @param mapper                    The model mapper for DTO-to-entity mapping.
+     * @param fleetStateIndex           The in-memory index of drones by state.
+     * @param droneLookupCache          The cache of drone snapshots by serial number.
+     * @param lowBatteryDetector        The detector publishing low-battery events on battery changes.
+     * @param batteryHistoryStore       The in-memory store of recent battery samples.
+     * @param medicationCatalog         The catalog resolving ordered medications by code.
+     * @param droneMedicationRepository The repository for managing DroneMedication entities.
+     * @param droneStateTimeouts        The timers of the drones sitting in a state that has a timeout.
      */
-    public DroneService(DroneRepository droneRepository, AuditLogRepository auditLogRepository, ModelMapper mapper) {
+    public DroneService(DroneRepository droneRepository, AuditWriter auditWriter,
+                        AuditLogBatchRepository auditLogBatchRepository, ModelMapper mapper,
+                        FleetStateIndex fleetStateIndex, DroneLookupCache droneLookupCache,
+                        LowBatteryDetector lowBatteryDetector, BatteryHistoryStore batteryHistoryStore,
+                        MedicationCatalog medicationCatalog, DroneMedicationRepository droneMedicationRepository,
+                        DroneStateTimeouts droneStateTimeouts) {
         this.droneRepository = droneRepository;
-        this.auditLogRepository = auditLogRepository;
+        this.auditWriter = auditWriter;
+        this.auditLogBatchRepository = auditLogBatchRepository;
         this.mapper = mapper;
+        this.fleetStateIndex = fleetStateIndex;
+        this.droneLookupCache = droneLookupCache;
+        this.lowBatteryDetector = lowBatteryDetector;
+        this.batteryHistoryStore = batteryHistoryStore;
+        this.medicationCatalog = medicationCatalog;
+        this.droneMedicationRepository = droneMedicationRepository;
+        this.droneStateTimeouts = droneStateTimeouts;
     }
 
     /**
@@ -72,7 +137,13 @@ public class DroneService {
         Drone drone = mapper.map(droneDTO, Drone.class);
         validateDroneDTO(drone);
         drone.setState(DroneState.IDLE);
+        drone.setStateChangedAt(LocalDateTime.now());
+        drone.setCurrentLoadWeight(0);
         Drone savedDrone = droneRepository.save(drone);
+        fleetStateIndex.update(savedDrone);
+        droneLookupCache.update(savedDrone);
+        droneStateTimeouts.armAfterCommit(savedDrone.getSerialNumber(), DroneState.IDLE);
+        batteryHistoryStore.recordAfterCommit(savedDrone.getSerialNumber(), savedDrone.getBatteryCapacity());
         return Optional.of(mapper.map(savedDrone, DroneDTO.class));
     }
 
@@ -98,37 +169,262 @@ public class DroneService {
 
     /**
      * Loads a drone with medications.
+     * Medications are resolved against the {@link MedicationCatalog}, so only {@code drone_medication} rows are written
+     * for medications that are already known. Lines sharing a code are aggregated into one row whose quantity is the
+     * sum of the requested quantities. The load replaces whatever the drone carried, and its weight is stored as the
+     * drone's current load weight by a conditional update against the weight limit and the lease on the drone.
      *
      * @param serialNumber The serial number of the drone to be loaded.
-     * @param medications  The set of medications to be loaded onto the drone.
+     * @param medications  The medication lines to be loaded onto the drone.
+     * @param claimToken   The token of the lease the caller holds on the drone, or null if it holds none.
      * @return An optional {@link DroneDTO} containing the loaded drone as a DTO.
+     * @throws DroneClaimedException If another dispatcher holds an unexpired lease on the drone.
      */
+    @RetryOnConflict
     @Transactional
-    public Optional<DroneDTO> loadDroneWithMedications(String serialNumber, Set<MedicationDTO> medications) {
-        Drone drone = droneRepository.findBySerialNumber(serialNumber);
-        if (drone == null) {
-            throw new DroneNotFoundException("Drone not found with serial number: " + serialNumber);
+    public Optional<DroneDTO> loadDroneWithMedications(String serialNumber, List<MedicationDTO> medications,
+                                                       String claimToken) {
+        DroneSnapshot snapshot = findDroneSnapshot(serialNumber);
+        MedicationManifest manifest = MedicationManifest.of(medications);
+        int weight = manifest.getTotalWeight();
+        validateDroneForLoading(snapshot, weight);
+        LocalDateTime now = LocalDateTime.now();
+        if (droneRepository.updateLoadWeightIfFits(snapshot.getId(), weight, DroneState.LOADING,
+                MIN_BATTERY_CAPACITY_FOR_LOADING, claimToken, now) == 0) {
+            throw rejectedLoad(snapshot, weight, claimToken, now);
         }
-        int weight = calculateTotalWeight(medications);
-        validateDroneForLoading(drone, weight);
-        Set<Medication> medicationEntities = medications.stream()
-                .map(medicationDTO -> mapper.map(medicationDTO, Medication.class))
-                .collect(Collectors.toSet());
-        updateDroneWithLoadedMedications(drone, medicationEntities);
+        droneMedicationRepository.deleteByDroneId(snapshot.getId());
+        Drone drone = findDroneForUpdate(snapshot);
+        updateDroneWithLoadedMedications(drone, manifest);
         droneRepository.save(drone);
+        fleetStateIndex.update(drone);
+        fleetStateIndex.endLease(drone.getSerialNumber(), claimToken);
+        droneLookupCache.update(drone);
+        droneStateTimeouts.armAfterCommit(drone.getSerialNumber(), DroneState.LOADED);
+        return Optional.of(mapper.map(drone, DroneDTO.class));
+    }
+
+    /**
+     * Appends medications to the load of a drone in the LOADING state.
+     * The weight is added to the drone's current load weight by a single conditional update against its weight limit,
+     * which also locks the drone for the rest of the transaction; loaded medications only get their quantity raised.
+     *
+     * @param serialNumber The serial number of the drone to be loaded.
+     * @param medications  The medication lines to be appended to the drone's load.
+     * @param claimToken   The token of the lease the caller holds on the drone, or null if it holds none.
+     * @return An optional {@link DroneDTO} containing the loaded drone as a DTO.
+     * @throws WeightExceededException If the medications do not fit the remaining capacity of the drone.
+     * @throws DroneClaimedException   If another dispatcher holds an unexpired lease on the drone.
+     */
+    @RetryOnConflict
+    @Transactional
+    public Optional<DroneDTO> appendToLoad(String serialNumber, List<MedicationDTO> medications, String claimToken) {
+        DroneSnapshot snapshot = findDroneSnapshot(serialNumber);
+        MedicationManifest manifest = MedicationManifest.of(medications);
+        int weight = manifest.getTotalWeight();
+        validateDroneForLoading(snapshot, weight);
+        LocalDateTime now = LocalDateTime.now();
+        if (droneRepository.addLoadWeightIfFits(snapshot.getId(), weight, DroneState.LOADING,
+                MIN_BATTERY_CAPACITY_FOR_LOADING, claimToken, now) == 0) {
+            throw rejectedLoad(snapshot, weight, claimToken, now);
+        }
+        Drone drone = findDroneForUpdate(snapshot);
+        for (MedicationDTO medicationDTO : manifest.getMedications()) {
+            Medication medication = medicationCatalog.resolve(medicationDTO);
+            int quantity = manifest.getQuantity(medicationDTO.getCode());
+            if (droneMedicationRepository.addQuantity(drone.getId(), medication.getId(), quantity) == 0) {
+                droneMedicationRepository.save(new DroneMedication(drone, medication, quantity));
+            }
+        }
+        fleetStateIndex.update(drone);
+        fleetStateIndex.endLease(drone.getSerialNumber(), claimToken);
+        droneLookupCache.update(drone);
         return Optional.of(mapper.map(drone, DroneDTO.class));
     }
 
+    /**
+     * Removes medications from the load of a drone in the LOADING or LOADED state.
+     * The removed weight is computed from the catalog entries and subtracted from the drone's current load weight
+     * by a single conditional update; medications whose quantity drops to zero are deleted.
+     *
+     * @param serialNumber The serial number of the drone to be unloaded.
+     * @param medications  The medication codes and quantities to be removed.
+     * @return An optional {@link DroneDTO} containing the unloaded drone as a DTO.
+     * @throws MedicationNotLoadedException If the drone carries fewer units of a medication than requested.
+     * @throws DroneStateException          If the drone is not in a valid state for unloading medications.
+     */
+    @RetryOnConflict
+    @Transactional
+    public Optional<DroneDTO> removeFromLoad(String serialNumber, Collection<UnloadMedicationDTO> medications) {
+        DroneSnapshot snapshot = findDroneSnapshot(serialNumber);
+        Map<String, Integer> quantitiesByCode = new LinkedHashMap<>();
+        for (UnloadMedicationDTO medication : medications) {
+            int quantity = medication.getQuantity() == null ? 1 : medication.getQuantity();
+            quantitiesByCode.merge(medication.getCode(), quantity, Math::addExact);
+        }
+        Map<Medication, Integer> quantities = new LinkedHashMap<>();
+        int weight = 0;
+        for (Map.Entry<String, Integer> entry : quantitiesByCode.entrySet()) {
+            Medication medication = medicationCatalog.find(entry.getKey())
+                    .orElseThrow(() -> notLoaded(serialNumber, entry.getKey(), entry.getValue()));
+            quantities.put(medication, entry.getValue());
+            weight = Math.addExact(weight, Math.multiplyExact(medication.getWeight(), entry.getValue()));
+        }
+        if (droneRepository.subtractLoadWeight(snapshot.getId(), weight, UNLOADABLE_STATES) == 0) {
+            throw rejectedUnload(snapshot);
+        }
+        quantities.forEach((medication, quantity) -> {
+            if (droneMedicationRepository.subtractQuantity(snapshot.getId(), medication.getId(), quantity) == 0) {
+                throw notLoaded(serialNumber, medication.getCode(), quantity);
+            }
+        });
+        droneMedicationRepository.deleteEmptyByDroneId(snapshot.getId());
+        Drone drone = findDroneForUpdate(snapshot);
+        fleetStateIndex.update(drone);
+        droneLookupCache.update(drone);
+        return Optional.of(mapper.map(drone, DroneDTO.class));
+    }
+
+    /**
+     * Explains why a conditional load weight update matched no drone, based on the drone's current row.
+     *
+     * @param snapshot   The {@link DroneSnapshot} of the drone.
+     * @param weight     The weight that was to be loaded.
+     * @param claimToken The token of the lease the caller holds on the drone, or null if it holds none.
+     * @param now        The time the lease was checked against.
+     * @return The exception to throw.
+     */
+    private RuntimeException rejectedLoad(DroneSnapshot snapshot, int weight, String claimToken, LocalDateTime now) {
+        Drone drone = findDroneForUpdate(snapshot);
+        droneLookupCache.update(drone);
+        if (drone.getState() != DroneState.LOADING) {
+            return new DroneStateException("Drone is not in a valid state for loading medications");
+        }
+        if (drone.getBatteryCapacity() < MIN_BATTERY_CAPACITY_FOR_LOADING) {
+            return new BatteryLowException("Battery capacity for drone is not in a valid state for loading medications");
+        }
+        if (drone.getClaimExpiresAt() != null && drone.getClaimExpiresAt().isAfter(now)
+                && !drone.getClaimToken().equals(claimToken)) {
+            return new DroneClaimedException("Drone " + snapshot.getSerialNumber()
+                    + " is claimed by another dispatcher until " + drone.getClaimExpiresAt());
+        }
+        return new WeightExceededException("Weight of " + weight + " grams exceeds the remaining capacity of drone "
+                + snapshot.getSerialNumber());
+    }
+
+    /**
+     * Explains why a conditional load weight subtraction matched no drone, based on the drone's current row.
+     *
+     * @param snapshot The {@link DroneSnapshot} of the drone.
+     * @return The exception to throw.
+     */
+    private RuntimeException rejectedUnload(DroneSnapshot snapshot) {
+        Drone drone = findDroneForUpdate(snapshot);
+        droneLookupCache.update(drone);
+        if (!UNLOADABLE_STATES.contains(drone.getState())) {
+            return new DroneStateException("Drone is not in a valid state for unloading medications");
+        }
+        return new MedicationNotLoadedException("Drone " + snapshot.getSerialNumber() + " does not carry the medications to unload");
+    }
+
+    private static MedicationNotLoadedException notLoaded(String serialNumber, String code, int quantity) {
+        return new MedicationNotLoadedException("Drone " + serialNumber + " does not carry " + quantity
+                + " units of medication " + code);
+    }
+
+    /**
+     * Checks a load against the stored drone without changing it, with the same rules and exceptions as
+     * {@link #loadDroneWithMedications} and {@link #appendToLoad}, so a command that is bound to fail can be rejected
+     * before it joins a group of commands sharing a transaction.
+     *
+     * @param serialNumber The serial number of the drone to be loaded.
+     * @param medications  The medication lines to be loaded onto the drone.
+     * @param claimToken   The token of the lease the caller holds on the drone, or null if it holds none.
+     * @param append       Whether the medications are appended to the current load rather than replacing it.
+     * @throws DroneNotFoundException If the drone is not found with the given serial number.
+     * @throws DroneClaimedException  If another dispatcher holds an unexpired lease on the drone.
+     */
+    public void validateLoad(String serialNumber, List<MedicationDTO> medications, String claimToken, boolean append) {
+        Drone drone = findStoredDrone(serialNumber);
+        MedicationManifest manifest = MedicationManifest.of(medications);
+        manifest.getMedications().forEach(medicationCatalog::verify);
+        int weight = manifest.getTotalWeight();
+        validateDroneForLoading(DroneSnapshot.of(drone), weight);
+        LocalDateTime now = LocalDateTime.now();
+        if (drone.getClaimExpiresAt() != null && drone.getClaimExpiresAt().isAfter(now)
+                && !drone.getClaimToken().equals(claimToken)) {
+            throw new DroneClaimedException("Drone " + serialNumber
+                    + " is claimed by another dispatcher until " + drone.getClaimExpiresAt());
+        }
+        int loadedWeight = append ? drone.getCurrentLoadWeight() : 0;
+        if (loadedWeight + weight > drone.getWeightLimit()) {
+            throw new WeightExceededException("Weight of " + weight + " grams exceeds the remaining capacity of drone "
+                    + serialNumber);
+        }
+    }
+
+    /**
+     * Checks an unload against the stored drone without changing it, with the same state rule as
+     * {@link #removeFromLoad}.
+     *
+     * @param serialNumber The serial number of the drone to be unloaded.
+     * @throws DroneNotFoundException If the drone is not found with the given serial number.
+     * @throws DroneStateException    If the drone is not in a valid state for unloading medications.
+     */
+    public void validateUnload(String serialNumber) {
+        if (!UNLOADABLE_STATES.contains(findStoredDrone(serialNumber).getState())) {
+            throw new DroneStateException("Drone is not in a valid state for unloading medications");
+        }
+    }
+
+    /**
+     * Checks a state change against the stored drone without changing it, with the same rule as
+     * {@link #changeDroneState}.
+     *
+     * @param serialNumber The serial number of the drone.
+     * @throws DroneNotFoundException If the drone is not found with the given serial number.
+     * @throws BatteryLowException    If the battery capacity of the drone is low.
+     */
+    public void validateStateChange(String serialNumber) {
+        if (findStoredDrone(serialNumber).getBatteryCapacity() < MIN_BATTERY_CAPACITY_FOR_LOADING) {
+            throw new BatteryLowException("Cannot change state drone when battery capacity is low");
+        }
+    }
+
+    /**
+     * Checks a battery capacity change against the stored drone without changing it, with the same rules as
+     * {@link #changeBatteryCapacity}.
+     *
+     * @param serialNumber       The serial number of the drone.
+     * @param newBatteryCapacity The new battery capacity to set.
+     * @throws DroneNotFoundException   If the drone is not found with the given serial number.
+     * @throws IllegalArgumentException If the new battery capacity is negative.
+     * @throws BatteryHighException     If the new battery capacity exceeds the maximum allowed.
+     * @throws BatteryEqualException    If the new battery capacity is the same as the current capacity.
+     */
+    public void validateBatteryCapacityChange(String serialNumber, int newBatteryCapacity) {
+        Drone drone = findStoredDrone(serialNumber);
+        if (newBatteryCapacity < 0) {
+            throw new IllegalArgumentException("Battery capacity cannot be negative");
+        }
+        if (newBatteryCapacity > MAX_BATTERY_CAPACITY_FOR_LOADING) {
+            throw new BatteryHighException("Cannot change battery capacity because it exceeds 100 percent");
+        }
+        if (drone.getBatteryCapacity() == newBatteryCapacity) {
+            throw new BatteryEqualException("The new battery capacity is the same as the current battery capacity");
+        }
+    }
+
     /**
      * Validates a drone's suitability for loading medications.
      *
-     * @param drone  The {@link Drone} entity to be validated.
+     * @param drone  The {@link DroneSnapshot} of the drone to be validated.
      * @param weight The weight of the medication to be loaded.
      * @throws BatteryLowException     If the battery capacity is below the minimum required for loading medications.
      * @throws WeightExceededException If the weight of the medication exceeds the maximum allowed.
      * @throws DroneStateException     If the drone is not in a valid state for loading medications.
      */
-    private void validateDroneForLoading(Drone drone, int weight) {
+    private void validateDroneForLoading(DroneSnapshot drone, int weight) {
         if (drone.getBatteryCapacity() < MIN_BATTERY_CAPACITY_FOR_LOADING) {
             throw new BatteryLowException("Battery capacity for drone is not in a valid state for loading medications");
         }
@@ -143,63 +439,254 @@ public class DroneService {
     /**
      * Updates a drone with loaded medications.
      *
-     * @param drone       The drone entity to be updated.
-     * @param medications The set of medications to be loaded onto the drone.
+     * @param drone    The drone entity to be updated.
+     * @param manifest The {@link MedicationManifest} of the medications to be loaded onto the drone.
      */
-    private void updateDroneWithLoadedMedications(Drone drone, Set<Medication> medications) {
-        Set<DroneMedication> droneMedications = medications.stream()
-                .map(medication -> new DroneMedication(drone, medication, DroneMedication.calculateTotalQuantity(drone, medication)))
+    private void updateDroneWithLoadedMedications(Drone drone, MedicationManifest manifest) {
+        Set<DroneMedication> droneMedications = manifest.getMedications().stream()
+                .map(medication -> new DroneMedication(drone, medicationCatalog.resolve(medication),
+                        manifest.getQuantity(medication.getCode())))
                 .collect(Collectors.toSet());
         drone.setDroneMedications(droneMedications);
         drone.setState(DroneState.LOADED);
+        drone.setStateChangedAt(LocalDateTime.now());
     }
 
     /**
-     * Calculates the total weight of medications.
+     * Retrieves a list of available drones for loading, leaving out drones another dispatcher holds a lease on.
+     * The list is served from the {@link FleetStateIndex} without a database round trip.
      *
-     * @param medications The set of medications.
-     * @return The total weight of medications.
+     * @return A list of {@link DroneDTO} representing available drones for loading.
      */
-    private int calculateTotalWeight(Set<MedicationDTO> medications) {
-        return medications.stream()
-                .mapToInt(MedicationDTO::getWeight)
-                .sum();
+    public List<DroneDTO> getAvailableDronesForLoading() {
+        return fleetStateIndex.findUnclaimedByState(DroneState.LOADING, LocalDateTime.now());
     }
 
     /**
-     * Retrieves a list of available drones for loading.
+     * Rebuilds the in-memory fleet index from the database.
+     * Runs once at startup and can be triggered on demand.
      *
-     * @return A list of {@link DroneDTO} representing available drones for loading.
+     * @return A map of drone state to the number of indexed drones in that state.
      */
-    public List<DroneDTO> getAvailableDronesForLoading() {
-        List<Drone> drones = droneRepository.findByState(DroneState.LOADING);
-        return drones.stream()
-                .map(drone -> mapper.map(drone, DroneDTO.class))
-                .collect(Collectors.toList());
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public Map<DroneState, Integer> rebuildFleetIndex() {
+        fleetStateIndex.rebuild(droneRepository::findAll);
+        return fleetStateIndex.countByState();
+    }
+
+    /**
+     * Rebuilds the state timeouts from the database, arming a timer for every drone in a state that has a timeout.
+     * Runs once at startup and can be triggered on demand.
+     *
+     * @return The number of armed timers.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public int rebuildStateTimeouts() {
+        int armed = droneStateTimeouts.rebuild(() -> droneStateTimeouts.timedStates().isEmpty()
+                ? List.of() : droneRepository.findStateSinceByStateIn(droneStateTimeouts.timedStates()));
+        log.info("Armed {} drone state timeouts", armed);
+        return armed;
     }
 
     /**
      * Checks the battery level of a drone.
+     * The level is served from the {@link DroneLookupCache} and only queried on a cache miss.
      *
      * @param serialNumber The serial number of the drone.
      * @return The battery level of the drone.
+     * @throws DroneNotFoundException If the drone is not found with the given serial number.
      */
     public int checkDroneBatteryLevel(String serialNumber) {
+        return findDroneSnapshot(serialNumber).getBatteryCapacity();
+    }
+
+    /**
+     * Retrieves the recorded battery history of a drone within a time range.
+     *
+     * @param serialNumber The serial number of the drone.
+     * @param from         The inclusive start of the range, or null for no lower bound.
+     * @param to           The exclusive end of the range, or null for no upper bound.
+     * @param step         The bucket width used to downsample the history, or null for the raw samples.
+     * @return A {@link BatteryHistoryDTO} with the samples of the drone, oldest first.
+     * @throws DroneNotFoundException If the drone is not found with the given serial number.
+     */
+    public BatteryHistoryDTO getBatteryHistory(String serialNumber, Instant from, Instant to, Duration step) {
+        DroneSnapshot snapshot = findDroneSnapshot(serialNumber);
+        long stepMillis = step == null ? 0 : step.toMillis();
+        return new BatteryHistoryDTO(snapshot.getSerialNumber(), batteryHistoryStore.capacity(),
+                batteryHistoryStore.bytesPerDrone(),
+                batteryHistoryStore.query(snapshot.getSerialNumber(), from, to, stepMillis));
+    }
+
+    /**
+     * Retrieves the archived long-term battery history of a drone within a time range.
+     *
+     * @param serialNumber The serial number of the drone.
+     * @param from         The inclusive start of the range, or null for no lower bound.
+     * @param to           The exclusive end of the range, or null for no upper bound.
+     * @param step         The bucket width used to downsample the history, or null for the raw samples.
+     * @return A list of {@link BatterySampleDTO}s, oldest first.
+     * @throws DroneNotFoundException If the drone is not found with the given serial number.
+     */
+    public List<BatterySampleDTO> getBatteryArchive(String serialNumber, Instant from, Instant to, Duration step) {
+        DroneSnapshot snapshot = findDroneSnapshot(serialNumber);
+        long stepMillis = step == null ? 0 : step.toMillis();
+        return batteryHistoryStore.queryArchive(snapshot.getSerialNumber(), from, to, stepMillis);
+    }
+
+    /**
+     * Retrieves the cached snapshot of a drone by its serial number.
+     *
+     * @param serialNumber The serial number of the drone.
+     * @return The {@link DroneSnapshot} of the drone.
+     * @throws DroneNotFoundException If the drone is not found with the given serial number.
+     */
+    private DroneSnapshot findDroneSnapshot(String serialNumber) {
+        return droneLookupCache.get(serialNumber, droneRepository::findBySerialNumber)
+                .orElseThrow(() -> new DroneNotFoundException("Drone not found with serial number: " + serialNumber));
+    }
+
+    /**
+     * Reads the stored drone by its serial number, bypassing the cache, as the cache may lag behind other writers.
+     *
+     * @param serialNumber The serial number of the drone.
+     * @return The stored {@link Drone}.
+     * @throws DroneNotFoundException If the drone is not found with the given serial number.
+     */
+    private Drone findStoredDrone(String serialNumber) {
         Drone drone = droneRepository.findBySerialNumber(serialNumber);
-        return drone.getBatteryCapacity();
+        if (drone == null) {
+            throw new DroneNotFoundException("Drone not found with serial number: " + serialNumber);
+        }
+        return drone;
+    }
+
+    /**
+     * Loads the managed drone entity behind a snapshot by its primary key.
+     *
+     * @param snapshot The {@link DroneSnapshot} of the drone.
+     * @return The managed {@link Drone} entity.
+     * @throws DroneNotFoundException If the drone no longer exists.
+     */
+    private Drone findDroneForUpdate(DroneSnapshot snapshot) {
+        return droneRepository.findById(snapshot.getId())
+                .orElseThrow(() -> {
+                    droneLookupCache.invalidate(snapshot.getSerialNumber());
+                    return new DroneNotFoundException("Drone not found with serial number: " + snapshot.getSerialNumber());
+                });
     }
 
     /**
      * Scheduled task to check battery levels of drones.
+     *
+     * Drones whose battery is below {@link #MIN_BATTERY_CAPACITY_FOR_LOADING} are locked and exactly the locked
+     * drones are moved to IDLE by a single set-based update, and their audit log entries are written as one JDBC batch in the same transaction.
+     * Threshold crossings are normally handled as they happen through {@link LowBatteryDetector}, so this
+     * sweep only reconciles drones whose transition was missed and runs at a slow rate.
+     *
+     * @return A {@link BatterySweepResultDTO} with the number of affected drones and the sweep duration.
      */
-    @Scheduled(fixedRate = 60000)
-    public void checkBatteryLevels() {
-        List<Drone> drones = droneRepository.findByBatteryCapacityLessThanAndStateNot(MIN_BATTERY_CAPACITY_FOR_LOADING, DroneState.LOADING);
-        drones.forEach(drone -> {
-            logEvent(drone, "Low Battery");
-            droneRepository.save(drone);
-            changeDroneState(drone.getSerialNumber(), DroneState.IDLE);
-        });
+    @Scheduled(fixedRateString = "${drones.battery-sweep.interval-ms:600000}")
+    @RetryOnConflict
+    @Transactional
+    public BatterySweepResultDTO checkBatteryLevels() {
+        long startedAt = System.nanoTime();
+        List<DroneIdentity> drones = droneRepository.lockByBatteryCapacityLessThanAndStateNotIn(
+                MIN_BATTERY_CAPACITY_FOR_LOADING, LOW_BATTERY_EXCLUDED_STATES);
+        if (!drones.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            List<AuditLog> auditLogs = new ArrayList<>(drones.size() * 2);
+            List<Integer> ids = new ArrayList<>(drones.size());
+            List<String> serialNumbers = new ArrayList<>(drones.size());
+            for (DroneIdentity drone : drones) {
+                auditLogs.add(AuditLog.lowBattery(drone.getId(), drone.getSerialNumber(), drone.getBatteryCapacity(), now));
+                auditLogs.add(AuditLog.stateChanged(drone.getId(), drone.getSerialNumber(), drone.getState(), DroneState.IDLE, now));
+                ids.add(drone.getId());
+                serialNumbers.add(drone.getSerialNumber());
+            }
+            droneRepository.updateStateByIdIn(ids, DroneState.IDLE, now);
+            auditLogBatchRepository.insertAll(auditLogs);
+            fleetStateIndex.move(serialNumbers, DroneState.IDLE);
+            droneLookupCache.invalidateAll(serialNumbers);
+            droneStateTimeouts.armAllAfterCommit(serialNumbers, DroneState.IDLE);
+        }
+        BatterySweepResultDTO result = new BatterySweepResultDTO(drones.size(), (System.nanoTime() - startedAt) / 1_000_000);
+        log.info("Low-battery sweep moved {} drones to IDLE in {} ms", result.getAffectedDrones(), result.getDurationMillis());
+        return result;
+    }
+
+    /**
+     * Moves a single drone to IDLE after its battery dropped below {@link #MIN_BATTERY_CAPACITY_FOR_LOADING}.
+     * The drone is locked only if it is still eligible, so a drone that was recharged or already handled in the
+     * meantime is left as is, and the state it leaves is audited as read under the lock.
+     *
+     * @param droneId         The ID of the drone.
+     * @param serialNumber    The serial number of the drone.
+     * @param batteryCapacity The battery capacity that crossed the threshold.
+     * @return True if the drone was moved to IDLE; false otherwise.
+     */
+    @RetryOnConflict
+    @Transactional
+    public boolean idleLowBatteryDrone(Integer droneId, String serialNumber, int batteryCapacity) {
+        Optional<DroneIdentity> drone = droneRepository.lockByIdAndBatteryCapacityLessThanAndStateNotIn(
+                droneId, MIN_BATTERY_CAPACITY_FOR_LOADING, LOW_BATTERY_EXCLUDED_STATES);
+        if (drone.isEmpty()) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        droneRepository.updateStateByIdIn(List.of(droneId), DroneState.IDLE, now);
+        auditLogBatchRepository.insertAll(List.of(
+                AuditLog.lowBattery(droneId, serialNumber, batteryCapacity, now),
+                AuditLog.stateChanged(droneId, serialNumber, drone.get().getState(), DroneState.IDLE, now)));
+        fleetStateIndex.move(List.of(serialNumber), DroneState.IDLE);
+        droneLookupCache.invalidate(serialNumber);
+        droneStateTimeouts.armAfterCommit(serialNumber, DroneState.IDLE);
+        return true;
+    }
+
+    /**
+     * Times out the given drones if they are still in the given state and entered it no later than the given time.
+     *
+     * Matching drones are locked, audited with a {@link AuditEventType#STATE_TIMED_OUT} event and, if a new state
+     * is given, moved to it by a single set-based update, with their audit log entries written as one JDBC batch in
+     * the same transaction. Drones that left the state or entered it again since their timer was armed are skipped.
+     *
+     * @param serialNumbers The serial numbers of the drones whose timer expired.
+     * @param state         The state the timers were armed for.
+     * @param enteredBefore The latest time a drone may have entered the state to be timed out.
+     * @param newState      The state to move timed-out drones to, or null to only audit them.
+     * @return The number of timed-out drones.
+     */
+    @RetryOnConflict
+    @Transactional
+    public int timeOutDrones(Collection<String> serialNumbers, DroneState state, LocalDateTime enteredBefore,
+                             DroneState newState) {
+        List<DroneIdentity> drones = droneRepository.lockBySerialNumberInAndStateEnteredBefore(serialNumbers, state, enteredBefore);
+        if (drones.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<AuditLog> auditLogs = new ArrayList<>(drones.size() * 2);
+        List<Integer> ids = new ArrayList<>(drones.size());
+        List<String> timedOut = new ArrayList<>(drones.size());
+        for (DroneIdentity drone : drones) {
+            auditLogs.add(AuditLog.stateTimedOut(drone.getId(), drone.getSerialNumber(), state, now));
+            if (newState != null) {
+                auditLogs.add(AuditLog.stateChanged(drone.getId(), drone.getSerialNumber(), state, newState, now));
+            }
+            ids.add(drone.getId());
+            timedOut.add(drone.getSerialNumber());
+        }
+        if (newState != null) {
+            droneRepository.updateStateByIdIn(ids, newState, now);
+            fleetStateIndex.move(timedOut, newState);
+            droneLookupCache.invalidateAll(timedOut);
+            droneStateTimeouts.armAllAfterCommit(timedOut, newState);
+        }
+        auditLogBatchRepository.insertAll(auditLogs);
+        return drones.size();
     }
 
     /**
@@ -209,42 +696,32 @@ public class DroneService {
      * @param newState     The new state to set for the drone.
      * @return An optional {@link DroneDTO} containing the updated drone as a DTO.
      */
+    @RetryOnConflict
+    @Transactional
     public Optional<DroneDTO> changeDroneState(String serialNumber, DroneState newState) {
-        Drone drone = droneRepository.findBySerialNumber(serialNumber);
-        if (drone == null) {
-            throw new DroneNotFoundException("Drone not found with serial number: " + serialNumber);
-        }
+        Drone drone = findDroneForUpdate(findDroneSnapshot(serialNumber));
         if (drone.getBatteryCapacity() < MIN_BATTERY_CAPACITY_FOR_LOADING) {
             throw new BatteryLowException("Cannot change state drone when battery capacity is low");
         }
+        DroneState previousState = drone.getState();
+        LocalDateTime now = LocalDateTime.now();
         drone.setState(newState);
-        logEvent(drone, "Changed state to " + newState);
-        return Optional.of(mapper.map(droneRepository.save(drone), DroneDTO.class));
-    }
-
-    /**
-     * Logs an event for a drone.
-     *
-     * @param drone The drone entity for which the event is logged.
-     * @param event The description of the event.
-     */
-    private void logEvent(Drone drone, String event) {
-        AuditLog auditLog = new AuditLog();
-        auditLog.setDroneId(drone.getId());
-        auditLog.setDroneSerialNumber(drone.getSerialNumber());
-        auditLog.setEventDescription(event);
-        auditLog.setEventTimestamp(LocalDateTime.now());
-        auditLogRepository.save(auditLog);
-        System.out.println("Drone ID: " + drone.getId() + ", Event: " + event);
+        drone.setStateChangedAt(now);
+        logEvent(AuditLog.stateChanged(drone.getId(), drone.getSerialNumber(), previousState, newState, now));
+        Drone savedDrone = droneRepository.save(drone);
+        fleetStateIndex.update(savedDrone);
+        droneLookupCache.update(savedDrone);
+        droneStateTimeouts.armAfterCommit(savedDrone.getSerialNumber(), newState);
+        return Optional.of(mapper.map(savedDrone, DroneDTO.class));
     }
 
     /**
-     * Retrieves a list of audit log events.
+     * Logs an event for a drone. The event is handed to the audit writer once the surrounding transaction commits.
      *
-     * @return A list of {@link AuditLog} entities representing audit log events.
+     * @param auditLog The audit event.
      */
-    public List<AuditLog> getAuditLogEvents() {
-        return auditLogRepository.findAll();
+    private void logEvent(AuditLog auditLog) {
+        TransactionCallbacks.afterCommit(() -> auditWriter.write(auditLog));
     }
 
     /**
@@ -258,21 +735,27 @@ public class DroneService {
      * @throws BatteryHighException     If the new battery capacity exceeds the maximum allowed.
      * @throws BatteryEqualException    If the new battery capacity is the same as the current capacity.
      */
+    @RetryOnConflict
+    @Transactional
     public Optional<DroneDTO> changeBatteryCapacity(String serialNumber, int newBatteryCapacity) {
-        Drone drone = droneRepository.findBySerialNumber(serialNumber);
-        if (drone == null) {
-            throw new DroneNotFoundException("Drone not found with serial number: " + serialNumber);
-        }
+        DroneSnapshot snapshot = findDroneSnapshot(serialNumber);
         if (newBatteryCapacity < 0) {
             throw new IllegalArgumentException("Battery capacity cannot be negative");
         }
         if (newBatteryCapacity > MAX_BATTERY_CAPACITY_FOR_LOADING) {
             throw new BatteryHighException("Cannot change battery capacity because it exceeds 100 percent");
         }
+        Drone drone = findDroneForUpdate(snapshot);
         if (drone.getBatteryCapacity() == newBatteryCapacity) {
             throw new BatteryEqualException("The new battery capacity is the same as the current battery capacity");
         }
+        DroneSnapshot previous = DroneSnapshot.of(drone);
         drone.setBatteryCapacity(newBatteryCapacity);
-        return Optional.of(mapper.map(droneRepository.save(drone), DroneDTO.class));
+        Drone savedDrone = droneRepository.save(drone);
+        fleetStateIndex.update(savedDrone);
+        droneLookupCache.update(savedDrone);
+        batteryHistoryStore.recordAfterCommit(serialNumber, newBatteryCapacity);
+        lowBatteryDetector.onBatteryChanged(previous, newBatteryCapacity);
+        return Optional.of(mapper.map(savedDrone, DroneDTO.class));
     }
 }
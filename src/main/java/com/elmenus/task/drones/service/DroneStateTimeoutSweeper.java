@@ -0,0 +1,92 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.shared.enums.DroneState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scheduled task advancing the {@link DroneStateTimeouts} wheel and timing out the drones whose timer expired.
+ *
+ * Expired drones are handed to {@link DroneService#timeOutDrones} in batches per state, each in its own
+ * transaction. Drones of a batch that fails are armed again to be retried on the next tick.
+ */
+@Component
+public class DroneStateTimeoutSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(DroneStateTimeoutSweeper.class);
+
+    private final DroneService droneService;
+    private final DroneStateTimeouts droneStateTimeouts;
+    private final int batchSize;
+    private final Counter timedOutCounter;
+
+    /**
+     * Constructor for the DroneStateTimeoutSweeper class.
+     *
+     * @param droneService       The service timing out the drones.
+     * @param droneStateTimeouts The timers of the drones.
+     * @param meterRegistry      The registry to publish the timeout metrics to.
+     * @param batchSize          The maximum number of drones timed out in one transaction.
+     */
+    public DroneStateTimeoutSweeper(DroneService droneService, DroneStateTimeouts droneStateTimeouts,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${drones.state-timeouts.batch-size:500}") int batchSize) {
+        this.droneService = droneService;
+        this.droneStateTimeouts = droneStateTimeouts;
+        this.batchSize = batchSize;
+        this.timedOutCounter = Counter.builder("drones.state-timeouts.timed-out")
+                .description("Number of drones that stayed in a state for longer than its timeout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Scheduled task timing out the drones whose timer expired since the last tick.
+     *
+     * @return The number of timed-out drones.
+     */
+    @Scheduled(fixedDelayString = "${drones.state-timeouts.tick-ms:1000}")
+    public int sweep() {
+        return sweep(System.currentTimeMillis());
+    }
+
+    /**
+     * Times out the drones whose timer expired by the given time.
+     *
+     * @param nowMillis The current time, in epoch milliseconds.
+     * @return The number of timed-out drones.
+     */
+    public int sweep(long nowMillis) {
+        int timedOut = 0;
+        for (Map.Entry<DroneState, List<String>> expired : droneStateTimeouts.expire(nowMillis).entrySet()) {
+            DroneState state = expired.getKey();
+            LocalDateTime enteredBefore = LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(nowMillis).minus(droneStateTimeouts.timeoutOf(state)), ZoneId.systemDefault());
+            List<String> serialNumbers = expired.getValue();
+            for (int from = 0; from < serialNumbers.size(); from += batchSize) {
+                List<String> batch = serialNumbers.subList(from, Math.min(from + batchSize, serialNumbers.size()));
+                try {
+                    timedOut += droneService.timeOutDrones(batch, state, enteredBefore, droneStateTimeouts.transitionOf(state));
+                } catch (RuntimeException ex) {
+                    log.error("Failed to time out {} drones in state {}, retrying on the next tick", batch.size(), state, ex);
+                    droneStateTimeouts.retry(batch, state, nowMillis);
+                }
+            }
+        }
+        if (timedOut > 0) {
+            timedOutCounter.increment(timedOut);
+            log.info("Timed out {} drones stuck in their state", timedOut);
+        }
+        return timedOut;
+    }
+}
@@ -0,0 +1,177 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.DroneStateSince;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import com.elmenus.task.drones.shared.utility.HashedTimerWheel;
+import com.elmenus.task.drones.shared.utility.TransactionCallbacks;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * In-memory deadlines of the drones sitting in a state that has a timeout.
+ *
+ * Every state change of a drone arms a timer for the timeout of its new state, replacing the timer of its previous
+ * state, once the surrounding transaction commits. Timers live in a {@link HashedTimerWheel}, so arming and
+ * cancelling them is O(1) whatever the size of the fleet, and the wheel can be rebuilt from the database.
+ * Expired timers are only candidates: {@link DroneStateTimeoutSweeper} checks each against the drone's row before
+ * timing it out, so a timer armed for a state the drone has left since is harmless.
+ */
+@Component
+public class DroneStateTimeouts {
+
+    private final Map<DroneState, Duration> timeouts = new EnumMap<>(DroneState.class);
+    private final Map<DroneState, DroneState> transitions = new EnumMap<>(DroneState.class);
+    private final HashedTimerWheel<String, DroneState> wheel;
+
+    /**
+     * Constructor for the DroneStateTimeouts class.
+     *
+     * @param meterRegistry The registry to publish the timer metrics to.
+     * @param tickMillis    The width of a tick of the timer wheel, in milliseconds.
+     * @param wheelSize     The number of slots of the timer wheel.
+     * @param timeoutMillis The timeouts of individual states, in milliseconds, by state name.
+     * @param transitions   The states drones are moved to when they time out, by the name of the state they time
+     *                      out in; drones timing out in other states are only audited.
+     * @throws IllegalArgumentException If a timeout or transition names an unknown state.
+     */
+    public DroneStateTimeouts(MeterRegistry meterRegistry,
+                              @Value("${drones.state-timeouts.tick-ms:1000}") long tickMillis,
+                              @Value("${drones.state-timeouts.wheel-size:4096}") int wheelSize,
+                              @Value("#{${drones.state-timeouts.timeouts-ms:{:}}}") Map<String, Long> timeoutMillis,
+                              @Value("#{${drones.state-timeouts.transitions:{:}}}") Map<String, String> transitions) {
+        timeoutMillis.forEach((state, millis) -> {
+            if (millis > 0) {
+                timeouts.put(DroneState.valueOf(state), Duration.ofMillis(millis));
+            }
+        });
+        transitions.forEach((from, to) -> this.transitions.put(DroneState.valueOf(from), DroneState.valueOf(to)));
+        this.wheel = new HashedTimerWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        Gauge.builder("drones.state-timeouts.armed", wheel, HashedTimerWheel::size)
+                .description("Number of drones with an armed state timeout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Retrieves the states that have a timeout.
+     *
+     * @return The states that have a timeout.
+     */
+    public Set<DroneState> timedStates() {
+        return timeouts.keySet();
+    }
+
+    /**
+     * Retrieves the timeout of a state.
+     *
+     * @param state The state.
+     * @return The timeout of the state, or null if the state has none.
+     */
+    public Duration timeoutOf(DroneState state) {
+        return timeouts.get(state);
+    }
+
+    /**
+     * Retrieves the state drones are moved to when they time out in a state.
+     *
+     * @param state The state the drones time out in.
+     * @return The state to move the drones to, or null if they are only audited.
+     */
+    public DroneState transitionOf(DroneState state) {
+        return transitions.get(state);
+    }
+
+    /**
+     * Schedules the timer of a drone to be armed for its new state once the current transaction commits.
+     * A state without a timeout cancels the timer of the drone.
+     *
+     * @param serialNumber The serial number of the drone.
+     * @param state        The new state of the drone.
+     */
+    public void armAfterCommit(String serialNumber, DroneState state) {
+        TransactionCallbacks.afterCommit(() -> arm(serialNumber, state, System.currentTimeMillis()));
+    }
+
+    /**
+     * Schedules the timers of the given drones to be armed for their new state once the current transaction commits.
+     *
+     * @param serialNumbers The serial numbers of the drones.
+     * @param state         The new state of the drones.
+     */
+    public void armAllAfterCommit(Collection<String> serialNumbers, DroneState state) {
+        List<String> armed = List.copyOf(serialNumbers);
+        TransactionCallbacks.afterCommit(() -> {
+            long now = System.currentTimeMillis();
+            armed.forEach(serialNumber -> arm(serialNumber, state, now));
+        });
+    }
+
+    /**
+     * Rebuilds the timers from the given source of drones, replacing all armed timers. Drones whose time of entering
+     * their state is unknown get a full timeout from now. Timers are not armed while the source is read, so that no
+     * committed state change is lost.
+     *
+     * @param source A supplier of the drones in a state that has a timeout, usually backed by the repository.
+     * @return The number of armed timers.
+     */
+    public synchronized int rebuild(Supplier<? extends Collection<DroneStateSince>> source) {
+        Collection<DroneStateSince> drones = source.get();
+        long now = System.currentTimeMillis();
+        wheel.clear();
+        for (DroneStateSince drone : drones) {
+            arm(drone.getSerialNumber(), drone.getState(),
+                    drone.getStateChangedAt() == null ? now : toEpochMillis(drone.getStateChangedAt()));
+        }
+        return wheel.size();
+    }
+
+    /**
+     * Removes the timers due by the given time.
+     *
+     * @param nowMillis The current time, in epoch milliseconds.
+     * @return The serial numbers of the drones whose timer expired, by the state the timer was armed for.
+     */
+    public Map<DroneState, List<String>> expire(long nowMillis) {
+        Map<DroneState, List<String>> expired = new EnumMap<>(DroneState.class);
+        wheel.advance(nowMillis, (serialNumber, state) ->
+                expired.computeIfAbsent(state, key -> new ArrayList<>()).add(serialNumber));
+        return expired;
+    }
+
+    /**
+     * Arms the timers of drones whose timeout could not be handled again, so that they expire on the next tick.
+     * Drones that were armed again in the meantime keep their new timer.
+     *
+     * @param serialNumbers The serial numbers of the drones.
+     * @param state         The state the timers were armed for.
+     * @param nowMillis     The current time, in epoch milliseconds.
+     */
+    public void retry(Collection<String> serialNumbers, DroneState state, long nowMillis) {
+        serialNumbers.forEach(serialNumber -> wheel.armIfAbsent(serialNumber, state, nowMillis));
+    }
+
+    private synchronized void arm(String serialNumber, DroneState state, long sinceMillis) {
+        Duration timeout = timeouts.get(state);
+        if (timeout == null) {
+            wheel.cancel(serialNumber);
+        } else {
+            wheel.arm(serialNumber, state, sinceMillis + timeout.toMillis());
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,241 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.DroneDTO;
+import com.elmenus.task.drones.dto.DroneSnapshot;
+import com.elmenus.task.drones.entity.Drone;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import com.elmenus.task.drones.shared.utility.TransactionCallbacks;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-memory index of the fleet keyed by {@link DroneState}.
+ *
+ * Reads are lock-free and never touch the database. Writes are applied write-through by {@link DroneService}
+ * once the surrounding transaction commits, and the whole index can be rebuilt from the database. The token and
+ * expiry of the lease on each claimed drone are tracked as well, so that claimed drones are not offered to other
+ * dispatchers. Lease writes are serialized with the rebuild, and a lease is only ended by the token that held it,
+ * so a late callback cannot wipe a newer lease.
+ */
+@Component
+public class FleetStateIndex {
+
+    private volatile Map<DroneState, Map<String, DroneDTO>> dronesByState = emptyBuckets();
+    private final Map<String, DroneState> stateBySerialNumber = new ConcurrentHashMap<>();
+    private final Map<String, Lease> leaseBySerialNumber = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieves the snapshots of all drones currently in the given state.
+     *
+     * @param state The state of the drones to retrieve.
+     * @return A list of {@link DroneDTO} snapshots for drones in the given state.
+     */
+    public List<DroneDTO> findByState(DroneState state) {
+        return new ArrayList<>(dronesByState.get(state).values());
+    }
+
+    /**
+     * Retrieves the snapshots of the drones currently in the given state that are not leased at the given time.
+     *
+     * @param state The state of the drones to retrieve.
+     * @param now   The time leases are checked against.
+     * @return A list of {@link DroneDTO} snapshots for unclaimed drones in the given state.
+     */
+    public List<DroneDTO> findUnclaimedByState(DroneState state, LocalDateTime now) {
+        List<DroneDTO> drones = new ArrayList<>();
+        dronesByState.get(state).forEach((serialNumber, drone) -> {
+            Lease lease = leaseBySerialNumber.get(serialNumber);
+            if (lease == null || !lease.expiresAt().isAfter(now)) {
+                drones.add(drone);
+            }
+        });
+        return drones;
+    }
+
+    /**
+     * Records the lease taken on a drone, unless a lease expiring later is already recorded.
+     *
+     * @param serialNumber The serial number of the claimed drone.
+     * @param claimToken   The token of the lease.
+     * @param expiresAt    The time at which the lease expires.
+     */
+    public synchronized void claim(String serialNumber, String claimToken, LocalDateTime expiresAt) {
+        leaseBySerialNumber.merge(serialNumber, new Lease(claimToken, expiresAt),
+                (current, claimed) -> claimed.expiresAt().isAfter(current.expiresAt()) ? claimed : current);
+    }
+
+    /**
+     * Schedules the lease on a drone to be ended once the current transaction commits, as a load does.
+     * A lease held under another token is kept unless it has expired, as it was taken after the load.
+     *
+     * @param serialNumber The serial number of the loaded drone.
+     * @param claimToken   The token of the lease the load was made under, or null if it was made under none.
+     */
+    public void endLease(String serialNumber, String claimToken) {
+        TransactionCallbacks.afterCommit(() -> endLease(serialNumber, claimToken, LocalDateTime.now()));
+    }
+
+    /**
+     * Retrieves the state of a drone as currently known by the index.
+     *
+     * @param serialNumber The serial number of the drone.
+     * @return The indexed state, or null if the drone is not indexed.
+     */
+    public DroneState stateOf(String serialNumber) {
+        return stateBySerialNumber.get(serialNumber);
+    }
+
+    /**
+     * Counts the indexed drones per state.
+     *
+     * @return A map of drone state to the number of indexed drones in that state.
+     */
+    public Map<DroneState, Integer> countByState() {
+        Map<DroneState, Integer> counts = new EnumMap<>(DroneState.class);
+        dronesByState.forEach((state, drones) -> counts.put(state, drones.size()));
+        return counts;
+    }
+
+    /**
+     * Schedules the given drone to be re-indexed once the current transaction commits.
+     * The snapshot is taken immediately, so later changes to the entity are not picked up. A lease on the drone is
+     * recorded, but a drone without one does not end a recorded lease; see {@link #endLease(String, String)}.
+     *
+     * @param drone The drone entity that was saved.
+     */
+    public void update(Drone drone) {
+        String serialNumber = drone.getSerialNumber();
+        DroneState state = drone.getState();
+        String claimToken = drone.getClaimToken();
+        LocalDateTime leaseExpiresAt = drone.getClaimExpiresAt();
+        DroneDTO snapshot = toSnapshot(drone);
+        TransactionCallbacks.afterCommit(() -> {
+            put(serialNumber, state, snapshot);
+            if (claimToken != null && leaseExpiresAt != null) {
+                claim(serialNumber, claimToken, leaseExpiresAt);
+            }
+        });
+    }
+
+    /**
+     * Schedules the given drones to be moved to a new state once the current transaction commits.
+     * Used by set-based updates, which change the state without touching any other attribute.
+     *
+     * @param serialNumbers The serial numbers of the drones that changed state.
+     * @param state         The new state of the drones.
+     */
+    public void move(Collection<String> serialNumbers, DroneState state) {
+        List<String> moved = List.copyOf(serialNumbers);
+        TransactionCallbacks.afterCommit(() -> moved.forEach(serialNumber -> move(serialNumber, state)));
+    }
+
+    /**
+     * Schedules the battery capacities of the given drones to be applied to the index once the current
+     * transaction commits. Drones that are not indexed are skipped.
+     *
+     * @param drones The snapshots holding the new battery capacities.
+     */
+    public void updateBatteryCapacities(Collection<DroneSnapshot> drones) {
+        List<DroneSnapshot> updated = List.copyOf(drones);
+        TransactionCallbacks.afterCommit(() -> updated.forEach(
+                drone -> updateBatteryCapacity(drone.getSerialNumber(), drone.getBatteryCapacity())));
+    }
+
+    /**
+     * Rebuilds the index from the given source of drones, replacing all indexed entries.
+     * Writes are held back while the source is read so that no committed change is lost.
+     *
+     * @param source A supplier of all drones, usually backed by the repository.
+     * @return The number of indexed drones.
+     */
+    public synchronized int rebuild(Supplier<? extends Collection<Drone>> source) {
+        Map<DroneState, Map<String, DroneDTO>> buckets = emptyBuckets();
+        Map<String, DroneState> states = new ConcurrentHashMap<>();
+        Map<String, Lease> leases = new ConcurrentHashMap<>();
+        for (Drone drone : source.get()) {
+            buckets.get(drone.getState()).put(drone.getSerialNumber(), toSnapshot(drone));
+            states.put(drone.getSerialNumber(), drone.getState());
+            if (drone.getClaimToken() != null && drone.getClaimExpiresAt() != null) {
+                leases.put(drone.getSerialNumber(), new Lease(drone.getClaimToken(), drone.getClaimExpiresAt()));
+            }
+        }
+        stateBySerialNumber.clear();
+        stateBySerialNumber.putAll(states);
+        leaseBySerialNumber.clear();
+        leaseBySerialNumber.putAll(leases);
+        dronesByState = buckets;
+        return states.size();
+    }
+
+    private synchronized void put(String serialNumber, DroneState state, DroneDTO snapshot) {
+        DroneState previousState = stateBySerialNumber.put(serialNumber, state);
+        if (previousState != null && previousState != state) {
+            dronesByState.get(previousState).remove(serialNumber);
+        }
+        dronesByState.get(state).put(serialNumber, snapshot);
+    }
+
+    private synchronized void endLease(String serialNumber, String claimToken, LocalDateTime now) {
+        leaseBySerialNumber.computeIfPresent(serialNumber, (key, lease) ->
+                lease.token().equals(claimToken) || !lease.expiresAt().isAfter(now) ? null : lease);
+    }
+
+    private synchronized void move(String serialNumber, DroneState state) {
+        DroneState previousState = stateBySerialNumber.get(serialNumber);
+        if (previousState == null || previousState == state) {
+            return;
+        }
+        DroneDTO snapshot = dronesByState.get(previousState).remove(serialNumber);
+        stateBySerialNumber.put(serialNumber, state);
+        dronesByState.get(state).put(serialNumber, snapshot);
+    }
+
+    private synchronized void updateBatteryCapacity(String serialNumber, Integer batteryCapacity) {
+        DroneState state = stateBySerialNumber.get(serialNumber);
+        if (state == null) {
+            return;
+        }
+        dronesByState.get(state).computeIfPresent(serialNumber, (key, drone) -> DroneDTO.builder()
+                .serialNumber(drone.getSerialNumber())
+                .model(drone.getModel())
+                .weightLimit(drone.getWeightLimit())
+                .batteryCapacity(batteryCapacity)
+                .currentLoadWeight(drone.getCurrentLoadWeight())
+                .build());
+    }
+
+    private static DroneDTO toSnapshot(Drone drone) {
+        return DroneDTO.builder()
+                .serialNumber(drone.getSerialNumber())
+                .model(drone.getModel())
+                .weightLimit(drone.getWeightLimit())
+                .batteryCapacity(drone.getBatteryCapacity())
+                .currentLoadWeight(drone.getCurrentLoadWeight())
+                .build();
+    }
+
+    private static Map<DroneState, Map<String, DroneDTO>> emptyBuckets() {
+        Map<DroneState, Map<String, DroneDTO>> buckets = new EnumMap<>(DroneState.class);
+        for (DroneState state : DroneState.values()) {
+            buckets.put(state, new ConcurrentHashMap<>());
+        }
+        return buckets;
+    }
+
+    /**
+     * The lease on a claimed drone.
+     *
+     * @param token     The token of the lease.
+     * @param expiresAt The time at which the lease expires.
+     */
+    private record Lease(String token, LocalDateTime expiresAt) {
+    }
+}
@@ -0,0 +1,182 @@
+package com.elmenus.task.drones.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded store of the responses to mutating requests, keyed by their {@code Idempotency-Key} header.
+ *
+ * A key is claimed when its request starts and completed with the response once the request ends, so a retry
+ * replays the stored response instead of running the request again. Keys expire a fixed time after they were
+ * claimed or completed, and the least valuable keys are evicted once the maximum size is reached. Replays and
+ * expirations are published as the {@code drones.idempotency.replays} and {@code drones.idempotency.expirations}
+ * counters.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final Cache<String, Entry> entries;
+    private final Counter replays;
+    private final Counter expirations;
+
+    /**
+     * Constructor for the IdempotencyStore class.
+     *
+     * @param maximumSize   The maximum number of stored keys.
+     * @param ttlMillis     How long a key is kept after it was claimed or completed, in milliseconds.
+     * @param meterRegistry The registry to publish the metrics to.
+     */
+    @Autowired
+    public IdempotencyStore(@Value("${drones.idempotency.maximum-size:10000}") long maximumSize,
+                            @Value("${drones.idempotency.ttl-ms:3600000}") long ttlMillis,
+                            MeterRegistry meterRegistry) {
+        this(maximumSize, ttlMillis, meterRegistry, Ticker.systemTicker());
+    }
+
+    /**
+     * Constructor for the IdempotencyStore class reading time from the given ticker.
+     *
+     * @param maximumSize   The maximum number of stored keys.
+     * @param ttlMillis     How long a key is kept after it was claimed or completed, in milliseconds.
+     * @param meterRegistry The registry to publish the metrics to.
+     * @param ticker        The source of time used for expiry.
+     */
+    IdempotencyStore(long maximumSize, long ttlMillis, MeterRegistry meterRegistry, Ticker ticker) {
+        this.replays = Counter.builder("drones.idempotency.replays")
+                .description("Number of requests answered with a stored response")
+                .register(meterRegistry);
+        this.expirations = Counter.builder("drones.idempotency.expirations")
+                .description("Number of idempotency keys that expired")
+                .register(meterRegistry);
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .removalListener((String key, Entry entry, RemovalCause cause) -> {
+                    if (cause == RemovalCause.EXPIRED) {
+                        expirations.increment();
+                    }
+                })
+                .build();
+        Gauge.builder("drones.idempotency.keys", entries, Cache::estimatedSize)
+                .description("Number of stored idempotency keys")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Claims a key for a request, or returns what is already stored under it.
+     *
+     * @param key         The idempotency key.
+     * @param fingerprint The method and target of the request, which a reused key must match.
+     * @return The {@link Claim} describing how to handle the request.
+     */
+    public Claim claim(String key, String fingerprint) {
+        Entry existing = entries.asMap().putIfAbsent(key, new Entry(fingerprint, null));
+        if (existing == null) {
+            return new Claim(Outcome.ACQUIRED, null);
+        }
+        if (!existing.fingerprint().equals(fingerprint)) {
+            return new Claim(Outcome.MISMATCH, null);
+        }
+        if (existing.response() == null) {
+            return new Claim(Outcome.IN_PROGRESS, null);
+        }
+        replays.increment();
+        return new Claim(Outcome.REPLAY, existing.response());
+    }
+
+    /**
+     * Stores the response to a claimed key.
+     *
+     * @param key         The idempotency key.
+     * @param fingerprint The method and target of the request.
+     * @param response    The response to replay for the key.
+     */
+    public void complete(String key, String fingerprint, StoredResponse response) {
+        entries.put(key, new Entry(fingerprint, response));
+    }
+
+    /**
+     * Releases a claimed key without storing a response, so that the request can be retried.
+     *
+     * @param key The idempotency key.
+     */
+    public void release(String key) {
+        entries.asMap().computeIfPresent(key, (k, entry) -> entry.response() == null ? null : entry);
+    }
+
+    /**
+     * Retrieves the number of stored keys.
+     *
+     * @return The approximate number of stored keys.
+     */
+    public long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    /**
+     * How a request carrying an idempotency key is to be handled.
+     */
+    public enum Outcome {
+        /**
+         * The key is new and now claimed by the request, which should run.
+         */
+        ACQUIRED,
+
+        /**
+         * A request with the same key completed; its response should be replayed.
+         */
+        REPLAY,
+
+        /**
+         * A request with the same key is still running.
+         */
+        IN_PROGRESS,
+
+        /**
+         * The key was used for a different request.
+         */
+        MISMATCH
+    }
+
+    /**
+     * The result of claiming a key.
+     *
+     * @param outcome  How the request is to be handled.
+     * @param response The stored response, only present for {@link Outcome#REPLAY}.
+     */
+    public record Claim(Outcome outcome, StoredResponse response) {
+    }
+
+    /**
+     * A response stored for replay.
+     *
+     * @param status      The HTTP status code.
+     * @param contentType The content type, or null if the response had none.
+     * @param location    The location header, or null if the response had none.
+     * @param body        The response body.
+     */
+    public record StoredResponse(int status, String contentType, String location, byte[] body) {
+    }
+
+    /**
+     * A stored key.
+     *
+     * @param fingerprint The method and target of the request that claimed the key.
+     * @param response    The response, or null while the request is running.
+     */
+    record Entry(String fingerprint, StoredResponse response) {
+    }
+}
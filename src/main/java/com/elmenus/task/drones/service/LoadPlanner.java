@@ -0,0 +1,394 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.DroneDTO;
+import com.elmenus.task.drones.dto.DroneLoadPlanDTO;
+import com.elmenus.task.drones.dto.LoadOrderDTO;
+import com.elmenus.task.drones.dto.LoadPlanDTO;
+import com.elmenus.task.drones.dto.LoadPlanRequestDTO;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Service class for planning how a batch of medication orders is spread across the drones in the LOADING state.
+ *
+ * Each drone carries at most its own weight limit, capped by {@link DroneService#MAX_MEDICATION_WEIGHT}, less the
+ * weight it is already loaded with, and drones whose battery is below
+ * {@link DroneService#MIN_BATTERY_CAPACITY_FOR_LOADING} are left out. Orders are never split. The planner runs the
+ * best-fit and first-fit decreasing heuristics over two drone orderings and keeps the plan that assigns the most
+ * orders with the fewest drones; large batches are sorted and planned in parallel. For small batches an optional
+ * exact search proves the minimum number of drones.
+ */
+@Service
+public class LoadPlanner {
+
+    private static final Comparator<DroneDTO> BY_CAPACITY = Comparator.comparingInt(LoadPlanner::capacityOf)
+            .thenComparingInt(DroneDTO::getBatteryCapacity)
+            .reversed();
+
+    private final FleetStateIndex fleetStateIndex;
+    private final int exactMaxOrders;
+    private final long exactNodeLimit;
+    private final int parallelThreshold;
+
+    /**
+     * Constructor for the LoadPlanner class.
+     *
+     * @param fleetStateIndex   The in-memory index of drones by state.
+     * @param exactMaxOrders    The largest batch for which the exact search is attempted.
+     * @param exactNodeLimit    The number of search nodes after which the exact search gives up.
+     * @param parallelThreshold The batch size from which planning runs in parallel.
+     */
+    public LoadPlanner(FleetStateIndex fleetStateIndex,
+                       @Value("${drones.load-planner.exact-max-orders:20}") int exactMaxOrders,
+                       @Value("${drones.load-planner.exact-node-limit:1000000}") long exactNodeLimit,
+                       @Value("${drones.load-planner.parallel-threshold:1000}") int parallelThreshold) {
+        this.fleetStateIndex = fleetStateIndex;
+        this.exactMaxOrders = exactMaxOrders;
+        this.exactNodeLimit = exactNodeLimit;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Plans a batch of orders across the drones currently in the LOADING state.
+     * The plan is advisory: no drone is loaded or changed.
+     *
+     * @param request The orders to plan and whether to search for an exact plan.
+     * @return A {@link LoadPlanDTO} with the orders planned onto each drone and the orders left unassigned.
+     * @throws ArithmeticException If the weight of an order overflows.
+     */
+    public LoadPlanDTO plan(LoadPlanRequestDTO request) {
+        int[] weights = new int[request.getOrders().size()];
+        for (int i = 0; i < weights.length; i++) {
+            LoadOrderDTO order = request.getOrders().get(i);
+            weights[i] = Math.multiplyExact(order.getMedication().getWeight(), order.getQuantity());
+        }
+        return plan(weights, fleetStateIndex.findUnclaimedByState(DroneState.LOADING, LocalDateTime.now()),
+                request.isExact());
+    }
+
+    /**
+     * Plans orders of the given weights across the given drones.
+     *
+     * @param weights       The weight of each order.
+     * @param loadingDrones The drones available for loading.
+     * @param exact         Whether to search for an exact plan when the batch is small enough.
+     * @return A {@link LoadPlanDTO} with the orders planned onto each drone and the orders left unassigned.
+     */
+    LoadPlanDTO plan(int[] weights, List<DroneDTO> loadingDrones, boolean exact) {
+        List<DroneDTO> drones = loadingDrones.stream()
+                .filter(drone -> drone.getBatteryCapacity() >= DroneService.MIN_BATTERY_CAPACITY_FOR_LOADING)
+                .sorted(BY_CAPACITY)
+                .toList();
+        int[] capacities = drones.stream().mapToInt(LoadPlanner::capacityOf).toArray();
+        boolean parallel = weights.length >= parallelThreshold;
+        int[] items = sortByWeightDescending(weights, parallel);
+
+        int[] byCapacity = IntStream.range(0, drones.size()).toArray();
+        int[] byBattery = IntStream.range(0, drones.size()).boxed()
+                .sorted(Comparator.comparing((Integer drone) -> drones.get(drone).getBatteryCapacity()).reversed())
+                .mapToInt(Integer::intValue)
+                .toArray();
+        Stream<Heuristic> candidates = Stream.of(byCapacity, byBattery)
+                .flatMap(openOrder -> Stream.<Heuristic>of(
+                        () -> bestFit(weights, items, capacities, openOrder),
+                        () -> firstFit(weights, items, capacities, openOrder)));
+        Assignment best = (parallel ? candidates.parallel() : candidates)
+                .map(Heuristic::run)
+                .reduce(null, LoadPlanner::better, LoadPlanner::better);
+
+        boolean optimal = false;
+        if (exact && weights.length <= exactMaxOrders) {
+            int maxCapacity = capacities.length == 0 ? -1 : capacities[0];
+            int[] assignable = Arrays.stream(items).filter(item -> weights[item] <= maxCapacity).toArray();
+            ExactSearch search = new ExactSearch(weights, assignable, capacities, exactNodeLimit);
+            Assignment exactAssignment = search.run(best);
+            if (exactAssignment != null) {
+                best = exactAssignment;
+            }
+            optimal = search.optimal;
+        }
+        return toDTO(best, drones, weights, optimal);
+    }
+
+    private static Assignment bestFit(int[] weights, int[] items, int[] capacities, int[] openOrder) {
+        Assignment assignment = new Assignment(weights.length, capacities.length);
+        TreeSet<Long> openDrones = new TreeSet<>();
+        for (int item : items) {
+            int weight = weights[item];
+            Long fit = openDrones.ceiling((long) weight << 32);
+            int drone;
+            if (fit != null) {
+                openDrones.remove(fit);
+                drone = (int) (fit & 0xFFFFFFFFL);
+            } else {
+                drone = assignment.open(weight, capacities, openOrder);
+                if (drone < 0) {
+                    continue;
+                }
+            }
+            assignment.assign(item, drone, weight);
+            openDrones.add(((long) assignment.remaining[drone] << 32) | drone);
+        }
+        return assignment;
+    }
+
+    private static Assignment firstFit(int[] weights, int[] items, int[] capacities, int[] openOrder) {
+        Assignment assignment = new Assignment(weights.length, capacities.length);
+        int[] openDrones = new int[capacities.length];
+        int openCount = 0;
+        for (int item : items) {
+            int weight = weights[item];
+            int drone = -1;
+            for (int i = 0; i < openCount && drone < 0; i++) {
+                if (assignment.remaining[openDrones[i]] >= weight) {
+                    drone = openDrones[i];
+                }
+            }
+            if (drone < 0) {
+                drone = assignment.open(weight, capacities, openOrder);
+                if (drone < 0) {
+                    continue;
+                }
+                openDrones[openCount++] = drone;
+            }
+            assignment.assign(item, drone, weight);
+        }
+        return assignment;
+    }
+
+    private static Assignment better(Assignment left, Assignment right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.assigned != right.assigned) {
+            return left.assigned > right.assigned ? left : right;
+        }
+        return right.used < left.used ? right : left;
+    }
+
+    private static int[] sortByWeightDescending(int[] weights, boolean parallel) {
+        long[] keys = new long[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            keys[i] = ((long) weights[i] << 32) | i;
+        }
+        if (parallel) {
+            Arrays.parallelSort(keys);
+        } else {
+            Arrays.sort(keys);
+        }
+        int[] items = new int[weights.length];
+        for (int i = 0; i < keys.length; i++) {
+            items[i] = (int) (keys[keys.length - 1 - i] & 0xFFFFFFFFL);
+        }
+        return items;
+    }
+
+    private static LoadPlanDTO toDTO(Assignment assignment, List<DroneDTO> drones, int[] weights, boolean optimal) {
+        List<List<Integer>> ordersByDrone = new ArrayList<>(drones.size());
+        drones.forEach(drone -> ordersByDrone.add(new ArrayList<>()));
+        List<Integer> unassigned = new ArrayList<>();
+        for (int item = 0; item < weights.length; item++) {
+            int drone = assignment.droneOf[item];
+            if (drone < 0) {
+                unassigned.add(item);
+            } else {
+                ordersByDrone.get(drone).add(item);
+            }
+        }
+        List<DroneLoadPlanDTO> plans = new ArrayList<>();
+        for (int drone = 0; drone < drones.size(); drone++) {
+            if (!ordersByDrone.get(drone).isEmpty()) {
+                DroneDTO droneDTO = drones.get(drone);
+                plans.add(new DroneLoadPlanDTO(droneDTO.getSerialNumber(), droneDTO.getWeightLimit(),
+                        droneDTO.getBatteryCapacity(), capacityOf(droneDTO) - assignment.remaining[drone],
+                        ordersByDrone.get(drone)));
+            }
+        }
+        return new LoadPlanDTO(plans, unassigned, optimal);
+    }
+
+    private static int capacityOf(DroneDTO drone) {
+        int loaded = drone.getCurrentLoadWeight() == null ? 0 : drone.getCurrentLoadWeight();
+        return Math.max(Math.min(drone.getWeightLimit(), DroneService.MAX_MEDICATION_WEIGHT) - loaded, 0);
+    }
+
+    /**
+     * A heuristic producing one candidate assignment.
+     */
+    @FunctionalInterface
+    private interface Heuristic {
+
+        Assignment run();
+    }
+
+    /**
+     * Assignment of orders to drones, indexed by the position of the drone in capacity order.
+     */
+    private static final class Assignment {
+
+        private final int[] droneOf;
+        private final int[] remaining;
+        private final boolean[] opened;
+        private int assigned;
+        private int used;
+
+        private Assignment(int orders, int drones) {
+            this.droneOf = new int[orders];
+            this.remaining = new int[drones];
+            this.opened = new boolean[drones];
+            Arrays.fill(droneOf, -1);
+        }
+
+        /**
+         * Opens the first unused drone in the given order that can carry the given weight.
+         *
+         * @return The index of the opened drone, or -1 if no unused drone can carry the weight.
+         */
+        private int open(int weight, int[] capacities, int[] openOrder) {
+            for (int drone : openOrder) {
+                if (!opened[drone] && capacities[drone] >= weight) {
+                    opened[drone] = true;
+                    remaining[drone] = capacities[drone];
+                    used++;
+                    return drone;
+                }
+            }
+            return -1;
+        }
+
+        private void assign(int item, int drone, int weight) {
+            droneOf[item] = drone;
+            remaining[drone] -= weight;
+            assigned++;
+        }
+    }
+
+    /**
+     * Depth-first search for an assignment of every order that some drone can carry, using as few drones as possible.
+     *
+     * Any plan using k drones still fits when each drone is swapped for a larger unused one, so it is enough to
+     * try the k largest drones for increasing k. Drones with the same remaining capacity are interchangeable,
+     * which prunes most symmetric branches.
+     */
+    private static final class ExactSearch {
+
+        private final int[] weights;
+        private final int[] items;
+        private final int[] capacities;
+        private final long nodeLimit;
+        private final long[] weightFrom;
+        private int[] remaining;
+        private int[] droneOf;
+        private long freeCapacity;
+        private long nodes;
+        private boolean optimal;
+
+        private ExactSearch(int[] weights, int[] items, int[] capacities, long nodeLimit) {
+            this.weights = weights;
+            this.items = items;
+            this.capacities = capacities;
+            this.nodeLimit = nodeLimit;
+            this.weightFrom = new long[items.length + 1];
+            for (int i = items.length - 1; i >= 0; i--) {
+                weightFrom[i] = weightFrom[i + 1] + weights[items[i]];
+            }
+        }
+
+        /**
+         * Searches for a plan with fewer drones than the heuristic one.
+         * Sets {@link #optimal} when the returned plan, or the heuristic one if none is returned, is proven minimal.
+         *
+         * @param heuristic The best heuristic assignment.
+         * @return A better assignment, or null if none was found.
+         */
+        private Assignment run(Assignment heuristic) {
+            long capacitySum = 0;
+            int lowerBound = 0;
+            while (lowerBound < capacities.length && capacitySum < weightFrom[0]) {
+                capacitySum += capacities[lowerBound++];
+            }
+            if (capacitySum < weightFrom[0]) {
+                return null;
+            }
+            boolean complete = heuristic.assigned == items.length;
+            int upperBound = complete ? heuristic.used : capacities.length + 1;
+            for (int drones = Math.max(lowerBound, 1); drones < upperBound; drones++) {
+                if (place(drones)) {
+                    optimal = true;
+                    return toAssignment(drones);
+                }
+                if (nodes > nodeLimit) {
+                    return null;
+                }
+            }
+            optimal = complete && nodes <= nodeLimit;
+            return null;
+        }
+
+        private boolean place(int drones) {
+            remaining = Arrays.copyOf(capacities, drones);
+            droneOf = new int[items.length];
+            freeCapacity = Arrays.stream(remaining).asLongStream().sum();
+            return place(0, drones);
+        }
+
+        private boolean place(int position, int drones) {
+            if (position == items.length) {
+                return true;
+            }
+            if (++nodes > nodeLimit || freeCapacity < weightFrom[position]) {
+                return false;
+            }
+            int weight = weights[items[position]];
+            for (int drone = 0; drone < drones; drone++) {
+                if (remaining[drone] < weight || seenBefore(drone)) {
+                    continue;
+                }
+                remaining[drone] -= weight;
+                freeCapacity -= weight;
+                droneOf[position] = drone;
+                if (place(position + 1, drones)) {
+                    return true;
+                }
+                remaining[drone] += weight;
+                freeCapacity += weight;
+            }
+            return false;
+        }
+
+        private boolean seenBefore(int drone) {
+            for (int earlier = 0; earlier < drone; earlier++) {
+                if (remaining[earlier] == remaining[drone]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Assignment toAssignment(int drones) {
+            Assignment assignment = new Assignment(weights.length, capacities.length);
+            for (int drone = 0; drone < drones; drone++) {
+                assignment.opened[drone] = true;
+                assignment.remaining[drone] = capacities[drone];
+            }
+            assignment.used = drones;
+            for (int position = 0; position < items.length; position++) {
+                assignment.assign(items[position], droneOf[position], weights[items[position]]);
+            }
+            return assignment;
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.DroneDTO;
+import com.elmenus.task.drones.dto.LoadRequestDTO;
+import com.elmenus.task.drones.dto.MedicationDTO;
+import com.elmenus.task.drones.exception.DroneNotFoundException;
+import com.elmenus.task.drones.exception.LoadQueueFullException;
+import com.elmenus.task.drones.exception.LoadRequestNotFoundException;
+import com.elmenus.task.drones.repository.DroneRepository;
+import com.elmenus.task.drones.shared.enums.LoadRequestStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class for loading drones asynchronously.
+ *
+ * Load requests are queued in a bounded queue and answered with a ticket straight away; a full queue rejects the
+ * request instead of letting it wait. A pool of workers drains the queue in batches and loads every drone of a
+ * batch in one transaction. If any load of the batch fails, the batch is rolled back and its requests are replayed
+ * one transaction each, so a single bad request only fails itself. Tickets are kept for a limited time after they
+ * are last updated.
+ */
+@Service
+public class LoadRequestQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadRequestQueue.class);
+
+    private static final long POLL_TIMEOUT_MILLIS = 200;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+
+    private final BlockingQueue<PendingLoad> queue;
+    private final Cache<String, LoadRequestDTO> tickets;
+    private final List<Thread> workers = new ArrayList<>();
+
+    private final DroneService droneService;
+    private final DroneRepository droneRepository;
+    private final DroneLookupCache droneLookupCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int workerCount;
+    private final int batchSize;
+
+    private volatile boolean running;
+
+    /**
+     * Constructor for the LoadRequestQueue class.
+     *
+     * @param droneService       The service loading the drones.
+     * @param droneRepository    The repository for managing Drone entities.
+     * @param droneLookupCache   The cache of drone snapshots by serial number.
+     * @param transactionManager The transaction manager used for the batch transactions.
+     * @param meterRegistry      The registry to publish the queue depth to.
+     * @param capacity           The maximum number of queued requests.
+     * @param workerCount        The number of workers draining the queue.
+     * @param batchSize          The maximum number of requests loaded in one transaction.
+     * @param ticketTtlMillis    How long a ticket is kept after its last update, in milliseconds.
+     */
+    public LoadRequestQueue(DroneService droneService, DroneRepository droneRepository,
+                            DroneLookupCache droneLookupCache, PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${drones.load-queue.capacity:1000}") int capacity,
+                            @Value("${drones.load-queue.workers:2}") int workerCount,
+                            @Value("${drones.load-queue.batch-size:50}") int batchSize,
+                            @Value("${drones.load-queue.ticket-ttl-ms:600000}") long ticketTtlMillis) {
+        this.droneService = droneService;
+        this.droneRepository = droneRepository;
+        this.droneLookupCache = droneLookupCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.tickets = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ticketTtlMillis))
+                .build();
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        Gauge.builder("drones.load.queue.depth", queue, BlockingQueue::size)
+                .description("Number of load requests waiting to be processed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts the workers once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::work, "load-request-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Queues a load request for a known drone.
+     *
+     * @param serialNumber The serial number of the drone to be loaded.
+     * @param medications  The medication lines to be loaded onto the drone.
+     * @param claimToken   The token of the lease the caller holds on the drone, or null if it holds none.
+     * @return The {@link LoadRequestDTO} ticket of the queued request.
+     * @throws DroneNotFoundException If the drone is not found with the given serial number.
+     * @throws LoadQueueFullException If the queue is full.
+     */
+    public LoadRequestDTO submit(String serialNumber, List<MedicationDTO> medications, String claimToken) {
+        if (droneLookupCache.get(serialNumber, droneRepository::findBySerialNumber).isEmpty()) {
+            throw new DroneNotFoundException("Drone not found with serial number: " + serialNumber);
+        }
+        LoadRequestDTO ticket = LoadRequestDTO.builder()
+                .id(UUID.randomUUID().toString())
+                .serialNumber(serialNumber)
+                .status(LoadRequestStatus.QUEUED)
+                .submittedAt(Instant.now())
+                .build();
+        tickets.put(ticket.getId(), ticket);
+        if (!queue.offer(new PendingLoad(ticket.getId(), serialNumber, medications, claimToken))) {
+            tickets.invalidate(ticket.getId());
+            throw new LoadQueueFullException("Load request queue is full, retry later");
+        }
+        return ticket;
+    }
+
+    /**
+     * Retrieves the ticket of a load request.
+     *
+     * @param id The identifier of the ticket.
+     * @return The {@link LoadRequestDTO} ticket.
+     * @throws LoadRequestNotFoundException If the ticket is unknown or has expired.
+     */
+    public LoadRequestDTO get(String id) {
+        LoadRequestDTO ticket = tickets.getIfPresent(id);
+        if (ticket == null) {
+            throw new LoadRequestNotFoundException("Load request not found with id: " + id);
+        }
+        return ticket;
+    }
+
+    /**
+     * Retrieves the number of queued requests.
+     *
+     * @return The depth of the queue.
+     */
+    public int depth() {
+        return queue.size();
+    }
+
+    /**
+     * Processes one batch from the queue without waiting for requests to arrive.
+     *
+     * @return The number of processed requests.
+     */
+    int drain() {
+        PendingLoad first = queue.poll();
+        return first == null ? 0 : process(first);
+    }
+
+    private void work() {
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingLoad first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    process(first);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Load request worker failed to process a batch", ex);
+            }
+        }
+    }
+
+    private int process(PendingLoad first) {
+        List<PendingLoad> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        List<DroneDTO> loaded;
+        try {
+            loaded = transactionTemplate.execute(status -> batch.stream().map(this::load).toList());
+        } catch (RuntimeException ex) {
+            // Replayed even for a batch of one: a conflict raised at commit escaped the retries of the load itself.
+            log.debug("Batch of {} load requests failed, replaying them one by one", batch.size(), ex);
+            batch.forEach(this::processAlone);
+            return batch.size();
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            complete(batch.get(i), loaded.get(i));
+        }
+        return batch.size();
+    }
+
+    private void processAlone(PendingLoad request) {
+        try {
+            complete(request, load(request));
+        } catch (RuntimeException ex) {
+            fail(request, ex);
+        }
+    }
+
+    private DroneDTO load(PendingLoad request) {
+        return droneService.loadDroneWithMedications(request.serialNumber(), request.medications(),
+                request.claimToken()).orElseThrow();
+    }
+
+    private void complete(PendingLoad request, DroneDTO drone) {
+        tickets.asMap().computeIfPresent(request.id(), (id, ticket) -> ticket.toBuilder()
+                .status(LoadRequestStatus.COMPLETED)
+                .completedAt(Instant.now())
+                .drone(drone)
+                .build());
+    }
+
+    private void fail(PendingLoad request, RuntimeException ex) {
+        tickets.asMap().computeIfPresent(request.id(), (id, ticket) -> ticket.toBuilder()
+                .status(LoadRequestStatus.FAILED)
+                .completedAt(Instant.now())
+                .error(ex.getMessage())
+                .build());
+    }
+
+    /**
+     * Stops the workers after they drained the queue, waiting a bounded time for them.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(SHUTDOWN_TIMEOUT_MILLIS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Load request queue stopped with {} requests left unprocessed", queue.size());
+        }
+    }
+
+    /**
+     * A queued load request.
+     *
+     * @param id           The identifier of the ticket.
+     * @param serialNumber The serial number of the drone to be loaded.
+     * @param medications  The medication lines to be loaded onto the drone.
+     * @param claimToken   The token of the lease the caller holds on the drone, or null if it holds none.
+     */
+    private record PendingLoad(String id, String serialNumber, List<MedicationDTO> medications, String claimToken) {
+    }
+}
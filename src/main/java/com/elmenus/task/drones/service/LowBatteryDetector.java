@@ -0,0 +1,47 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.DroneSnapshot;
+import com.elmenus.task.drones.event.LowBatteryEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Detects battery readings that cross below {@link DroneService#MIN_BATTERY_CAPACITY_FOR_LOADING}
+ * and publishes a {@link LowBatteryEvent} for each crossing.
+ *
+ * Every path that changes the battery capacity of a drone should report the change here, so that
+ * low batteries are handled as soon as they are reported rather than by the periodic sweep.
+ */
+@Component
+public class LowBatteryDetector {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Constructor for the LowBatteryDetector class.
+     *
+     * @param eventPublisher The publisher used to emit low-battery events.
+     */
+    public LowBatteryDetector(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Checks a battery change for a threshold crossing and publishes a {@link LowBatteryEvent} if one occurred.
+     *
+     * @param drone              The {@link DroneSnapshot} of the drone before the change.
+     * @param newBatteryCapacity The new battery capacity of the drone.
+     * @return True if the change crossed below the threshold; false otherwise.
+     */
+    public boolean onBatteryChanged(DroneSnapshot drone, int newBatteryCapacity) {
+        if (drone.getBatteryCapacity() < DroneService.MIN_BATTERY_CAPACITY_FOR_LOADING
+                || newBatteryCapacity >= DroneService.MIN_BATTERY_CAPACITY_FOR_LOADING) {
+            return false;
+        }
+        eventPublisher.publishEvent(new LowBatteryEvent(drone.getId(), drone.getSerialNumber(),
+                drone.getBatteryCapacity(), newBatteryCapacity, LocalDateTime.now()));
+        return true;
+    }
+}
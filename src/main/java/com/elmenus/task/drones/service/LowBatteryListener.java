@@ -0,0 +1,38 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.event.LowBatteryEvent;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Listener that queues the IDLE transition of a drone as soon as a {@link LowBatteryEvent} is committed.
+ *
+ * Transitions run on the {@code lowBatteryExecutor}, so the request that reported the reading never waits
+ * for them. Events that cannot be queued are picked up by the periodic low-battery sweep.
+ */
+@Component
+public class LowBatteryListener {
+
+    private final DroneService droneService;
+
+    /**
+     * Constructor for the LowBatteryListener class.
+     *
+     * @param droneService The service performing the IDLE transition.
+     */
+    public LowBatteryListener(DroneService droneService) {
+        this.droneService = droneService;
+    }
+
+    /**
+     * Handles a low-battery event by moving the drone to IDLE.
+     *
+     * @param event The low-battery event.
+     */
+    @Async("lowBatteryExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLowBattery(LowBatteryEvent event) {
+        droneService.idleLowBatteryDrone(event.getDroneId(), event.getSerialNumber(), event.getBatteryCapacity());
+    }
+}
@@ -0,0 +1,176 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.MedicationDTO;
+import com.elmenus.task.drones.entity.Medication;
+import com.elmenus.task.drones.exception.MedicationConflictException;
+import com.elmenus.task.drones.repository.MedicationCatalogRepository;
+import com.elmenus.task.drones.repository.MedicationRepository;
+import com.elmenus.task.drones.shared.utility.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Catalog of medications keyed by their unique code.
+ *
+ * Every medication is stored once. Loads resolve each ordered medication against an in-memory copy of the catalog,
+ * which is warmed at startup, so a load that references known medications only writes {@code drone_medication}
+ * rows. Unknown codes are inserted within the transaction of the load that introduces them and only cached once it
+ * commits. Catalog entries are never changed by a load: an ordered medication whose name, weight or image differs
+ * from the entry with its code is rejected, as every load carrying that code is weighed by the entry.
+ */
+@Component
+public class MedicationCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(MedicationCatalog.class);
+
+    private final Map<String, Medication> medicationsByCode = new ConcurrentHashMap<>();
+
+    private final MedicationRepository medicationRepository;
+    private final MedicationCatalogRepository medicationCatalogRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructor for the MedicationCatalog class.
+     *
+     * @param medicationRepository        The repository for managing Medication entities.
+     * @param medicationCatalogRepository The repository inserting catalog entries.
+     * @param transactionManager          The transaction manager used to warm the catalog.
+     */
+    public MedicationCatalog(MedicationRepository medicationRepository,
+                             MedicationCatalogRepository medicationCatalogRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.medicationRepository = medicationRepository;
+        this.medicationCatalogRepository = medicationCatalogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Loads the whole catalog into memory once the application is ready.
+     * Duplicate codes left over from before the catalog existed resolve to the first row found.
+     *
+     * @return The number of cached medications.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int warm() {
+        medicationsByCode.clear();
+        transactionTemplate.executeWithoutResult(status -> medicationRepository.findAll()
+                .forEach(medication -> medicationsByCode.putIfAbsent(medication.getCode(), detached(medication))));
+        log.info("Medication catalog warmed with {} medications", medicationsByCode.size());
+        return medicationsByCode.size();
+    }
+
+    /**
+     * Resolves an ordered medication to its catalog entry, inserting the entry when the code is unknown.
+     * Must be called within the transaction of the load: the returned entity is a lazy reference that is bound
+     * to it, so a {@code drone_medication} row can point at the medication without selecting it, and an inserted
+     * entry is rolled back with the load.
+     *
+     * @param medicationDTO The ordered medication.
+     * @return A reference to the {@link Medication} catalog entry with the same code.
+     * @throws MedicationConflictException If the catalog entry with the same code has another name, weight or image.
+     */
+    public Medication resolve(MedicationDTO medicationDTO) {
+        Medication medication = medicationsByCode.get(medicationDTO.getCode());
+        if (medication == null) {
+            Medication stored = findOrInsert(medicationDTO);
+            TransactionCallbacks.afterCommit(() -> medicationsByCode.putIfAbsent(stored.getCode(), stored));
+            medication = stored;
+        }
+        if (!matches(medication, medicationDTO)) {
+            throw new MedicationConflictException("Medication " + medicationDTO.getCode()
+                    + " does not match the catalog entry with the same code");
+        }
+        return medicationRepository.getReferenceById(medication.getId());
+    }
+
+    /**
+     * Checks an ordered medication against the catalog entry with the same code, if there is one, without creating it.
+     *
+     * @param medicationDTO The ordered medication.
+     * @throws MedicationConflictException If the catalog entry with the same code has another name, weight or image.
+     */
+    public void verify(MedicationDTO medicationDTO) {
+        find(medicationDTO.getCode())
+                .filter(medication -> !matches(medication, medicationDTO))
+                .ifPresent(medication -> {
+                    throw new MedicationConflictException("Medication " + medicationDTO.getCode()
+                            + " does not match the catalog entry with the same code");
+                });
+    }
+
+    /**
+     * Finds a catalog entry by code without creating it.
+     *
+     * @param code The medication code.
+     * @return An optional detached copy of the {@link Medication} catalog entry.
+     */
+    public Optional<Medication> find(String code) {
+        Medication cached = medicationsByCode.get(code);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return medicationRepository.findByCode(code)
+                .map(MedicationCatalog::detached)
+                .map(medication -> {
+                    medicationsByCode.putIfAbsent(medication.getCode(), medication);
+                    return medication;
+                });
+    }
+
+    /**
+     * Retrieves the number of cached medications.
+     *
+     * @return The size of the catalog.
+     */
+    public int size() {
+        return medicationsByCode.size();
+    }
+
+    /**
+     * Reads the catalog entry with the code of an ordered medication, inserting it if there is none.
+     * A concurrent load inserting the same code makes the insert fail once that load commits, in which case
+     * its entry is read instead.
+     *
+     * @param medicationDTO The ordered medication.
+     * @return The detached {@link Medication} catalog entry.
+     */
+    private Medication findOrInsert(MedicationDTO medicationDTO) {
+        Optional<Medication> stored = medicationCatalogRepository.findByCode(medicationDTO.getCode());
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+        try {
+            return medicationCatalogRepository.insert(medicationDTO);
+        } catch (DuplicateKeyException ex) {
+            return medicationCatalogRepository.findByCode(medicationDTO.getCode()).orElseThrow(() -> ex);
+        }
+    }
+
+    private static boolean matches(Medication medication, MedicationDTO medicationDTO) {
+        return Objects.equals(medication.getName(), medicationDTO.getName())
+                && Objects.equals(medication.getWeight(), medicationDTO.getWeight())
+                && Objects.equals(medication.getImage(), medicationDTO.getImage());
+    }
+
+    private static Medication detached(Medication medication) {
+        return Medication.builder()
+                .id(medication.getId())
+                .name(medication.getName())
+                .weight(medication.getWeight())
+                .code(medication.getCode())
+                .image(medication.getImage())
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.elmenus.task.drones.shared.enums;
+
+/**
+ * Enum representing what the audit writer does with an event when its queue is full.
+ *
+ * @since 1.0
+ */
+public enum AuditBackpressurePolicy {
+    /**
+     * The caller waits until the queue has room.
+     */
+    BLOCK,
+
+    /**
+     * The event is discarded and counted.
+     */
+    DROP,
+
+    /**
+     * The event is appended to a spill file on disk and written once the queue has drained.
+     */
+    SPILL
+}
@@ -0,0 +1,62 @@
+package com.elmenus.task.drones.shared.enums;
+
+/**
+ * Enum representing the types of events recorded in the audit log.
+ *
+ * Each type is stored as its small, fixed {@link #getCode() code} rather than its name, so constants may be
+ * reordered or renamed freely, but codes must never be reused.
+ *
+ * @since 1.0
+ */
+public enum AuditEventType {
+    /**
+     * An event recorded as free text before events were typed, kept with its original description.
+     */
+    LEGACY(0),
+
+    /**
+     * The state of a drone changed.
+     */
+    STATE_CHANGED(1),
+
+    /**
+     * The battery of a drone dropped below the minimum capacity required for loading.
+     */
+    LOW_BATTERY(2),
+
+    /**
+     * A drone stayed in a state for longer than the timeout of that state.
+     */
+    STATE_TIMED_OUT(3);
+
+    private final byte code;
+
+    AuditEventType(int code) {
+        this.code = (byte) code;
+    }
+
+    /**
+     * Retrieves the code stored for this type.
+     *
+     * @return The code of the type.
+     */
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * Finds the type stored with the given code.
+     *
+     * @param code The code of the type.
+     * @return The {@link AuditEventType} with the given code.
+     * @throws IllegalArgumentException If no type has the given code.
+     */
+    public static AuditEventType fromCode(int code) {
+        for (AuditEventType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown audit event type code: " + code);
+    }
+}
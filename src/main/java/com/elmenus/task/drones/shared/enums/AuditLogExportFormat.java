@@ -0,0 +1,44 @@
+package com.elmenus.task.drones.shared.enums;
+
+/**
+ * Enum representing the formats the audit log can be exported in.
+ *
+ * @since 1.0
+ */
+public enum AuditLogExportFormat {
+    /**
+     * One JSON object per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * Comma-separated values with a header line.
+     */
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    AuditLogExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /**
+     * Retrieves the media type of the format.
+     *
+     * @return The content type of an export in this format.
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Retrieves the file extension of the format.
+     *
+     * @return The file extension, without the leading dot.
+     */
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -3,6 +3,7 @@ package com.elmenus.task.drones.shared.enums;
 /**
  * Enum representing different states of drones based on their state classes.
  * The drone states provide information about the current operational state of a drone.
+ * The audit log stores states by ordinal, so new states must be added at the end.
  *
  * @since 1.0
  */
@@ -0,0 +1,23 @@
+package com.elmenus.task.drones.shared.enums;
+
+/**
+ * Enum representing the progress of a load request submitted for asynchronous processing.
+ *
+ * @since 1.0
+ */
+public enum LoadRequestStatus {
+    /**
+     * The request is waiting in the load request queue.
+     */
+    QUEUED,
+
+    /**
+     * The drone was loaded.
+     */
+    COMPLETED,
+
+    /**
+     * The drone could not be loaded; the request carries the reason.
+     */
+    FAILED
+}
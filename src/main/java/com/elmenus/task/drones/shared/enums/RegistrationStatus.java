@@ -0,0 +1,18 @@
+package com.elmenus.task.drones.shared.enums;
+
+/**
+ * Enum representing the outcome of registering a single drone as part of a bulk registration.
+ *
+ * @since 1.0
+ */
+public enum RegistrationStatus {
+    /**
+     * The drone passed validation and was stored.
+     */
+    REGISTERED,
+
+    /**
+     * The drone failed validation or clashed with an existing serial number and was not stored.
+     */
+    REJECTED
+}
@@ -0,0 +1,50 @@
+package com.elmenus.task.drones.shared.utility;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Position of an audit log page, given by the timestamp and id of the last event returned.
+ *
+ * Clients receive the position as an opaque URL-safe token and pass it back unchanged to fetch the next page.
+ *
+ * @param eventTimestamp The timestamp of the last event returned.
+ * @param id             The id of the last event returned.
+ */
+public record AuditLogCursor(LocalDateTime eventTimestamp, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Encodes the cursor as an opaque token.
+     *
+     * @return The URL-safe token of the cursor.
+     */
+    public String encode() {
+        String position = eventTimestamp.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token The token.
+     * @return The decoded cursor, or an empty optional if the token is malformed.
+     */
+    public static Optional<AuditLogCursor> decode(String token) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                return Optional.empty();
+            }
+            return Optional.of(new AuditLogCursor(LocalDateTime.parse(position.substring(0, separator)),
+                    Long.parseLong(position.substring(separator + 1))));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.elmenus.task.drones.shared.utility;
+
+/**
+ * Fixed-size ring of battery samples for a single drone, stored in primitive arrays.
+ *
+ * Each sample is a timestamp in epoch milliseconds and a battery level between 0 and 100. Samples are kept in
+ * time order; once the ring is full the oldest sample is overwritten. All methods are thread-safe.
+ */
+public class BatteryHistoryRing {
+
+    private static final int OBJECT_OVERHEAD_BYTES = 32;
+    private static final int ARRAY_OVERHEAD_BYTES = 16;
+
+    private final long[] timestamps;
+    private final byte[] levels;
+    private int head;
+    private int size;
+
+    /**
+     * Constructs a new BatteryHistoryRing holding up to the given number of samples.
+     *
+     * @param capacity The maximum number of samples kept.
+     */
+    public BatteryHistoryRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Battery history capacity must be positive");
+        }
+        this.timestamps = new long[capacity];
+        this.levels = new byte[capacity];
+    }
+
+    /**
+     * Calculates the heap footprint of a ring with the given capacity.
+     *
+     * @param capacity The maximum number of samples kept.
+     * @return The approximate number of bytes used by one ring.
+     */
+    public static long footprintBytes(int capacity) {
+        return OBJECT_OVERHEAD_BYTES
+                + ARRAY_OVERHEAD_BYTES + (long) Long.BYTES * capacity
+                + ARRAY_OVERHEAD_BYTES + (long) Byte.BYTES * capacity;
+    }
+
+    /**
+     * Appends a sample, overwriting the oldest one when the ring is full.
+     * Samples older than the latest recorded sample are ignored to keep the ring in time order.
+     *
+     * @param timestamp The time of the sample, in epoch milliseconds.
+     * @param level     The battery level, between 0 and 100.
+     * @return True if the sample was recorded; false if it was older than the latest sample.
+     */
+    public synchronized boolean append(long timestamp, int level) {
+        if (size > 0 && timestamp < timestamps[index(size - 1)]) {
+            return false;
+        }
+        int slot = index(size);
+        timestamps[slot] = timestamp;
+        levels[slot] = (byte) level;
+        if (size < timestamps.length) {
+            size++;
+        } else {
+            head = (head + 1) % timestamps.length;
+        }
+        return true;
+    }
+
+    /**
+     * Copies the samples within the given time range, downsampled into buckets of the given width.
+     * Buckets are aligned on the epoch, and each one is reported at its start time with the average level of its
+     * samples, rounded to the nearest integer. A width of zero or less returns the raw samples.
+     *
+     * @param from        The inclusive start of the range, in epoch milliseconds.
+     * @param to          The exclusive end of the range, in epoch milliseconds.
+     * @param bucketWidth The width of each bucket, in milliseconds.
+     * @param sink        The receiver of each reported sample.
+     */
+    public synchronized void query(long from, long to, long bucketWidth, BatterySampleSink sink) {
+        int position = firstAtOrAfter(from);
+        long bucketStart = Long.MIN_VALUE;
+        long levelSum = 0;
+        int count = 0;
+        for (; position < size; position++) {
+            int slot = index(position);
+            long timestamp = timestamps[slot];
+            if (timestamp >= to) {
+                break;
+            }
+            if (bucketWidth <= 0) {
+                sink.accept(timestamp, levels[slot]);
+                continue;
+            }
+            long start = Math.floorDiv(timestamp, bucketWidth) * bucketWidth;
+            if (start != bucketStart && count > 0) {
+                sink.accept(bucketStart, (int) Math.round((double) levelSum / count));
+                levelSum = 0;
+                count = 0;
+            }
+            bucketStart = start;
+            levelSum += levels[slot];
+            count++;
+        }
+        if (count > 0) {
+            sink.accept(bucketStart, (int) Math.round((double) levelSum / count));
+        }
+    }
+
+    /**
+     * Retrieves the number of samples currently held.
+     *
+     * @return The number of samples.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Retrieves the maximum number of samples held.
+     *
+     * @return The capacity of the ring.
+     */
+    public int capacity() {
+        return timestamps.length;
+    }
+
+    private int firstAtOrAfter(long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (timestamps[index(middle)] < timestamp) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int index(int position) {
+        return (head + position) % timestamps.length;
+    }
+}
@@ -0,0 +1,16 @@
+package com.elmenus.task.drones.shared.utility;
+
+/**
+ * Receiver of battery samples decoded from a history ring or an encoded series.
+ */
+@FunctionalInterface
+public interface BatterySampleSink {
+
+    /**
+     * Accepts one sample.
+     *
+     * @param timestamp The time of the sample, in epoch milliseconds.
+     * @param level     The battery level.
+     */
+    void accept(long timestamp, int level);
+}
@@ -0,0 +1,189 @@
+package com.elmenus.task.drones.shared.utility;
+
+import java.util.Arrays;
+
+/**
+ * Bit-packed encoding of a series of battery samples.
+ *
+ * The first sample is stored as a raw 64-bit timestamp and a 7-bit level. Every following timestamp is stored as
+ * the zig-zag encoded difference between its delta and the previous delta, using a variable-length prefix code,
+ * so regularly spaced samples cost a single bit. Levels are stored as a one-bit "unchanged" flag or as an 8-bit
+ * zig-zag delta. Samples do not have to be in time order, although ordered samples compress best.
+ *
+ * An encoder is not thread-safe; callers must synchronize access to it.
+ */
+public class BatterySeriesCodec {
+
+    private static final int LEVEL_BITS = 7;
+    private static final int LEVEL_DELTA_BITS = 8;
+
+    /**
+     * Value bit widths of the delta-of-delta buckets, indexed by the number of leading one bits of the prefix.
+     */
+    private static final int[] DELTA_OF_DELTA_BITS = {0, 7, 9, 12, 32, 64};
+
+    private byte[] buffer = new byte[64];
+    private long bitLength;
+    private int count;
+    private long minTimestamp = Long.MAX_VALUE;
+    private long maxTimestamp = Long.MIN_VALUE;
+    private long previousTimestamp;
+    private long previousDelta;
+    private int previousLevel;
+
+    /**
+     * Appends a sample to the series.
+     *
+     * @param timestamp The time of the sample, in epoch milliseconds.
+     * @param level     The battery level, between 0 and 100.
+     */
+    public void append(long timestamp, int level) {
+        if (count == 0) {
+            writeBits(timestamp, Long.SIZE);
+            writeBits(level, LEVEL_BITS);
+        } else {
+            long delta = timestamp - previousTimestamp;
+            writeDeltaOfDelta(zigZag(delta - previousDelta));
+            previousDelta = delta;
+            int levelDelta = level - previousLevel;
+            if (levelDelta == 0) {
+                writeBits(0, 1);
+            } else {
+                writeBits(1, 1);
+                writeBits(zigZag(levelDelta), LEVEL_DELTA_BITS);
+            }
+        }
+        previousTimestamp = timestamp;
+        previousLevel = level;
+        minTimestamp = Math.min(minTimestamp, timestamp);
+        maxTimestamp = Math.max(maxTimestamp, timestamp);
+        count++;
+    }
+
+    /**
+     * Retrieves the number of encoded samples.
+     *
+     * @return The number of samples.
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Retrieves the earliest encoded timestamp.
+     *
+     * @return The earliest timestamp, in epoch milliseconds.
+     */
+    public long minTimestamp() {
+        return minTimestamp;
+    }
+
+    /**
+     * Retrieves the latest encoded timestamp.
+     *
+     * @return The latest timestamp, in epoch milliseconds.
+     */
+    public long maxTimestamp() {
+        return maxTimestamp;
+    }
+
+    /**
+     * Copies the encoded series, padded to a whole number of bytes.
+     *
+     * @return The encoded payload.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, (int) ((bitLength + 7) / 8));
+    }
+
+    /**
+     * Decodes a payload produced by {@link #toByteArray()}.
+     *
+     * @param payload The encoded payload.
+     * @param count   The number of samples in the payload.
+     * @param sink    The receiver of each decoded sample.
+     */
+    public static void decode(byte[] payload, int count, BatterySampleSink sink) {
+        if (count == 0) {
+            return;
+        }
+        BitReader reader = new BitReader(payload);
+        long timestamp = reader.readBits(Long.SIZE);
+        int level = (int) reader.readBits(LEVEL_BITS);
+        sink.accept(timestamp, level);
+        long delta = 0;
+        for (int i = 1; i < count; i++) {
+            int bucket = 0;
+            while (bucket < DELTA_OF_DELTA_BITS.length - 1 && reader.readBits(1) == 1) {
+                bucket++;
+            }
+            int bits = DELTA_OF_DELTA_BITS[bucket];
+            delta += bits == 0 ? 0 : unZigZag(reader.readBits(bits));
+            timestamp += delta;
+            if (reader.readBits(1) == 1) {
+                level += (int) unZigZag(reader.readBits(LEVEL_DELTA_BITS));
+            }
+            sink.accept(timestamp, level);
+        }
+    }
+
+    private void writeDeltaOfDelta(long zigZagged) {
+        for (int bucket = 0; bucket < DELTA_OF_DELTA_BITS.length; bucket++) {
+            int bits = DELTA_OF_DELTA_BITS[bucket];
+            if (bits == Long.SIZE || zigZagged >>> bits == 0) {
+                for (int i = 0; i < bucket; i++) {
+                    writeBits(1, 1);
+                }
+                if (bucket < DELTA_OF_DELTA_BITS.length - 1) {
+                    writeBits(0, 1);
+                }
+                writeBits(zigZagged, bits);
+                return;
+            }
+        }
+    }
+
+    private void writeBits(long value, int bits) {
+        for (int i = bits - 1; i >= 0; i--) {
+            int byteIndex = (int) (bitLength >>> 3);
+            if (byteIndex == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            if (((value >>> i) & 1) == 1) {
+                buffer[byteIndex] |= (byte) (0x80 >>> (bitLength & 7));
+            }
+            bitLength++;
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Sequential reader of the bits of an encoded payload.
+     */
+    private static final class BitReader {
+
+        private final byte[] payload;
+        private long position;
+
+        private BitReader(byte[] payload) {
+            this.payload = payload;
+        }
+
+        private long readBits(int bits) {
+            long value = 0;
+            for (int i = 0; i < bits; i++) {
+                int bit = (payload[(int) (position >>> 3)] >>> (7 - (position & 7))) & 1;
+                value = (value << 1) | bit;
+                position++;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.elmenus.task.drones.shared.utility;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Hashed timer wheel holding at most one timer per key, each carrying a value handed back when it expires.
+ *
+ * Time is cut into ticks of a fixed width, and each timer hangs off the slot its deadline tick hashes to in a
+ * power-of-two ring of slots, in a doubly linked list. Arming and cancelling a timer are O(1) whatever the number of
+ * timers; advancing the wheel visits only the slots of the elapsed ticks, where timers due in a later revolution of
+ * the ring are simply skipped. Deadlines are rounded up to the next tick, so a timer never expires early and
+ * expires at most one tick late, plus the delay between two calls to {@link #advance}. All methods are thread-safe.
+ *
+ * @param <K> The type of the keys of the timers.
+ * @param <V> The type of the values carried by the timers.
+ */
+public class HashedTimerWheel<K, V> {
+
+    private final long tickMillis;
+    private final Timer<K, V>[] slots;
+    private final int mask;
+    private final Map<K, Timer<K, V>> timers = new HashMap<>();
+    private long currentTick;
+
+    /**
+     * Constructs a new HashedTimerWheel starting at the given time.
+     *
+     * @param tickMillis The width of a tick, in milliseconds.
+     * @param slotCount  The number of slots, rounded up to a power of two.
+     * @param nowMillis  The current time, in epoch milliseconds.
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimerWheel(long tickMillis, int slotCount, long nowMillis) {
+        if (tickMillis <= 0 || slotCount <= 0 || slotCount > 1 << 30) {
+            throw new IllegalArgumentException("Timer wheel tick and slot count must be positive");
+        }
+        this.tickMillis = tickMillis;
+        int size = Integer.highestOneBit(slotCount) == slotCount ? slotCount : Integer.highestOneBit(slotCount) << 1;
+        this.slots = new Timer[size];
+        this.mask = size - 1;
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Arms the timer of a key, replacing any timer the key already had.
+     * A deadline that has already passed expires on the next call to {@link #advance}.
+     *
+     * @param key            The key of the timer.
+     * @param value          The value handed back when the timer expires.
+     * @param deadlineMillis The time the timer expires at, in epoch milliseconds.
+     */
+    public synchronized void arm(K key, V value, long deadlineMillis) {
+        Timer<K, V> previous = timers.remove(key);
+        if (previous != null) {
+            unlink(previous);
+        }
+        long deadlineTick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick + 1);
+        Timer<K, V> timer = new Timer<>(key, value, deadlineTick);
+        link(timer);
+        timers.put(key, timer);
+    }
+
+    /**
+     * Arms the timer of a key unless the key already has one.
+     *
+     * @param key            The key of the timer.
+     * @param value          The value handed back when the timer expires.
+     * @param deadlineMillis The time the timer expires at, in epoch milliseconds.
+     * @return True if the timer was armed; false if the key already had a timer.
+     */
+    public synchronized boolean armIfAbsent(K key, V value, long deadlineMillis) {
+        if (timers.containsKey(key)) {
+            return false;
+        }
+        arm(key, value, deadlineMillis);
+        return true;
+    }
+
+    /**
+     * Cancels the timer of a key.
+     *
+     * @param key The key of the timer.
+     * @return True if the key had a timer; false otherwise.
+     */
+    public synchronized boolean cancel(K key) {
+        Timer<K, V> timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        unlink(timer);
+        return true;
+    }
+
+    /**
+     * Removes all timers.
+     */
+    public synchronized void clear() {
+        timers.clear();
+        Arrays.fill(slots, null);
+    }
+
+    /**
+     * Retrieves the number of armed timers.
+     *
+     * @return The number of armed timers.
+     */
+    public synchronized int size() {
+        return timers.size();
+    }
+
+    /**
+     * Advances the wheel to the given time, removing every timer due by then and handing it to the given consumer.
+     * The consumer runs while the wheel is locked, so it should only collect the expired timers.
+     *
+     * @param nowMillis The current time, in epoch milliseconds.
+     * @param expired   The receiver of the key and value of each expired timer.
+     * @return The number of expired timers.
+     */
+    public synchronized int advance(long nowMillis, BiConsumer<K, V> expired) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        if (targetTick <= currentTick) {
+            return 0;
+        }
+        long ticks = Math.min(targetTick - currentTick, slots.length);
+        int count = 0;
+        for (long tick = currentTick + 1; tick <= currentTick + ticks; tick++) {
+            Timer<K, V> timer = slots[(int) (tick & mask)];
+            while (timer != null) {
+                Timer<K, V> next = timer.next;
+                if (timer.deadlineTick <= targetTick) {
+                    unlink(timer);
+                    timers.remove(timer.key);
+                    expired.accept(timer.key, timer.value);
+                    count++;
+                }
+                timer = next;
+            }
+        }
+        currentTick = targetTick;
+        return count;
+    }
+
+    private void link(Timer<K, V> timer) {
+        int slot = (int) (timer.deadlineTick & mask);
+        Timer<K, V> head = slots[slot];
+        timer.next = head;
+        if (head != null) {
+            head.previous = timer;
+        }
+        slots[slot] = timer;
+    }
+
+    private void unlink(Timer<K, V> timer) {
+        if (timer.previous != null) {
+            timer.previous.next = timer.next;
+        } else {
+            slots[(int) (timer.deadlineTick & mask)] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.previous = timer.previous;
+        }
+        timer.previous = null;
+        timer.next = null;
+    }
+
+    /**
+     * A timer linked into its slot.
+     */
+    private static final class Timer<K, V> {
+
+        private final K key;
+        private final V value;
+        private final long deadlineTick;
+        private Timer<K, V> previous;
+        private Timer<K, V> next;
+
+        private Timer(K key, V value, long deadlineTick) {
+            this.key = key;
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
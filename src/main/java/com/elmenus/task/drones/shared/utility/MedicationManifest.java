@@ -0,0 +1,89 @@
+package com.elmenus.task.drones.shared.utility;
+
+import com.elmenus.task.drones.dto.MedicationDTO;
+import com.elmenus.task.drones.exception.MedicationConflictException;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Manifest of a load, aggregated by medication code in a single pass over the requested lines.
+ *
+ * Lines sharing a code are merged: their quantities are summed and the first line describes the medication.
+ * Lines sharing a code must describe the same medication, with the same name, weight and image.
+ * A line without a quantity counts once.
+ */
+public final class MedicationManifest {
+
+    private final Map<String, MedicationDTO> medicationsByCode;
+    private final Map<String, Integer> quantitiesByCode;
+    private final int totalWeight;
+
+    private MedicationManifest(Map<String, MedicationDTO> medicationsByCode, Map<String, Integer> quantitiesByCode,
+                               int totalWeight) {
+        this.medicationsByCode = medicationsByCode;
+        this.quantitiesByCode = quantitiesByCode;
+        this.totalWeight = totalWeight;
+    }
+
+    /**
+     * Aggregates the requested medication lines by code.
+     *
+     * @param medications The requested medication lines.
+     * @return The {@link MedicationManifest} of the lines.
+     * @throws ArithmeticException         If the total weight overflows an {@code int}.
+     * @throws MedicationConflictException If two lines share a code but differ in name, weight or image.
+     */
+    public static MedicationManifest of(Collection<MedicationDTO> medications) {
+        Map<String, MedicationDTO> medicationsByCode = new LinkedHashMap<>();
+        Map<String, Integer> quantitiesByCode = new LinkedHashMap<>();
+        int totalWeight = 0;
+        for (MedicationDTO medication : medications) {
+            int quantity = medication.getQuantity() == null ? 1 : medication.getQuantity();
+            MedicationDTO first = medicationsByCode.putIfAbsent(medication.getCode(), medication);
+            if (first != null && !describesSameMedication(first, medication)) {
+                throw new MedicationConflictException("Lines for medication " + medication.getCode()
+                        + " differ in name, weight or image");
+            }
+            quantitiesByCode.merge(medication.getCode(), quantity, Math::addExact);
+            totalWeight = Math.addExact(totalWeight, Math.multiplyExact(medication.getWeight(), quantity));
+        }
+        return new MedicationManifest(medicationsByCode, quantitiesByCode, totalWeight);
+    }
+
+    private static boolean describesSameMedication(MedicationDTO first, MedicationDTO other) {
+        return Objects.equals(first.getName(), other.getName())
+                && Objects.equals(first.getWeight(), other.getWeight())
+                && Objects.equals(first.getImage(), other.getImage());
+    }
+
+    /**
+     * Retrieves one medication per code, in request order.
+     *
+     * @return The medications of the manifest.
+     */
+    public Collection<MedicationDTO> getMedications() {
+        return medicationsByCode.values();
+    }
+
+    /**
+     * Retrieves the total quantity requested for a medication code.
+     *
+     * @param code The medication code.
+     * @return The summed quantity, or zero if the code is not part of the manifest.
+     */
+    public int getQuantity(String code) {
+        return quantitiesByCode.getOrDefault(code, 0);
+    }
+
+    /**
+     * Retrieves the total weight of the manifest, counting every unit of every line.
+     *
+     * @return The total weight.
+     */
+    public int getTotalWeight() {
+        return totalWeight;
+    }
+}
@@ -0,0 +1,20 @@
+package com.elmenus.task.drones.shared.utility;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method that is run again when it fails on an optimistic locking conflict.
+ *
+ * The method is retried outside of its transaction, so every attempt reads the current rows again. It must not
+ * have effects outside of the transaction before it commits. When it is called inside a transaction that is already
+ * open, it is run once and a conflict is rethrown to the owner of that transaction.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+}
@@ -1,11 +1,18 @@
+CREATE SEQUENCE IF NOT EXISTS drone_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS drone
 (
-    id               INT AUTO_INCREMENT PRIMARY KEY,
+    id               INT PRIMARY KEY,
     serial_number    VARCHAR(100) UNIQUE                                                        NOT NULL,
     model            ENUM ('LIGHTWEIGHT', 'MIDDLEWEIGHT', 'CRUISERWEIGHT', 'HEAVYWEIGHT')       NOT NULL,
     weight_limit     INT                                                                        NOT NULL CHECK (weight_limit <= 500),
     battery_capacity INT                                                                        NOT NULL,
-    state            ENUM ('IDLE', 'LOADING', 'LOADED', 'DELIVERING', 'DELIVERED', 'RETURNING') NOT NULL
+    state            ENUM ('IDLE', 'LOADING', 'LOADED', 'DELIVERING', 'DELIVERED', 'RETURNING') NOT NULL,
+    state_changed_at TIMESTAMP,
+    current_load_weight INT DEFAULT 0                                                           NOT NULL CHECK (current_load_weight <= weight_limit),
+    version          BIGINT DEFAULT 0                                                           NOT NULL,
+    claim_token      VARCHAR(36),
+    claim_expires_at TIMESTAMP
 );
 
 CREATE TABLE IF NOT EXISTS medication
@@ -13,7 +20,7 @@ CREATE TABLE IF NOT EXISTS medication
     id     INT AUTO_INCREMENT PRIMARY KEY,
     name   VARCHAR(255) NOT NULL,
     weight INT          NOT NULL,
-    code   VARCHAR(50)  NOT NULL,
+    code   VARCHAR(50)  NOT NULL UNIQUE,
     image  VARCHAR(255) NOT NULL
 );
 CREATE TABLE IF NOT EXISTS drone_medication
@@ -23,7 +30,8 @@ CREATE TABLE IF NOT EXISTS drone_medication
     medication_id INT,
     quantity      INT,
     FOREIGN KEY (drone_id) REFERENCES Drone (id),
-    FOREIGN KEY (medication_id) REFERENCES Medication (id)
+    FOREIGN KEY (medication_id) REFERENCES Medication (id),
+    UNIQUE (drone_id, medication_id)
 );
 
 CREATE TABLE IF NOT EXISTS audit_log
@@ -31,6 +39,15 @@ CREATE TABLE IF NOT EXISTS audit_log
     id                  INT AUTO_INCREMENT PRIMARY KEY,
     drone_id            INT,
     drone_serial_number VARCHAR(100),
+    event_type          TINYINT,
+    from_state          TINYINT,
+    to_state            TINYINT,
+    battery_capacity    TINYINT,
     event_description   VARCHAR(255),
     event_timestamp     TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
+
+CREATE INDEX IF NOT EXISTS idx_drone_state_claim_expires_at ON drone (state, claim_expires_at);
+CREATE INDEX IF NOT EXISTS idx_audit_log_timestamp_id ON audit_log (event_timestamp, id);
+CREATE INDEX IF NOT EXISTS idx_audit_log_serial_timestamp_id ON audit_log (drone_serial_number, event_timestamp, id);
+CREATE INDEX IF NOT EXISTS idx_audit_log_type_timestamp_id ON audit_log (event_type, event_timestamp, id);
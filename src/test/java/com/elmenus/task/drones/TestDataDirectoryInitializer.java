@@ -0,0 +1,39 @@
+package com.elmenus.task.drones;
+
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Points {@code drones.data-directory} of every test application context to a temporary directory.
+ *
+ * The directory is created once per test run and shared by all the contexts, so that the tests still share their
+ * cached context, and it is deleted when the run ends. Registered in {@code META-INF/spring.factories}.
+ */
+public class TestDataDirectoryInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    private static final Path DATA_DIRECTORY = createDataDirectory();
+
+    @Override
+    public void initialize(ConfigurableApplicationContext applicationContext) {
+        applicationContext.getEnvironment().getPropertySources().addFirst(new MapPropertySource("testDataDirectory",
+                Map.of("drones.data-directory", DATA_DIRECTORY.toString())));
+    }
+
+    private static Path createDataDirectory() {
+        try {
+            Path directory = Files.createTempDirectory("drones-test-data");
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> FileSystemUtils.deleteRecursively(directory.toFile())));
+            return directory;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.elmenus.task.drones.benchmark;
+
+import com.elmenus.task.drones.shared.enums.AuditLogExportFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark exporting a million audit log rows from a file-backed H2 database in a JVM limited to a 64 MB heap,
+ * which a list-based export could not fit in. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class AuditLogExportBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final String MAX_HEAP = "-Xmx64m";
+
+    @TempDir
+    static Path directory;
+
+    /**
+     * Fills the database, exports it in a heap-limited JVM and reports the throughput and peak heap use.
+     *
+     * @param format The export format.
+     */
+    @ParameterizedTest
+    @EnumSource(AuditLogExportFormat.class)
+    @DisplayName("Should export a million rows in a 64 MB heap")
+    void exportAuditLog_MillionRows_FitsInSmallHeap(AuditLogExportFormat format)
+            throws SQLException, IOException, InterruptedException {
+        String url = "jdbc:h2:file:" + directory.resolve("audit-" + format).toAbsolutePath() + ";CACHE_SIZE=4096";
+        fill(url);
+
+        Process process = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                MAX_HEAP, "-cp", System.getProperty("java.class.path"),
+                AuditLogExportProbe.class.getName(), url, format.name())
+                .redirectErrorStream(true)
+                .start();
+        long startedAt = System.nanoTime();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        assertTrue(process.waitFor(5, TimeUnit.MINUTES));
+        long nanos = System.nanoTime() - startedAt;
+
+        assertEquals(0, process.exitValue(), output);
+        String[] result = output.substring(output.lastIndexOf('\n') + 1).split(" ");
+        long rows = Long.parseLong(result[0]);
+        long lines = Long.parseLong(result[1]);
+        long peakHeap = Long.parseLong(result[3]);
+        System.out.printf("%s export: %d rows, %d MB in %d ms (%.0f rows/s), peak heap %d MB%n",
+                format, rows, Long.parseLong(result[2]) >> 20, nanos / 1_000_000, rows * 1e9 / nanos, peakHeap >> 20);
+        assertEquals(ROWS, rows);
+        assertEquals(format == AuditLogExportFormat.CSV ? ROWS + 1 : ROWS, lines);
+    }
+
+    private static void fill(String url) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url);
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE audit_log (id BIGINT AUTO_INCREMENT PRIMARY KEY, drone_id INT, " +
+                    "drone_serial_number VARCHAR(100), event_type TINYINT, from_state TINYINT, to_state TINYINT, " +
+                    "battery_capacity TINYINT, event_description VARCHAR(255), event_timestamp TIMESTAMP)");
+            statement.execute("INSERT INTO audit_log (drone_id, drone_serial_number, event_type, from_state, " +
+                    "to_state, event_timestamp) " +
+                    "SELECT MOD(X, 1000), CONCAT('EXPORT_', MOD(X, 1000)), 1, 1, 0, " +
+                    "DATEADD('SECOND', X, TIMESTAMP '2023-01-01 00:00:00') FROM SYSTEM_RANGE(1, " + ROWS + ")");
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.elmenus.task.drones.benchmark;
+
+import com.elmenus.task.drones.repository.AuditLogQueryRepository;
+import com.elmenus.task.drones.service.AuditLogService;
+import com.elmenus.task.drones.shared.enums.AuditLogExportFormat;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+/**
+ * Exports an existing audit log database to a byte-counting sink and reports the number of rows, the number of
+ * bytes and the peak heap use. Started in a separate, heap-limited JVM by {@link AuditLogExportBenchmarkTest}.
+ */
+public final class AuditLogExportProbe {
+
+    private AuditLogExportProbe() {
+    }
+
+    /**
+     * Runs the export.
+     *
+     * @param args The JDBC URL of the database and the export format.
+     * @throws IOException If the export fails.
+     */
+    public static void main(String[] args) throws IOException {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(args[0]));
+        AuditLogService auditLogService = new AuditLogService(new AuditLogQueryRepository(jdbcTemplate, 1000),
+                JsonMapper.builder().findAndAddModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build(),
+                1000);
+        CountingOutputStream sink = new CountingOutputStream();
+
+        long rows = auditLogService.exportAuditLog(AuditLogExportFormat.valueOf(args[1]), sink);
+
+        long peakHeap = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .map(MemoryPoolMXBean::getPeakUsage)
+                .mapToLong(usage -> usage.getUsed())
+                .sum();
+        System.out.println(rows + " " + sink.lines + " " + sink.bytes + " " + peakHeap);
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long bytes;
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            bytes += length;
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
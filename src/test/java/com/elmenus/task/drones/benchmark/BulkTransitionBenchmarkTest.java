@@ -0,0 +1,87 @@
+package com.elmenus.task.drones.benchmark;
+
+import com.elmenus.task.drones.dto.BulkTransitionRequestDTO;
+import com.elmenus.task.drones.dto.BulkTransitionResultDTO;
+import com.elmenus.task.drones.entity.Drone;
+import com.elmenus.task.drones.repository.DroneRepository;
+import com.elmenus.task.drones.service.BulkTransitionService;
+import com.elmenus.task.drones.shared.enums.DroneModel;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark of a bulk state transition moving a whole depot of drones on the embedded H2 database.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class BulkTransitionBenchmarkTest {
+
+    private static final int DRONES = 10_000;
+    private static final int WARM_UP_ROUNDS = 3;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private BulkTransitionService bulkTransitionService;
+
+    @Autowired
+    private DroneRepository droneRepository;
+
+    /**
+     * Moves 10,000 LOADED drones to DELIVERING by state and back by serial number repeatedly, and reports the average
+     * duration of each transition once warmed up.
+     */
+    @Test
+    @DisplayName("A bulk transition should move 10,000 drones in well under a second")
+    void changeDroneStates_TenThousandDrones_CompletesUnderASecond() {
+        List<String> serialNumbers = IntStream.range(0, DRONES)
+                .mapToObj(i -> "TRANSITION_BENCH_" + i)
+                .toList();
+        droneRepository.saveAll(serialNumbers.stream()
+                .map(serialNumber -> Drone.builder()
+                        .serialNumber(serialNumber)
+                        .model(DroneModel.CRUISERWEIGHT)
+                        .weightLimit(300)
+                        .batteryCapacity(90)
+                        .state(DroneState.LOADED)
+                        .build())
+                .toList());
+        BulkTransitionRequestDTO byState = BulkTransitionRequestDTO.builder()
+                .fromState(DroneState.LOADED).model(DroneModel.CRUISERWEIGHT).targetState(DroneState.DELIVERING).build();
+        BulkTransitionRequestDTO bySerialNumber = BulkTransitionRequestDTO.builder()
+                .serialNumbers(serialNumbers).targetState(DroneState.LOADED).build();
+
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            bulkTransitionService.changeDroneStates(byState);
+            bulkTransitionService.changeDroneStates(bySerialNumber);
+        }
+        long byStateMillis = 0;
+        long bySerialNumberMillis = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            BulkTransitionResultDTO moved = bulkTransitionService.changeDroneStates(byState);
+            assertTrue(new HashSet<>(moved.getSerialNumbers()).containsAll(serialNumbers));
+            byStateMillis += moved.getDurationMillis();
+            moved = bulkTransitionService.changeDroneStates(bySerialNumber);
+            assertEquals(DRONES, moved.getSerialNumbers().size());
+            bySerialNumberMillis += moved.getDurationMillis();
+        }
+        double byStateAverageMillis = (double) byStateMillis / ROUNDS;
+        double bySerialNumberAverageMillis = (double) bySerialNumberMillis / ROUNDS;
+
+        System.out.printf("Moved %d drones by state in %.2f ms and by serial number in %.2f ms on average%n",
+                DRONES, byStateAverageMillis, bySerialNumberAverageMillis);
+        assertTrue(byStateAverageMillis < 1_000);
+        assertTrue(bySerialNumberAverageMillis < 1_000);
+    }
+}
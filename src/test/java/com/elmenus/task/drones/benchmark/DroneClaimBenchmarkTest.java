@@ -0,0 +1,114 @@
+package com.elmenus.task.drones.benchmark;
+
+import com.elmenus.task.drones.dto.DroneClaimDTO;
+import com.elmenus.task.drones.entity.Drone;
+import com.elmenus.task.drones.exception.NoDroneAvailableException;
+import com.elmenus.task.drones.repository.DroneRepository;
+import com.elmenus.task.drones.service.DroneClaimService;
+import com.elmenus.task.drones.shared.enums.DroneModel;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark of competing dispatchers claiming drones concurrently on the embedded H2 database.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class DroneClaimBenchmarkTest {
+
+    private static final int CLAIMERS = 64;
+    private static final int DRONES = 4_000;
+
+    @Autowired
+    private DroneClaimService droneClaimService;
+
+    @Autowired
+    private DroneRepository droneRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Lets 64 claimers claim drones until none is left, checking that no drone is claimed twice and reporting the
+     * throughput and claim latencies.
+     */
+    @Test
+    @DisplayName("Concurrent claimers should each claim distinct drones")
+    void claim_ConcurrentClaimers_ClaimDistinctDrones() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        List<Drone> drones = IntStream.range(0, DRONES)
+                .mapToObj(i -> Drone.builder()
+                        .serialNumber("CLAIM_BENCH_" + i)
+                        .model(DroneModel.HEAVYWEIGHT)
+                        .weightLimit(500)
+                        .batteryCapacity(90)
+                        .state(DroneState.LOADING)
+                        .build())
+                .toList();
+        droneRepository.saveAll(drones);
+
+        ConcurrentLinkedQueue<String> claimed = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CLAIMERS);
+        List<Future<?>> claimers = new ArrayList<>();
+        for (int i = 0; i < CLAIMERS; i++) {
+            claimers.add(executor.submit(() -> {
+                start.await();
+                while (true) {
+                    long startedAt = System.nanoTime();
+                    try {
+                        DroneClaimDTO claim = droneClaimService.claim(100, now);
+                        latencies.add(System.nanoTime() - startedAt);
+                        claimed.add(claim.getSerialNumber());
+                    } catch (NoDroneAvailableException ex) {
+                        return null;
+                    }
+                }
+            }));
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> claimer : claimers) {
+            claimer.get();
+        }
+        long nanos = System.nanoTime() - startedAt;
+        executor.shutdown();
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("Claims: %d drones by %d claimers in %d ms (%.0f claims/s)%n",
+                claimed.size(), CLAIMERS, nanos / 1_000_000, claimed.size() * 1e9 / nanos);
+        System.out.printf("Claim attempts lost to another claimer: %.0f%n",
+                meterRegistry.get("drones.claim.lost").counter().count());
+        System.out.printf("Claim latency: p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.99), sorted[sorted.length - 1] / 1e6);
+        Set<String> distinct = new HashSet<>(claimed);
+        assertEquals(claimed.size(), distinct.size());
+        assertTrue(distinct.containsAll(drones.stream().map(Drone::getSerialNumber).toList()));
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+    }
+}
@@ -0,0 +1,138 @@
+package com.elmenus.task.drones.benchmark;
+
+import com.elmenus.task.drones.entity.Drone;
+import com.elmenus.task.drones.exception.BatteryEqualException;
+import com.elmenus.task.drones.repository.DroneRepository;
+import com.elmenus.task.drones.service.DroneCommandLanes;
+import com.elmenus.task.drones.service.DroneLookupCache;
+import com.elmenus.task.drones.service.DroneService;
+import com.elmenus.task.drones.shared.enums.DroneModel;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark comparing drone commands run directly on the request threads with commands run through ordered
+ * lanes, for a growing number of lanes, on the embedded H2 database.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class DroneCommandLanesBenchmarkTest {
+
+    private static final int CLIENTS = 64;
+    private static final int DRONES = 64;
+    private static final int COMMANDS = 10_000;
+
+    @Autowired
+    private DroneService droneService;
+
+    @Autowired
+    private DroneRepository droneRepository;
+
+    @Autowired
+    private DroneLookupCache droneLookupCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Sends the same battery commands to a small fleet from many clients, first directly and then through 1 to 2x
+     * the available processors of lanes, and reports the throughput and optimistic locking conflicts of each run.
+     * Both paths are warmed up first, as the lane path otherwise runs interpreted during its first run.
+     */
+    @Test
+    @DisplayName("Commands run through lanes should not conflict with each other")
+    void lanes_RunCommandsWithoutConflicts() throws Exception {
+        List<String> serialNumbers = IntStream.range(0, DRONES)
+                .mapToObj(i -> droneRepository.save(Drone.builder()
+                        .serialNumber("LANE_BENCH_" + i)
+                        .model(DroneModel.LIGHTWEIGHT)
+                        .weightLimit(200)
+                        .batteryCapacity(90)
+                        .state(DroneState.IDLE)
+                        .build()).getSerialNumber())
+                .toList();
+        int processors = Runtime.getRuntime().availableProcessors();
+        run("warm-up", null, serialNumbers);
+        runOnLanes("warm-up", processors, serialNumbers);
+
+        run("direct", null, serialNumbers);
+        for (int laneCount = 1; laneCount <= 2 * processors; laneCount *= 2) {
+            double conflictsBefore = conflicts();
+            runOnLanes(laneCount + " lane(s)", laneCount, serialNumbers);
+            assertEquals(conflictsBefore, conflicts());
+        }
+    }
+
+    private void runOnLanes(String label, int laneCount, List<String> serialNumbers) throws Exception {
+        DroneCommandLanes lanes = new DroneCommandLanes(droneLookupCache, transactionManager,
+                new SimpleMeterRegistry(), true, laneCount, COMMANDS, 64);
+        lanes.start();
+        try {
+            run(label, lanes, serialNumbers);
+        } finally {
+            lanes.stop();
+        }
+    }
+
+    private void run(String label, DroneCommandLanes lanes, List<String> serialNumbers) throws Exception {
+        double conflictsBefore = conflicts();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<?>> clients = new ArrayList<>();
+        for (int client = 0; client < CLIENTS; client++) {
+            clients.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < COMMANDS / CLIENTS; i++) {
+                    String serialNumber = serialNumbers.get(random.nextInt(serialNumbers.size()));
+                    int batteryCapacity = 30 + random.nextInt(70);
+                    try {
+                        if (lanes == null) {
+                            droneService.changeBatteryCapacity(serialNumber, batteryCapacity);
+                        } else {
+                            lanes.execute(serialNumber, () -> droneService.changeBatteryCapacity(serialNumber, batteryCapacity));
+                        }
+                    } catch (BatteryEqualException ex) {
+                        // The drone already had this capacity; the command still counts as sent.
+                    }
+                }
+                return null;
+            }));
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> client : clients) {
+            client.get();
+        }
+        long nanos = System.nanoTime() - startedAt;
+        executor.shutdown();
+        System.out.printf("%-10s %d commands in %d ms (%.0f commands/s), %.0f optimistic conflicts%n",
+                label + ":", COMMANDS, nanos / 1_000_000, COMMANDS * 1e9 / nanos, conflicts() - conflictsBefore);
+    }
+
+    private double conflicts() {
+        return meterRegistry.get("drones.optimistic.conflicts").counter().count();
+    }
+}
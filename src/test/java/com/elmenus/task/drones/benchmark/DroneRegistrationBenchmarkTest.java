@@ -0,0 +1,89 @@
+package com.elmenus.task.drones.benchmark;
+
+import com.elmenus.task.drones.dto.BulkRegistrationResultDTO;
+import com.elmenus.task.drones.dto.DroneDTO;
+import com.elmenus.task.drones.service.BulkRegistrationService;
+import com.elmenus.task.drones.service.DroneService;
+import com.elmenus.task.drones.shared.enums.DroneModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark comparing single-item drone registration with bulk registration on the embedded H2 database.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class DroneRegistrationBenchmarkTest {
+
+    private static final int DRONES = 5_000;
+
+    @Autowired
+    private DroneService droneService;
+
+    @Autowired
+    private BulkRegistrationService bulkRegistrationService;
+
+    /**
+     * Registers the same number of drones through both paths and reports the throughput of each.
+     */
+    @Test
+    @DisplayName("Bulk registration should outperform single-item registration")
+    void bulkRegistration_OutperformsSingleItemRegistration() throws IOException {
+        warmUp();
+
+        long singleStartedAt = System.nanoTime();
+        for (int i = 0; i < DRONES; i++) {
+            droneService.registerDrone(drone("SINGLE_" + i));
+        }
+        long singleNanos = System.nanoTime() - singleStartedAt;
+
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < DRONES; i++) {
+            body.append(json("BULK_" + i)).append('\n');
+        }
+        long bulkStartedAt = System.nanoTime();
+        BulkRegistrationResultDTO result = bulkRegistrationService.registerDrones(
+                new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)));
+        long bulkNanos = System.nanoTime() - bulkStartedAt;
+
+        System.out.printf("Single-item registration: %d drones in %d ms (%.0f drones/s)%n",
+                DRONES, singleNanos / 1_000_000, DRONES * 1e9 / singleNanos);
+        System.out.printf("Bulk registration:        %d drones in %d ms (%.0f drones/s)%n",
+                DRONES, bulkNanos / 1_000_000, DRONES * 1e9 / bulkNanos);
+        assertEquals(DRONES, result.getRegistered());
+        assertTrue(bulkNanos < singleNanos);
+    }
+
+    private void warmUp() throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            droneService.registerDrone(drone("WARMUP_SINGLE_" + i));
+            body.append(json("WARMUP_BULK_" + i)).append('\n');
+        }
+        bulkRegistrationService.registerDrones(new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static DroneDTO drone(String serialNumber) {
+        return DroneDTO.builder()
+                .serialNumber(serialNumber)
+                .model(DroneModel.MIDDLEWEIGHT)
+                .weightLimit(300)
+                .batteryCapacity(90)
+                .build();
+    }
+
+    private static String json(String serialNumber) {
+        return "{\"serialNumber\":\"" + serialNumber + "\",\"model\":\"MIDDLEWEIGHT\",\"weightLimit\":300,\"batteryCapacity\":90}";
+    }
+}
@@ -0,0 +1,102 @@
+package com.elmenus.task.drones.benchmark;
+
+import com.elmenus.task.drones.dto.MedicationDTO;
+import com.elmenus.task.drones.entity.Drone;
+import com.elmenus.task.drones.entity.DroneMedication;
+import com.elmenus.task.drones.entity.Medication;
+import com.elmenus.task.drones.shared.utility.MedicationManifest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * JMH benchmark comparing the former per-medication quantity scan of the load path with the single-pass
+ * {@link MedicationManifest} aggregation, for manifests of 10 to 10,000 lines.
+ * Run through {@link LoadManifestBenchmarkTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoadManifestBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int lines;
+
+    private List<MedicationDTO> medicationDTOs;
+    private List<Medication> medications;
+    private Drone drone;
+
+    /**
+     * Builds a manifest of distinct medications and a drone that already carries one row per medication,
+     * which is the worst case of the former scan.
+     */
+    @Setup
+    public void setUp() {
+        medicationDTOs = IntStream.range(0, lines)
+                .mapToObj(i -> MedicationDTO.builder()
+                        .name("MED_" + i)
+                        .code("MED_" + i)
+                        .weight(1 + i % 10)
+                        .image("med.png")
+                        .quantity(1 + i % 3)
+                        .build())
+                .toList();
+        medications = IntStream.range(0, lines).mapToObj(LoadManifestBenchmark::medication).toList();
+        drone = Drone.builder().id(1).serialNumber("MANIFEST").build();
+        Set<DroneMedication> droneMedications = new HashSet<>();
+        for (int i = 0; i < lines; i++) {
+            droneMedications.add(new DroneMedication(drone, medication(i), 1));
+        }
+        drone.setDroneMedications(droneMedications);
+    }
+
+    /**
+     * The former load path: every medication streams the drone's rows and compares medications with equals.
+     *
+     * @param blackhole Sink for the computed quantities.
+     */
+    @Benchmark
+    public void perMedicationScan(Blackhole blackhole) {
+        for (Medication medication : medications) {
+            blackhole.consume(drone.getDroneMedications().stream()
+                    .filter(droneMedication -> droneMedication.getMedication().equals(medication))
+                    .mapToInt(DroneMedication::getQuantity)
+                    .sum());
+        }
+    }
+
+    /**
+     * The current load path: one pass into a code to quantity map, then one lookup per medication.
+     *
+     * @param blackhole Sink for the computed quantities.
+     */
+    @Benchmark
+    public void singlePassAggregation(Blackhole blackhole) {
+        MedicationManifest manifest = MedicationManifest.of(medicationDTOs);
+        for (MedicationDTO medication : manifest.getMedications()) {
+            blackhole.consume(manifest.getQuantity(medication.getCode()));
+        }
+    }
+
+    private static Medication medication(int i) {
+        return Medication.builder()
+                .id(i)
+                .name("MED_" + i)
+                .weight(1 + i % 10)
+                .code("MED_" + i)
+                .image("med.png")
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.elmenus.task.drones.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the {@link LoadManifestBenchmark} with JMH and checks that single-pass aggregation wins on large manifests.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class LoadManifestBenchmarkTest {
+
+    /**
+     * Runs both load paths for every manifest size and compares them on the largest manifest.
+     *
+     * @throws RunnerException If JMH fails to run the benchmark.
+     */
+    @Test
+    @DisplayName("Single-pass aggregation should beat the per-medication scan on large manifests")
+    void aggregate_LargeManifest_BeatsPerMedicationScan() throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(LoadManifestBenchmark.class.getName())
+                .forks(1)
+                .warmupIterations(2)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        Map<String, Double> largest = new HashMap<>();
+        results.stream()
+                .filter(result -> result.getParams().getParam("lines").equals("10000"))
+                .forEach(result -> largest.put(result.getParams().getBenchmark(), result.getPrimaryResult().getScore()));
+        double scan = largest.get(LoadManifestBenchmark.class.getName() + ".perMedicationScan");
+        double aggregation = largest.get(LoadManifestBenchmark.class.getName() + ".singlePassAggregation");
+        System.out.printf("10000 lines: per-medication scan %.1f us, single-pass aggregation %.1f us%n", scan, aggregation);
+        assertTrue(aggregation * 10 < scan);
+    }
+}
@@ -0,0 +1,76 @@
+package com.elmenus.task.drones.benchmark;
+
+import com.elmenus.task.drones.dto.LoadOrderDTO;
+import com.elmenus.task.drones.dto.LoadPlanDTO;
+import com.elmenus.task.drones.dto.LoadPlanRequestDTO;
+import com.elmenus.task.drones.dto.MedicationDTO;
+import com.elmenus.task.drones.entity.Drone;
+import com.elmenus.task.drones.service.FleetStateIndex;
+import com.elmenus.task.drones.service.LoadPlanner;
+import com.elmenus.task.drones.shared.enums.DroneModel;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark of the {@link LoadPlanner} on thousands of orders across hundreds of loading drones.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class LoadPlannerBenchmarkTest {
+
+    private static final int DRONES = 500;
+    private static final int ORDERS = 10_000;
+    private static final int ROUNDS = 20;
+
+    /**
+     * Plans the same batch repeatedly and reports the average planning time.
+     */
+    @Test
+    @DisplayName("Planning thousands of orders across hundreds of drones should take milliseconds")
+    void plan_LargeBatch_TakesMilliseconds() {
+        Random random = new Random(7);
+        FleetStateIndex fleetStateIndex = new FleetStateIndex();
+        fleetStateIndex.rebuild(() -> IntStream.range(0, DRONES)
+                .mapToObj(i -> Drone.builder()
+                        .serialNumber("PLAN_" + i)
+                        .model(DroneModel.HEAVYWEIGHT)
+                        .weightLimit(200 + random.nextInt(301))
+                        .batteryCapacity(25 + random.nextInt(76))
+                        .state(DroneState.LOADING)
+                        .build())
+                .toList());
+        List<LoadOrderDTO> orders = IntStream.range(0, ORDERS)
+                .mapToObj(i -> new LoadOrderDTO(MedicationDTO.builder()
+                        .name("MED_" + i)
+                        .code("MED_" + i)
+                        .weight(1 + random.nextInt(10))
+                        .image("med.png")
+                        .build(), 1 + random.nextInt(2)))
+                .toList();
+        LoadPlanRequestDTO request = new LoadPlanRequestDTO(orders, false);
+        LoadPlanner loadPlanner = new LoadPlanner(fleetStateIndex, 20, 1_000_000, 1_000);
+
+        for (int i = 0; i < ROUNDS; i++) {
+            loadPlanner.plan(request);
+        }
+        long startedAt = System.nanoTime();
+        LoadPlanDTO plan = null;
+        for (int i = 0; i < ROUNDS; i++) {
+            plan = loadPlanner.plan(request);
+        }
+        double averageMillis = (System.nanoTime() - startedAt) / 1e6 / ROUNDS;
+
+        System.out.printf("Planned %d orders across %d drones in %.2f ms on average, using %d drones%n",
+                ORDERS, DRONES, averageMillis, plan.getDrones().size());
+        assertTrue(plan.getUnassignedOrders().isEmpty());
+        assertTrue(averageMillis < 100);
+    }
+}
@@ -0,0 +1,160 @@
+package com.elmenus.task.drones.config;
+
+import com.elmenus.task.drones.service.IdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for the {@link IdempotencyFilter} class.
+ */
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"status\":\"CREATED\"}";
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private IdempotencyFilter idempotencyFilter;
+
+    /**
+     * Set up the test environment with an empty idempotency store.
+     */
+    @BeforeEach
+    void setUp() {
+        IdempotencyStore idempotencyStore = new IdempotencyStore(100, 60_000, new SimpleMeterRegistry());
+        idempotencyFilter = new IdempotencyFilter(idempotencyStore, new ObjectMapper(), 1024);
+    }
+
+    /**
+     * Test case: Should replay the first response to a retried key without calling the controller again.
+     */
+    @Test
+    @DisplayName("Should replay the first response to a retried key without calling the controller again")
+    void doFilter_RetriedKey_ReplaysResponse() throws Exception {
+        MockHttpServletResponse first = perform("POST", "/api/drones/register", "key-1", chain(201));
+        MockHttpServletResponse retry = perform("POST", "/api/drones/register", "key-1", chain(201));
+
+        assertEquals(1, calls.get());
+        assertEquals(201, first.getStatus());
+        assertEquals(201, retry.getStatus());
+        assertEquals(BODY, retry.getContentAsString());
+        assertEquals("/api/drones/DRONE_1", retry.getHeader(HttpHeaders.LOCATION));
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    /**
+     * Test case: Should not store server errors, so that the request can be retried with the same key.
+     */
+    @Test
+    @DisplayName("Should not store server errors, so that the request can be retried with the same key")
+    void doFilter_ServerError_IsNotReplayed() throws Exception {
+        perform("POST", "/api/drones/register", "key-1", chain(500));
+        MockHttpServletResponse retry = perform("POST", "/api/drones/register", "key-1", chain(201));
+
+        assertEquals(2, calls.get());
+        assertEquals(201, retry.getStatus());
+    }
+
+    /**
+     * Test case: Should reject a key reused for a different endpoint.
+     */
+    @Test
+    @DisplayName("Should reject a key reused for a different endpoint")
+    void doFilter_KeyReusedForOtherRequest_ReturnsUnprocessableEntity() throws Exception {
+        perform("POST", "/api/drones/DRONE_1/load", "key-1", chain(200));
+        MockHttpServletResponse reused = perform("POST", "/api/drones/DRONE_2/load", "key-1", chain(200));
+
+        assertEquals(1, calls.get());
+        assertEquals(422, reused.getStatus());
+    }
+
+    /**
+     * Test case: Should reject a key reused on the same endpoint with a different body, and hand the body on.
+     */
+    @Test
+    @DisplayName("Should reject a key reused on the same endpoint with a different body, and hand the body on")
+    void doFilter_KeyReusedWithOtherBody_ReturnsUnprocessableEntity() throws Exception {
+        StringBuilder received = new StringBuilder();
+        FilterChain echo = (request, response) -> {
+            received.append(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            chain(200).doFilter(request, response);
+        };
+        perform("POST", "/api/drones/DRONE_1/load", "key-1", "[{\"code\":\"A\"}]", echo);
+        MockHttpServletResponse reused = perform("POST", "/api/drones/DRONE_1/load", "key-1", "[{\"code\":\"B\"}]", echo);
+        MockHttpServletResponse retry = perform("POST", "/api/drones/DRONE_1/load", "key-1", "[{\"code\":\"A\"}]", echo);
+
+        assertEquals(1, calls.get());
+        assertEquals("[{\"code\":\"A\"}]", received.toString());
+        assertEquals(422, reused.getStatus());
+        assertEquals(200, retry.getStatus());
+        assertEquals(413, perform("POST", "/api/drones/DRONE_1/load", "key-2", "x".repeat(1025), echo).getStatus());
+    }
+
+    /**
+     * Test case: Should not store a conflict, so that the request can be retried with the same key.
+     */
+    @Test
+    @DisplayName("Should not store a conflict, so that the request can be retried with the same key")
+    void doFilter_Conflict_IsNotReplayed() throws Exception {
+        perform("POST", "/api/drones/DRONE_1/load", "key-1", chain(409));
+        MockHttpServletResponse retry = perform("POST", "/api/drones/DRONE_1/load", "key-1", chain(200));
+        MockHttpServletResponse replayed = perform("POST", "/api/drones/DRONE_1/load", "key-1", chain(200));
+
+        assertEquals(2, calls.get());
+        assertEquals(200, retry.getStatus());
+        assertEquals("true", replayed.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    /**
+     * Test case: Should pass requests without a key straight through.
+     */
+    @Test
+    @DisplayName("Should pass requests without a key straight through")
+    void doFilter_NoKey_CallsControllerEveryTime() throws Exception {
+        perform("POST", "/api/drones/register", null, chain(201));
+        perform("POST", "/api/drones/register", null, chain(201));
+
+        assertEquals(2, calls.get());
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, String key, FilterChain chain) throws Exception {
+        return perform(method, uri, key, "", chain);
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, String key, String body, FilterChain chain)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        idempotencyFilter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private FilterChain chain(int status) {
+        return (request, response) -> {
+            calls.incrementAndGet();
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(status);
+            httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            httpResponse.setHeader(HttpHeaders.LOCATION, "/api/drones/DRONE_1");
+            httpResponse.getWriter().write(BODY);
+        };
+    }
+}
@@ -0,0 +1,117 @@
+package com.elmenus.task.drones.config;
+
+import com.elmenus.task.drones.shared.utility.RetryOnConflict;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Unit tests for the {@link OptimisticRetryAspect} class.
+ */
+class OptimisticRetryAspectTest {
+
+    private final ConflictingUpdater target = new ConflictingUpdater();
+    private SimpleMeterRegistry meterRegistry;
+    private ConflictingUpdater updater;
+
+    /**
+     * Set up the test environment with an updater proxied by the aspect, allowing three attempts per call.
+     */
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new OptimisticRetryAspect(meterRegistry, 3, 1, 2));
+        updater = proxyFactory.getProxy();
+    }
+
+    /**
+     * Test case: Should run the method again after a conflict and count the conflicts and retries.
+     */
+    @Test
+    @DisplayName("Should run the method again after a conflict and count the conflicts and retries")
+    void retryOnConflict_ConflictThenSuccess_ReturnsResult() {
+        target.conflicts = 2;
+
+        assertEquals(3, updater.update());
+        assertEquals(2.0, meterRegistry.get("drones.optimistic.conflicts").counter().count());
+        assertEquals(2.0, meterRegistry.get("drones.optimistic.retries").counter().count());
+        assertEquals(0.0, meterRegistry.get("drones.optimistic.exhausted").counter().count());
+    }
+
+    /**
+     * Test case: Should rethrow the conflict once the attempts are exhausted and leave other exceptions alone.
+     */
+    @Test
+    @DisplayName("Should rethrow the conflict once the attempts are exhausted and leave other exceptions alone")
+    void retryOnConflict_TooManyConflicts_RethrowsConflict() {
+        target.conflicts = 5;
+
+        assertThrows(OptimisticLockingFailureException.class, () -> updater.update());
+        assertEquals(3, target.attempts);
+        assertEquals(1.0, meterRegistry.get("drones.optimistic.exhausted").counter().count());
+
+        assertThrows(IllegalStateException.class, () -> updater.fail());
+        assertEquals(4, target.attempts);
+    }
+
+    /**
+     * Test case: Should run the method once, without backing off, when it is called inside an open transaction.
+     */
+    @Test
+    @DisplayName("Should run the method once, without backing off, when it is called inside an open transaction")
+    void retryOnConflict_InsideOuterTransaction_RethrowsWithoutRetry() {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new OptimisticRetryAspect(meterRegistry, 3, 60_000, 60_000));
+        ConflictingUpdater slowUpdater = proxyFactory.getProxy();
+        target.conflicts = 1;
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            try {
+                assertThrows(OptimisticLockingFailureException.class, slowUpdater::update);
+            } finally {
+                TransactionSynchronizationManager.setActualTransactionActive(false);
+            }
+        });
+        assertEquals(1, target.attempts);
+        assertEquals(1.0, meterRegistry.get("drones.optimistic.conflicts").counter().count());
+        assertEquals(0.0, meterRegistry.get("drones.optimistic.retries").counter().count());
+    }
+
+    /**
+     * Updater failing its first calls with an optimistic locking conflict.
+     */
+    static class ConflictingUpdater {
+
+        int conflicts;
+        int attempts;
+
+        @RetryOnConflict
+        public int update() {
+            attempts++;
+            if (conflicts-- > 0) {
+                throw new OptimisticLockingFailureException("Drone was updated concurrently");
+            }
+            return attempts;
+        }
+
+        @RetryOnConflict
+        public void fail() {
+            attempts++;
+            throw new IllegalStateException("Not a conflict");
+        }
+    }
+}
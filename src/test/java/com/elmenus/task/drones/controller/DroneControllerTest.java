@@ -1,23 +1,45 @@
 package com.elmenus.task.drones.controller;
 
+import com.elmenus.task.drones.dto.AuditLogDTO;
+import com.elmenus.task.drones.dto.AuditLogPageDTO;
+import com.elmenus.task.drones.dto.BulkTransitionRequestDTO;
+import com.elmenus.task.drones.dto.BulkTransitionResultDTO;
+import com.elmenus.task.drones.dto.DroneClaimDTO;
 import com.elmenus.task.drones.dto.DroneDTO;
+import com.elmenus.task.drones.dto.LoadRequestDTO;
 import com.elmenus.task.drones.dto.MedicationDTO;
-import com.elmenus.task.drones.entity.AuditLog;
+import com.elmenus.task.drones.dto.UnloadMedicationDTO;
+import com.elmenus.task.drones.shared.enums.AuditLogExportFormat;
 import com.elmenus.task.drones.shared.enums.DroneState;
+import com.elmenus.task.drones.service.AuditLogService;
+import com.elmenus.task.drones.service.BulkRegistrationService;
+import com.elmenus.task.drones.service.BulkTransitionService;
+import com.elmenus.task.drones.service.DroneClaimService;
+import com.elmenus.task.drones.service.DroneCommandLanes;
 import com.elmenus.task.drones.service.DroneService;
+import com.elmenus.task.drones.service.LoadPlanner;
+import com.elmenus.task.drones.service.LoadRequestQueue;
+import com.elmenus.task.drones.shared.enums.LoadRequestStatus;
 import com.elmenus.task.drones.shared.utility.ApiResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.HashSet;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -26,6 +48,10 @@ import static org.mockito.Mockito.when;
 class DroneControllerTest {
 
     private DroneService droneService;
+    private LoadRequestQueue loadRequestQueue;
+    private AuditLogService auditLogService;
+    private DroneClaimService droneClaimService;
+    private BulkTransitionService bulkTransitionService;
     private DroneController droneController;
 
     /**
@@ -34,7 +60,14 @@ class DroneControllerTest {
     @BeforeEach
     void setUp() {
         droneService = mock(DroneService.class);
-        droneController = new DroneController(droneService);
+        loadRequestQueue = mock(LoadRequestQueue.class);
+        auditLogService = mock(AuditLogService.class);
+        droneClaimService = mock(DroneClaimService.class);
+        bulkTransitionService = mock(BulkTransitionService.class);
+        DroneCommandLanes droneCommandLanes = mock(DroneCommandLanes.class);
+        when(droneCommandLanes.execute(any(), any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+        droneController = new DroneController(droneService, mock(BulkRegistrationService.class), mock(LoadPlanner.class),
+                loadRequestQueue, auditLogService, droneClaimService, droneCommandLanes, bulkTransitionService);
     }
 
     /**
@@ -70,7 +103,7 @@ class DroneControllerTest {
     @Test
     void loadDroneWithMedications_ValidInput_ReturnsOkResponse() {
         String serialNumber = "123";
-        Set<MedicationDTO> medications = new HashSet<>();
+        List<MedicationDTO> medications = new ArrayList<>();
         medications.add(MedicationDTO.builder()
                 .name("MED_1")
                 .image("IMAGE_MED_1")
@@ -84,9 +117,70 @@ class DroneControllerTest {
                 .weight(31)
                 .build());
         DroneDTO droneDTO = new DroneDTO();
-        when(droneService.loadDroneWithMedications(serialNumber, medications)).thenReturn(Optional.of(droneDTO));
+        when(droneService.loadDroneWithMedications(serialNumber, medications, null)).thenReturn(Optional.of(droneDTO));
 
-        ResponseEntity<ApiResponse<DroneDTO>> response = droneController.loadDroneWithMedications(serialNumber, medications);
+        ResponseEntity<ApiResponse<DroneDTO>> response = droneController.loadDroneWithMedications(serialNumber, medications, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(droneDTO, response.getBody().getData());
+    }
+
+    /**
+     * Test for queueing the load of a drone, expecting an accepted response pointing at the ticket.
+     */
+    @Test
+    void queueLoadDroneWithMedications_ValidInput_ReturnsAcceptedResponse() {
+        String serialNumber = "123";
+        List<MedicationDTO> medications = List.of(MedicationDTO.builder()
+                .name("MED_1")
+                .image("IMAGE_MED_1")
+                .code("CODE_MED_1")
+                .weight(124)
+                .build());
+        LoadRequestDTO ticket = LoadRequestDTO.builder().id("TICKET_1").serialNumber(serialNumber)
+                .status(LoadRequestStatus.QUEUED).build();
+        when(loadRequestQueue.submit(serialNumber, medications, null)).thenReturn(ticket);
+
+        ResponseEntity<ApiResponse<LoadRequestDTO>> response = droneController.queueLoadDroneWithMedications(serialNumber, medications, null);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals("/api/drones/load-requests/TICKET_1", response.getHeaders().getLocation().toString());
+        assertEquals(ticket, response.getBody().getData());
+    }
+
+    /**
+     * Test for appending medications to a drone's load with valid input, expecting an OK response.
+     */
+    @Test
+    void appendToLoad_ValidInput_ReturnsOkResponse() {
+        String serialNumber = "123";
+        List<MedicationDTO> medications = List.of(MedicationDTO.builder()
+                .name("MED_1")
+                .image("IMAGE_MED_1")
+                .code("CODE_MED_1")
+                .weight(124)
+                .quantity(2)
+                .build());
+        DroneDTO droneDTO = DroneDTO.builder().serialNumber(serialNumber).currentLoadWeight(248).build();
+        when(droneService.appendToLoad(serialNumber, medications, null)).thenReturn(Optional.of(droneDTO));
+
+        ResponseEntity<ApiResponse<DroneDTO>> response = droneController.appendToLoad(serialNumber, medications, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(droneDTO, response.getBody().getData());
+    }
+
+    /**
+     * Test for removing medications from a drone's load with valid input, expecting an OK response.
+     */
+    @Test
+    void removeFromLoad_ValidInput_ReturnsOkResponse() {
+        String serialNumber = "123";
+        List<UnloadMedicationDTO> medications = List.of(new UnloadMedicationDTO("CODE_MED_1", 1));
+        DroneDTO droneDTO = DroneDTO.builder().serialNumber(serialNumber).currentLoadWeight(124).build();
+        when(droneService.removeFromLoad(serialNumber, medications)).thenReturn(Optional.of(droneDTO));
+
+        ResponseEntity<ApiResponse<DroneDTO>> response = droneController.removeFromLoad(serialNumber, medications);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(droneDTO, response.getBody().getData());
@@ -126,15 +220,32 @@ class DroneControllerTest {
      */
     @Test
     void getAuditLogEvents_ReturnsOkResponse() {
-        List<AuditLog> auditLogEvents = List.of(new AuditLog(), new AuditLog());
-        when(droneService.getAuditLogEvents()).thenReturn(auditLogEvents);
+        AuditLogPageDTO auditLogEvents = new AuditLogPageDTO(List.of(new AuditLogDTO(), new AuditLogDTO()), "next");
+        when(auditLogService.getAuditLogEvents("123", null, null, null, null, 100)).thenReturn(auditLogEvents);
 
-        ResponseEntity<ApiResponse<List<AuditLog>>> response = droneController.getAuditLogEvents();
+        ResponseEntity<ApiResponse<AuditLogPageDTO>> response =
+                droneController.getAuditLogEvents("123", null, null, null, null, 100);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(auditLogEvents, response.getBody().getData());
     }
 
+    /**
+     * Test for exporting the audit log, expecting an OK response streaming the export as an attachment.
+     */
+    @Test
+    void exportAuditLogEvents_ReturnsStreamingResponse() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        ResponseEntity<StreamingResponseBody> response = droneController.exportAuditLogEvents(AuditLogExportFormat.CSV);
+        response.getBody().writeTo(output);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("text/csv", response.getHeaders().getContentType().toString());
+        assertEquals("attachment; filename=\"audit-log.csv\"", response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+        verify(auditLogService).exportAuditLog(AuditLogExportFormat.CSV, output);
+    }
+
     /**
      * Test for changing the state of a drone with valid input, expecting an OK response.
      */
@@ -194,4 +305,36 @@ class DroneControllerTest {
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
     }
+
+    /**
+     * Test for claiming a drone, expecting the lease in an OK response.
+     */
+    @Test
+    void claimDrone_DroneAvailable_ReturnsOkResponse() {
+        DroneClaimDTO claim = new DroneClaimDTO("123", "token", LocalDateTime.now());
+        when(droneClaimService.claim(200)).thenReturn(claim);
+
+        ResponseEntity<ApiResponse<DroneClaimDTO>> response = droneController.claimDrone(200);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(claim, response.getBody().getData());
+    }
+
+    /**
+     * Test for moving the drones matching a filter to a new state, expecting the moved drones in an OK response.
+     */
+    @Test
+    void changeDroneStates_ValidRequest_ReturnsOkResponse() {
+        BulkTransitionRequestDTO request = BulkTransitionRequestDTO.builder()
+                .fromState(DroneState.LOADED)
+                .targetState(DroneState.DELIVERING)
+                .build();
+        BulkTransitionResultDTO result = new BulkTransitionResultDTO(DroneState.DELIVERING, List.of("123"), 1);
+        when(bulkTransitionService.changeDroneStates(request)).thenReturn(result);
+
+        ResponseEntity<ApiResponse<BulkTransitionResultDTO>> response = droneController.changeDroneStates(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(result, response.getBody().getData());
+    }
 }
\ No newline at end of file
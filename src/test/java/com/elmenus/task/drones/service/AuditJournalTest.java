@@ -0,0 +1,171 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.entity.AuditLog;
+import com.elmenus.task.drones.repository.AuditLogBatchRepository;
+import com.elmenus.task.drones.shared.enums.AuditEventType;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the {@link AuditJournal} class.
+ */
+class AuditJournalTest {
+
+    private static final int RECORDS_PER_SEGMENT = 4;
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 12, 0, 0, 123_456_789);
+
+    private final List<AuditLog> inserted = new ArrayList<>();
+
+    @TempDir
+    private Path directory;
+
+    private AuditLogBatchRepository auditLogBatchRepository;
+
+    /**
+     * Set up the test environment with a batch repository recording the inserted events.
+     */
+    @BeforeEach
+    void setUp() {
+        auditLogBatchRepository = mock(AuditLogBatchRepository.class);
+        when(auditLogBatchRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<AuditLog> batch = invocation.getArgument(0);
+            inserted.addAll(batch);
+            return batch.size();
+        });
+    }
+
+    /**
+     * Test case: Should replay journaled events once, across segments, and delete the replayed segments.
+     */
+    @Test
+    @DisplayName("Should replay journaled events once, across segments, and delete the replayed segments")
+    void replay_CopiesEventsIntoDatabaseOnce() throws IOException {
+        AuditJournal auditJournal = journal();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(auditJournal.append(event(i)));
+        }
+        assertEquals(3, segments().size());
+
+        assertEquals(10, auditJournal.replay());
+        assertEquals(0, auditJournal.replay());
+
+        assertEquals(10, inserted.size());
+        AuditLog third = inserted.get(2);
+        assertEquals(2, third.getDroneId());
+        assertEquals("JOURNAL_2", third.getDroneSerialNumber());
+        assertEquals(AuditEventType.STATE_CHANGED, third.getEventType());
+        assertEquals(DroneState.IDLE, third.getFromState());
+        assertEquals(DroneState.LOADING, third.getToState());
+        assertEquals(START.plusSeconds(2), third.getEventTimestamp());
+        AuditLog fourth = inserted.get(3);
+        assertEquals(AuditEventType.LOW_BATTERY, fourth.getEventType());
+        assertEquals(3, fourth.getBatteryCapacity());
+        assertEquals("Low Battery", fourth.describe());
+        assertEquals(1, segments().size());
+
+        AuditJournal reopened = journal();
+        assertEquals(10, reopened.appended());
+        assertEquals(0, reopened.replay());
+        assertEquals(10, inserted.size());
+    }
+
+    /**
+     * Test case: Should delete a segment replayed up to its end before the next append once the journal moved on.
+     */
+    @Test
+    @DisplayName("Should delete a segment replayed up to its end before the next append once the journal moved on")
+    void replay_SegmentBoundaryBeforeNextAppend_DeletesSegmentLater() throws IOException {
+        AuditJournal auditJournal = journal();
+        for (int i = 0; i < RECORDS_PER_SEGMENT; i++) {
+            auditJournal.append(event(i));
+        }
+
+        assertEquals(RECORDS_PER_SEGMENT, auditJournal.replay());
+        assertEquals(1, segments().size());
+
+        auditJournal.append(event(RECORDS_PER_SEGMENT));
+        assertEquals(1, auditJournal.replay());
+
+        assertEquals(1, segments().size());
+        assertTrue(segments().get(0).toString().endsWith(String.format("%020d.journal", RECORDS_PER_SEGMENT)));
+        assertEquals(RECORDS_PER_SEGMENT + 1, inserted.size());
+    }
+
+    /**
+     * Test case: Should drop a record torn by a crash and keep appending in its place.
+     */
+    @Test
+    @DisplayName("Should drop a record torn by a crash and keep appending in its place")
+    void recover_SegmentTruncatedMidRecord_DropsTornRecord() throws IOException {
+        AuditJournal crashed = journal();
+        for (int i = 0; i < 3; i++) {
+            crashed.append(event(i));
+        }
+        try (FileChannel channel = FileChannel.open(segments().get(0), StandardOpenOption.WRITE)) {
+            channel.truncate(2L * AuditJournal.RECORD_BYTES + 20);
+        }
+
+        AuditJournal recovered = journal();
+        assertEquals(2, recovered.appended());
+        recovered.append(event(3));
+        recovered.replay();
+
+        assertEquals(List.of("JOURNAL_0", "JOURNAL_1", "JOURNAL_3"),
+                inserted.stream().map(AuditLog::getDroneSerialNumber).toList());
+    }
+
+    /**
+     * Test case: Should leave events to the caller when the journal is disabled or a record is too large.
+     */
+    @Test
+    @DisplayName("Should leave events to the caller when the journal is disabled or a record is too large")
+    void append_DisabledOrOversized_ReturnsFalse() throws IOException {
+        AuditJournal disabled = new AuditJournal(auditLogBatchRepository, new SimpleMeterRegistry(), false,
+                directory.resolve("disabled"), RECORDS_PER_SEGMENT * AuditJournal.RECORD_BYTES, 3);
+        AuditJournal enabled = journal();
+
+        assertFalse(disabled.append(event(0)));
+        assertFalse(Files.exists(directory.resolve("disabled")));
+        assertFalse(enabled.append(new AuditLog(null, 1, "JOURNAL_BIG", AuditEventType.LEGACY, null, null, null,
+                "x".repeat(AuditJournal.RECORD_BYTES), START)));
+        assertEquals(0, enabled.appended());
+    }
+
+    private AuditJournal journal() {
+        return new AuditJournal(auditLogBatchRepository, new SimpleMeterRegistry(), true, directory.resolve("journal"),
+                RECORDS_PER_SEGMENT * AuditJournal.RECORD_BYTES, 3);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory.resolve("journal"))) {
+            return files.filter(path -> path.toString().endsWith(".journal")).sorted().toList();
+        }
+    }
+
+    private static AuditLog event(int i) {
+        return i % 2 == 0
+                ? AuditLog.stateChanged(i, "JOURNAL_" + i, DroneState.IDLE, DroneState.LOADING, START.plusSeconds(i))
+                : AuditLog.lowBattery(i, "JOURNAL_" + i, i, START.plusSeconds(i));
+    }
+}
@@ -0,0 +1,63 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.AuditLogDTO;
+import com.elmenus.task.drones.shared.enums.AuditEventType;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Integration tests for the {@link AuditLogMigration} class against the embedded H2 database.
+ */
+@SpringBootTest
+class AuditLogMigrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 12, 0);
+
+    @Autowired
+    private AuditLogMigration auditLogMigration;
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Test case: Should convert free-text entries into typed events that render the same description.
+     */
+    @Test
+    @DisplayName("Should convert free-text entries into typed events that render the same description")
+    void migrate_FreeTextEntries_BecomeTypedEvents() {
+        List<String> descriptions = List.of("Low Battery", "Changed state to DELIVERING", "Registered manually");
+        for (int i = 0; i < descriptions.size(); i++) {
+            jdbcTemplate.update("INSERT INTO audit_log (drone_id, drone_serial_number, event_description, " +
+                    "event_timestamp) VALUES (?, ?, ?, ?)", 1, "AUDIT_MIGRATION", descriptions.get(i),
+                    Timestamp.valueOf(START.plusMinutes(i)));
+        }
+
+        assertEquals(3, auditLogMigration.migrate());
+        assertEquals(0, auditLogMigration.migrate());
+
+        List<AuditLogDTO> events = auditLogService.getAuditLogEvents("AUDIT_MIGRATION", null, null, null, null, 10)
+                .getEvents();
+        assertEquals(List.of(AuditEventType.LEGACY, AuditEventType.STATE_CHANGED, AuditEventType.LOW_BATTERY),
+                events.stream().map(AuditLogDTO::getEventType).toList());
+        assertEquals(List.of(descriptions.get(2), descriptions.get(1), descriptions.get(0)),
+                events.stream().map(AuditLogDTO::getEventDescription).toList());
+        assertEquals(DroneState.DELIVERING, events.get(1).getToState());
+        assertNull(jdbcTemplate.queryForObject("SELECT event_description FROM audit_log WHERE " +
+                "drone_serial_number = 'AUDIT_MIGRATION' AND event_type = ?", String.class,
+                AuditEventType.STATE_CHANGED.getCode()));
+    }
+}
@@ -0,0 +1,139 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.AuditLogDTO;
+import com.elmenus.task.drones.dto.AuditLogPageDTO;
+import com.elmenus.task.drones.entity.AuditLog;
+import com.elmenus.task.drones.exception.InvalidAuditLogQueryException;
+import com.elmenus.task.drones.repository.AuditLogBatchRepository;
+import com.elmenus.task.drones.shared.enums.AuditEventType;
+import com.elmenus.task.drones.shared.enums.AuditLogExportFormat;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the {@link AuditLogService} class against the embedded H2 database.
+ */
+@SpringBootTest
+class AuditLogServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 12, 0);
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private AuditLogBatchRepository auditLogBatchRepository;
+
+    /**
+     * Test case: Should walk every event of a drone exactly once, newest first, including events sharing a timestamp.
+     */
+    @Test
+    @DisplayName("Should walk every event of a drone exactly once, newest first, including events sharing a timestamp")
+    void getAuditLogEvents_FollowsCursorAcrossPages() {
+        writeEvents("AUDIT_PAGES", 5);
+        auditLogBatchRepository.insertAll(List.of(AuditLog.lowBattery(1, "AUDIT_PAGES", 20, START)));
+
+        List<AuditLogDTO> events = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            AuditLogPageDTO page = auditLogService.getAuditLogEvents("AUDIT_PAGES", null, null, null, cursor, 2);
+            events.addAll(page.getEvents());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(6, events.size());
+        assertEquals(6, events.stream().map(AuditLogDTO::getId).distinct().count());
+        assertEquals(START.plusMinutes(4), events.get(0).getEventTimestamp());
+        assertEquals(START, events.get(5).getEventTimestamp());
+        assertEquals(events.get(4).getEventTimestamp(), events.get(5).getEventTimestamp());
+    }
+
+    /**
+     * Test case: Should only return the events matching the event type and time range, with their description.
+     */
+    @Test
+    @DisplayName("Should only return the events matching the event type and time range, with their description")
+    void getAuditLogEvents_AppliesFilters() {
+        writeEvents("AUDIT_FILTERS", 5);
+
+        AuditLogPageDTO page = auditLogService.getAuditLogEvents("AUDIT_FILTERS", AuditEventType.STATE_CHANGED,
+                START.plusMinutes(1), START.plusMinutes(4), null, 10);
+
+        assertEquals(List.of(START.plusMinutes(3), START.plusMinutes(1)),
+                page.getEvents().stream().map(AuditLogDTO::getEventTimestamp).toList());
+        assertNull(page.getNextCursor());
+        AuditLogDTO event = page.getEvents().get(0);
+        assertEquals(DroneState.LOADED, event.getFromState());
+        assertEquals(DroneState.IDLE, event.getToState());
+        assertEquals("Changed state to IDLE", event.getEventDescription());
+    }
+
+    /**
+     * Test case: Should reject malformed cursors and out of range page sizes.
+     */
+    @Test
+    @DisplayName("Should reject malformed cursors and out of range page sizes")
+    void getAuditLogEvents_InvalidQuery_ThrowsInvalidAuditLogQueryException() {
+        assertThrows(InvalidAuditLogQueryException.class,
+                () -> auditLogService.getAuditLogEvents(null, null, null, null, "not-a-cursor", 10));
+        assertThrows(InvalidAuditLogQueryException.class,
+                () -> auditLogService.getAuditLogEvents(null, null, null, null, null, 0));
+        assertThrows(InvalidAuditLogQueryException.class,
+                () -> auditLogService.getAuditLogEvents(null, null, START, START, null, 10));
+    }
+
+    /**
+     * Test case: Should export events as CSV with quoted fields and as one JSON object per line.
+     */
+    @Test
+    @DisplayName("Should export events as CSV with quoted fields and as one JSON object per line")
+    void exportAuditLog_WritesEveryEventInFormat() throws IOException {
+        auditLogBatchRepository.insertAll(List.of(
+                new AuditLog(null, 7, "AUDIT_EXPORT", AuditEventType.LEGACY, null, null, null,
+                        "Changed state to \"LOADED\", checked", START)));
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        long exported = auditLogService.exportAuditLog(AuditLogExportFormat.CSV, csv);
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        auditLogService.exportAuditLog(AuditLogExportFormat.NDJSON, ndjson);
+
+        List<String> csvLines = csv.toString(StandardCharsets.UTF_8).lines().toList();
+        List<String> ndjsonLines = ndjson.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(exported + 1, csvLines.size());
+        assertEquals(exported, ndjsonLines.size());
+        assertEquals("id,drone_id,drone_serial_number,event_type,from_state,to_state,battery_capacity,"
+                + "event_description,event_timestamp", csvLines.get(0));
+        assertTrue(csvLines.stream().anyMatch(line -> line.endsWith(
+                ",7,AUDIT_EXPORT,LEGACY,,,,\"Changed state to \"\"LOADED\"\", checked\",2023-01-01T12:00")));
+        assertTrue(ndjsonLines.stream().anyMatch(line -> line.contains("\"droneSerialNumber\":\"AUDIT_EXPORT\"")
+                && line.contains("\"eventTimestamp\":\"2023-01-01T12:00:00\"")));
+    }
+
+    private void writeEvents(String serialNumber, int count) {
+        List<AuditLog> auditLogs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            auditLogs.add(i % 2 == 0
+                    ? AuditLog.lowBattery(1, serialNumber, 20, START.plusMinutes(i))
+                    : AuditLog.stateChanged(1, serialNumber, DroneState.LOADED, DroneState.IDLE, START.plusMinutes(i)));
+        }
+        auditLogBatchRepository.insertAll(auditLogs);
+    }
+}
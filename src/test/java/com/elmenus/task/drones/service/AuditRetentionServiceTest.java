@@ -0,0 +1,83 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.AuditPurgeResultDTO;
+import com.elmenus.task.drones.entity.AuditLog;
+import com.elmenus.task.drones.repository.AuditLogBatchRepository;
+import com.elmenus.task.drones.repository.AuditLogRetentionRepository;
+import com.elmenus.task.drones.shared.enums.AuditEventType;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Integration tests for the {@link AuditRetentionService} class against the embedded H2 database.
+ */
+@SpringBootTest
+class AuditRetentionServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    @Autowired
+    private AuditLogRetentionRepository auditLogRetentionRepository;
+
+    @Autowired
+    private AuditLogBatchRepository auditLogBatchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Test case: Should purge in batches the events past the window of their type and keep the others.
+     */
+    @Test
+    @DisplayName("Should purge in batches the events past the window of their type and keep the others")
+    void purge_DeletesExpiredEventsPerType() {
+        List<AuditLog> auditLogs = new ArrayList<>();
+        for (int day = 1; day <= 10; day++) {
+            auditLogs.add(AuditLog.lowBattery(1, "AUDIT_RETENTION", 20, NOW.minusDays(day)));
+            auditLogs.add(AuditLog.stateChanged(1, "AUDIT_RETENTION", DroneState.LOADED, DroneState.IDLE,
+                    NOW.minusDays(day)));
+        }
+        auditLogBatchRepository.insertAll(auditLogs);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AuditRetentionService auditRetentionService = new AuditRetentionService(auditLogRetentionRepository,
+                meterRegistry, 5, Map.of("LOW_BATTERY", 2, "LEGACY", 0), 3, 0);
+
+        AuditPurgeResultDTO result = auditRetentionService.purge(NOW);
+
+        assertEquals(8 + 5, result.getPurgedRows());
+        assertEquals(List.of(1, 2), remainingDays(AuditEventType.LOW_BATTERY));
+        assertEquals(List.of(1, 2, 3, 4, 5), remainingDays(AuditEventType.STATE_CHANGED));
+        assertEquals(8.0, meterRegistry.get("drones.audit.retention.purged").tag("type", "LOW_BATTERY")
+                .counter().count());
+        assertEquals(0, auditRetentionService.purge(NOW).getPurgedRows());
+    }
+
+    /**
+     * Test case: Should reject a retention window for an unknown event type.
+     */
+    @Test
+    @DisplayName("Should reject a retention window for an unknown event type")
+    void constructor_UnknownEventType_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new AuditRetentionService(auditLogRetentionRepository,
+                new SimpleMeterRegistry(), 5, Map.of("UNKNOWN", 1), 3, 0));
+    }
+
+    private List<Integer> remainingDays(AuditEventType eventType) {
+        return jdbcTemplate.queryForList("SELECT DATEDIFF('DAY', event_timestamp, ?) FROM audit_log " +
+                        "WHERE drone_serial_number = 'AUDIT_RETENTION' AND event_type = ? ORDER BY event_timestamp DESC",
+                Integer.class, NOW, eventType.getCode());
+    }
+}
@@ -0,0 +1,189 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.entity.AuditLog;
+import com.elmenus.task.drones.repository.AuditLogBatchRepository;
+import com.elmenus.task.drones.shared.enums.AuditBackpressurePolicy;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the {@link AuditWriter} class.
+ */
+class AuditWriterTest {
+
+    private final List<AuditLog> inserted = new CopyOnWriteArrayList<>();
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @TempDir
+    private Path directory;
+
+    private AuditLogBatchRepository auditLogBatchRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private AuditWriter auditWriter;
+
+    /**
+     * Set up the test environment with a batch repository recording the inserted events.
+     */
+    @BeforeEach
+    void setUp() {
+        auditLogBatchRepository = mock(AuditLogBatchRepository.class);
+        when(auditLogBatchRepository.insertAll(anyList())).thenAnswer(this::record);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    /**
+     * Stop the writer started by the test, if any.
+     */
+    @AfterEach
+    void tearDown() {
+        if (auditWriter != null) {
+            auditWriter.stop();
+        }
+    }
+
+    /**
+     * Test case: Should insert queued events in batches from the background flusher.
+     */
+    @Test
+    @DisplayName("Should insert queued events in batches from the background flusher")
+    void write_FlushesInBatches() throws InterruptedException {
+        auditWriter = writer(1000, 10, AuditBackpressurePolicy.BLOCK);
+        auditWriter.start();
+
+        for (int i = 0; i < 25; i++) {
+            auditWriter.write(event(i));
+        }
+        awaitInserted(25);
+
+        assertEquals(0, auditWriter.depth());
+        assertTrue(meterRegistry.get("drones.audit.batch.size").summary().max() <= 10);
+        assertEquals(25.0, meterRegistry.get("drones.audit.batch.size").summary().totalAmount());
+    }
+
+    /**
+     * Test case: Should drop and count events that do not fit in the queue under the DROP policy.
+     */
+    @Test
+    @DisplayName("Should drop and count events that do not fit in the queue under the DROP policy")
+    void write_QueueFull_DropsEvent() {
+        auditWriter = writer(2, 10, AuditBackpressurePolicy.DROP);
+
+        for (int i = 0; i < 3; i++) {
+            auditWriter.write(event(i));
+        }
+
+        assertEquals(2, auditWriter.depth());
+        assertEquals(1.0, meterRegistry.get("drones.audit.dropped").counter().count());
+        assertEquals(2, auditWriter.drain());
+        assertEquals(2, inserted.size());
+    }
+
+    /**
+     * Test case: Should spill events that do not fit in the queue and write them once the flusher runs.
+     */
+    @Test
+    @DisplayName("Should spill events that do not fit in the queue and write them once the flusher runs")
+    void write_QueueFull_SpillsAndReplaysEvents() throws InterruptedException {
+        auditWriter = writer(1, 10, AuditBackpressurePolicy.SPILL);
+
+        for (int i = 0; i < 3; i++) {
+            auditWriter.write(event(i));
+        }
+        assertEquals(2.0, meterRegistry.get("drones.audit.spilled").counter().count());
+        assertTrue(Files.exists(directory.resolve("spill.ndjson")));
+
+        auditWriter.start();
+        awaitInserted(3);
+
+        assertEquals(List.of(0, 1, 2), inserted.stream().map(AuditLog::getBatteryCapacity).toList());
+        assertEquals(LocalDateTime.of(2023, 1, 1, 12, 1), inserted.get(1).getEventTimestamp());
+        assertFalse(Files.exists(directory.resolve("spill.ndjson")));
+    }
+
+    /**
+     * Test case: Should spill a batch that fails to insert and write it once the database accepts it again.
+     */
+    @Test
+    @DisplayName("Should spill a batch that fails to insert and write it once the database accepts it again")
+    void write_BatchFails_SpillsAndRetriesBatch() throws InterruptedException {
+        when(auditLogBatchRepository.insertAll(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("Database unavailable"))
+                .thenAnswer(this::record);
+        auditWriter = writer(1000, 10, AuditBackpressurePolicy.BLOCK);
+        for (int i = 0; i < 5; i++) {
+            auditWriter.write(event(i));
+        }
+
+        auditWriter.start();
+        awaitInserted(5);
+
+        assertEquals(List.of(0, 1, 2, 3, 4), inserted.stream().map(AuditLog::getBatteryCapacity).toList());
+        assertEquals(5.0, meterRegistry.get("drones.audit.spilled").counter().count());
+        assertEquals(0.0, meterRegistry.get("drones.audit.failed").counter().count());
+        assertFalse(Files.exists(directory.resolve("spill.ndjson")));
+    }
+
+    /**
+     * Test case: Should write every queued event on shutdown and write synchronously afterwards.
+     */
+    @Test
+    @DisplayName("Should write every queued event on shutdown and write synchronously afterwards")
+    void stop_DrainsQueue() {
+        auditWriter = writer(1000, 10, AuditBackpressurePolicy.BLOCK);
+        auditWriter.start();
+        for (int i = 0; i < 50; i++) {
+            auditWriter.write(event(i));
+        }
+
+        auditWriter.stop();
+        assertEquals(50, inserted.size());
+
+        auditWriter.write(event(50));
+        assertEquals(51, inserted.size());
+    }
+
+    private AuditWriter writer(int capacity, int batchSize, AuditBackpressurePolicy policy) {
+        AuditJournal disabledJournal = new AuditJournal(auditLogBatchRepository, meterRegistry, false,
+                directory.resolve("journal"), 1 << 20, batchSize);
+        return new AuditWriter(auditLogBatchRepository, disabledJournal, objectMapper, meterRegistry, capacity,
+                batchSize, 10, policy, directory.resolve("spill.ndjson"));
+    }
+
+    private int record(InvocationOnMock invocation) {
+        List<AuditLog> batch = invocation.getArgument(0);
+        inserted.addAll(batch);
+        return batch.size();
+    }
+
+    private void awaitInserted(int count) throws InterruptedException {
+        for (int attempt = 0; attempt < 100 && inserted.size() < count; attempt++) {
+            Thread.sleep(50);
+        }
+        assertEquals(count, inserted.size());
+    }
+
+    private static AuditLog event(int i) {
+        return AuditLog.lowBattery(i, "AUDIT_WRITER", i, LocalDateTime.of(2023, 1, 1, 12, i));
+    }
+}
@@ -0,0 +1,115 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.BatterySampleDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for the {@link BatteryHistoryStore} class.
+ */
+class BatteryHistoryStoreTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BatteryHistoryStore batteryHistoryStore;
+
+    /**
+     * Set up the test environment with a store holding four samples per drone.
+     */
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        batteryHistoryStore = new BatteryHistoryStore(4, mock(BatteryTimeSeriesStore.class), meterRegistry);
+    }
+
+    /**
+     * Test case: Should keep only the latest samples once the ring is full.
+     */
+    @Test
+    @DisplayName("Should keep only the latest samples once the ring is full")
+    void record_RingFull_OverwritesOldestSamples() {
+        for (int second = 0; second < 6; second++) {
+            batteryHistoryStore.record("DRONE_1", at(second), 90 - second);
+        }
+
+        List<BatterySampleDTO> samples = batteryHistoryStore.query("DRONE_1", null, null, 0);
+
+        assertEquals(List.of(sample(2, 88), sample(3, 87), sample(4, 86), sample(5, 85)), samples);
+    }
+
+    /**
+     * Test case: Should drop samples older than the latest recorded sample.
+     */
+    @Test
+    @DisplayName("Should drop samples older than the latest recorded sample")
+    void record_OutOfOrder_IsDropped() {
+        assertTrue(batteryHistoryStore.record("DRONE_1", at(10), 50));
+        assertFalse(batteryHistoryStore.record("DRONE_1", at(5), 60));
+
+        assertEquals(List.of(sample(10, 50)), batteryHistoryStore.query("DRONE_1", null, null, 0));
+    }
+
+    /**
+     * Test case: Should return only the samples within the requested range.
+     */
+    @Test
+    @DisplayName("Should return only the samples within the requested range")
+    void query_Range_FiltersSamples() {
+        for (int second = 0; second < 4; second++) {
+            batteryHistoryStore.record("DRONE_1", at(second), 80 - second);
+        }
+
+        List<BatterySampleDTO> samples = batteryHistoryStore.query("DRONE_1", at(1), at(3), 0);
+
+        assertEquals(List.of(sample(1, 79), sample(2, 78)), samples);
+    }
+
+    /**
+     * Test case: Should average the samples of each bucket when downsampling.
+     */
+    @Test
+    @DisplayName("Should average the samples of each bucket when downsampling")
+    void query_Step_DownsamplesIntoBuckets() {
+        batteryHistoryStore.record("DRONE_1", at(0), 80);
+        batteryHistoryStore.record("DRONE_1", at(1), 71);
+        batteryHistoryStore.record("DRONE_1", at(2), 60);
+        batteryHistoryStore.record("DRONE_1", at(3), 50);
+
+        List<BatterySampleDTO> samples = batteryHistoryStore.query("DRONE_1", null, null, 2000);
+
+        assertEquals(List.of(sample(0, 76), sample(2, 55)), samples);
+    }
+
+    /**
+     * Test case: Should report a fixed footprint per drone.
+     */
+    @Test
+    @DisplayName("Should report a fixed footprint per drone")
+    void footprint_IsFixedPerDrone() {
+        batteryHistoryStore.record("DRONE_1", at(0), 80);
+        batteryHistoryStore.record("DRONE_2", at(0), 80);
+        batteryHistoryStore.record("DRONE_2", at(1), 79);
+
+        assertEquals(2, meterRegistry.get("drones.battery.history.drones").gauge().value());
+        assertEquals(2.0 * batteryHistoryStore.bytesPerDrone(),
+                meterRegistry.get("drones.battery.history.bytes").gauge().value());
+        assertTrue(batteryHistoryStore.query("UNKNOWN", null, null, 0).isEmpty());
+    }
+
+    private static Instant at(int second) {
+        return Instant.ofEpochSecond(second);
+    }
+
+    private static BatterySampleDTO sample(int second, int batteryCapacity) {
+        return new BatterySampleDTO(at(second), batteryCapacity);
+    }
+}
@@ -0,0 +1,97 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.TelemetryIngestResultDTO;
+import com.elmenus.task.drones.entity.Drone;
+import com.elmenus.task.drones.repository.DroneRepository;
+import com.elmenus.task.drones.shared.enums.DroneModel;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Integration tests for the {@link BatteryTelemetryService} class against the embedded H2 database.
+ */
+@SpringBootTest
+class BatteryTelemetryServiceTest {
+
+    @Autowired
+    private BatteryTelemetryService batteryTelemetryService;
+
+    @Autowired
+    private DroneService droneService;
+
+    @Autowired
+    private DroneRepository droneRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Test case: Should keep only the latest reading per drone and reject unknown drones and invalid readings.
+     */
+    @Test
+    @DisplayName("Should keep only the latest reading per drone and reject unknown drones and invalid readings")
+    void ingest_CoalescesReadingsPerDrone() throws IOException {
+        Drone first = saveDrone("TELEMETRY_1", 90);
+        Drone second = saveDrone("TELEMETRY_2", 90);
+        String body = reading("TELEMETRY_1", 80, "2024-01-01T10:00:00Z") +
+                reading("TELEMETRY_1", 70, "2024-01-01T10:00:02Z") +
+                reading("TELEMETRY_1", 75, "2024-01-01T10:00:01Z") +
+                reading("TELEMETRY_2", 60, "2024-01-01T10:00:00Z") +
+                reading("TELEMETRY_UNKNOWN", 60, "2024-01-01T10:00:00Z") +
+                reading("TELEMETRY_2", 120, "2024-01-01T10:00:00Z");
+
+        TelemetryIngestResultDTO result = batteryTelemetryService.ingest(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        batteryTelemetryService.flush();
+
+        assertEquals(4, result.getAccepted());
+        assertEquals(2, result.getCoalesced());
+        assertEquals(2, result.getRejected());
+        assertEquals(70, droneRepository.findById(first.getId()).orElseThrow().getBatteryCapacity());
+        assertEquals(60, droneRepository.findById(second.getId()).orElseThrow().getBatteryCapacity());
+        assertEquals(70, droneService.checkDroneBatteryLevel("TELEMETRY_1"));
+    }
+
+    /**
+     * Test case: Should compare readings with the stored battery capacity rather than a stale cached one.
+     */
+    @Test
+    @DisplayName("Should compare readings with the stored battery capacity rather than a stale cached one")
+    void flush_StaleCachedSnapshot_WritesReading() throws IOException {
+        Drone drone = saveDrone("TELEMETRY_STALE", 90);
+        assertEquals(90, droneService.checkDroneBatteryLevel("TELEMETRY_STALE"));
+        jdbcTemplate.update("UPDATE drone SET battery_capacity = 50, version = version + 1 WHERE id = ?", drone.getId());
+
+        batteryTelemetryService.ingest(new ByteArrayInputStream(
+                reading("TELEMETRY_STALE", 90, "2024-01-01T10:00:00Z").getBytes(StandardCharsets.UTF_8)));
+        int written = batteryTelemetryService.flush();
+
+        assertEquals(1, written);
+        assertEquals(90, droneRepository.findById(drone.getId()).orElseThrow().getBatteryCapacity());
+    }
+
+    private Drone saveDrone(String serialNumber, int batteryCapacity) {
+        return droneRepository.save(Drone.builder()
+                .serialNumber(serialNumber)
+                .model(DroneModel.LIGHTWEIGHT)
+                .weightLimit(200)
+                .batteryCapacity(batteryCapacity)
+                .state(DroneState.DELIVERING)
+                .build());
+    }
+
+    private static String reading(String serialNumber, int batteryCapacity, String timestamp) {
+        return "{\"serialNumber\":\"" + serialNumber + "\",\"batteryCapacity\":" + batteryCapacity +
+                ",\"timestamp\":\"" + timestamp + "\"}\n";
+    }
+}
@@ -0,0 +1,148 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.BatterySampleDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Unit tests for the {@link BatteryTimeSeriesStore} class.
+ */
+class BatteryTimeSeriesStoreTest {
+
+    private static final Instant DAY = Instant.parse("2023-11-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private BatteryTimeSeriesStore store;
+
+    /**
+     * Set up the test environment with an empty store in a temporary directory.
+     */
+    @BeforeEach
+    void setUp() {
+        store = newStore();
+    }
+
+    /**
+     * Test case: Should read back irregular and out-of-order samples exactly after sealing.
+     */
+    @Test
+    @DisplayName("Should read back irregular and out-of-order samples exactly after sealing")
+    void seal_RoundTripsSamples() {
+        long[] offsets = {0, 1_000, 2_000, 3_000, 3_001, 63_000, 62_000, 86_000_000, 86_000_500};
+        int[] levels = {100, 100, 99, 0, 100, 57, 58, 58, 1};
+        List<BatterySampleDTO> expected = new ArrayList<>();
+        for (int i = 0; i < offsets.length; i++) {
+            store.append("DRONE_1", DAY.plusMillis(offsets[i]), levels[i]);
+            expected.add(new BatterySampleDTO(DAY.plusMillis(offsets[i]), levels[i]));
+        }
+        store.append("DRONE_2", DAY, 42);
+        expected.sort((left, right) -> left.getTimestamp().compareTo(right.getTimestamp()));
+
+        assertEquals(2, store.seal());
+
+        assertEquals(expected, store.query("DRONE_1", null, null, 0));
+        assertEquals(List.of(new BatterySampleDTO(DAY, 42)), store.query("DRONE_2", null, null, 0));
+    }
+
+    /**
+     * Test case: Should serve range scans from sealed segments, pending samples and reopened stores.
+     */
+    @Test
+    @DisplayName("Should serve range scans from sealed segments, pending samples and reopened stores")
+    void query_Range_SpansSegmentsAndPendingSamples() {
+        store.append("DRONE_1", DAY.plusSeconds(10), 90);
+        store.seal();
+        store.append("DRONE_1", DAY.plusSeconds(20), 80);
+        store.seal();
+        store.append("DRONE_1", DAY.plusSeconds(30), 70);
+
+        assertEquals(List.of(sample(20, 80), sample(30, 70)),
+                store.query("DRONE_1", DAY.plusSeconds(15), DAY.plusSeconds(40), 0));
+
+        store.sealOnShutdown();
+        BatteryTimeSeriesStore reopened = newStore();
+        assertEquals(3, reopened.segmentCount());
+        assertEquals(List.of(sample(10, 90), sample(20, 80), sample(30, 70)), reopened.query("DRONE_1", null, null, 0));
+    }
+
+    /**
+     * Test case: Should merge the segments of one day into a single segment without losing samples.
+     */
+    @Test
+    @DisplayName("Should merge the segments of one day into a single segment without losing samples")
+    void compact_MergesSegmentsPerDay() throws IOException {
+        Instant today = Instant.now().truncatedTo(ChronoUnit.DAYS);
+        for (int second = 0; second < 5; second++) {
+            store.append("DRONE_1", today.plusSeconds(second), 90 - second);
+            store.append("DRONE_2", today.plusSeconds(second), 50);
+            store.seal();
+        }
+        List<BatterySampleDTO> before = store.query("DRONE_1", null, null, 0);
+
+        store.compact();
+
+        assertEquals(5, before.size());
+        assertEquals(1, store.segmentCount());
+        assertEquals(before, store.query("DRONE_1", null, null, 0));
+        assertEquals(List.of(new BatterySampleDTO(today, 50)), store.query("DRONE_2", null, null, Duration.ofDays(1).toMillis()));
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    /**
+     * Test case: Should delete segments whose samples are older than the retention period.
+     */
+    @Test
+    @DisplayName("Should delete segments whose samples are older than the retention period")
+    void applyRetention_DeletesExpiredSegments() {
+        store.append("DRONE_1", DAY, 90);
+        store.seal();
+        store.append("DRONE_1", DAY.plus(Duration.ofDays(10)), 80);
+        store.seal();
+
+        assertEquals(1, store.applyRetention(DAY.plus(Duration.ofDays(40))));
+
+        assertEquals(1, store.segmentCount());
+        assertEquals(List.of(new BatterySampleDTO(DAY.plus(Duration.ofDays(10)), 80)), store.query("DRONE_1", null, null, 0));
+    }
+
+    /**
+     * Test case: Should discard segments left half-written by a crash when the store is opened.
+     */
+    @Test
+    @DisplayName("Should discard segments left half-written by a crash when the store is opened")
+    void open_DiscardsTemporaryFiles() throws IOException {
+        Path leftover = Files.write(directory.resolve("segment-00000000000000000000-000001.bts.tmp"), new byte[]{1, 2, 3});
+
+        BatteryTimeSeriesStore reopened = newStore();
+
+        assertEquals(0, reopened.segmentCount());
+        assertFalse(Files.exists(leftover));
+    }
+
+    private BatteryTimeSeriesStore newStore() {
+        return new BatteryTimeSeriesStore(directory, 30, new SimpleMeterRegistry());
+    }
+
+    private static BatterySampleDTO sample(int second, int batteryCapacity) {
+        return new BatterySampleDTO(DAY.plusSeconds(second), batteryCapacity);
+    }
+}
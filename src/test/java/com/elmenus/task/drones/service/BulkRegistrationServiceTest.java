@@ -0,0 +1,76 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.BulkRegistrationResultDTO;
+import com.elmenus.task.drones.repository.DroneRepository;
+import com.elmenus.task.drones.shared.enums.RegistrationStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Integration tests for the {@link BulkRegistrationService} class against the embedded H2 database.
+ */
+@SpringBootTest(properties = "drones.bulk-registration.chunk-size=2")
+class BulkRegistrationServiceTest {
+
+    @Autowired
+    private BulkRegistrationService bulkRegistrationService;
+
+    @Autowired
+    private DroneRepository droneRepository;
+
+    /**
+     * Test case: Should register valid drones from a JSON array and reject invalid and duplicate ones.
+     */
+    @Test
+    @DisplayName("Should register valid drones from a JSON array and reject invalid and duplicate ones")
+    void registerDrones_JsonArray_ReportsPerItemResults() throws IOException {
+        String body = "[" +
+                drone("BULK_ARRAY_1", 80) + "," +
+                drone("BULK_ARRAY_2", 150) + "," +
+                drone("BULK_ARRAY_1", 80) + "," +
+                drone("BULK_ARRAY_3", 40) + "]";
+
+        BulkRegistrationResultDTO result = bulkRegistrationService.registerDrones(stream(body));
+
+        assertEquals(2, result.getRegistered());
+        assertEquals(2, result.getRejected());
+        assertEquals(RegistrationStatus.REGISTERED, result.getItems().get(0).getStatus());
+        assertEquals(RegistrationStatus.REJECTED, result.getItems().get(1).getStatus());
+        assertEquals(RegistrationStatus.REJECTED, result.getItems().get(2).getStatus());
+        assertEquals(RegistrationStatus.REGISTERED, result.getItems().get(3).getStatus());
+        assertNotNull(droneRepository.findBySerialNumber("BULK_ARRAY_3"));
+    }
+
+    /**
+     * Test case: Should register drones from a newline-delimited stream and reject already registered ones.
+     */
+    @Test
+    @DisplayName("Should register drones from a newline-delimited stream and reject already registered ones")
+    void registerDrones_Ndjson_RejectsExistingSerialNumbers() throws IOException {
+        bulkRegistrationService.registerDrones(stream(drone("BULK_NDJSON_1", 80)));
+
+        BulkRegistrationResultDTO result = bulkRegistrationService.registerDrones(stream(
+                drone("BULK_NDJSON_1", 80) + "\n" + drone("BULK_NDJSON_2", 80) + "\n" + drone("BULK_NDJSON_3", 80) + "\n"));
+
+        assertEquals(2, result.getRegistered());
+        assertEquals(RegistrationStatus.REJECTED, result.getItems().get(0).getStatus());
+    }
+
+    private static String drone(String serialNumber, int batteryCapacity) {
+        return "{\"serialNumber\":\"" + serialNumber + "\",\"model\":\"LIGHTWEIGHT\"," +
+                "\"weightLimit\":200,\"batteryCapacity\":" + batteryCapacity + "}";
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
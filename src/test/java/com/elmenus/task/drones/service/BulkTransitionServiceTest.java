@@ -0,0 +1,92 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.BulkTransitionRequestDTO;
+import com.elmenus.task.drones.dto.BulkTransitionResultDTO;
+import com.elmenus.task.drones.entity.Drone;
+import com.elmenus.task.drones.exception.InvalidTransitionFilterException;
+import com.elmenus.task.drones.repository.DroneRepository;
+import com.elmenus.task.drones.shared.enums.AuditEventType;
+import com.elmenus.task.drones.shared.enums.DroneModel;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Integration tests for the {@link BulkTransitionService} class against the embedded H2 database.
+ */
+@SpringBootTest
+class BulkTransitionServiceTest {
+
+    @Autowired
+    private BulkTransitionService bulkTransitionService;
+
+    @Autowired
+    private DroneRepository droneRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Test case: Should move and audit only the drones matching every filter with enough battery.
+     */
+    @Test
+    @DisplayName("Should move and audit only the drones matching every filter with enough battery")
+    void changeDroneStates_Filter_MovesMatchingDrones() {
+        saveDrone("TRANSITION_MATCH", DroneModel.HEAVYWEIGHT, DroneState.LOADED, 80);
+        saveDrone("TRANSITION_MODEL", DroneModel.LIGHTWEIGHT, DroneState.LOADED, 80);
+        saveDrone("TRANSITION_STATE", DroneModel.HEAVYWEIGHT, DroneState.IDLE, 80);
+        saveDrone("TRANSITION_RANGE", DroneModel.HEAVYWEIGHT, DroneState.LOADED, 95);
+        saveDrone("TRANSITION_LOW", DroneModel.HEAVYWEIGHT, DroneState.LOADED, 20);
+        BulkTransitionRequestDTO request = BulkTransitionRequestDTO.builder()
+                .fromState(DroneState.LOADED)
+                .serialNumbers(List.of("TRANSITION_MATCH", "TRANSITION_MODEL", "TRANSITION_STATE",
+                        "TRANSITION_RANGE", "TRANSITION_LOW"))
+                .model(DroneModel.HEAVYWEIGHT)
+                .minBatteryCapacity(0)
+                .maxBatteryCapacity(90)
+                .targetState(DroneState.DELIVERING)
+                .build();
+
+        BulkTransitionResultDTO result = bulkTransitionService.changeDroneStates(request);
+
+        assertEquals(List.of("TRANSITION_MATCH"), result.getSerialNumbers());
+        assertEquals(DroneState.DELIVERING, droneRepository.findBySerialNumber("TRANSITION_MATCH").getState());
+        assertEquals(DroneState.LOADED, droneRepository.findBySerialNumber("TRANSITION_MODEL").getState());
+        assertEquals(DroneState.LOADED, droneRepository.findBySerialNumber("TRANSITION_LOW").getState());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_log WHERE drone_serial_number = ? " +
+                "AND event_type = ? AND from_state = ? AND to_state = ?", Integer.class, "TRANSITION_MATCH",
+                AuditEventType.STATE_CHANGED.getCode(), DroneState.LOADED.ordinal(), DroneState.DELIVERING.ordinal()));
+        assertEquals(List.of(), bulkTransitionService.changeDroneStates(request).getSerialNumbers());
+    }
+
+    /**
+     * Test case: Should reject a transition without a filter or with an inverted battery range.
+     */
+    @Test
+    @DisplayName("Should reject a transition without a filter or with an inverted battery range")
+    void changeDroneStates_InvalidFilter_ThrowsInvalidTransitionFilterException() {
+        assertThrows(InvalidTransitionFilterException.class, () -> bulkTransitionService.changeDroneStates(
+                BulkTransitionRequestDTO.builder().targetState(DroneState.IDLE).build()));
+        assertThrows(InvalidTransitionFilterException.class, () -> bulkTransitionService.changeDroneStates(
+                BulkTransitionRequestDTO.builder().minBatteryCapacity(60).maxBatteryCapacity(40)
+                        .targetState(DroneState.IDLE).build()));
+    }
+
+    private void saveDrone(String serialNumber, DroneModel model, DroneState state, int batteryCapacity) {
+        droneRepository.save(Drone.builder()
+                .serialNumber(serialNumber)
+                .model(model)
+                .weightLimit(200)
+                .batteryCapacity(batteryCapacity)
+                .state(state)
+                .build());
+    }
+}
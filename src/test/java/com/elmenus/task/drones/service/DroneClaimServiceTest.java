@@ -0,0 +1,151 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.DroneClaimDTO;
+import com.elmenus.task.drones.dto.MedicationDTO;
+import com.elmenus.task.drones.entity.Drone;
+import com.elmenus.task.drones.exception.DroneClaimedException;
+import com.elmenus.task.drones.exception.NoDroneAvailableException;
+import com.elmenus.task.drones.exception.WeightExceededException;
+import com.elmenus.task.drones.repository.DroneRepository;
+import com.elmenus.task.drones.shared.enums.DroneModel;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the {@link DroneClaimService} class against the embedded H2 database.
+ */
+@SpringBootTest
+class DroneClaimServiceTest {
+
+    @Autowired
+    private DroneClaimService droneClaimService;
+
+    @Autowired
+    private DroneService droneService;
+
+    @Autowired
+    private DroneRepository droneRepository;
+
+    /**
+     * Test case: Should claim every eligible drone once and skip drones with a low battery, the wrong state
+     * or too little free weight.
+     */
+    @Test
+    @DisplayName("Should claim every eligible drone once and skip ineligible drones")
+    void claim_EligibleDrones_ClaimsEachDroneOnce() {
+        LocalDateTime now = LocalDateTime.now();
+        Set<String> eligible = Set.of(saveDrone("CLAIM_1", 90, DroneState.LOADING, 0).getSerialNumber(),
+                saveDrone("CLAIM_2", 25, DroneState.LOADING, 0).getSerialNumber(),
+                saveDrone("CLAIM_3", 60, DroneState.LOADING, 20).getSerialNumber());
+        saveDrone("CLAIM_LOW_BATTERY", 24, DroneState.LOADING, 0);
+        saveDrone("CLAIM_IDLE", 90, DroneState.IDLE, 0);
+        saveDrone("CLAIM_LOADED", 90, DroneState.LOADING, 100);
+
+        List<String> claimed = claimAll(450, now);
+
+        assertEquals(claimed.size(), new HashSet<>(claimed).size());
+        assertTrue(claimed.containsAll(eligible));
+        assertFalse(claimed.contains("CLAIM_LOW_BATTERY"));
+        assertFalse(claimed.contains("CLAIM_IDLE"));
+        assertFalse(claimed.contains("CLAIM_LOADED"));
+    }
+
+    /**
+     * Test case: Should make a drone claimable again once its lease expired, and end the lease when it is loaded.
+     */
+    @Test
+    @DisplayName("Should make a drone claimable again once its lease expired and end the lease on loading")
+    void claim_ExpiredOrLoadedLease_ReleasesDrone() {
+        LocalDateTime now = LocalDateTime.now().plusDays(1);
+        Drone drone = saveDrone("CLAIM_LEASE", 90, DroneState.LOADING, 0);
+
+        assertTrue(claimAll(490, now).contains(drone.getSerialNumber()));
+        assertFalse(claimAll(490, now.plusSeconds(1)).contains(drone.getSerialNumber()));
+        List<String> reclaimed = claimAll(490, now.plusHours(1));
+        assertTrue(reclaimed.contains(drone.getSerialNumber()));
+
+        String claimToken = droneRepository.findById(drone.getId()).orElseThrow().getClaimToken();
+        droneService.loadDroneWithMedications(drone.getSerialNumber(),
+                List.of(new MedicationDTO("Aspirin", 10, "CLAIM_ASPIRIN", "aspirin.png", 1)), claimToken);
+        Drone loaded = droneRepository.findById(drone.getId()).orElseThrow();
+        assertNull(loaded.getClaimToken());
+        assertNull(loaded.getClaimExpiresAt());
+    }
+
+    /**
+     * Test case: Should hide a claimed drone from the available drones and only let the lease holder load it.
+     */
+    @Test
+    @DisplayName("Should hide a claimed drone from the available drones and only let the lease holder load it")
+    void loadDroneWithMedications_ClaimedDrone_RequiresClaimToken() {
+        Drone drone = saveDrone("CLAIM_ENFORCED", 90, DroneState.LOADING, 0);
+        droneService.rebuildFleetIndex();
+        List<MedicationDTO> medications = List.of(new MedicationDTO("Aspirin", 10, "CLAIM_ASPIRIN", "aspirin.png", 1));
+        assertTrue(droneService.getAvailableDronesForLoading().stream()
+                .anyMatch(available -> available.getSerialNumber().equals(drone.getSerialNumber())));
+        DroneClaimDTO claim = claimLeases(495, LocalDateTime.now()).stream()
+                .filter(claimed -> claimed.getSerialNumber().equals(drone.getSerialNumber()))
+                .findFirst()
+                .orElseThrow();
+
+        assertTrue(droneService.getAvailableDronesForLoading().stream()
+                .noneMatch(available -> available.getSerialNumber().equals(drone.getSerialNumber())));
+        assertThrows(DroneClaimedException.class, () -> droneService.loadDroneWithMedications(
+                drone.getSerialNumber(), medications, null));
+        assertThrows(DroneClaimedException.class, () -> droneService.appendToLoad(
+                drone.getSerialNumber(), medications, "ANOTHER_TOKEN"));
+
+        droneService.loadDroneWithMedications(drone.getSerialNumber(), medications, claim.getClaimToken());
+        assertNull(droneRepository.findById(drone.getId()).orElseThrow().getClaimToken());
+    }
+
+    /**
+     * Test case: Should reject a weight no drone can carry.
+     */
+    @Test
+    @DisplayName("Should reject a weight no drone can carry")
+    void claim_WeightAboveMaximum_ThrowsWeightExceededException() {
+        assertThrows(WeightExceededException.class, () -> droneClaimService.claim(501));
+    }
+
+    private List<String> claimAll(int weight, LocalDateTime now) {
+        return claimLeases(weight, now).stream().map(DroneClaimDTO::getSerialNumber).toList();
+    }
+
+    private List<DroneClaimDTO> claimLeases(int weight, LocalDateTime now) {
+        List<DroneClaimDTO> claims = new ArrayList<>();
+        while (true) {
+            try {
+                claims.add(droneClaimService.claim(weight, now));
+            } catch (NoDroneAvailableException ex) {
+                return claims;
+            }
+        }
+    }
+
+    private Drone saveDrone(String serialNumber, int batteryCapacity, DroneState state, int currentLoadWeight) {
+        return droneRepository.save(Drone.builder()
+                .serialNumber(serialNumber)
+                .model(DroneModel.HEAVYWEIGHT)
+                .weightLimit(500)
+                .batteryCapacity(batteryCapacity)
+                .state(state)
+                .currentLoadWeight(currentLoadWeight)
+                .build());
+    }
+}
@@ -0,0 +1,181 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.DroneDTO;
+import com.elmenus.task.drones.entity.Drone;
+import com.elmenus.task.drones.exception.BatteryEqualException;
+import com.elmenus.task.drones.exception.BatteryHighException;
+import com.elmenus.task.drones.repository.DroneRepository;
+import com.elmenus.task.drones.shared.enums.DroneModel;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Integration tests for the {@link DroneCommandLanes} class against the embedded H2 database.
+ */
+@SpringBootTest
+class DroneCommandLanesTest {
+
+    @Autowired
+    private DroneService droneService;
+
+    @Autowired
+    private DroneRepository droneRepository;
+
+    @Autowired
+    private DroneLookupCache droneLookupCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Test case: Should run the commands of one drone on a single lane thread in submission order.
+     */
+    @Test
+    @DisplayName("Should run the commands of one drone on a single lane thread in submission order")
+    void submit_CommandsOfOneDrone_RunInOrderOnOneLane() {
+        DroneCommandLanes lanes = newLanes(4);
+        Drone drone = saveDrone("LANE_ORDER", 90);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        lanes.start();
+        try {
+            List<CompletableFuture<Optional<DroneDTO>>> results = new ArrayList<>();
+            for (int battery = 30; battery < 60; battery++) {
+                int newBatteryCapacity = battery;
+                results.add(lanes.submit(drone.getSerialNumber(), () -> {
+                    threads.add(Thread.currentThread().getName());
+                    return droneService.changeBatteryCapacity(drone.getSerialNumber(), newBatteryCapacity);
+                }));
+            }
+            results.forEach(CompletableFuture::join);
+        } finally {
+            lanes.stop();
+        }
+
+        assertEquals(1, threads.size());
+        assertEquals(59, droneRepository.findById(drone.getId()).orElseThrow().getBatteryCapacity());
+    }
+
+    /**
+     * Test case: Should commit a group in one transaction and replay it one by one when a command fails.
+     */
+    @Test
+    @DisplayName("Should commit a group in one transaction and replay it one by one when a command fails")
+    void drain_FailedCommand_OnlyFailsItself() {
+        DroneCommandLanes lanes = newLanes(1);
+        Drone first = saveDrone("LANE_GROUP_1", 90);
+        Drone second = saveDrone("LANE_GROUP_2", 90);
+        Drone third = saveDrone("LANE_GROUP_3", 90);
+
+        CompletableFuture<Optional<DroneDTO>> firstResult = lanes.submit(first.getSerialNumber(),
+                () -> droneService.changeBatteryCapacity(first.getSerialNumber(), 50));
+        CompletableFuture<Optional<DroneDTO>> secondResult = lanes.submit(second.getSerialNumber(),
+                () -> droneService.changeBatteryCapacity(second.getSerialNumber(), 150));
+        CompletableFuture<Optional<DroneDTO>> thirdResult = lanes.submit(third.getSerialNumber(),
+                () -> droneService.changeDroneState(third.getSerialNumber(), DroneState.LOADING));
+
+        assertEquals(3, lanes.drain(first.getSerialNumber()));
+
+        assertEquals(50, firstResult.join().orElseThrow().getBatteryCapacity());
+        assertInstanceOf(BatteryHighException.class, assertThrows(CompletionException.class, secondResult::join).getCause());
+        assertEquals(third.getSerialNumber(), thirdResult.join().orElseThrow().getSerialNumber());
+        assertEquals(50, droneRepository.findById(first.getId()).orElseThrow().getBatteryCapacity());
+        assertEquals(90, droneRepository.findById(second.getId()).orElseThrow().getBatteryCapacity());
+        assertEquals(DroneState.LOADING, droneRepository.findById(third.getId()).orElseThrow().getState());
+    }
+
+    /**
+     * Test case: Should reject a command failing its validation without rolling back or replaying its group.
+     */
+    @Test
+    @DisplayName("Should reject a command failing its validation without rolling back or replaying its group")
+    void drain_InvalidCommand_RejectedBeforeJoiningGroup() {
+        DroneCommandLanes lanes = newLanes(1);
+        Drone first = saveDrone("LANE_VALID_1", 90);
+        Drone second = saveDrone("LANE_VALID_2", 90);
+        Drone third = saveDrone("LANE_VALID_3", 90);
+        AtomicInteger runs = new AtomicInteger();
+
+        CompletableFuture<Optional<DroneDTO>> firstResult = lanes.submit(first.getSerialNumber(),
+                () -> droneService.validateBatteryCapacityChange(first.getSerialNumber(), 50), () -> {
+                    runs.incrementAndGet();
+                    return droneService.changeBatteryCapacity(first.getSerialNumber(), 50);
+                });
+        CompletableFuture<Optional<DroneDTO>> secondResult = lanes.submit(second.getSerialNumber(),
+                () -> droneService.validateBatteryCapacityChange(second.getSerialNumber(), 150), () -> {
+                    runs.incrementAndGet();
+                    return droneService.changeBatteryCapacity(second.getSerialNumber(), 150);
+                });
+        CompletableFuture<Optional<DroneDTO>> thirdResult = lanes.submit(third.getSerialNumber(),
+                () -> droneService.validateStateChange(third.getSerialNumber()), () -> {
+                    runs.incrementAndGet();
+                    return droneService.changeDroneState(third.getSerialNumber(), DroneState.LOADING);
+                });
+
+        assertEquals(3, lanes.drain(first.getSerialNumber()));
+
+        assertEquals(2, runs.get());
+        assertEquals(50, firstResult.join().orElseThrow().getBatteryCapacity());
+        assertInstanceOf(BatteryHighException.class, assertThrows(CompletionException.class, secondResult::join).getCause());
+        assertEquals(third.getSerialNumber(), thirdResult.join().orElseThrow().getSerialNumber());
+        assertEquals(DroneState.LOADING, droneRepository.findById(third.getId()).orElseThrow().getState());
+        assertEquals(90, droneRepository.findById(second.getId()).orElseThrow().getBatteryCapacity());
+    }
+
+    /**
+     * Test case: Should start a new group with a second command on the same drone, validated against the first's outcome.
+     */
+    @Test
+    @DisplayName("Should start a new group with a second command on the same drone, validated against the first's outcome")
+    void drain_SecondCommandOfDrone_StartsNextGroup() {
+        DroneCommandLanes lanes = newLanes(1);
+        Drone drone = saveDrone("LANE_REPEAT", 90);
+
+        CompletableFuture<Optional<DroneDTO>> firstResult = lanes.submit(drone.getSerialNumber(),
+                () -> droneService.validateBatteryCapacityChange(drone.getSerialNumber(), 50),
+                () -> droneService.changeBatteryCapacity(drone.getSerialNumber(), 50));
+        CompletableFuture<Optional<DroneDTO>> secondResult = lanes.submit(drone.getSerialNumber(),
+                () -> droneService.validateBatteryCapacityChange(drone.getSerialNumber(), 50),
+                () -> droneService.changeBatteryCapacity(drone.getSerialNumber(), 50));
+
+        assertEquals(1, lanes.drain(drone.getSerialNumber()));
+        assertEquals(50, firstResult.join().orElseThrow().getBatteryCapacity());
+        assertFalse(secondResult.isDone());
+
+        assertEquals(1, lanes.drain(drone.getSerialNumber()));
+        assertInstanceOf(BatteryEqualException.class, assertThrows(CompletionException.class, secondResult::join).getCause());
+    }
+
+    private DroneCommandLanes newLanes(int laneCount) {
+        return new DroneCommandLanes(droneLookupCache, transactionManager, new SimpleMeterRegistry(), true,
+                laneCount, 100, 64);
+    }
+
+    private Drone saveDrone(String serialNumber, int batteryCapacity) {
+        return droneRepository.save(Drone.builder()
+                .serialNumber(serialNumber)
+                .model(DroneModel.LIGHTWEIGHT)
+                .weightLimit(200)
+                .batteryCapacity(batteryCapacity)
+                .state(DroneState.IDLE)
+                .build());
+    }
+}
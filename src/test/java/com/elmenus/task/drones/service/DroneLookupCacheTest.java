@@ -0,0 +1,119 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.DroneSnapshot;
+import com.elmenus.task.drones.entity.Drone;
+import com.elmenus.task.drones.shared.enums.DroneModel;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link DroneLookupCache} class.
+ */
+class DroneLookupCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DroneLookupCache droneLookupCache;
+
+    /**
+     * Set up the test environment with an empty cache.
+     */
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        droneLookupCache = new DroneLookupCache(100, meterRegistry);
+    }
+
+    /**
+     * Test case: Should only call the loader on the first lookup of a serial number.
+     */
+    @Test
+    @DisplayName("Should only call the loader on the first lookup of a serial number")
+    void get_CachesLoadedSnapshot() {
+        AtomicInteger loads = new AtomicInteger();
+
+        droneLookupCache.get("DRONE_1", serialNumber -> {
+            loads.incrementAndGet();
+            return drone(serialNumber, 80);
+        });
+        Optional<DroneSnapshot> snapshot = droneLookupCache.get("DRONE_1", serialNumber -> {
+            loads.incrementAndGet();
+            return drone(serialNumber, 80);
+        });
+
+        assertEquals(1, loads.get());
+        assertEquals(80, snapshot.orElseThrow().getBatteryCapacity());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    /**
+     * Test case: Should return an empty optional when the drone does not exist.
+     */
+    @Test
+    @DisplayName("Should return an empty optional when the drone does not exist")
+    void get_UnknownDrone_ReturnsEmpty() {
+        assertTrue(droneLookupCache.get("UNKNOWN", serialNumber -> null).isEmpty());
+    }
+
+    /**
+     * Test case: Should replace the cached snapshot when a drone is updated.
+     */
+    @Test
+    @DisplayName("Should replace the cached snapshot when a drone is updated")
+    void update_ReplacesSnapshot() {
+        droneLookupCache.get("DRONE_1", serialNumber -> drone(serialNumber, 80));
+
+        droneLookupCache.update(drone("DRONE_1", 40));
+
+        assertEquals(40, droneLookupCache.get("DRONE_1", serialNumber -> null).orElseThrow().getBatteryCapacity());
+    }
+
+    /**
+     * Test case: Should keep a cached snapshot over an update from an older version whose commit callback ran late.
+     */
+    @Test
+    @DisplayName("Should keep a cached snapshot over an update from an older version whose commit callback ran late")
+    void update_OlderVersionCommittedLate_KeepsNewerSnapshot() {
+        Drone older = drone("DRONE_1", 80);
+        older.setVersion(5L);
+        Drone newer = drone("DRONE_1", 40);
+        newer.setVersion(6L);
+        List<TransactionSynchronization> olderCallbacks;
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            droneLookupCache.update(older);
+            olderCallbacks = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        droneLookupCache.update(newer);
+        olderCallbacks.forEach(TransactionSynchronization::afterCommit);
+
+        DroneSnapshot cached = droneLookupCache.get("DRONE_1", serialNumber -> null).orElseThrow();
+        assertEquals(40, cached.getBatteryCapacity());
+        assertEquals(6L, cached.getVersion());
+    }
+
+    private static Drone drone(String serialNumber, int batteryCapacity) {
+        return Drone.builder()
+                .id(1)
+                .serialNumber(serialNumber)
+                .model(DroneModel.LIGHTWEIGHT)
+                .weightLimit(200)
+                .batteryCapacity(batteryCapacity)
+                .state(DroneState.IDLE)
+                .build();
+    }
+}
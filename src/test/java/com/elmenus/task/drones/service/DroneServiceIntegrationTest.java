@@ -0,0 +1,468 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.BatteryHistoryDTO;
+import com.elmenus.task.drones.dto.BatterySampleDTO;
+import com.elmenus.task.drones.dto.BatterySweepResultDTO;
+import com.elmenus.task.drones.dto.DroneDTO;
+import com.elmenus.task.drones.dto.MedicationDTO;
+import com.elmenus.task.drones.dto.UnloadMedicationDTO;
+import com.elmenus.task.drones.entity.AuditLog;
+import com.elmenus.task.drones.entity.Drone;
+import com.elmenus.task.drones.entity.Medication;
+import com.elmenus.task.drones.exception.MedicationConflictException;
+import com.elmenus.task.drones.exception.MedicationNotLoadedException;
+import com.elmenus.task.drones.exception.WeightExceededException;
+import com.elmenus.task.drones.repository.AuditLogRepository;
+import com.elmenus.task.drones.repository.DroneRepository;
+import com.elmenus.task.drones.repository.MedicationRepository;
+import com.elmenus.task.drones.shared.enums.AuditEventType;
+import com.elmenus.task.drones.shared.enums.DroneModel;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the {@link DroneService} class against the embedded H2 database.
+ */
+@SpringBootTest
+class DroneServiceIntegrationTest {
+
+    @Autowired
+    private DroneService droneService;
+
+    @Autowired
+    private DroneRepository droneRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private MedicationRepository medicationRepository;
+
+    @Autowired
+    private MedicationCatalog medicationCatalog;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Nested class containing tests for the {@code checkBatteryLevels} method.
+     */
+    @Nested
+    @DisplayName("Tests for checkBatteryLevels method")
+    class CheckBatteryLevelsTests {
+
+        /**
+         * Test case: Should move low-battery drones to IDLE and audit them in one sweep.
+         */
+        @Test
+        @DisplayName("Should move low-battery drones to IDLE and audit them in one sweep")
+        void checkBatteryLevels_LowBattery_MovesDronesToIdle() {
+            Drone lowBattery = saveDrone("SWEEP_LOW", 10, DroneState.DELIVERING);
+            Drone highBattery = saveDrone("SWEEP_HIGH", 80, DroneState.DELIVERING);
+            Drone loading = saveDrone("SWEEP_LOADING", 10, DroneState.LOADING);
+
+            BatterySweepResultDTO result = droneService.checkBatteryLevels();
+
+            assertTrue(result.getAffectedDrones() >= 1);
+            assertEquals(DroneState.IDLE, droneRepository.findById(lowBattery.getId()).orElseThrow().getState());
+            assertEquals(DroneState.DELIVERING, droneRepository.findById(highBattery.getId()).orElseThrow().getState());
+            assertEquals(DroneState.LOADING, droneRepository.findById(loading.getId()).orElseThrow().getState());
+            assertEquals(List.of("Low Battery", "Changed state to IDLE"), eventsOf(lowBattery));
+        }
+
+        /**
+         * Test case: Should leave drones that are already IDLE out of later sweeps.
+         */
+        @Test
+        @DisplayName("Should leave drones that are already IDLE out of later sweeps")
+        void checkBatteryLevels_AlreadyIdle_IsNotAuditedAgain() {
+            Drone drone = saveDrone("SWEEP_TWICE", 10, DroneState.RETURNING);
+
+            droneService.checkBatteryLevels();
+            droneService.checkBatteryLevels();
+
+            assertEquals(2, eventsOf(drone).size());
+        }
+    }
+
+    /**
+     * Nested class containing tests for the {@code idleLowBatteryDrone} method.
+     */
+    @Nested
+    @DisplayName("Tests for idleLowBatteryDrone method")
+    class IdleLowBatteryDroneTests {
+
+        /**
+         * Test case: Should audit the state the drone left when moving it to IDLE, as the sweep does.
+         */
+        @Test
+        @DisplayName("Should audit the state the drone left when moving it to IDLE, as the sweep does")
+        void idleLowBatteryDrone_LowBattery_AuditsPreviousState() {
+            Drone drone = saveDrone("EVENT_LOW", 10, DroneState.DELIVERING);
+
+            assertTrue(droneService.idleLowBatteryDrone(drone.getId(), drone.getSerialNumber(), 10));
+            assertFalse(droneService.idleLowBatteryDrone(drone.getId(), drone.getSerialNumber(), 10));
+
+            AuditLog stateChanged = auditLogRepository.findAll().stream()
+                    .filter(auditLog -> drone.getId().equals(auditLog.getDroneId()))
+                    .filter(auditLog -> auditLog.getEventType() == AuditEventType.STATE_CHANGED)
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals(DroneState.DELIVERING, stateChanged.getFromState());
+            assertEquals(DroneState.IDLE, stateChanged.getToState());
+            assertEquals(2, eventsOf(drone).size());
+        }
+    }
+
+    /**
+     * Nested class containing tests for the {@code changeBatteryCapacity} method.
+     */
+    @Nested
+    @DisplayName("Tests for changeBatteryCapacity method")
+    class ChangeBatteryCapacityTests {
+
+        /**
+         * Test case: Should move the drone to IDLE soon after its battery crosses below the threshold.
+         */
+        @Test
+        @DisplayName("Should move the drone to IDLE soon after its battery crosses below the threshold")
+        void changeBatteryCapacity_CrossesThreshold_MovesDroneToIdle() throws InterruptedException {
+            Drone drone = saveDrone("CROSSING_LOW", 60, DroneState.DELIVERING);
+
+            droneService.changeBatteryCapacity(drone.getSerialNumber(), 20);
+
+            assertEquals(DroneState.IDLE, awaitState(drone, DroneState.IDLE));
+            assertEquals(List.of("Low Battery", "Changed state to IDLE"), eventsOf(drone));
+        }
+
+        /**
+         * Test case: Should record the new battery capacity in the battery history.
+         */
+        @Test
+        @DisplayName("Should record the new battery capacity in the battery history")
+        void changeBatteryCapacity_RecordsBatteryHistory() {
+            Drone drone = saveDrone("HISTORY_CHANGE", 90, DroneState.DELIVERING);
+
+            droneService.changeBatteryCapacity(drone.getSerialNumber(), 70);
+            droneService.changeBatteryCapacity(drone.getSerialNumber(), 60);
+
+            BatteryHistoryDTO history = droneService.getBatteryHistory(drone.getSerialNumber(), null, null, null);
+            assertEquals(List.of(70, 60), history.getSamples().stream().map(BatterySampleDTO::getBatteryCapacity).toList());
+        }
+
+        /**
+         * Test case: Should compare the new battery capacity with the stored one rather than a stale cached one.
+         */
+        @Test
+        @DisplayName("Should compare the new battery capacity with the stored one rather than a stale cached one")
+        void changeBatteryCapacity_StaleCachedSnapshot_UsesStoredCapacity() {
+            Drone drone = saveDrone("STALE_SNAPSHOT", 90, DroneState.DELIVERING);
+            droneService.changeBatteryCapacity(drone.getSerialNumber(), 80);
+            jdbcTemplate.update("UPDATE drone SET battery_capacity = 70, version = version + 1 WHERE id = ?", drone.getId());
+
+            droneService.changeBatteryCapacity(drone.getSerialNumber(), 80);
+
+            assertEquals(80, droneRepository.findById(drone.getId()).orElseThrow().getBatteryCapacity());
+        }
+    }
+
+    /**
+     * Nested class containing tests for the {@code loadDroneWithMedications} method.
+     */
+    @Nested
+    @DisplayName("Tests for loadDroneWithMedications method")
+    class LoadDroneWithMedicationsTests {
+
+        /**
+         * Test case: Should store each medication once in the catalog however many drones load it.
+         */
+        @Test
+        @DisplayName("Should store each medication once in the catalog however many drones load it")
+        void loadDroneWithMedications_SameCode_ReusesCatalogEntry() {
+            Drone first = saveDrone("CATALOG_FIRST", 90, DroneState.LOADING);
+            Drone second = saveDrone("CATALOG_SECOND", 90, DroneState.LOADING);
+            MedicationDTO medication = MedicationDTO.builder()
+                    .name("Catalog_Aspirin")
+                    .weight(50)
+                    .code("CATALOG_ASPIRIN")
+                    .image("aspirin.png")
+                    .build();
+
+            droneService.loadDroneWithMedications(first.getSerialNumber(), List.of(medication), null);
+            droneService.loadDroneWithMedications(second.getSerialNumber(), List.of(medication), null);
+
+            Medication stored = medicationRepository.findByCode("CATALOG_ASPIRIN").orElseThrow();
+            assertEquals(1, medicationRepository.findAll().stream()
+                    .filter(candidate -> candidate.getCode().equals("CATALOG_ASPIRIN"))
+                    .count());
+            assertEquals(stored.getId(), medicationCatalog.resolve(medication).getId());
+        }
+
+        /**
+         * Test case: Should reject a medication that differs from its catalog entry and roll back entries the load added.
+         */
+        @Test
+        @DisplayName("Should reject a medication that differs from its catalog entry and roll back entries the load added")
+        void loadDroneWithMedications_ConflictingDefinition_KeepsCatalogEntry() {
+            Drone first = saveDrone("CONFLICT_FIRST", 90, DroneState.LOADING);
+            Drone second = saveDrone("CONFLICT_SECOND", 90, DroneState.LOADING);
+            MedicationDTO.MedicationDTOBuilder aspirin = MedicationDTO.builder()
+                    .name("Conflict_Aspirin")
+                    .code("CONFLICT_ASPIRIN")
+                    .image("aspirin.png");
+            MedicationDTO bandage = MedicationDTO.builder()
+                    .name("Conflict_Bandage")
+                    .weight(5)
+                    .code("CONFLICT_BANDAGE")
+                    .image("bandage.png")
+                    .build();
+            droneService.loadDroneWithMedications(first.getSerialNumber(), List.of(aspirin.weight(50).build()), null);
+
+            assertThrows(MedicationConflictException.class, () -> droneService.loadDroneWithMedications(
+                    second.getSerialNumber(), List.of(aspirin.weight(10).build(), bandage), null));
+
+            assertEquals(50, medicationRepository.findByCode("CONFLICT_ASPIRIN").orElseThrow().getWeight());
+            assertTrue(medicationRepository.findByCode("CONFLICT_BANDAGE").isEmpty());
+            assertTrue(medicationCatalog.find("CONFLICT_BANDAGE").isEmpty());
+            assertEquals(DroneState.LOADING, droneRepository.findById(second.getId()).orElseThrow().getState());
+        }
+
+        /**
+         * Test case: Should write one row per code carrying the summed quantity of its lines.
+         */
+        @Test
+        @DisplayName("Should write one row per code carrying the summed quantity of its lines")
+        void loadDroneWithMedications_RepeatedCode_AggregatesQuantities() {
+            Drone drone = saveDrone("QUANTITY_DRONE", 90, DroneState.LOADING);
+            MedicationDTO.MedicationDTOBuilder ibuprofen = MedicationDTO.builder()
+                    .name("Quantity_Ibuprofen")
+                    .weight(30)
+                    .code("QUANTITY_IBUPROFEN")
+                    .image("ibuprofen.png");
+            MedicationDTO bandage = MedicationDTO.builder()
+                    .name("Quantity_Bandage")
+                    .weight(10)
+                    .code("QUANTITY_BANDAGE")
+                    .image("bandage.png")
+                    .build();
+
+            droneService.loadDroneWithMedications(drone.getSerialNumber(),
+                    List.of(ibuprofen.quantity(2).build(), ibuprofen.quantity(3).build(), bandage), null);
+
+            List<Integer> quantities = jdbcTemplate.queryForList(
+                    "SELECT dm.quantity FROM drone_medication dm JOIN medication m ON m.id = dm.medication_id "
+                            + "WHERE dm.drone_id = ? ORDER BY m.code", Integer.class, drone.getId());
+            assertEquals(List.of(1, 5), quantities);
+            assertEquals(DroneState.LOADED, droneRepository.findById(drone.getId()).orElseThrow().getState());
+        }
+
+        /**
+         * Test case: Should count identical lines once each and reject lines that share a code but differ.
+         */
+        @Test
+        @DisplayName("Should count identical lines once each and reject lines that share a code but differ")
+        void loadDroneWithMedications_DuplicateLines_CountsEachLine() {
+            Drone drone = saveDrone("DUPLICATE_DRONE", 90, DroneState.LOADING);
+            MedicationDTO.MedicationDTOBuilder gauze = MedicationDTO.builder()
+                    .name("Duplicate_Gauze")
+                    .weight(20)
+                    .code("DUPLICATE_GAUZE")
+                    .image("gauze.png");
+
+            assertThrows(MedicationConflictException.class, () -> droneService.loadDroneWithMedications(
+                    drone.getSerialNumber(), List.of(gauze.build(), gauze.weight(1).build()), null));
+            DroneDTO loaded = droneService.loadDroneWithMedications(drone.getSerialNumber(),
+                    List.of(gauze.weight(20).build(), gauze.weight(20).build()), null).orElseThrow();
+
+            assertEquals(40, loaded.getCurrentLoadWeight());
+            assertEquals(2, jdbcTemplate.queryForObject("SELECT quantity FROM drone_medication WHERE drone_id = ?",
+                    Integer.class, drone.getId()));
+        }
+    }
+
+    /**
+     * Nested class containing tests for the {@code appendToLoad} and {@code removeFromLoad} methods.
+     */
+    @Nested
+    @DisplayName("Tests for appendToLoad and removeFromLoad methods")
+    class IncrementalLoadTests {
+
+        /**
+         * Test case: Should accumulate quantities and load weight across appends and reject what does not fit.
+         */
+        @Test
+        @DisplayName("Should accumulate quantities and load weight across appends and reject what does not fit")
+        void appendToLoad_AccumulatesUntilWeightLimit() {
+            Drone drone = saveDrone("APPEND_DRONE", 90, DroneState.LOADING);
+
+            droneService.appendToLoad(drone.getSerialNumber(), List.of(medication("APPEND_SYRINGE", 40, 2)), null);
+            DroneDTO loaded = droneService.appendToLoad(drone.getSerialNumber(),
+                    List.of(medication("APPEND_SYRINGE", 40, 1), medication("APPEND_GAUZE", 10, 3)), null).orElseThrow();
+
+            assertEquals(150, loaded.getCurrentLoadWeight());
+            assertEquals(List.of(3, 3), quantitiesOf(drone));
+            assertThrows(WeightExceededException.class, () -> droneService.appendToLoad(drone.getSerialNumber(),
+                    List.of(medication("APPEND_GAUZE", 10, 6)), null));
+            assertEquals(150, droneRepository.findById(drone.getId()).orElseThrow().getCurrentLoadWeight());
+            assertEquals(DroneState.LOADING, droneRepository.findById(drone.getId()).orElseThrow().getState());
+        }
+
+        /**
+         * Test case: Should subtract quantities and load weight, drop emptied rows and reject missing units.
+         */
+        @Test
+        @DisplayName("Should subtract quantities and load weight, drop emptied rows and reject missing units")
+        void removeFromLoad_SubtractsUntilEmpty() {
+            Drone drone = saveDrone("REMOVE_DRONE", 90, DroneState.LOADING);
+            droneService.loadDroneWithMedications(drone.getSerialNumber(),
+                    List.of(medication("REMOVE_SYRINGE", 40, 2), medication("REMOVE_GAUZE", 10, 1)), null);
+
+            DroneDTO unloaded = droneService.removeFromLoad(drone.getSerialNumber(),
+                    List.of(new UnloadMedicationDTO("REMOVE_SYRINGE", null))).orElseThrow();
+            assertEquals(50, unloaded.getCurrentLoadWeight());
+
+            unloaded = droneService.removeFromLoad(drone.getSerialNumber(),
+                    List.of(new UnloadMedicationDTO("REMOVE_SYRINGE", 1), new UnloadMedicationDTO("REMOVE_GAUZE", 1))).orElseThrow();
+            assertEquals(0, unloaded.getCurrentLoadWeight());
+            assertTrue(quantitiesOf(drone).isEmpty());
+            assertThrows(MedicationNotLoadedException.class, () -> droneService.removeFromLoad(drone.getSerialNumber(),
+                    List.of(new UnloadMedicationDTO("REMOVE_GAUZE", 1))));
+            assertEquals(0, droneRepository.findById(drone.getId()).orElseThrow().getCurrentLoadWeight());
+        }
+
+        private MedicationDTO medication(String code, int weight, int quantity) {
+            return MedicationDTO.builder()
+                    .name(code)
+                    .weight(weight)
+                    .code(code)
+                    .image("medication.png")
+                    .quantity(quantity)
+                    .build();
+        }
+
+        private List<Integer> quantitiesOf(Drone drone) {
+            return jdbcTemplate.queryForList(
+                    "SELECT quantity FROM drone_medication WHERE drone_id = ? ORDER BY quantity", Integer.class, drone.getId());
+        }
+    }
+
+    /**
+     * Nested class containing concurrency tests for the {@code changeDroneState} and {@code changeBatteryCapacity}
+     * methods.
+     */
+    @Nested
+    @DisplayName("Tests for concurrent changeDroneState and changeBatteryCapacity calls")
+    class ConcurrentUpdateTests {
+
+        private static final int DRONES = 4;
+        private static final int UPDATES = 100;
+
+        /**
+         * Test case: Should keep the last state and the last battery capacity that concurrent writers were told
+         * they wrote, and count every successful write exactly once in the version.
+         */
+        @Test
+        @DisplayName("Should keep the last state and battery capacity written by concurrent writers")
+        void concurrentStateAndBatteryChanges_LoseNoUpdates() throws Exception {
+            List<Drone> drones = new ArrayList<>();
+            for (int i = 0; i < DRONES; i++) {
+                drones.add(saveDrone("CONCURRENT_DRONE_" + i, 100, DroneState.IDLE));
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(2 * DRONES);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> stateWriters = new ArrayList<>();
+            List<Future<Integer>> batteryWriters = new ArrayList<>();
+            try {
+                for (Drone drone : drones) {
+                    stateWriters.add(executor.submit(() -> write(start,
+                            i -> droneService.changeDroneState(drone.getSerialNumber(), stateAt(i)))));
+                    batteryWriters.add(executor.submit(() -> write(start,
+                            i -> droneService.changeBatteryCapacity(drone.getSerialNumber(), batteryAt(i)))));
+                }
+                start.countDown();
+                for (int d = 0; d < DRONES; d++) {
+                    int lastState = stateWriters.get(d).get(60, TimeUnit.SECONDS);
+                    int lastBattery = batteryWriters.get(d).get(60, TimeUnit.SECONDS);
+                    Drone stored = droneRepository.findById(drones.get(d).getId()).orElseThrow();
+                    assertEquals(stateAt(lastState), stored.getState());
+                    assertEquals(batteryAt(lastBattery), stored.getBatteryCapacity());
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        /**
+         * Runs the updates once the start signal is given and returns the index of the last one that succeeded.
+         * Updates rejected after exhausting their retries are reported to the caller, not lost.
+         */
+        private int write(CountDownLatch start, IntConsumer update) throws InterruptedException {
+            start.await();
+            int lastSucceeded = -1;
+            for (int i = 0; i < UPDATES; i++) {
+                try {
+                    update.accept(i);
+                    lastSucceeded = i;
+                } catch (OptimisticLockingFailureException ex) {
+                    // Rejected with a conflict after its retries; the previous write stays in place.
+                }
+            }
+            assertTrue(lastSucceeded >= 0);
+            return lastSucceeded;
+        }
+
+        private DroneState stateAt(int i) {
+            return i % 2 == 0 ? DroneState.LOADING : DroneState.DELIVERING;
+        }
+
+        private int batteryAt(int i) {
+            return 60 + i % 40;
+        }
+    }
+
+    private DroneState awaitState(Drone drone, DroneState expectedState) throws InterruptedException {
+        DroneState state = null;
+        for (int attempt = 0; attempt < 50 && state != expectedState; attempt++) {
+            Thread.sleep(100);
+            state = droneRepository.findById(drone.getId()).orElseThrow().getState();
+        }
+        return state;
+    }
+
+    private Drone saveDrone(String serialNumber, int batteryCapacity, DroneState state) {
+        return droneRepository.save(Drone.builder()
+                .serialNumber(serialNumber)
+                .model(DroneModel.LIGHTWEIGHT)
+                .weightLimit(200)
+                .batteryCapacity(batteryCapacity)
+                .state(state)
+                .build());
+    }
+
+    private List<String> eventsOf(Drone drone) {
+        return auditLogRepository.findAll().stream()
+                .filter(auditLog -> drone.getId().equals(auditLog.getDroneId()))
+                .map(AuditLog::describe)
+                .toList();
+    }
+}
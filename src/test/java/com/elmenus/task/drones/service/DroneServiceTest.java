@@ -6,8 +6,10 @@ import com.elmenus.task.drones.shared.enums.DroneState;
 import com.elmenus.task.drones.exception.DroneNotFoundException;
 import com.elmenus.task.drones.exception.DroneStateException;
 import com.elmenus.task.drones.exception.WeightExceededException;
-import com.elmenus.task.drones.repository.AuditLogRepository;
+import com.elmenus.task.drones.repository.AuditLogBatchRepository;
+import com.elmenus.task.drones.repository.DroneMedicationRepository;
 import com.elmenus.task.drones.repository.DroneRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -17,8 +19,8 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.modelmapper.ModelMapper;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
@@ -36,7 +38,13 @@ public class DroneServiceTest {
     private ModelMapper mapper;
 
     @Mock
-    private AuditLogRepository auditLogRepository;
+    private AuditWriter auditWriter;
+
+    @Mock
+    private AuditLogBatchRepository auditLogBatchRepository;
+
+    @Mock
+    private LowBatteryDetector lowBatteryDetector;
 
     @InjectMocks
     private DroneService droneService;
@@ -48,7 +56,10 @@ public class DroneServiceTest {
     public void setup() {
         MockitoAnnotations.openMocks(this);
         droneRepository = mock(DroneRepository.class);
-        droneService = new DroneService(droneRepository, auditLogRepository, mapper);
+        droneService = new DroneService(droneRepository, auditWriter, auditLogBatchRepository, mapper, new FleetStateIndex(),
+                new DroneLookupCache(100, new SimpleMeterRegistry()), lowBatteryDetector,
+                new BatteryHistoryStore(16, mock(BatteryTimeSeriesStore.class), new SimpleMeterRegistry()),
+                mock(MedicationCatalog.class), mock(DroneMedicationRepository.class), mock(DroneStateTimeouts.class));
     }
 
     /**
@@ -66,7 +77,7 @@ public class DroneServiceTest {
         public void loadDroneWithMedications_WeightLimitExceeded_ThrowsWeightExceededException() {
             // Arrange
             String serialNumber = "123";
-            Set<MedicationDTO> medications = new HashSet<>();
+            List<MedicationDTO> medications = new ArrayList<>();
             medications.add(MedicationDTO.builder()
                     .name("Medicine1")
                     .weight(300)
@@ -87,7 +98,34 @@ public class DroneServiceTest {
             when(droneRepository.findBySerialNumber(serialNumber)).thenReturn(drone);
 
             // Act & Assert
-            assertThrows(WeightExceededException.class, () -> droneService.loadDroneWithMedications(serialNumber, medications));
+            assertThrows(WeightExceededException.class, () -> droneService.loadDroneWithMedications(serialNumber, medications, null));
+        }
+
+        /**
+         * Test case: Should count every requested unit against the weight limit.
+         */
+        @Test
+        @DisplayName("Should count every requested unit against the weight limit")
+        public void loadDroneWithMedications_QuantityExceedsWeightLimit_ThrowsWeightExceededException() {
+            // Arrange
+            String serialNumber = "123";
+            List<MedicationDTO> medications = new ArrayList<>();
+            medications.add(MedicationDTO.builder()
+                    .name("Medicine1")
+                    .weight(100)
+                    .code("Code123")
+                    .image("ImageURL")
+                    .quantity(6)
+                    .build());
+
+            Drone drone = new Drone();
+            drone.setBatteryCapacity(50);
+            drone.setState(DroneState.LOADING);
+
+            when(droneRepository.findBySerialNumber(serialNumber)).thenReturn(drone);
+
+            // Act & Assert
+            assertThrows(WeightExceededException.class, () -> droneService.loadDroneWithMedications(serialNumber, medications, null));
         }
 
         /**
@@ -98,7 +136,7 @@ public class DroneServiceTest {
         public void loadDroneWithMedications_DroneNotInLoadingState_ThrowsDroneStateException() {
             // Arrange
             String serialNumber = "123";
-            Set<MedicationDTO> medications = new HashSet<>();
+            List<MedicationDTO> medications = new ArrayList<>();
             medications.add(MedicationDTO.builder()
                     .name("Medicine1")
                     .weight(100)
@@ -113,7 +151,7 @@ public class DroneServiceTest {
             when(droneRepository.findBySerialNumber(serialNumber)).thenReturn(drone);
 
             // Act & Assert
-            assertThrows(DroneStateException.class, () -> droneService.loadDroneWithMedications(serialNumber, medications));
+            assertThrows(DroneStateException.class, () -> droneService.loadDroneWithMedications(serialNumber, medications, null));
         }
 
         /**
@@ -124,7 +162,7 @@ public class DroneServiceTest {
         public void loadDroneWithMedications_DroneNotFound_ThrowsDroneNotFoundException() {
             // Arrange
             String serialNumber = "123";
-            Set<MedicationDTO> medications = new HashSet<>();
+            List<MedicationDTO> medications = new ArrayList<>();
             medications.add(MedicationDTO.builder()
                     .name("Medicine1")
                     .weight(100)
@@ -135,7 +173,7 @@ public class DroneServiceTest {
             when(droneRepository.findBySerialNumber(serialNumber)).thenReturn(null);
 
             // Act & Assert
-            assertThrows(DroneNotFoundException.class, () -> droneService.loadDroneWithMedications(serialNumber, medications));
+            assertThrows(DroneNotFoundException.class, () -> droneService.loadDroneWithMedications(serialNumber, medications, null));
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.entity.Drone;
+import com.elmenus.task.drones.repository.DroneRepository;
+import com.elmenus.task.drones.shared.enums.AuditEventType;
+import com.elmenus.task.drones.shared.enums.DroneModel;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Integration tests for the {@link DroneStateTimeoutSweeper} class against the embedded H2 database.
+ */
+@SpringBootTest
+class DroneStateTimeoutSweeperTest {
+
+    private static final long TIMEOUT_MILLIS = 60_000;
+
+    @Autowired
+    private DroneService droneService;
+
+    @Autowired
+    private DroneRepository droneRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Test case: Should audit and move the drones stuck in a state, and skip the drones that left it since.
+     */
+    @Test
+    @DisplayName("Should audit and move the drones stuck in a state, and skip the drones that left it since")
+    void sweep_StuckDrones_TimesThemOut() {
+        LocalDateTime now = LocalDateTime.now();
+        Drone stuck = saveDrone("TIMEOUT_STUCK", DroneState.DELIVERING, now.minusHours(1));
+        Drone moved = saveDrone("TIMEOUT_MOVED", DroneState.DELIVERING, now.minusHours(1));
+        DroneStateTimeouts droneStateTimeouts = new DroneStateTimeouts(new SimpleMeterRegistry(), 100, 64,
+                Map.of("DELIVERING", TIMEOUT_MILLIS, "RETURNING", TIMEOUT_MILLIS), Map.of("DELIVERING", "RETURNING"));
+        droneStateTimeouts.rebuild(() -> droneRepository.findStateSinceByStateIn(List.of(DroneState.DELIVERING)));
+        DroneStateTimeoutSweeper sweeper = new DroneStateTimeoutSweeper(droneService, droneStateTimeouts,
+                new SimpleMeterRegistry(), 1);
+        moved.setState(DroneState.DELIVERED);
+        moved.setStateChangedAt(now);
+        droneRepository.save(moved);
+
+        assertEquals(1, sweeper.sweep(System.currentTimeMillis() + 1_000));
+
+        assertEquals(DroneState.RETURNING, droneRepository.findById(stuck.getId()).orElseThrow().getState());
+        assertEquals(DroneState.DELIVERED, droneRepository.findById(moved.getId()).orElseThrow().getState());
+        assertEquals(1, countEvents(stuck.getSerialNumber(), AuditEventType.STATE_TIMED_OUT));
+        assertEquals(1, countEvents(stuck.getSerialNumber(), AuditEventType.STATE_CHANGED));
+        assertEquals(0, countEvents(moved.getSerialNumber(), AuditEventType.STATE_TIMED_OUT));
+        assertEquals(0, sweeper.sweep(System.currentTimeMillis() + 1_000));
+    }
+
+    private Drone saveDrone(String serialNumber, DroneState state, LocalDateTime stateChangedAt) {
+        return droneRepository.save(Drone.builder()
+                .serialNumber(serialNumber)
+                .model(DroneModel.LIGHTWEIGHT)
+                .weightLimit(200)
+                .batteryCapacity(90)
+                .state(state)
+                .stateChangedAt(stateChangedAt)
+                .build());
+    }
+
+    private int countEvents(String serialNumber, AuditEventType eventType) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_log WHERE drone_serial_number = ? " +
+                "AND event_type = ?", Integer.class, serialNumber, eventType.getCode());
+    }
+}
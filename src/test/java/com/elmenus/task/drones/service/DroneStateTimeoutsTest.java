@@ -0,0 +1,116 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.DroneStateSince;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link DroneStateTimeouts} class.
+ */
+class DroneStateTimeoutsTest {
+
+    private static final long TICK_MILLIS = 10;
+    private static final long LOADING_TIMEOUT_MILLIS = 1_000;
+
+    private DroneStateTimeouts droneStateTimeouts;
+
+    /**
+     * Set up a wheel of 8 slots, so that the LOADING timeout spans many revolutions of the wheel.
+     */
+    @BeforeEach
+    void setUp() {
+        droneStateTimeouts = new DroneStateTimeouts(new SimpleMeterRegistry(), TICK_MILLIS, 8,
+                Map.of("LOADING", LOADING_TIMEOUT_MILLIS), Map.of("LOADING", "IDLE"));
+    }
+
+    /**
+     * Test case: Should expire a timer once its timeout elapsed, and not before.
+     */
+    @Test
+    @DisplayName("Should expire a timer once its timeout elapsed, and not before")
+    void expire_TimeoutElapsed_ExpiresTimer() {
+        long now = System.currentTimeMillis();
+        droneStateTimeouts.armAfterCommit("TIMEOUT_1", DroneState.LOADING);
+
+        assertTrue(droneStateTimeouts.expire(now + LOADING_TIMEOUT_MILLIS - 1).isEmpty());
+        assertEquals(Map.of(DroneState.LOADING, List.of("TIMEOUT_1")),
+                droneStateTimeouts.expire(now + LOADING_TIMEOUT_MILLIS + 1_000));
+        assertTrue(droneStateTimeouts.expire(now + 10 * LOADING_TIMEOUT_MILLIS).isEmpty());
+        assertEquals(DroneState.IDLE, droneStateTimeouts.transitionOf(DroneState.LOADING));
+    }
+
+    /**
+     * Test case: Should cancel the timer of a drone moving to a state without a timeout.
+     */
+    @Test
+    @DisplayName("Should cancel the timer of a drone moving to a state without a timeout")
+    void armAfterCommit_StateWithoutTimeout_CancelsTimer() {
+        long now = System.currentTimeMillis();
+        droneStateTimeouts.armAfterCommit("TIMEOUT_1", DroneState.LOADING);
+        droneStateTimeouts.armAfterCommit("TIMEOUT_2", DroneState.LOADING);
+        droneStateTimeouts.armAfterCommit("TIMEOUT_1", DroneState.LOADED);
+
+        assertEquals(Map.of(DroneState.LOADING, List.of("TIMEOUT_2")),
+                droneStateTimeouts.expire(now + LOADING_TIMEOUT_MILLIS + 1_000));
+    }
+
+    /**
+     * Test case: Should rebuild the timers from the time each drone entered its state.
+     */
+    @Test
+    @DisplayName("Should rebuild the timers from the time each drone entered its state")
+    void rebuild_ArmsTimersFromStateChangeTimes() {
+        long now = System.currentTimeMillis();
+        droneStateTimeouts.armAfterCommit("TIMEOUT_STALE", DroneState.LOADING);
+
+        int armed = droneStateTimeouts.rebuild(() -> List.of(
+                since("TIMEOUT_OVERDUE", LocalDateTime.now().minusHours(1)),
+                since("TIMEOUT_UNKNOWN", null)));
+
+        assertEquals(2, armed);
+        assertEquals(Map.of(DroneState.LOADING, List.of("TIMEOUT_OVERDUE")),
+                droneStateTimeouts.expire(now + LOADING_TIMEOUT_MILLIS / 2));
+        assertEquals(Map.of(DroneState.LOADING, List.of("TIMEOUT_UNKNOWN")),
+                droneStateTimeouts.expire(now + LOADING_TIMEOUT_MILLIS + 1_000));
+    }
+
+    /**
+     * Test case: Should reject a timeout for an unknown state.
+     */
+    @Test
+    @DisplayName("Should reject a timeout for an unknown state")
+    void constructor_UnknownState_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new DroneStateTimeouts(new SimpleMeterRegistry(),
+                TICK_MILLIS, 8, Map.of("UNKNOWN", 1L), Map.of()));
+    }
+
+    private static DroneStateSince since(String serialNumber, LocalDateTime stateChangedAt) {
+        return new DroneStateSince() {
+            @Override
+            public String getSerialNumber() {
+                return serialNumber;
+            }
+
+            @Override
+            public DroneState getState() {
+                return DroneState.LOADING;
+            }
+
+            @Override
+            public LocalDateTime getStateChangedAt() {
+                return stateChangedAt;
+            }
+        };
+    }
+}
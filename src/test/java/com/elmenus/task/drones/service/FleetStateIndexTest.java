@@ -0,0 +1,127 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.entity.Drone;
+import com.elmenus.task.drones.shared.enums.DroneModel;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link FleetStateIndex} class.
+ */
+class FleetStateIndexTest {
+
+    private FleetStateIndex fleetStateIndex;
+
+    /**
+     * Set up the test environment with an empty index.
+     */
+    @BeforeEach
+    void setUp() {
+        fleetStateIndex = new FleetStateIndex();
+    }
+
+    /**
+     * Test case: Should index drones in their state bucket when rebuilding.
+     */
+    @Test
+    @DisplayName("Should index drones in their state bucket when rebuilding")
+    void rebuild_IndexesDronesByState() {
+        int indexed = fleetStateIndex.rebuild(() -> List.of(
+                drone("DRONE_1", DroneState.LOADING),
+                drone("DRONE_2", DroneState.IDLE),
+                drone("DRONE_3", DroneState.LOADING)));
+
+        assertEquals(3, indexed);
+        assertEquals(2, fleetStateIndex.findByState(DroneState.LOADING).size());
+        assertEquals(1, fleetStateIndex.findByState(DroneState.IDLE).size());
+    }
+
+    /**
+     * Test case: Should move a drone between state buckets when it is updated.
+     */
+    @Test
+    @DisplayName("Should move a drone between state buckets when it is updated")
+    void update_MovesDroneBetweenStates() {
+        Drone drone = drone("DRONE_1", DroneState.LOADING);
+        fleetStateIndex.rebuild(() -> List.of(drone));
+
+        drone.setState(DroneState.LOADED);
+        fleetStateIndex.update(drone);
+
+        assertTrue(fleetStateIndex.findByState(DroneState.LOADING).isEmpty());
+        assertEquals("DRONE_1", fleetStateIndex.findByState(DroneState.LOADED).get(0).getSerialNumber());
+        assertEquals(DroneState.LOADED, fleetStateIndex.stateOf("DRONE_1"));
+    }
+
+    /**
+     * Test case: Should discard entries that are no longer in the source when rebuilding.
+     */
+    @Test
+    @DisplayName("Should discard entries that are no longer in the source when rebuilding")
+    void rebuild_DiscardsStaleEntries() {
+        fleetStateIndex.update(drone("DRONE_1", DroneState.LOADING));
+
+        fleetStateIndex.rebuild(List::of);
+
+        assertTrue(fleetStateIndex.findByState(DroneState.LOADING).isEmpty());
+        assertNull(fleetStateIndex.stateOf("DRONE_1"));
+    }
+
+    /**
+     * Test case: Should leave drones out of the unclaimed drones until their lease expires or ends.
+     */
+    @Test
+    @DisplayName("Should leave drones out of the unclaimed drones until their lease expires or ends")
+    void findUnclaimedByState_LeasedDrone_IsLeftOut() {
+        LocalDateTime now = LocalDateTime.now();
+        Drone drone = drone("DRONE_1", DroneState.LOADING);
+        fleetStateIndex.rebuild(() -> List.of(drone, drone("DRONE_2", DroneState.LOADING)));
+
+        fleetStateIndex.claim("DRONE_1", "TOKEN_1", now.plusSeconds(30));
+
+        assertEquals("DRONE_2", fleetStateIndex.findUnclaimedByState(DroneState.LOADING, now).get(0).getSerialNumber());
+        assertEquals(1, fleetStateIndex.findUnclaimedByState(DroneState.LOADING, now).size());
+        assertEquals(2, fleetStateIndex.findUnclaimedByState(DroneState.LOADING, now.plusSeconds(30)).size());
+        fleetStateIndex.update(drone);
+        assertEquals(1, fleetStateIndex.findUnclaimedByState(DroneState.LOADING, now).size());
+        fleetStateIndex.endLease("DRONE_1", "TOKEN_1");
+        assertEquals(2, fleetStateIndex.findUnclaimedByState(DroneState.LOADING, now).size());
+    }
+
+    /**
+     * Test case: Should keep a newer lease when a load made under an older lease ends its lease late.
+     */
+    @Test
+    @DisplayName("Should keep a newer lease when a load made under an older lease ends its lease late")
+    void endLease_NewerLeaseUnderAnotherToken_IsKept() {
+        LocalDateTime now = LocalDateTime.now();
+        fleetStateIndex.rebuild(() -> List.of(drone("DRONE_1", DroneState.LOADING)));
+
+        fleetStateIndex.claim("DRONE_1", "TOKEN_2", now.plusMinutes(5));
+        fleetStateIndex.endLease("DRONE_1", "TOKEN_1");
+        fleetStateIndex.endLease("DRONE_1", null);
+
+        assertTrue(fleetStateIndex.findUnclaimedByState(DroneState.LOADING, now).isEmpty());
+        fleetStateIndex.endLease("DRONE_1", "TOKEN_2");
+        assertEquals(1, fleetStateIndex.findUnclaimedByState(DroneState.LOADING, now).size());
+    }
+
+    private static Drone drone(String serialNumber, DroneState state) {
+        return Drone.builder()
+                .serialNumber(serialNumber)
+                .model(DroneModel.LIGHTWEIGHT)
+                .weightLimit(200)
+                .batteryCapacity(80)
+                .state(state)
+                .build();
+    }
+}
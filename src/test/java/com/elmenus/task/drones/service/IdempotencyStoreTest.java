@@ -0,0 +1,94 @@
+package com.elmenus.task.drones.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the {@link IdempotencyStore} class.
+ */
+class IdempotencyStoreTest {
+
+    private static final String FINGERPRINT = "POST /api/drones/DRONE_1/load";
+
+    private final AtomicLong nanos = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyStore idempotencyStore;
+
+    /**
+     * Set up the test environment with an empty store expiring keys after one minute.
+     */
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        idempotencyStore = new IdempotencyStore(100, 60_000, meterRegistry, nanos::get);
+    }
+
+    /**
+     * Test case: Should replay the completed response of a key and count the replay.
+     */
+    @Test
+    @DisplayName("Should replay the completed response of a key and count the replay")
+    void claim_CompletedKey_ReturnsStoredResponse() {
+        byte[] body = "{\"status\":\"OK\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(IdempotencyStore.Outcome.ACQUIRED, idempotencyStore.claim("key-1", FINGERPRINT).outcome());
+        assertEquals(IdempotencyStore.Outcome.IN_PROGRESS, idempotencyStore.claim("key-1", FINGERPRINT).outcome());
+        idempotencyStore.complete("key-1", FINGERPRINT,
+                new IdempotencyStore.StoredResponse(200, "application/json", null, body));
+        IdempotencyStore.Claim replay = idempotencyStore.claim("key-1", FINGERPRINT);
+
+        assertEquals(IdempotencyStore.Outcome.REPLAY, replay.outcome());
+        assertArrayEquals(body, replay.response().body());
+        assertEquals(1.0, meterRegistry.get("drones.idempotency.replays").counter().count());
+    }
+
+    /**
+     * Test case: Should reject a key reused for a different request.
+     */
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void claim_DifferentFingerprint_ReturnsMismatch() {
+        idempotencyStore.claim("key-1", FINGERPRINT);
+
+        assertEquals(IdempotencyStore.Outcome.MISMATCH,
+                idempotencyStore.claim("key-1", "POST /api/drones/DRONE_2/load").outcome());
+    }
+
+    /**
+     * Test case: Should let a released key be claimed again.
+     */
+    @Test
+    @DisplayName("Should let a released key be claimed again")
+    void release_ClaimedKey_AllowsRetry() {
+        idempotencyStore.claim("key-1", FINGERPRINT);
+        idempotencyStore.release("key-1");
+
+        assertEquals(IdempotencyStore.Outcome.ACQUIRED, idempotencyStore.claim("key-1", FINGERPRINT).outcome());
+    }
+
+    /**
+     * Test case: Should forget keys after their time to live and count the expirations.
+     */
+    @Test
+    @DisplayName("Should forget keys after their time to live and count the expirations")
+    void claim_ExpiredKey_IsAcquiredAgain() {
+        idempotencyStore.claim("key-1", FINGERPRINT);
+        idempotencyStore.complete("key-1", FINGERPRINT,
+                new IdempotencyStore.StoredResponse(200, null, null, new byte[0]));
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(2));
+
+        assertEquals(0, idempotencyStore.size());
+        assertEquals(1.0, meterRegistry.get("drones.idempotency.expirations").counter().count());
+        assertEquals(IdempotencyStore.Outcome.ACQUIRED, idempotencyStore.claim("key-1", FINGERPRINT).outcome());
+    }
+}
@@ -0,0 +1,126 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.DroneDTO;
+import com.elmenus.task.drones.dto.DroneLoadPlanDTO;
+import com.elmenus.task.drones.dto.LoadPlanDTO;
+import com.elmenus.task.drones.shared.enums.DroneModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@link LoadPlanner} class.
+ */
+class LoadPlannerTest {
+
+    private LoadPlanner loadPlanner;
+
+    /**
+     * Set up the test environment with a planner that goes parallel from 100 orders.
+     */
+    @BeforeEach
+    void setUp() {
+        loadPlanner = new LoadPlanner(new FleetStateIndex(), 20, 1_000_000, 100);
+    }
+
+    /**
+     * Test case: Should respect each drone's weight limit and skip drones with a low battery.
+     */
+    @Test
+    @DisplayName("Should respect each drone's weight limit and skip drones with a low battery")
+    void plan_RespectsWeightLimitAndBattery() {
+        List<DroneDTO> drones = List.of(drone("SMALL", 100, 90), drone("LOW_BATTERY", 500, 10));
+
+        LoadPlanDTO plan = loadPlanner.plan(new int[]{60, 60, 120}, drones, false);
+
+        assertEquals(1, plan.getDrones().size());
+        assertEquals("SMALL", plan.getDrones().get(0).getSerialNumber());
+        assertEquals(60, plan.getDrones().get(0).getTotalWeight());
+        assertEquals(List.of(0, 2), plan.getUnassignedOrders());
+    }
+
+    /**
+     * Test case: Should fill the fewest drones when the heuristic plan is already minimal.
+     */
+    @Test
+    @DisplayName("Should fill the fewest drones when the heuristic plan is already minimal")
+    void plan_Heuristic_UsesFewestDrones() {
+        List<DroneDTO> drones = List.of(drone("DRONE_1", 200, 90), drone("DRONE_2", 500, 80), drone("DRONE_3", 300, 70));
+
+        LoadPlanDTO plan = loadPlanner.plan(new int[]{250, 150, 100, 200}, drones, false);
+
+        assertEquals(List.of("DRONE_2", "DRONE_3"), plan.getDrones().stream().map(DroneLoadPlanDTO::getSerialNumber).toList());
+        assertTrue(plan.getUnassignedOrders().isEmpty());
+        assertFalse(plan.isOptimal());
+    }
+
+    /**
+     * Test case: Should find a plan with fewer drones than the heuristic in exact mode.
+     */
+    @Test
+    @DisplayName("Should find a plan with fewer drones than the heuristic in exact mode")
+    void plan_Exact_BeatsHeuristic() {
+        List<DroneDTO> drones = IntStream.range(0, 4).mapToObj(i -> drone("DRONE_" + i, 100, 90)).toList();
+        int[] weights = {40, 40, 30, 30, 30, 30};
+
+        LoadPlanDTO heuristic = loadPlanner.plan(weights, drones, false);
+        LoadPlanDTO exact = loadPlanner.plan(weights, drones, true);
+
+        assertEquals(3, heuristic.getDrones().size());
+        assertEquals(2, exact.getDrones().size());
+        assertTrue(exact.isOptimal());
+        assertValid(exact, drones, weights);
+    }
+
+    /**
+     * Test case: Should produce a valid plan for a large batch planned in parallel.
+     */
+    @Test
+    @DisplayName("Should produce a valid plan for a large batch planned in parallel")
+    void plan_LargeBatch_IsValid() {
+        Random random = new Random(42);
+        List<DroneDTO> drones = IntStream.range(0, 200)
+                .mapToObj(i -> drone("DRONE_" + i, 100 + random.nextInt(401), 25 + random.nextInt(76)))
+                .toList();
+        int[] weights = IntStream.range(0, 2_000).map(i -> 1 + random.nextInt(40)).toArray();
+
+        LoadPlanDTO plan = loadPlanner.plan(weights, drones, false);
+
+        assertTrue(plan.getUnassignedOrders().isEmpty());
+        assertValid(plan, drones, weights);
+    }
+
+    private static void assertValid(LoadPlanDTO plan, List<DroneDTO> drones, int[] weights) {
+        TreeSet<Integer> seen = new TreeSet<>(plan.getUnassignedOrders());
+        for (DroneLoadPlanDTO dronePlan : plan.getDrones()) {
+            DroneDTO drone = drones.stream()
+                    .filter(candidate -> candidate.getSerialNumber().equals(dronePlan.getSerialNumber()))
+                    .findFirst()
+                    .orElseThrow();
+            int total = dronePlan.getOrders().stream().mapToInt(order -> weights[order]).sum();
+            assertEquals(total, dronePlan.getTotalWeight());
+            assertTrue(total <= drone.getWeightLimit());
+            dronePlan.getOrders().forEach(order -> assertTrue(seen.add(order)));
+        }
+        assertEquals(new ArrayList<>(IntStream.range(0, weights.length).boxed().toList()), new ArrayList<>(seen));
+    }
+
+    private static DroneDTO drone(String serialNumber, int weightLimit, int batteryCapacity) {
+        return DroneDTO.builder()
+                .serialNumber(serialNumber)
+                .model(DroneModel.HEAVYWEIGHT)
+                .weightLimit(weightLimit)
+                .batteryCapacity(batteryCapacity)
+                .build();
+    }
+}
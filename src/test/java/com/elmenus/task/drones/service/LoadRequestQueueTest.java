@@ -0,0 +1,133 @@
+package com.elmenus.task.drones.service;
+
+import com.elmenus.task.drones.dto.LoadRequestDTO;
+import com.elmenus.task.drones.dto.MedicationDTO;
+import com.elmenus.task.drones.entity.Drone;
+import com.elmenus.task.drones.exception.DroneNotFoundException;
+import com.elmenus.task.drones.exception.LoadQueueFullException;
+import com.elmenus.task.drones.exception.LoadRequestNotFoundException;
+import com.elmenus.task.drones.repository.DroneRepository;
+import com.elmenus.task.drones.shared.enums.DroneModel;
+import com.elmenus.task.drones.shared.enums.DroneState;
+import com.elmenus.task.drones.shared.enums.LoadRequestStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the {@link LoadRequestQueue} class against the embedded H2 database.
+ */
+@SpringBootTest
+class LoadRequestQueueTest {
+
+    @Autowired
+    private LoadRequestQueue loadRequestQueue;
+
+    @Autowired
+    private DroneService droneService;
+
+    @Autowired
+    private DroneRepository droneRepository;
+
+    @Autowired
+    private DroneLookupCache droneLookupCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Test case: Should complete a queued load in the background and expose the result through its ticket.
+     */
+    @Test
+    @DisplayName("Should complete a queued load in the background and expose the result through its ticket")
+    void submit_CompletesInBackground() throws InterruptedException {
+        Drone drone = saveDrone("QUEUE_BACKGROUND");
+
+        LoadRequestDTO ticket = loadRequestQueue.submit(drone.getSerialNumber(), List.of(medication("QUEUE_BACKGROUND_MED", 50)), null);
+        LoadRequestDTO result = loadRequestQueue.get(ticket.getId());
+        for (int attempt = 0; attempt < 50 && result.getStatus() == LoadRequestStatus.QUEUED; attempt++) {
+            Thread.sleep(100);
+            result = loadRequestQueue.get(ticket.getId());
+        }
+
+        assertEquals(LoadRequestStatus.COMPLETED, result.getStatus());
+        assertEquals(50, result.getDrone().getCurrentLoadWeight());
+        assertEquals(DroneState.LOADED, droneRepository.findById(drone.getId()).orElseThrow().getState());
+        assertThrows(LoadRequestNotFoundException.class, () -> loadRequestQueue.get("UNKNOWN"));
+        assertThrows(DroneNotFoundException.class, () -> loadRequestQueue.submit("QUEUE_UNKNOWN", List.of(), null));
+    }
+
+    /**
+     * Test case: Should load a batch in one transaction and replay it one by one when a request fails.
+     */
+    @Test
+    @DisplayName("Should load a batch in one transaction and replay it one by one when a request fails")
+    void drain_FailedRequest_OnlyFailsItself() {
+        LoadRequestQueue queue = newQueue(10);
+        Drone first = saveDrone("QUEUE_BATCH_1");
+        Drone second = saveDrone("QUEUE_BATCH_2");
+        Drone third = saveDrone("QUEUE_BATCH_3");
+
+        LoadRequestDTO firstTicket = queue.submit(first.getSerialNumber(), List.of(medication("QUEUE_BATCH_LIGHT", 40)), null);
+        LoadRequestDTO secondTicket = queue.submit(second.getSerialNumber(), List.of(medication("QUEUE_BATCH_HEAVY", 300)), null);
+        LoadRequestDTO thirdTicket = queue.submit(third.getSerialNumber(), List.of(medication("QUEUE_BATCH_LIGHT", 40)), null);
+
+        assertEquals(3, queue.drain());
+
+        assertEquals(LoadRequestStatus.COMPLETED, queue.get(firstTicket.getId()).getStatus());
+        assertEquals(LoadRequestStatus.FAILED, queue.get(secondTicket.getId()).getStatus());
+        assertTrue(queue.get(secondTicket.getId()).getError().contains("remaining capacity"));
+        assertEquals(LoadRequestStatus.COMPLETED, queue.get(thirdTicket.getId()).getStatus());
+        assertEquals(40, droneRepository.findById(first.getId()).orElseThrow().getCurrentLoadWeight());
+        assertEquals(0, droneRepository.findById(second.getId()).orElseThrow().getCurrentLoadWeight());
+        assertEquals(40, droneRepository.findById(third.getId()).orElseThrow().getCurrentLoadWeight());
+    }
+
+    /**
+     * Test case: Should reject requests straight away once the queue is full.
+     */
+    @Test
+    @DisplayName("Should reject requests straight away once the queue is full")
+    void submit_FullQueue_ThrowsLoadQueueFullException() {
+        LoadRequestQueue queue = newQueue(1);
+        Drone drone = saveDrone("QUEUE_FULL");
+
+        queue.submit(drone.getSerialNumber(), List.of(medication("QUEUE_FULL_MED", 10)), null);
+
+        assertThrows(LoadQueueFullException.class, () -> queue.submit(drone.getSerialNumber(), List.of(medication("QUEUE_FULL_MED", 10)), null));
+        assertEquals(1, queue.depth());
+    }
+
+    private LoadRequestQueue newQueue(int capacity) {
+        return new LoadRequestQueue(droneService, droneRepository, droneLookupCache, transactionManager,
+                new SimpleMeterRegistry(), capacity, 0, 50, 60_000);
+    }
+
+    private Drone saveDrone(String serialNumber) {
+        return droneRepository.save(Drone.builder()
+                .serialNumber(serialNumber)
+                .model(DroneModel.LIGHTWEIGHT)
+                .weightLimit(200)
+                .batteryCapacity(90)
+                .state(DroneState.LOADING)
+                .build());
+    }
+
+    private static MedicationDTO medication(String code, int weight) {
+        return MedicationDTO.builder()
+                .name(code)
+                .weight(weight)
+                .code(code)
+                .image("medication.png")
+                .build();
+    }
+}